@@ -0,0 +1,138 @@
+package liquibase.benchmark;
+
+import liquibase.changelog.ChangeLogParameters;
+import liquibase.changelog.DatabaseChangeLog;
+import liquibase.exception.LiquibaseException;
+import liquibase.parser.ChangeLogParserFactory;
+import liquibase.resource.ResourceAccessor;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+/**
+ * Generates synthetic changelogs of a given size so the benchmarks do not depend on checked-in fixtures
+ * and can be scaled to the size of real-world changelogs.
+ * Every changeset creates a table, adds an index and inserts a row so that parsing, checksum and
+ * SQL generation all have representative work to do.
+ */
+public final class BenchmarkChangeLogs {
+
+    public static final String XML_CHANGELOG = "changelog.xml";
+    public static final String YAML_CHANGELOG = "changelog.yaml";
+    public static final String SQL_CHANGELOG = "changelog.sql";
+
+    private BenchmarkChangeLogs() {
+    }
+
+    /**
+     * Writes an XML, a YAML and a formatted SQL changelog, each with the given number of changesets, to a new
+     * temporary directory.
+     */
+    public static Path writeChangeLogs(int changeSetCount) throws IOException {
+        Path directory = Files.createTempDirectory("liquibase-benchmark");
+        Files.write(directory.resolve(XML_CHANGELOG), xml(changeSetCount).getBytes(StandardCharsets.UTF_8));
+        Files.write(directory.resolve(YAML_CHANGELOG), yaml(changeSetCount).getBytes(StandardCharsets.UTF_8));
+        Files.write(directory.resolve(SQL_CHANGELOG), sql(changeSetCount).getBytes(StandardCharsets.UTF_8));
+        return directory;
+    }
+
+    public static DatabaseChangeLog parse(String changeLogFile, ResourceAccessor resourceAccessor) throws LiquibaseException {
+        return ChangeLogParserFactory.getInstance()
+                .getParser(changeLogFile, resourceAccessor)
+                .parse(changeLogFile, new ChangeLogParameters(), resourceAccessor);
+    }
+
+    public static void delete(Path directory) throws IOException {
+        if (directory == null) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    static String xml(int changeSetCount) {
+        StringBuilder xml = new StringBuilder();
+        xml.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n")
+                .append("<databaseChangeLog xmlns=\"http://www.liquibase.org/xml/ns/dbchangelog\"\n")
+                .append("                   xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\"\n")
+                .append("                   xsi:schemaLocation=\"http://www.liquibase.org/xml/ns/dbchangelog http://www.liquibase.org/xml/ns/dbchangelog/dbchangelog-latest.xsd\">\n");
+        for (int i = 0; i < changeSetCount; i++) {
+            xml.append("    <changeSet id=\"").append(i).append("\" author=\"benchmark\">\n")
+                    .append("        <createTable tableName=\"table_").append(i).append("\">\n")
+                    .append("            <column name=\"id\" type=\"int\"><constraints primaryKey=\"true\" nullable=\"false\"/></column>\n")
+                    .append("            <column name=\"name\" type=\"varchar(255)\"/>\n")
+                    .append("            <column name=\"created\" type=\"datetime\"/>\n")
+                    .append("        </createTable>\n")
+                    .append("        <createIndex tableName=\"table_").append(i).append("\" indexName=\"idx_table_").append(i).append("\">\n")
+                    .append("            <column name=\"name\"/>\n")
+                    .append("        </createIndex>\n")
+                    .append("        <insert tableName=\"table_").append(i).append("\">\n")
+                    .append("            <column name=\"id\" valueNumeric=\"1\"/>\n")
+                    .append("            <column name=\"name\" value=\"row ").append(i).append("\"/>\n")
+                    .append("        </insert>\n")
+                    .append("    </changeSet>\n");
+        }
+        xml.append("</databaseChangeLog>\n");
+        return xml.toString();
+    }
+
+    static String yaml(int changeSetCount) {
+        StringBuilder yaml = new StringBuilder("databaseChangeLog:\n");
+        for (int i = 0; i < changeSetCount; i++) {
+            yaml.append("  - changeSet:\n")
+                    .append("      id: \"").append(i).append("\"\n")
+                    .append("      author: benchmark\n")
+                    .append("      changes:\n")
+                    .append("        - createTable:\n")
+                    .append("            tableName: table_").append(i).append("\n")
+                    .append("            columns:\n")
+                    .append("              - column:\n")
+                    .append("                  name: id\n")
+                    .append("                  type: int\n")
+                    .append("                  constraints:\n")
+                    .append("                    primaryKey: true\n")
+                    .append("                    nullable: false\n")
+                    .append("              - column:\n")
+                    .append("                  name: name\n")
+                    .append("                  type: varchar(255)\n")
+                    .append("              - column:\n")
+                    .append("                  name: created\n")
+                    .append("                  type: datetime\n")
+                    .append("        - createIndex:\n")
+                    .append("            tableName: table_").append(i).append("\n")
+                    .append("            indexName: idx_table_").append(i).append("\n")
+                    .append("            columns:\n")
+                    .append("              - column:\n")
+                    .append("                  name: name\n")
+                    .append("        - insert:\n")
+                    .append("            tableName: table_").append(i).append("\n")
+                    .append("            columns:\n")
+                    .append("              - column:\n")
+                    .append("                  name: id\n")
+                    .append("                  valueNumeric: 1\n")
+                    .append("              - column:\n")
+                    .append("                  name: name\n")
+                    .append("                  value: row ").append(i).append("\n");
+        }
+        return yaml.toString();
+    }
+
+    static String sql(int changeSetCount) {
+        StringBuilder sql = new StringBuilder("--liquibase formatted sql\n\n");
+        for (int i = 0; i < changeSetCount; i++) {
+            sql.append("--changeset benchmark:").append(i).append("\n")
+                    .append("CREATE TABLE table_").append(i).append(" (id INT NOT NULL PRIMARY KEY, name VARCHAR(255), created TIMESTAMP);\n")
+                    .append("CREATE INDEX idx_table_").append(i).append(" ON table_").append(i).append(" (name);\n")
+                    .append("INSERT INTO table_").append(i).append(" (id, name) VALUES (1, 'row ").append(i).append("');\n")
+                    .append("--rollback DROP TABLE table_").append(i).append(";\n\n");
+        }
+        return sql.toString();
+    }
+}
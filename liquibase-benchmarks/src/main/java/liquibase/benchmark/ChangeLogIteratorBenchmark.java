@@ -0,0 +1,109 @@
+package liquibase.benchmark;
+
+import liquibase.Contexts;
+import liquibase.LabelExpression;
+import liquibase.RuntimeEnvironment;
+import liquibase.changelog.ChangeLogIterator;
+import liquibase.changelog.ChangeSet;
+import liquibase.changelog.DatabaseChangeLog;
+import liquibase.changelog.RanChangeSet;
+import liquibase.changelog.filter.*;
+import liquibase.changelog.visitor.ChangeSetVisitor;
+import liquibase.database.Database;
+import liquibase.database.core.MockDatabase;
+import liquibase.resource.DirectoryResourceAccessor;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link ChangeLogIterator#run(ChangeSetVisitor, RuntimeEnvironment)} with the filter stack used by
+ * update and status, against a database where half of the changesets have already been applied.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ChangeLogIteratorBenchmark {
+
+    @Param({"1000", "10000"})
+    public int changeSetCount;
+
+    private Path directory;
+    private DatabaseChangeLog changeLog;
+    private Database database;
+
+    @Setup
+    public void setup() throws Exception {
+        directory = BenchmarkChangeLogs.writeChangeLogs(changeSetCount);
+        try (DirectoryResourceAccessor resourceAccessor = new DirectoryResourceAccessor(directory)) {
+            changeLog = BenchmarkChangeLogs.parse(BenchmarkChangeLogs.XML_CHANGELOG, resourceAccessor);
+        }
+
+        List<RanChangeSet> ranChangeSets = new ArrayList<>();
+        List<ChangeSet> changeSets = changeLog.getChangeSets();
+        for (int i = 0; i < changeSets.size() / 2; i++) {
+            ranChangeSets.add(new RanChangeSet(changeSets.get(i)));
+        }
+        database = new RanChangeSetsDatabase(ranChangeSets);
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        BenchmarkChangeLogs.delete(directory);
+    }
+
+    @Benchmark
+    public void run(Blackhole blackhole) throws Exception {
+        ChangeLogIterator iterator = new ChangeLogIterator(changeLog,
+                new ShouldRunChangeSetFilter(database),
+                new ContextChangeSetFilter(new Contexts()),
+                new LabelChangeSetFilter(new LabelExpression()),
+                new DbmsChangeSetFilter(database),
+                new IgnoreChangeSetFilter());
+        iterator.run(new ConsumingVisitor(blackhole), new RuntimeEnvironment(database, new Contexts(), new LabelExpression()));
+    }
+
+    private static class ConsumingVisitor implements ChangeSetVisitor {
+
+        private final Blackhole blackhole;
+
+        ConsumingVisitor(Blackhole blackhole) {
+            this.blackhole = blackhole;
+        }
+
+        @Override
+        public Direction getDirection() {
+            return Direction.FORWARD;
+        }
+
+        @Override
+        public void visit(ChangeSet changeSet, DatabaseChangeLog databaseChangeLog, Database database, Set<ChangeSetFilterResult> filterResults) {
+            blackhole.consume(changeSet);
+        }
+    }
+
+    /**
+     * A {@link MockDatabase} with a fixed, in-memory history so the benchmark does not need a history service.
+     */
+    private static class RanChangeSetsDatabase extends MockDatabase {
+
+        private final List<RanChangeSet> ranChangeSets;
+
+        RanChangeSetsDatabase(List<RanChangeSet> ranChangeSets) {
+            this.ranChangeSets = ranChangeSets;
+        }
+
+        @Override
+        public List<RanChangeSet> getRanChangeSetList() {
+            return ranChangeSets;
+        }
+    }
+}
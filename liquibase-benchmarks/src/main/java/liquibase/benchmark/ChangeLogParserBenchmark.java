@@ -0,0 +1,69 @@
+package liquibase.benchmark;
+
+import liquibase.changelog.DatabaseChangeLog;
+import liquibase.parser.ChangeLogParserConfiguration;
+import liquibase.resource.DirectoryResourceAccessor;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures parsing of the same changelog content through the XML, YAML and formatted SQL parsers, and of the XML
+ * changelog loaded from the parsed changelog cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ChangeLogParserBenchmark {
+
+    @Param({"100", "1000"})
+    public int changeSetCount;
+
+    private Path directory;
+    private Path cacheDirectory;
+    private Map<String, Object> cacheScope;
+    private DirectoryResourceAccessor resourceAccessor;
+
+    @Setup
+    public void setup() throws Exception {
+        directory = BenchmarkChangeLogs.writeChangeLogs(changeSetCount);
+        cacheDirectory = Files.createTempDirectory("liquibase-benchmark-cache");
+        cacheScope = Collections.singletonMap(ChangeLogParserConfiguration.PARSED_CHANGELOG_CACHE_DIRECTORY.getKey(), cacheDirectory.toString());
+        resourceAccessor = new DirectoryResourceAccessor(directory);
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        resourceAccessor.close();
+        BenchmarkChangeLogs.delete(directory);
+        BenchmarkChangeLogs.delete(cacheDirectory);
+    }
+
+    @Benchmark
+    public DatabaseChangeLog parseXml() throws Exception {
+        return BenchmarkChangeLogs.parse(BenchmarkChangeLogs.XML_CHANGELOG, resourceAccessor);
+    }
+
+    @Benchmark
+    public DatabaseChangeLog parseXmlCached() throws Exception {
+        return liquibase.Scope.child(cacheScope, (liquibase.Scope.ScopedRunnerWithReturn<DatabaseChangeLog>)
+                () -> BenchmarkChangeLogs.parse(BenchmarkChangeLogs.XML_CHANGELOG, resourceAccessor));
+    }
+
+    @Benchmark
+    public DatabaseChangeLog parseYaml() throws Exception {
+        return BenchmarkChangeLogs.parse(BenchmarkChangeLogs.YAML_CHANGELOG, resourceAccessor);
+    }
+
+    @Benchmark
+    public DatabaseChangeLog parseFormattedSql() throws Exception {
+        return BenchmarkChangeLogs.parse(BenchmarkChangeLogs.SQL_CHANGELOG, resourceAccessor);
+    }
+}
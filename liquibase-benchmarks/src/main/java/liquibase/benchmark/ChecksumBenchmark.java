@@ -0,0 +1,68 @@
+package liquibase.benchmark;
+
+import liquibase.ChecksumVersion;
+import liquibase.change.CheckSum;
+import liquibase.changelog.ChangeSet;
+import liquibase.changelog.DatabaseChangeLog;
+import liquibase.resource.DirectoryResourceAccessor;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link ChangeSet#generateCheckSum(ChecksumVersion)} across every changeset of a parsed changelog,
+ * both freshly computed and served from the per-changeset cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ChecksumBenchmark {
+
+    @Param({"1000"})
+    public int changeSetCount;
+
+    @Param({"V8", "V9"})
+    public ChecksumVersion checksumVersion;
+
+    private Path directory;
+    private List<ChangeSet> changeSets;
+
+    @Setup
+    public void setup() throws Exception {
+        directory = BenchmarkChangeLogs.writeChangeLogs(changeSetCount);
+        try (DirectoryResourceAccessor resourceAccessor = new DirectoryResourceAccessor(directory)) {
+            DatabaseChangeLog changeLog = BenchmarkChangeLogs.parse(BenchmarkChangeLogs.XML_CHANGELOG, resourceAccessor);
+            changeSets = changeLog.getChangeSets();
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        BenchmarkChangeLogs.delete(directory);
+    }
+
+    /**
+     * Clears the cached checksum first so every call recomputes it, as happens on each new JVM start.
+     */
+    @Benchmark
+    public void generateCheckSum(Blackhole blackhole) {
+        for (ChangeSet changeSet : changeSets) {
+            changeSet.clearCheckSum();
+            CheckSum checkSum = changeSet.generateCheckSum(checksumVersion);
+            blackhole.consume(checkSum);
+        }
+    }
+
+    @Benchmark
+    public void generateCachedCheckSum(Blackhole blackhole) {
+        for (ChangeSet changeSet : changeSets) {
+            blackhole.consume(changeSet.generateCheckSum(checksumVersion));
+        }
+    }
+}
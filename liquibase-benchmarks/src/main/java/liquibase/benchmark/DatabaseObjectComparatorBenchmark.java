@@ -0,0 +1,62 @@
+package liquibase.benchmark;
+
+import liquibase.database.Database;
+import liquibase.database.core.H2Database;
+import liquibase.diff.compare.DatabaseObjectComparatorFactory;
+import liquibase.structure.core.Column;
+import liquibase.structure.core.Table;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link DatabaseObjectComparatorFactory#hash} and {@link DatabaseObjectComparatorFactory#isSameObject} for the columns
+ * of a schema, as a diff calls them for every object of both snapshots.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class DatabaseObjectComparatorBenchmark {
+
+    @Param({"1000", "1000000"})
+    public int columnCount;
+
+    private Database database;
+    private Column[] columns;
+    private Column[] sameColumns;
+
+    @Setup
+    public void setup() {
+        database = new H2Database();
+        columns = new Column[columnCount];
+        sameColumns = new Column[columnCount];
+        for (int i = 0; i < columnCount; i++) {
+            columns[i] = new Column(Table.class, null, "PUBLIC", "TABLE_" + (i / 20), "COLUMN_" + i);
+            sameColumns[i] = new Column(Table.class, null, "PUBLIC", "TABLE_" + (i / 20), "COLUMN_" + i);
+        }
+    }
+
+    @Benchmark
+    public void hash(Blackhole blackhole) {
+        for (Column column : columns) {
+            blackhole.consume(DatabaseObjectComparatorFactory.getInstance().hash(column, null, database));
+        }
+    }
+
+    @Benchmark
+    public void isSameObject(Blackhole blackhole) {
+        for (int i = 0; i < columns.length; i++) {
+            blackhole.consume(DatabaseObjectComparatorFactory.getInstance().isSameObject(columns[i], sameColumns[i], null, database));
+        }
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void hashConcurrently(Blackhole blackhole) {
+        hash(blackhole);
+    }
+}
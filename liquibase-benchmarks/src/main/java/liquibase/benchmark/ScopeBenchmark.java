@@ -0,0 +1,58 @@
+package liquibase.benchmark;
+
+import liquibase.logging.LogService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link liquibase.Scope#get(String, Class)} from the innermost of a chain of nested scopes, for a value set in
+ * the outermost child scope, a value set in the root scope and a value which is not set, from one and from several threads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ScopeBenchmark {
+
+    private static final String OUTER_KEY = "benchmark.outer";
+    private static final String MISSING_KEY = "benchmark.missing";
+
+    @Param({"1", "10", "50"})
+    public int depth;
+
+    private liquibase.Scope innermostScope;
+
+    @Setup
+    public void setup() throws Exception {
+        innermostScope = liquibase.Scope.child(Collections.singletonMap(OUTER_KEY, "outer"), () -> nest(depth - 1));
+    }
+
+    private liquibase.Scope nest(int remaining) throws Exception {
+        if (remaining == 0) {
+            return liquibase.Scope.getCurrentScope();
+        }
+        return liquibase.Scope.child(Collections.singletonMap("benchmark.level" + remaining, remaining), () -> nest(remaining - 1));
+    }
+
+    @Benchmark
+    public void get(Blackhole blackhole) {
+        lookup(blackhole);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void getConcurrently(Blackhole blackhole) {
+        lookup(blackhole);
+    }
+
+    private void lookup(Blackhole blackhole) {
+        blackhole.consume(innermostScope.get(OUTER_KEY, String.class));
+        blackhole.consume(innermostScope.get(liquibase.Scope.Attr.logService, LogService.class));
+        blackhole.consume(innermostScope.get(MISSING_KEY, String.class));
+    }
+}
@@ -0,0 +1,96 @@
+package liquibase.benchmark;
+
+import liquibase.change.Change;
+import liquibase.changelog.ChangeSet;
+import liquibase.changelog.DatabaseChangeLog;
+import liquibase.database.Database;
+import liquibase.database.core.*;
+import liquibase.resource.DirectoryResourceAccessor;
+import liquibase.sql.Sql;
+import liquibase.sqlgenerator.SqlGeneratorFactory;
+import liquibase.statement.SqlStatement;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link SqlGeneratorFactory#generateSql(SqlStatement, Database)} for the statements of a parsed changelog
+ * across the core {@link Database} implementations. No connection is used, so this runs offline.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SqlGeneratorBenchmark {
+
+    @Param({"1000"})
+    public int changeSetCount;
+
+    @Param({"h2", "hsqldb", "postgresql", "mysql", "mssql", "oracle", "mock"})
+    public String databaseShortName;
+
+    private Path directory;
+    private Database database;
+    private SqlStatement[] statements;
+
+    @Setup
+    public void setup() throws Exception {
+        database = createDatabase(databaseShortName);
+        directory = BenchmarkChangeLogs.writeChangeLogs(changeSetCount);
+        DatabaseChangeLog changeLog;
+        try (DirectoryResourceAccessor resourceAccessor = new DirectoryResourceAccessor(directory)) {
+            changeLog = BenchmarkChangeLogs.parse(BenchmarkChangeLogs.XML_CHANGELOG, resourceAccessor);
+        }
+
+        List<SqlStatement> statementList = new ArrayList<>();
+        for (ChangeSet changeSet : changeLog.getChangeSets()) {
+            for (Change change : changeSet.getChanges()) {
+                for (SqlStatement statement : change.generateStatements(database)) {
+                    statementList.add(statement);
+                }
+            }
+        }
+        statements = statementList.toArray(new SqlStatement[0]);
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        BenchmarkChangeLogs.delete(directory);
+    }
+
+    @Benchmark
+    public void generateSql(Blackhole blackhole) {
+        SqlGeneratorFactory factory = SqlGeneratorFactory.getInstance();
+        for (SqlStatement statement : statements) {
+            Sql[] sql = factory.generateSql(statement, database);
+            blackhole.consume(sql);
+        }
+    }
+
+    private static Database createDatabase(String shortName) {
+        switch (shortName) {
+            case "h2":
+                return new H2Database();
+            case "hsqldb":
+                return new HsqlDatabase();
+            case "postgresql":
+                return new PostgresDatabase();
+            case "mysql":
+                return new MySQLDatabase();
+            case "mssql":
+                return new MSSQLDatabase();
+            case "oracle":
+                return new OracleDatabase();
+            case "mock":
+                return new MockDatabase();
+            default:
+                throw new IllegalArgumentException("Unknown database " + shortName);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package org.liquibase.maven.plugins;
+
+import liquibase.Liquibase;
+import liquibase.command.CommandScope;
+import liquibase.command.core.GenerateChecksumManifestCommandStep;
+import liquibase.command.core.helpers.DbUrlConnectionArgumentsCommandStep;
+import liquibase.exception.LiquibaseException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.liquibase.maven.property.PropertyElement;
+
+/**
+ * <p>Writes a checksum manifest for the changelog, so that runs configured with <code>liquibase.checksumManifestFile</code>
+ * do not have to compute the checksums of changesets whose files and changelog parameters have not changed.
+ * An offline url such as <code>offline:postgresql</code> is enough to generate the manifest at build time.</p>
+ *
+ * @goal generateChecksumManifest
+ */
+public class LiquibaseGenerateChecksumManifestMojo extends AbstractLiquibaseChangeLogMojo {
+
+    /**
+     * The file to write the checksum manifest to.
+     *
+     * @parameter property="liquibase.manifestFile"
+     *      default-value="${project.build.outputDirectory}/liquibase-checksums.manifest"
+     */
+    @PropertyElement
+    protected String manifestFile;
+
+    @Override
+    protected void checkRequiredParametersAreSpecified() throws MojoFailureException {
+        super.checkRequiredParametersAreSpecified();
+
+        if ((manifestFile == null) || manifestFile.trim().isEmpty()) {
+            throw new MojoFailureException("The manifestFile must be specified.");
+        }
+    }
+
+    @Override
+    protected void printSettings(String indent) {
+        super.printSettings(indent);
+        getLog().info(indent + "manifestFile: " + manifestFile);
+    }
+
+    @Override
+    protected void performLiquibaseTask(Liquibase liquibase) throws LiquibaseException {
+        super.performLiquibaseTask(liquibase);
+        CommandScope generateChecksumManifestCommand = new CommandScope(GenerateChecksumManifestCommandStep.COMMAND_NAME);
+
+        generateChecksumManifestCommand.addArgumentValue(DbUrlConnectionArgumentsCommandStep.DATABASE_ARG, liquibase.getDatabase());
+        generateChecksumManifestCommand.addArgumentValue(GenerateChecksumManifestCommandStep.CHANGELOG_FILE_ARG, changeLogFile);
+        generateChecksumManifestCommand.addArgumentValue(GenerateChecksumManifestCommandStep.MANIFEST_FILE_ARG, manifestFile);
+
+        generateChecksumManifestCommand.execute();
+    }
+}
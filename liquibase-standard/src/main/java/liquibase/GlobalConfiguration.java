@@ -23,6 +23,7 @@ public class GlobalConfiguration implements AutoloadedConfigurations {
     public static final ConfigurationDefinition<Charset> FILE_ENCODING;
     public static final ConfigurationDefinition<Long> CHANGELOGLOCK_WAIT_TIME;
     public static final ConfigurationDefinition<Long> CHANGELOGLOCK_POLL_RATE;
+    public static final ConfigurationDefinition<Boolean> CHANGELOGLOCK_USE_ADVISORY_LOCK;
     public static final ConfigurationDefinition<Boolean> CONVERT_DATA_TYPES;
     public static final ConfigurationDefinition<Boolean> GENERATE_CHANGESET_CREATED_VALUES;
     public static final ConfigurationDefinition<Boolean> AUTO_REORG;
@@ -67,6 +68,18 @@ public class GlobalConfiguration implements AutoloadedConfigurations {
     public static final ConfigurationDefinition<Boolean> PRESERVE_CLASSPATH_PREFIX_IN_NORMALIZED_PATHS;
     public static final ConfigurationDefinition<Boolean> ALLOW_INHERIT_LOGICAL_FILE_PATH;
     public static final ConfigurationDefinition<Boolean> DIFF_COLUMN_DEFAULT_VALUE_CONSTRAINT_NAME;
+    public static final ConfigurationDefinition<String> CHECKSUM_MANIFEST_FILE;
+    public static final ConfigurationDefinition<Integer> LOAD_DATA_BATCH_SIZE;
+    public static final ConfigurationDefinition<Boolean> LOAD_DATA_BULK_LOAD;
+    public static final ConfigurationDefinition<Boolean> DATABASECHANGELOG_INCREMENTAL_READ;
+    public static final ConfigurationDefinition<Integer> DATABASECHANGELOG_BATCH_SIZE;
+    public static final ConfigurationDefinition<Integer> GROUP_COMMIT_SIZE;
+    public static final ConfigurationDefinition<Long> GROUP_COMMIT_TIME_LIMIT;
+    public static final ConfigurationDefinition<Boolean> DATABASECHANGELOG_STAMP;
+    public static final ConfigurationDefinition<String> DATABASECHANGELOGSTAMP_TABLE_NAME;
+    public static final ConfigurationDefinition<Integer> SNAPSHOT_PARALLELISM;
+    public static final ConfigurationDefinition<Boolean> SNAPSHOT_PREFETCH;
+    public static final ConfigurationDefinition<Integer> DIFF_PARALLELISM;
 
     static {
         ConfigurationDefinition.Builder builder = new ConfigurationDefinition.Builder("liquibase");
@@ -91,10 +104,20 @@ public class GlobalConfiguration implements AutoloadedConfigurations {
 
         CHANGELOGLOCK_POLL_RATE = builder.define("changelogLockPollRate", Long.class)
                 .addAliasKey("liquibase.changeLogLockPollRate")
-                .setDescription("Number of seconds wait between checks to the changelog lock when it is locked")
+                .setDescription("Maximum number of seconds to wait between checks to the changelog lock when it is locked. " +
+                        "The first checks follow each other more quickly, with the wait doubling up to this value")
                 .setDefaultValue(10L)
                 .build();
 
+        CHANGELOGLOCK_USE_ADVISORY_LOCK = builder.define("changelogLockUseAdvisoryLock", Boolean.class)
+                .setDescription("If true, Liquibase first waits for a database advisory lock (pg_advisory_lock on PostgreSQL, GET_LOCK on MySQL and MariaDB, " +
+                        "sp_getapplock on SQL Server, DBMS_LOCK on Oracle) before taking the changelog lock, so it continues as soon as another Liquibase " +
+                        "process releases the lock instead of checking the changelog lock table periodically. The changelog lock table is still used, " +
+                        "so processes with and without this setting can run against the same database. On other databases, or if the advisory lock " +
+                        "cannot be used, only the changelog lock table is used.")
+                .setDefaultValue(false)
+                .build();
+
         LIQUIBASE_TABLESPACE_NAME = builder.define("liquibaseTablespaceName", String.class)
                 .addAliasKey("liquibase.liquibaseTableSpaceName")
                 .addAliasKey("liquibase.databaseChangeLogTablespaceName")
@@ -391,6 +414,92 @@ public class GlobalConfiguration implements AutoloadedConfigurations {
                 .setDescription("Should Liquibase compare column default value constraint name in diff operation?")
                 .setDefaultValue(true)
                 .build();
+
+        CHECKSUM_MANIFEST_FILE = builder.define("checksumManifestFile", String.class)
+                .setDescription("Path, resolved through the search path, of a checksum manifest written by the generateChecksumManifest command. " +
+                        "Checksums of changesets are read from the manifest instead of being computed if the Liquibase version and database type match the manifest, " +
+                        "and the changelog file, the files read by its changes and the values of the changelog parameters they reference are unchanged since the manifest was generated.")
+                .build();
+
+        LOAD_DATA_BATCH_SIZE = builder.define("loadDataBatchSize", Integer.class)
+                .setDescription("If greater than 0, loadData and loadUpdateData read their data file in batches of this many rows and execute each batch " +
+                        "before reading the next, so memory use does not depend on the size of the file. Does not apply when generating SQL. " +
+                        "If 0, the whole file is read before any row is inserted.")
+                .setDefaultValue(0)
+                .build();
+
+        LOAD_DATA_BULK_LOAD = builder.define("loadDataBulkLoad", Boolean.class)
+                .setDescription("If true, loadData uses the native bulk loading mechanism of the database where available: COPY on PostgreSQL, " +
+                        "LOAD DATA LOCAL INFILE on MySQL and MariaDB (requires allowLoadLocalInfile=true on the connection), bulk copy on SQL Server " +
+                        "and CSVREAD on H2. Changes with computed, sequence or LOB columns, loadUpdateData and SQL generation still use INSERT statements.")
+                .setDefaultValue(false)
+                .build();
+
+        DATABASECHANGELOG_INCREMENTAL_READ = builder.define("databaseChangelogIncrementalRead", Boolean.class)
+                .setDescription("If true, the rows read from the DATABASECHANGELOG table are kept for the lifetime of the JVM, per database URL, user and table. " +
+                        "Later reads check the row count, highest ORDEREXECUTED and the number of tags and checksums, and only fetch the rows with a higher " +
+                        "ORDEREXECUTED, or read the whole table again if rows were removed or rewritten. Filename or checksum values rewritten by other " +
+                        "processes without changing those numbers are not detected.")
+                .setDefaultValue(false)
+                .build();
+
+        DATABASECHANGELOG_BATCH_SIZE = builder.define("databaseChangelogBatchSize", Integer.class)
+                .setDescription("Maximum number of DATABASECHANGELOG rows which update keeps in memory and inserts in a single JDBC batch. " +
+                        "It has no effect unless liquibase.groupCommitSize is greater than 1, since only the rows of changesets run in a " +
+                        "group commit are batched. They are written in the transaction of their group, when the batch is full, before any " +
+                        "other read or change of the DATABASECHANGELOG table, and at the latest when the group is committed. " +
+                        "0 or 1 writes every row as soon as its changeset ran.")
+                .setDefaultValue(0)
+                .build();
+
+        GROUP_COMMIT_SIZE = builder.define("groupCommitSize", Integer.class)
+                .setDescription("Maximum number of consecutive changesets which update runs and records in a single transaction. " +
+                        "Only changesets with runInTransaction=\"true\", without runAlways, runWith or failOnError=\"false\" are grouped, " +
+                        "and only on databases which support DDL in transactions. If a changeset fails, the changesets run before it in the same " +
+                        "transaction are rolled back as well and run again by the next update. 0 or 1 commits every changeset on its own.")
+                .setDefaultValue(0)
+                .build();
+
+        GROUP_COMMIT_TIME_LIMIT = builder.define("groupCommitTimeLimitInMillis", Long.class)
+                .setDescription("Number of milliseconds after which the transaction of a group of changesets is committed, " +
+                        "even if it holds fewer than liquibase.groupCommitSize changesets")
+                .setDefaultValue(5000L)
+                .build();
+
+        DATABASECHANGELOG_STAMP = builder.define("databaseChangelogStamp", Boolean.class)
+                .setDescription("If true, once update finds nothing to run it records a hash of the changelog and its filters, with the DATABASECHANGELOG " +
+                        "row count and highest ORDEREXECUTED, in the liquibase.databaseChangelogStampTableName table. Later updates with the same changelog " +
+                        "and filters check that row with a single query instead of reading DATABASECHANGELOG, as long as no changeset ran or was rolled back since. " +
+                        "DATABASECHANGELOG rows rewritten by hand or by clients without this setting are not detected. " +
+                        "The table is created by the first update with this setting which has changesets to run, while it holds the changelog lock. " +
+                        "Run update with showSummary=OFF as well to skip reading DATABASECHANGELOG for the update summary.")
+                .setDefaultValue(false)
+                .build();
+
+        DATABASECHANGELOGSTAMP_TABLE_NAME = builder.define("databaseChangelogStampTableName", String.class)
+                .setDescription("Name of table to use for the changelog stamps written with liquibase.databaseChangelogStamp")
+                .setDefaultValue("DATABASECHANGELOGSTAMP")
+                .build();
+
+        SNAPSHOT_PARALLELISM = builder.define("snapshotParallelism", Integer.class)
+                .setDescription("Number of additional connections a snapshot opens to read the tables, views, columns, keys and indexes " +
+                        "of its schemas in parallel before building the snapshot. The snapshot is then built from the rows read, in the same order as without them. " +
+                        "Only used for connections opened by Liquibase from a URL which are in auto-commit mode, so no uncommitted changes are missed. 0 or 1 reads all metadata on the main connection.")
+                .setDefaultValue(0)
+                .build();
+
+        SNAPSHOT_PREFETCH = builder.define("snapshotPrefetch", Boolean.class)
+                .setDescription("If true, a snapshot reads each type of object of its schemas with one query per schema up front " +
+                        "instead of per table, and serves all further lookups from memory. Only applies to snapshots of whole schemas; snapshots of single objects, " +
+                        "such as precondition checks, still read them one by one.")
+                .setDefaultValue(false)
+                .build();
+
+        DIFF_PARALLELISM = builder.define("diffParallelism", Integer.class)
+                .setDescription("Number of threads a diff uses to compare the different types of objects of two snapshots. " +
+                        "The result is the same as when comparing them one after the other. 0 or 1 compares them on the calling thread.")
+                .setDefaultValue(0)
+                .build();
     }
 
     public enum DuplicateFileMode {
@@ -25,7 +25,7 @@ import liquibase.servicelocator.StandardServiceLocator;
 import liquibase.ui.ConsoleUIService;
 import liquibase.ui.UIService;
 import liquibase.util.CollectionUtil;
-import liquibase.util.SmartMap;
+import liquibase.util.ObjectUtil;
 import liquibase.util.StringUtil;
 import lombok.Getter;
 
@@ -33,6 +33,7 @@ import java.lang.reflect.Constructor;
 import java.nio.charset.Charset;
 import java.text.DecimalFormat;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * This scope object is used to hold configuration and other parameters within a call without needing complex method signatures.
@@ -40,6 +41,9 @@ import java.util.*;
  * Scope objects can be created in a hierarchical manner with the {@link #child(Map, ScopedRunner)} or {@link #child(String, Object, ScopedRunner)} methods.
  * Values set in parent scopes are visible in child scopes, but values in child scopes are not visible to parent scopes.
  * Values with the same key in different scopes "mask" each other with the value furthest down the scope chain being returned.
+ * <p>
+ * Looking up values does not lock. A child scope copies the values of its parents when it is created, up to the root scope
+ * or the nearest scope with {@link #JAVA_PROPERTIES}, so a lookup does not walk the whole scope chain.
  */
 public class Scope {
 
@@ -131,7 +135,20 @@ public class Scope {
     }
 
     private final Scope parent;
-    private final SmartMap values = new SmartMap();
+    private final Scope root;
+    /**
+     * The values set in this scope. The root scope values are a concurrent map because singletons are added to it,
+     * the values of other scopes are replaced as a whole instead of being changed.
+     */
+    private volatile Map<String, Object> values;
+    /**
+     * The values of this scope over the values of its parents up to {@link #lookupParent}.
+     */
+    private volatile Map<String, Object> flattenedValues;
+    /**
+     * The scope to continue a lookup in if a value is not in {@link #flattenedValues}.
+     */
+    private final Scope lookupParent;
     @Getter
     private final String scopeId;
     private static final ThreadLocal<Map<String, List<MdcObject>>> addedMdcEntries = new ThreadLocal<>();
@@ -209,6 +226,10 @@ public class Scope {
     private Scope() {
         scopeId = "root";
         parent = null;
+        root = this;
+        values = new ConcurrentHashMap<>();
+        flattenedValues = values;
+        lookupParent = null;
     }
 
     /**
@@ -220,10 +241,36 @@ public class Scope {
             throw new UnexpectedLiquibaseException("Cannot pass a null parent to a new Scope. Use Scope.child to correctly create a nested scope");
         }
         this.parent = parent;
+        this.root = parent.root;
         scopeId = generateScopeId();
+        Map<String, Object> ownValues = new HashMap<>();
         if (scopeValues != null) {
-            values.putAll(scopeValues);
+            for (Map.Entry<String, Object> entry : scopeValues.entrySet()) {
+                if (entry.getValue() != null) {
+                    ownValues.put(entry.getKey(), entry.getValue());
+                }
+            }
         }
+        if ((parent == root) || parent.values.containsKey(JAVA_PROPERTIES) || ownValues.containsKey(JAVA_PROPERTIES)) {
+            lookupParent = parent;
+        } else {
+            lookupParent = parent.lookupParent;
+        }
+        values = ownValues;
+        flattenedValues = flatten(ownValues);
+    }
+
+    /**
+     * Returns the given values of this scope over the values of its parents up to {@link #lookupParent}.
+     * Values are not copied past a scope with {@link #JAVA_PROPERTIES}, since its javaProperties are looked up before its parents.
+     */
+    private Map<String, Object> flatten(Map<String, Object> ownValues) {
+        if (lookupParent == parent) {
+            return ownValues;
+        }
+        Map<String, Object> flattened = new HashMap<>(parent.flattenedValues);
+        flattened.putAll(ownValues);
+        return flattened;
     }
 
     private String generateScopeId() {
@@ -328,6 +375,28 @@ public class Scope {
         getScopeManagerThreadLocal().get().setCurrentScope(currentScope.getParent());
     }
 
+    /**
+     * Runs the given runner on the current thread with the given scope as its current scope and restores the thread's
+     * previous scope afterwards. Worker threads only inherit the scope that was current when they were created,
+     * so this is used to run tasks on pooled threads in the scope of the thread that submitted them.
+     */
+    public static <T> T runInScope(Scope scope, ScopedRunnerWithReturn<T> runner) throws Exception {
+        InheritableThreadLocal<ScopeManager> managerThreadLocal = getScopeManagerThreadLocal();
+        ScopeManager previousManager = managerThreadLocal.get();
+        SingletonScopeManager scopeManager = new SingletonScopeManager();
+        scopeManager.setCurrentScope(scope);
+        managerThreadLocal.set(scopeManager);
+        try {
+            return runner.run();
+        } finally {
+            if (previousManager == null) {
+                managerThreadLocal.remove();
+            } else {
+                managerThreadLocal.set(previousManager);
+            }
+        }
+    }
+
     /**
      * Creates a new scope that is a child of this scope.
      */
@@ -357,7 +426,7 @@ public class Scope {
     }
 
 
-    public synchronized <T> T get(Enum key, Class<T> type) {
+    public <T> T get(Enum key, Class<T> type) {
         return get(key.name(), type);
     }
 
@@ -371,13 +440,13 @@ public class Scope {
      * Returns null if key is not defined in this or any parent scopes.
      */
     public <T> T get(String key, Class<T> type) {
-        T value = values.get(key, type);
+        T value = ObjectUtil.convert(flattenedValues.get(key), type);
         if (value == null && values.containsKey(JAVA_PROPERTIES)) {
-            Map javaProperties = values.get(JAVA_PROPERTIES, Map.class);
+            Map javaProperties = ObjectUtil.convert(values.get(JAVA_PROPERTIES), Map.class);
             value = (T)javaProperties.get(key);
         }
-        if (value == null && parent != null) {
-            value = parent.get(key, type);
+        if (value == null && lookupParent != null) {
+            value = lookupParent.get(key, type);
         }
 
         return value;
@@ -388,7 +457,7 @@ public class Scope {
      * If the value is not defined, the passed defaultValue is returned.
      * The value is converted to the given type if necessary using {@link liquibase.util.ObjectUtil#convert(Object, Class)}.
      */
-    public synchronized <T> T get(String key, T defaultValue) {
+    public <T> T get(String key, T defaultValue) {
         Class type;
         if (defaultValue == null) {
             type = Object.class;
@@ -407,14 +476,21 @@ public class Scope {
      * Looks up the singleton object of the given type. If the singleton has not been created yet, it will be instantiated.
      * The singleton is a singleton based on the root scope and the same object will be returned for all child scopes of the root.
      */
-    public synchronized <T extends SingletonObject> T getSingleton(Class<T> type) {
-        if (getParent() != null) {
-            return getParent().getSingleton(type);
+    public <T extends SingletonObject> T getSingleton(Class<T> type) {
+        if (root != this) {
+            return root.getSingleton(type);
         }
 
         String key = type.getName();
         T singleton = get(key, type);
-        if (singleton == null) {
+        if (singleton != null) {
+            return singleton;
+        }
+        synchronized (this) {
+            singleton = get(key, type);
+            if (singleton != null) {
+                return singleton;
+            }
             try {
                 try {
                     Constructor<T> constructor = type.getDeclaredConstructor(Scope.class);
@@ -430,8 +506,8 @@ public class Scope {
             }
 
             values.put(key, singleton);
+            return singleton;
         }
-        return singleton;
     }
 
     public Logger getLog(Class clazz) {
@@ -622,8 +698,27 @@ public class Scope {
                 decimalFormat.format(time);
     }
 
-    public void setLpmArgs(String args) {
-        this.values.put(Attr.lpmArgs.name(), args);
+    /**
+     * Sets the LPM arguments in this scope. Like all values of a non-root scope,
+     * they are only visible in child scopes created after they are set.
+     */
+    public synchronized void setLpmArgs(String args) {
+        if (root == this) {
+            if (args == null) {
+                values.remove(Attr.lpmArgs.name());
+            } else {
+                values.put(Attr.lpmArgs.name(), args);
+            }
+            return;
+        }
+        Map<String, Object> newValues = new HashMap<>(values);
+        if (args == null) {
+            newValues.remove(Attr.lpmArgs.name());
+        } else {
+            newValues.put(Attr.lpmArgs.name(), args);
+        }
+        values = newValues;
+        flattenedValues = flatten(newValues);
     }
 
     @Override
@@ -0,0 +1,100 @@
+package liquibase.bulkload;
+
+import liquibase.change.ColumnConfig;
+import liquibase.database.Database;
+import liquibase.database.jvm.JdbcConnection;
+import liquibase.exception.DatabaseException;
+import liquibase.statement.BulkLoadStatement;
+import liquibase.statement.DatabaseFunction;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.Timestamp;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Convenience base class for {@link BulkLoader} implementations which pass the rows to the database as CSV text.
+ * Non-null values are always quoted, so a database can tell an empty string from the {@link #getNullValue() NULL value}.
+ */
+public abstract class AbstractBulkLoader implements BulkLoader {
+
+    @Override
+    public int getPriority() {
+        return PRIORITY_DEFAULT;
+    }
+
+    /**
+     * The unquoted text that represents NULL in the CSV passed to the database.
+     */
+    protected String getNullValue() {
+        return "";
+    }
+
+    protected String formatBoolean(Boolean value) {
+        return value.toString();
+    }
+
+    protected Connection getConnection(Database database) throws DatabaseException {
+        if (!(database.getConnection() instanceof JdbcConnection)) {
+            throw new DatabaseException("Bulk loading requires a JDBC connection");
+        }
+        return ((JdbcConnection) database.getConnection()).getUnderlyingConnection();
+    }
+
+    protected String getColumnNames(BulkLoadStatement statement, List<? extends ColumnConfig> row) {
+        return row.stream()
+                .map(column -> statement.getDatabase().escapeColumnName(statement.getCatalogName(), statement.getSchemaName(),
+                        statement.getTableName(), column.getName()))
+                .collect(Collectors.joining(", "));
+    }
+
+    /**
+     * Returns the text to load for the column, or null for a NULL value.
+     *
+     * @throws DatabaseException if the value can only be inserted through an INSERT statement
+     */
+    protected String getText(ColumnConfig column) throws DatabaseException {
+        if ((column.getValueBlobFile() != null) || (column.getValueClobFile() != null)) {
+            throw new DatabaseException("Column " + column.getName() + " references a LOB file, which cannot be bulk loaded. " +
+                    "Disable liquibase.loadDataBulkLoad for this change.");
+        }
+        Object value = column.getValueObject();
+        if (value == null) {
+            return null;
+        } else if (value instanceof DatabaseFunction) {
+            throw new DatabaseException("Column " + column.getName() + " has the computed value " + value + ", which cannot be bulk loaded. " +
+                    "Disable liquibase.loadDataBulkLoad for this change.");
+        } else if (value instanceof Boolean) {
+            return formatBoolean((Boolean) value);
+        } else if (value instanceof BigDecimal) {
+            return ((BigDecimal) value).toPlainString();
+        } else if (value.getClass() == Date.class) {
+            return new Timestamp(((Date) value).getTime()).toString();
+        }
+        return value.toString();
+    }
+
+    /**
+     * Appends the row as a CSV line, terminated by a newline.
+     */
+    protected void appendRow(Appendable out, List<? extends ColumnConfig> row) throws DatabaseException, IOException {
+        boolean first = true;
+        for (ColumnConfig column : row) {
+            if (!first) {
+                out.append(',');
+            }
+            first = false;
+
+            String text = getText(column);
+            if (text == null) {
+                out.append(getNullValue());
+            } else {
+                out.append('"').append(text.replace("\"", "\"\"")).append('"');
+            }
+        }
+        out.append('\n');
+    }
+}
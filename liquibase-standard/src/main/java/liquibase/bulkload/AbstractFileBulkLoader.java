@@ -0,0 +1,80 @@
+package liquibase.bulkload;
+
+import liquibase.Scope;
+import liquibase.change.ColumnConfig;
+import liquibase.exception.DatabaseException;
+import liquibase.statement.BulkLoadStatement;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Base class for {@link BulkLoader} implementations which write the rows to a temporary CSV file and have the
+ * database load it with a single statement. The database must be able to read the file, so it has to run on the
+ * same machine as liquibase or read the file through the driver.
+ */
+public abstract class AbstractFileBulkLoader extends AbstractBulkLoader {
+
+    /**
+     * Writes all rows of the statement to a temporary UTF-8 CSV file without a header line and executes
+     * the SQL returned by {@link #getLoadFileSql(BulkLoadStatement, List, Path)} to load it.
+     * The file is deleted afterwards.
+     */
+    @Override
+    public long load(BulkLoadStatement statement) throws DatabaseException {
+        Path file = null;
+        try {
+            file = Files.createTempFile("liquibase-bulk-load-", ".csv");
+            List<ColumnConfig> columns = new ArrayList<>();
+            long rowCount = writeCsvFile(statement, file, columns);
+            if (rowCount > 0) {
+                try (Statement jdbcStatement = getConnection(statement.getDatabase()).createStatement()) {
+                    jdbcStatement.execute(getLoadFileSql(statement, columns, file));
+                }
+            }
+            return rowCount;
+        } catch (IOException | SQLException e) {
+            throw new DatabaseException(e);
+        } finally {
+            if (file != null) {
+                try {
+                    Files.deleteIfExists(file);
+                } catch (IOException e) {
+                    Scope.getCurrentScope().getLog(getClass()).fine("Cannot delete " + file + ": " + e.getMessage(), e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the SQL which loads the CSV file written by {@link #load(BulkLoadStatement)}.
+     */
+    protected abstract String getLoadFileSql(BulkLoadStatement statement, List<ColumnConfig> columns, Path file);
+
+    private long writeCsvFile(BulkLoadStatement statement, Path file, List<ColumnConfig> columns) throws DatabaseException {
+        long[] rowCount = {0};
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            statement.forEachRow(row -> {
+                if (rowCount[0] == 0) {
+                    columns.addAll(row);
+                }
+                try {
+                    appendRow(writer, row);
+                } catch (IOException e) {
+                    throw new DatabaseException(e);
+                }
+                rowCount[0]++;
+            });
+        } catch (IOException e) {
+            throw new DatabaseException(e);
+        }
+        return rowCount[0];
+    }
+}
@@ -0,0 +1,38 @@
+package liquibase.bulkload;
+
+import liquibase.change.ColumnConfig;
+import liquibase.database.Database;
+import liquibase.exception.DatabaseException;
+import liquibase.plugin.Plugin;
+import liquibase.statement.BulkLoadStatement;
+
+import java.util.List;
+
+/**
+ * Loads the rows of a loadData change using a database specific bulk loading mechanism
+ * such as PostgreSQL <code>COPY</code> instead of individual INSERT statements.
+ * Implementations are looked up through {@link BulkLoaderFactory}.
+ */
+public interface BulkLoader extends Plugin {
+
+    int getPriority();
+
+    boolean supports(Database database);
+
+    /**
+     * Loads all rows of the statement into its table.
+     *
+     * @return the number of rows loaded
+     * @throws DatabaseException if the rows could not be loaded, including when a row contains a value
+     *                           the bulk loader cannot represent, such as a computed value
+     */
+    long load(BulkLoadStatement statement) throws DatabaseException;
+
+    /**
+     * Receives the rows to load. Every row contains the same columns, in the same order.
+     */
+    @FunctionalInterface
+    interface RowHandler {
+        void handle(List<? extends ColumnConfig> row) throws DatabaseException;
+    }
+}
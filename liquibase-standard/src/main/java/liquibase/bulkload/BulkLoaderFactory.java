@@ -0,0 +1,33 @@
+package liquibase.bulkload;
+
+import liquibase.database.Database;
+import liquibase.plugin.AbstractPluginFactory;
+import liquibase.plugin.Plugin;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class BulkLoaderFactory extends AbstractPluginFactory<BulkLoader> {
+
+    @Override
+    protected Class<BulkLoader> getPluginClass() {
+        return BulkLoader.class;
+    }
+
+    @Override
+    protected int getPriority(BulkLoader bulkLoader, Object... args) {
+        Database database = (Database) args[0];
+        if (bulkLoader.supports(database)) {
+            return bulkLoader.getPriority();
+        } else {
+            return Plugin.PRIORITY_NOT_APPLICABLE;
+        }
+    }
+
+    /**
+     * Returns the bulk loader for the given database, or null if there is none.
+     */
+    public BulkLoader getBulkLoader(Database database) {
+        return getPlugin(database);
+    }
+}
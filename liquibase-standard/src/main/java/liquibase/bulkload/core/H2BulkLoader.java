@@ -0,0 +1,45 @@
+package liquibase.bulkload.core;
+
+import liquibase.bulkload.AbstractFileBulkLoader;
+import liquibase.change.ColumnConfig;
+import liquibase.database.Database;
+import liquibase.database.core.H2Database;
+import liquibase.statement.BulkLoadStatement;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Loads the rows into H2 with <code>INSERT ... SELECT * FROM CSVREAD(...)</code> from a temporary file.
+ * H2 reads unquoted empty values as NULL.
+ * <code>CSVREAD</code> reads the file on the database server, so this is only used for embedded and in-memory
+ * databases. Over TCP or SSL, loadData inserts the rows instead.
+ */
+public class H2BulkLoader extends AbstractFileBulkLoader {
+
+    @Override
+    public boolean supports(Database database) {
+        return (database instanceof H2Database) && !isServerConnection(database);
+    }
+
+    private static boolean isServerConnection(Database database) {
+        if ((database.getConnection() == null) || (database.getConnection().getURL() == null)) {
+            return false;
+        }
+        String url = database.getConnection().getURL().toLowerCase(Locale.US);
+        return url.startsWith("jdbc:h2:tcp:") || url.startsWith("jdbc:h2:ssl:");
+    }
+
+    @Override
+    protected String getLoadFileSql(BulkLoadStatement statement, List<ColumnConfig> columns, Path file) {
+        Database database = statement.getDatabase();
+        String csvColumns = IntStream.rangeClosed(1, columns.size()).mapToObj(i -> "C" + i).collect(Collectors.joining(","));
+        return "INSERT INTO " + database.escapeTableName(statement.getCatalogName(), statement.getSchemaName(), statement.getTableName()) +
+                " (" + getColumnNames(statement, columns) + ")" +
+                " SELECT * FROM CSVREAD('" + database.escapeStringForDatabase(file.toAbsolutePath().toString()) + "', '" + csvColumns + "'," +
+                " 'charset=UTF-8 fieldSeparator=, fieldDelimiter=\"')";
+    }
+}
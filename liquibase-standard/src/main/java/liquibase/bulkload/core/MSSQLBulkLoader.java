@@ -0,0 +1,280 @@
+package liquibase.bulkload.core;
+
+import liquibase.bulkload.AbstractBulkLoader;
+import liquibase.change.ColumnConfig;
+import liquibase.database.Database;
+import liquibase.database.core.MSSQLDatabase;
+import liquibase.exception.DatabaseException;
+import liquibase.statement.BulkLoadStatement;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Loads the rows into SQL Server with the driver's <code>SQLServerBulkCopy</code>, sending them in chunks.
+ * The values are passed with the JDBC type, precision and scale of their target columns, read from the table first.
+ * The driver classes are accessed reflectively, so liquibase does not depend on the SQL Server driver.
+ */
+public class MSSQLBulkLoader extends AbstractBulkLoader {
+
+    private static final int CHUNK_SIZE = 10000;
+
+    @Override
+    public boolean supports(Database database) {
+        return database instanceof MSSQLDatabase;
+    }
+
+    @Override
+    protected String formatBoolean(Boolean value) {
+        return value ? "1" : "0";
+    }
+
+    @Override
+    public long load(BulkLoadStatement statement) throws DatabaseException {
+        Connection connection = getConnection(statement.getDatabase());
+        BulkCopy[] bulkCopy = {null};
+        List<Object[]> chunk = new ArrayList<>();
+        long[] rowCount = {0};
+        try {
+            statement.forEachRow(row -> {
+                if (bulkCopy[0] == null) {
+                    List<String> columnNames = row.stream().map(ColumnConfig::getName).collect(Collectors.toList());
+                    bulkCopy[0] = new BulkCopy(connection, statement, columnNames, getColumnTypes(connection, statement, row));
+                }
+                Object[] values = new Object[row.size()];
+                for (int i = 0; i < values.length; i++) {
+                    values[i] = getValue(row.get(i), bulkCopy[0].columnTypes.get(i));
+                }
+                chunk.add(values);
+                rowCount[0]++;
+                if (chunk.size() >= CHUNK_SIZE) {
+                    bulkCopy[0].write(chunk);
+                    chunk.clear();
+                }
+            });
+            if (!chunk.isEmpty()) {
+                bulkCopy[0].write(chunk);
+            }
+        } finally {
+            if (bulkCopy[0] != null) {
+                bulkCopy[0].close();
+            }
+        }
+        return rowCount[0];
+    }
+
+    /**
+     * Reads the type, precision and scale of the loaded columns from the metadata of an empty query on the table.
+     */
+    private List<ColumnType> getColumnTypes(Connection connection, BulkLoadStatement statement, List<? extends ColumnConfig> row) throws DatabaseException {
+        String sql = "SELECT " + getColumnNames(statement, row) + " FROM " + statement.getDatabase()
+                .escapeTableName(statement.getCatalogName(), statement.getSchemaName(), statement.getTableName()) + " WHERE 1 = 0";
+        try (Statement jdbcStatement = connection.createStatement();
+             ResultSet resultSet = jdbcStatement.executeQuery(sql)) {
+            ResultSetMetaData metaData = resultSet.getMetaData();
+            List<ColumnType> columnTypes = new ArrayList<>(row.size());
+            for (int i = 1; i <= metaData.getColumnCount(); i++) {
+                columnTypes.add(new ColumnType(metaData.getColumnType(i), metaData.getPrecision(i), metaData.getScale(i)));
+            }
+            return columnTypes;
+        } catch (SQLException e) {
+            throw new DatabaseException("Cannot read the column types of " + statement.getTableName() + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Converts the value to the Java type the driver expects for the JDBC type of the column.
+     * Character, date/time and other types are passed as text, which SQL Server converts.
+     */
+    private Object getValue(ColumnConfig column, ColumnType columnType) throws DatabaseException {
+        Object value = column.getValueObject();
+        String text = getText(column);
+        if (text == null) {
+            return null;
+        }
+        try {
+            switch (columnType.type) {
+                case Types.BIT:
+                case Types.BOOLEAN:
+                    return (value instanceof Boolean) ? value : ("1".equals(text.trim()) || "true".equalsIgnoreCase(text.trim()));
+                case Types.TINYINT:
+                case Types.SMALLINT:
+                    return new BigDecimal(text.trim()).shortValueExact();
+                case Types.INTEGER:
+                    return new BigDecimal(text.trim()).intValueExact();
+                case Types.BIGINT:
+                    return new BigDecimal(text.trim()).longValueExact();
+                case Types.DECIMAL:
+                case Types.NUMERIC:
+                    return new BigDecimal(text.trim()).setScale(columnType.scale, RoundingMode.HALF_UP);
+                case Types.REAL:
+                    return Float.parseFloat(text.trim());
+                case Types.FLOAT:
+                case Types.DOUBLE:
+                    return Double.parseDouble(text.trim());
+                case Types.BINARY:
+                case Types.VARBINARY:
+                case Types.LONGVARBINARY:
+                case Types.BLOB:
+                    return (value instanceof byte[]) ? value : parseHex(text.trim());
+                default:
+                    return text;
+            }
+        } catch (ArithmeticException | IllegalArgumentException e) {
+            throw new DatabaseException("Cannot convert the value of column " + column.getName() + " to its type for bulk loading: " +
+                    e.getMessage() + ". Disable liquibase.loadDataBulkLoad for this change.", e);
+        }
+    }
+
+    /**
+     * Parses binary values given as hexadecimal text, with or without a 0x prefix.
+     */
+    private static byte[] parseHex(String text) {
+        String hex = (text.startsWith("0x") || text.startsWith("0X")) ? text.substring(2) : text;
+        if ((hex.length() % 2) != 0) {
+            throw new IllegalArgumentException("odd number of hexadecimal digits");
+        }
+        byte[] bytes = new byte[hex.length() / 2];
+        for (int i = 0; i < bytes.length; i++) {
+            int high = Character.digit(hex.charAt(2 * i), 16);
+            int low = Character.digit(hex.charAt((2 * i) + 1), 16);
+            if ((high < 0) || (low < 0)) {
+                throw new IllegalArgumentException("'" + text + "' is not hexadecimal");
+            }
+            bytes[i] = (byte) ((high << 4) + low);
+        }
+        return bytes;
+    }
+
+    private static class ColumnType {
+        private final int type;
+        private final int precision;
+        private final int scale;
+
+        ColumnType(int type, int precision, int scale) {
+            this.type = type;
+            this.precision = precision;
+            this.scale = scale;
+        }
+    }
+
+    /**
+     * Reflective wrapper around <code>com.microsoft.sqlserver.jdbc.SQLServerBulkCopy</code>.
+     */
+    private static class BulkCopy {
+        private final Object bulkCopy;
+        private final Class<?> bulkDataClass;
+        private final List<String> columnNames;
+        private final List<ColumnType> columnTypes;
+
+        BulkCopy(Connection connection, BulkLoadStatement statement, List<String> columnNames, List<ColumnType> columnTypes) throws DatabaseException {
+            this.columnNames = columnNames;
+            this.columnTypes = columnTypes;
+            try {
+                ClassLoader classLoader = connection.getClass().getClassLoader();
+                Class<?> bulkCopyClass = Class.forName("com.microsoft.sqlserver.jdbc.SQLServerBulkCopy", true, classLoader);
+                this.bulkDataClass = Class.forName("com.microsoft.sqlserver.jdbc.ISQLServerBulkData", true, classLoader);
+
+                this.bulkCopy = bulkCopyClass.getConstructor(Connection.class).newInstance(connection);
+                bulkCopyClass.getMethod("setDestinationTableName", String.class).invoke(bulkCopy, statement.getDatabase()
+                        .escapeTableName(statement.getCatalogName(), statement.getSchemaName(), statement.getTableName()));
+                for (int i = 0; i < columnNames.size(); i++) {
+                    bulkCopyClass.getMethod("addColumnMapping", int.class, String.class).invoke(bulkCopy, i + 1, columnNames.get(i));
+                }
+            } catch (ReflectiveOperationException e) {
+                throw new DatabaseException("Cannot start bulk copy with the SQL Server driver: " + unwrap(e).getMessage(), unwrap(e));
+            }
+        }
+
+        void write(List<Object[]> rows) throws DatabaseException {
+            Object bulkData = Proxy.newProxyInstance(bulkDataClass.getClassLoader(), new Class<?>[]{bulkDataClass}, new BulkData(columnNames, columnTypes, rows));
+            invoke("writeToServer", new Class<?>[]{bulkDataClass}, bulkData);
+        }
+
+        void close() throws DatabaseException {
+            invoke("close", new Class<?>[0]);
+        }
+
+        private void invoke(String methodName, Class<?>[] parameterTypes, Object... args) throws DatabaseException {
+            try {
+                bulkCopy.getClass().getMethod(methodName, parameterTypes).invoke(bulkCopy, args);
+            } catch (ReflectiveOperationException e) {
+                throw new DatabaseException(unwrap(e).getMessage(), unwrap(e));
+            }
+        }
+
+        private static Throwable unwrap(Exception e) {
+            if ((e instanceof InvocationTargetException) && (e.getCause() != null)) {
+                return e.getCause();
+            }
+            return e;
+        }
+    }
+
+    /**
+     * Implements <code>ISQLServerBulkData</code> over a chunk of rows.
+     */
+    private static class BulkData implements InvocationHandler {
+        private final List<String> columnNames;
+        private final List<ColumnType> columnTypes;
+        private final List<Object[]> rows;
+        private int current = -1;
+
+        BulkData(List<String> columnNames, List<ColumnType> columnTypes, List<Object[]> rows) {
+            this.columnNames = columnNames;
+            this.columnTypes = columnTypes;
+            this.rows = rows;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "getColumnOrdinals":
+                    Set<Integer> ordinals = new LinkedHashSet<>();
+                    for (int i = 1; i <= columnNames.size(); i++) {
+                        ordinals.add(i);
+                    }
+                    return ordinals;
+                case "getColumnName":
+                    return columnNames.get((Integer) args[0] - 1);
+                case "getColumnType":
+                    return columnTypes.get((Integer) args[0] - 1).type;
+                case "getPrecision":
+                    return columnTypes.get((Integer) args[0] - 1).precision;
+                case "getScale":
+                    return columnTypes.get((Integer) args[0] - 1).scale;
+                case "getRowData":
+                    return rows.get(current);
+                case "next":
+                    current++;
+                    return current < rows.size();
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "equals":
+                    return proxy == args[0];
+                case "toString":
+                    return "BulkData[" + rows.size() + " rows]";
+                default:
+                    if (method.isDefault()) {
+                        return InvocationHandler.invokeDefault(proxy, method, args);
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+            }
+        }
+    }
+}
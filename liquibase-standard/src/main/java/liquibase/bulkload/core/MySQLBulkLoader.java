@@ -0,0 +1,46 @@
+package liquibase.bulkload.core;
+
+import liquibase.bulkload.AbstractFileBulkLoader;
+import liquibase.change.ColumnConfig;
+import liquibase.database.Database;
+import liquibase.database.core.MySQLDatabase;
+import liquibase.statement.BulkLoadStatement;
+
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Loads the rows into MySQL and MariaDB with <code>LOAD DATA LOCAL INFILE</code> from a temporary file.
+ * The JDBC connection must allow local infile, e.g. with <code>allowLoadLocalInfile=true</code>.
+ */
+public class MySQLBulkLoader extends AbstractFileBulkLoader {
+
+    @Override
+    public boolean supports(Database database) {
+        return database instanceof MySQLDatabase;
+    }
+
+    /**
+     * With an empty escape character and enclosed values, MySQL reads an unquoted NULL as NULL and "NULL" as a string.
+     */
+    @Override
+    protected String getNullValue() {
+        return "NULL";
+    }
+
+    @Override
+    protected String formatBoolean(Boolean value) {
+        return value ? "1" : "0";
+    }
+
+    @Override
+    protected String getLoadFileSql(BulkLoadStatement statement, List<ColumnConfig> columns, Path file) {
+        Database database = statement.getDatabase();
+        return "LOAD DATA LOCAL INFILE '" + database.escapeStringForDatabase(file.toAbsolutePath().toString()) + "'" +
+                " INTO TABLE " + database.escapeTableName(statement.getCatalogName(), statement.getSchemaName(), statement.getTableName()) +
+                " CHARACTER SET utf8mb4" +
+                " FIELDS TERMINATED BY ',' OPTIONALLY ENCLOSED BY '\"' ESCAPED BY ''" +
+                " LINES TERMINATED BY '\\n'" +
+                " (" + getColumnNames(statement, columns) + ")";
+    }
+}
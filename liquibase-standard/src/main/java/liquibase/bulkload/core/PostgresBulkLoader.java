@@ -0,0 +1,124 @@
+package liquibase.bulkload.core;
+
+import liquibase.bulkload.AbstractBulkLoader;
+import liquibase.database.Database;
+import liquibase.database.core.CockroachDatabase;
+import liquibase.database.core.PostgresDatabase;
+import liquibase.exception.DatabaseException;
+import liquibase.statement.BulkLoadStatement;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+
+/**
+ * Streams the rows to PostgreSQL with <code>COPY ... FROM STDIN</code> through the driver's <code>CopyManager</code>.
+ * The driver classes are accessed reflectively, so liquibase does not depend on the PostgreSQL driver.
+ */
+public class PostgresBulkLoader extends AbstractBulkLoader {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    @Override
+    public boolean supports(Database database) {
+        return (database instanceof PostgresDatabase) && !(database instanceof CockroachDatabase);
+    }
+
+    @Override
+    public long load(BulkLoadStatement statement) throws DatabaseException {
+        Connection connection = getConnection(statement.getDatabase());
+        CopyIn[] copyIn = {null};
+        long[] rowCount = {0};
+        StringBuilder buffer = new StringBuilder(BUFFER_SIZE);
+        try {
+            statement.forEachRow(row -> {
+                if (copyIn[0] == null) {
+                    copyIn[0] = new CopyIn(connection, "COPY " + statement.getDatabase().escapeTableName(statement.getCatalogName(),
+                            statement.getSchemaName(), statement.getTableName()) + " (" + getColumnNames(statement, row) + ") FROM STDIN WITH (FORMAT csv)");
+                }
+                try {
+                    appendRow(buffer, row);
+                } catch (IOException e) {
+                    throw new DatabaseException(e);
+                }
+                rowCount[0]++;
+                if (buffer.length() >= BUFFER_SIZE) {
+                    copyIn[0].write(buffer);
+                    buffer.setLength(0);
+                }
+            });
+            if (copyIn[0] != null) {
+                copyIn[0].write(buffer);
+                copyIn[0].end();
+            }
+        } catch (DatabaseException | RuntimeException e) {
+            if (copyIn[0] != null) {
+                copyIn[0].cancel();
+            }
+            throw e;
+        }
+        return rowCount[0];
+    }
+
+    /**
+     * Reflective wrapper around <code>org.postgresql.copy.CopyIn</code>.
+     */
+    private static class CopyIn {
+        private final Object copyIn;
+        private final Method writeToCopy;
+        private final Method endCopy;
+        private final Method cancelCopy;
+
+        CopyIn(Connection connection, String sql) throws DatabaseException {
+            try {
+                ClassLoader classLoader = connection.getClass().getClassLoader();
+                Class<?> pgConnectionClass = Class.forName("org.postgresql.PGConnection", true, classLoader);
+                Class<?> copyInClass = Class.forName("org.postgresql.copy.CopyIn", true, classLoader);
+
+                Object copyManager = pgConnectionClass.getMethod("getCopyAPI").invoke(connection.unwrap(pgConnectionClass));
+                this.copyIn = copyManager.getClass().getMethod("copyIn", String.class).invoke(copyManager, sql);
+                this.writeToCopy = copyInClass.getMethod("writeToCopy", byte[].class, int.class, int.class);
+                this.endCopy = copyInClass.getMethod("endCopy");
+                this.cancelCopy = copyInClass.getMethod("cancelCopy");
+            } catch (ReflectiveOperationException | java.sql.SQLException e) {
+                throw new DatabaseException("Cannot start COPY with the PostgreSQL driver: " + unwrap(e).getMessage(), unwrap(e));
+            }
+        }
+
+        void write(CharSequence data) throws DatabaseException {
+            if (data.length() > 0) {
+                byte[] bytes = data.toString().getBytes(StandardCharsets.UTF_8);
+                invoke(writeToCopy, bytes, 0, bytes.length);
+            }
+        }
+
+        void end() throws DatabaseException {
+            invoke(endCopy);
+        }
+
+        void cancel() {
+            try {
+                invoke(cancelCopy);
+            } catch (DatabaseException ignored) {
+                // the original failure is more relevant
+            }
+        }
+
+        private void invoke(Method method, Object... args) throws DatabaseException {
+            try {
+                method.invoke(copyIn, args);
+            } catch (ReflectiveOperationException e) {
+                throw new DatabaseException(unwrap(e).getMessage(), unwrap(e));
+            }
+        }
+
+        private static Throwable unwrap(Exception e) {
+            if ((e instanceof InvocationTargetException) && (e.getCause() != null)) {
+                return e.getCause();
+            }
+            return e;
+        }
+    }
+}
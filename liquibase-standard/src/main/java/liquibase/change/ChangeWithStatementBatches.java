@@ -0,0 +1,28 @@
+package liquibase.change;
+
+import liquibase.database.Database;
+import liquibase.exception.DatabaseException;
+import liquibase.statement.SqlStatement;
+
+/**
+ * Marks a {@link Change} which can generate its statements in bounded batches rather than all at once,
+ * so executors can run each batch before the next one is generated.
+ * {@link Change#generateStatements(Database)} must still return all statements, for example when generating SQL.
+ */
+public interface ChangeWithStatementBatches {
+
+    /**
+     * Return true if the statements should be generated and executed batch by batch against the given database.
+     */
+    boolean generateStatementsInBatches(Database database);
+
+    /**
+     * Generate the statements of this change batch by batch, passing each batch to the handler before generating the next one.
+     */
+    void generateStatementBatches(Database database, StatementBatchHandler handler) throws DatabaseException;
+
+    @FunctionalInterface
+    interface StatementBatchHandler {
+        void handle(SqlStatement[] statements) throws DatabaseException;
+    }
+}
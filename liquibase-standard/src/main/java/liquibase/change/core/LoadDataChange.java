@@ -3,11 +3,14 @@ package liquibase.change.core;
 import liquibase.CatalogAndSchema;
 import liquibase.GlobalConfiguration;
 import liquibase.Scope;
+import liquibase.bulkload.BulkLoader;
+import liquibase.bulkload.BulkLoaderFactory;
 import liquibase.change.*;
 import liquibase.changelog.ChangeSet;
 import liquibase.database.AbstractJdbcDatabase;
 import liquibase.database.Database;
 import liquibase.database.core.MSSQLDatabase;
+import liquibase.database.jvm.JdbcConnection;
 import liquibase.database.core.MySQLDatabase;
 import liquibase.database.core.AbstractPostgresDatabase;
 import liquibase.datatype.DataTypeFactory;
@@ -23,6 +26,7 @@ import liquibase.snapshot.InvalidExampleException;
 import liquibase.snapshot.SnapshotControl;
 import liquibase.snapshot.SnapshotGeneratorFactory;
 import liquibase.statement.BatchDmlExecutablePreparedStatement;
+import liquibase.statement.BulkLoadStatement;
 import liquibase.statement.ExecutablePreparedStatementBase;
 import liquibase.statement.InsertExecutablePreparedStatement;
 import liquibase.statement.SqlStatement;
@@ -56,7 +60,7 @@ import static liquibase.change.ChangeParameterMetaData.ALL;
         priority = ChangeMetaData.PRIORITY_DEFAULT, appliesTo = "table",
         since = "1.7")
 @SuppressWarnings("java:S2583")
-public class LoadDataChange extends AbstractTableChange implements ChangeWithColumns<LoadDataColumnConfig> {
+public class LoadDataChange extends AbstractTableChange implements ChangeWithColumns<LoadDataColumnConfig>, ChangeWithStatementBatches {
     /**
      * CSV Lines starting with that sign(s) will be treated as comments by default
      */
@@ -100,6 +104,11 @@ public class LoadDataChange extends AbstractTableChange implements ChangeWithCol
         return true;
     }
 
+    // loadUpdateData needs to update existing rows, which the bulk loaders cannot do.
+    protected boolean hasBulkLoadImplemented() {
+        return true;
+    }
+
     @Override
     public boolean supports(Database database) {
         return true;
@@ -237,6 +246,141 @@ public class LoadDataChange extends AbstractTableChange implements ChangeWithCol
     public SqlStatement[] generateStatements(Database database) {
         supportsBatchUpdates(database);
 
+        try {
+            List<LoadDataRowConfig> rows = new ArrayList<>();
+            readRows(database, rows::add);
+            return generateStatementsFromRows(database, rows);
+        } catch (IOException | LiquibaseException e) {
+            throw new RuntimeException(e);
+        } catch (UnexpectedLiquibaseException ule) {
+            return handleFailure(ule);
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Streams the data file in batches of {@link GlobalConfiguration#LOAD_DATA_BATCH_SIZE} rows, or through a
+     * {@link BulkLoader} if {@link GlobalConfiguration#LOAD_DATA_BULK_LOAD} is enabled, when the statements are executed
+     * rather than written out as SQL.
+     */
+    @Override
+    public boolean generateStatementsInBatches(Database database) {
+        return ((getLoadDataBatchSize() > 0) || (getBulkLoader(database) != null)) &&
+                !(Scope.getCurrentScope().getSingleton(ExecutorService.class).getExecutor("jdbc", database) instanceof LoggingExecutor);
+    }
+
+    /**
+     * Reads, converts and hands over the rows of the data file in bounded batches, so only one batch is held in memory.
+     * With failOnError=false, batches handed over before a failing row stay applied.
+     */
+    @Override
+    public void generateStatementBatches(Database database, StatementBatchHandler handler) throws DatabaseException {
+        supportsBatchUpdates(database);
+
+        final BulkLoader bulkLoader = getBulkLoader(database);
+        final int batchSize = (getLoadDataBatchSize() > 0) ? getLoadDataBatchSize() : Integer.MAX_VALUE;
+        List<LoadDataRowConfig> rows = new ArrayList<>();
+        try {
+            if ((bulkLoader != null) && columnsAllowBulkLoad(database)) {
+                handler.handle(new SqlStatement[]{new BulkLoadStatement(database, getCatalogName(), getSchemaName(), getTableName(),
+                        bulkLoader, rowHandler -> readBulkLoadRows(database, rowHandler))});
+                return;
+            }
+            readRows(database, row -> {
+                rows.add(row);
+                if (rows.size() >= batchSize) {
+                    handler.handle(generateStatementsFromRows(database, rows));
+                    rows.clear();
+                }
+            });
+            if (!rows.isEmpty()) {
+                handler.handle(generateStatementsFromRows(database, rows));
+            }
+        } catch (DatabaseException e) {
+            throw e;
+        } catch (IOException | LiquibaseException e) {
+            throw new RuntimeException(e);
+        } catch (UnexpectedLiquibaseException ule) {
+            handleFailure(ule);
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Returns the bulk loader to use if bulk loading is enabled and supported by the database, otherwise null.
+     */
+    private BulkLoader getBulkLoader(Database database) {
+        if (!hasBulkLoadImplemented() || !GlobalConfiguration.LOAD_DATA_BULK_LOAD.getCurrentValue()
+                || !(database.getConnection() instanceof JdbcConnection)) {
+            return null;
+        }
+        return Scope.getCurrentScope().getSingleton(BulkLoaderFactory.class).getBulkLoader(database);
+    }
+
+    /**
+     * Bulk loaders only receive literal values, so computed, sequence and LOB columns need INSERT statements.
+     */
+    private boolean columnsAllowBulkLoad(Database database) throws Exception {
+        try (CSVReader reader = getCSVReader()) {
+            String[] headers = (reader == null) ? null : reader.readNext();
+            if (headers == null) {
+                // let readRows report the problem
+                return false;
+            }
+            addColumnsFromHeaders(headers);
+        }
+        try {
+            retrieveMissingColumnLoadTypes(columns, database);
+        } catch (DatabaseException e) {
+            throw new UnexpectedLiquibaseException(e);
+        }
+
+        for (LoadDataColumnConfig column : columns) {
+            LOAD_DATA_TYPE type = column.getTypeEnum();
+            if ((type == LOAD_DATA_TYPE.COMPUTED) || (type == LOAD_DATA_TYPE.SEQUENCE)
+                    || (type == LOAD_DATA_TYPE.BLOB) || (type == LOAD_DATA_TYPE.CLOB)
+                    || (column.getDefaultValueComputed() != null) || (column.getDefaultValueSequenceNext() != null)) {
+                Scope.getCurrentScope().getLog(getClass()).fine("Column " + column.getName() + " of " + getTableName() +
+                        " cannot be bulk loaded, using INSERT statements instead");
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void readBulkLoadRows(Database database, BulkLoader.RowHandler rowHandler) throws DatabaseException {
+        try {
+            readRows(database, row -> rowHandler.handle(row.getColumns()));
+        } catch (DatabaseException | UnexpectedLiquibaseException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new DatabaseException(e);
+        }
+    }
+
+    private static int getLoadDataBatchSize() {
+        Integer batchSize = GlobalConfiguration.LOAD_DATA_BATCH_SIZE.getCurrentValue();
+        return batchSize == null ? 0 : batchSize;
+    }
+
+    private SqlStatement[] handleFailure(UnexpectedLiquibaseException ule) {
+        if ((getChangeSet() != null) && (getChangeSet().getFailOnError() != null) && !getChangeSet()
+                .getFailOnError()) {
+            Logger log = Scope.getCurrentScope().getLog(LoadDataChange.class);
+            log.info("Changeset " + getChangeSet().toString(false) +
+                     " failed, but failOnError was false.  Error: " + ule.getMessage());
+            return SqlStatement.EMPTY_SQL_STATEMENT;
+        } else {
+            throw ule;
+        }
+    }
+
+    /**
+     * Reads the data file row by row, converting each line according to the column configs and passing it to the handler.
+     */
+    private void readRows(Database database, RowHandler handler) throws Exception {
         try (CSVReader reader = getCSVReader()) {
 
             if (reader == null) {
@@ -264,7 +408,6 @@ public class LoadDataChange extends AbstractTableChange implements ChangeWithCol
 
             boolean isCommentingEnabled = StringUtils.isNotEmpty(commentLineStartsWith);
 
-            List<LoadDataRowConfig> rows = new ArrayList<>();
             while ((line = reader.readNext()) != null) {
                 lineNumber++;
                 if
@@ -471,25 +614,14 @@ public class LoadDataChange extends AbstractTableChange implements ChangeWithCol
                         actuallyUsePreparedStatements = needsPreparedStatement || (!isLoggingExecutor(database) && preferPreparedStatements(database));
                     }
                 }
-                rows.add(new LoadDataRowConfig(actuallyUsePreparedStatements, columnsFromCsv));
-            }
-            return generateStatementsFromRows(database, rows);
-        } catch (IOException | LiquibaseException e) {
-            throw new RuntimeException(e);
-        } catch (UnexpectedLiquibaseException ule) {
-            if ((getChangeSet() != null) && (getChangeSet().getFailOnError() != null) && !getChangeSet()
-                    .getFailOnError()) {
-                Logger log = Scope.getCurrentScope().getLog(LoadDataChange.class);
-                log.info("Changeset " + getChangeSet().toString(false) +
-                         " failed, but failOnError was false.  Error: " + ule.getMessage());
-                return SqlStatement.EMPTY_SQL_STATEMENT;
-            } else {
-                throw ule;
+                handler.handle(new LoadDataRowConfig(actuallyUsePreparedStatements, columnsFromCsv));
             }
-        } catch (Exception e) {
-            throw new RuntimeException(e);
         }
-        // Do nothing
+    }
+
+    @FunctionalInterface
+    private interface RowHandler {
+        void handle(LoadDataRowConfig row) throws DatabaseException;
     }
 
     /**
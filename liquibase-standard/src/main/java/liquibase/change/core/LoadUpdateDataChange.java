@@ -38,6 +38,9 @@ public class LoadUpdateDataChange extends LoadDataChange {
     @Override
     protected boolean hasPreparedStatementsImplemented() { return false; }
 
+    @Override
+    protected boolean hasBulkLoadImplemented() { return false; }
+
     @Override
     @DatabaseChangeProperty(description = "Name of the table to insert or update data in", requiredForDatabase = ALL)
     public String getTableName() {
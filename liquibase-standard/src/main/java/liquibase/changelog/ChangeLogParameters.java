@@ -49,6 +49,13 @@ public class ChangeLogParameters {
     private Contexts filterContexts;
     private LabelExpression filterLabels;
 
+    /**
+     * Only set on instances created by {@link #fork()}: the keys looked up and the parameters set through the fork.
+     */
+    private final Set<String> readKeys;
+    private final List<ChangeLogParameter> addedGlobalParameters;
+    private final Map<String, List<ChangeLogParameter>> addedLocalParameters;
+
     private enum LiquibaseExecutionParameter {
         LIQUIBASE_EXECUTION_DEPLOYMENT_ID {
             @Override
@@ -175,6 +182,70 @@ public class ChangeLogParameters {
         this.expressionExpander = new ExpressionExpander(this);
         this.filterContexts = new Contexts();
         this.filterLabels = new LabelExpression();
+        this.readKeys = null;
+        this.addedGlobalParameters = null;
+        this.addedLocalParameters = null;
+    }
+
+    private ChangeLogParameters(ChangeLogParameters original, Set<String> readKeys) {
+        this.systemParameters.addAll(original.systemParameters);
+        this.globalParameters.addAll(original.globalParameters);
+        original.localParameters.forEach((key, parameters) -> this.localParameters.put(key, new ArrayList<>(parameters)));
+        this.filterDatabase = original.filterDatabase;
+        this.filterContexts = original.filterContexts;
+        this.filterLabels = original.filterLabels;
+        this.expressionExpander = new ExpressionExpander(this);
+        this.readKeys = readKeys;
+        this.addedGlobalParameters = new ArrayList<>();
+        this.addedLocalParameters = new LinkedHashMap<>();
+    }
+
+    /**
+     * Creates a copy of these parameters for parsing an included changelog concurrently with its siblings.
+     * The copy remembers which keys were looked up and which parameters were set through it, so the caller can
+     * {@link #merge(ChangeLogParameters)} it back in declared order and detect when the included changelog may have
+     * depended on a parameter set by a sibling parsed at the same time.
+     */
+    ChangeLogParameters fork() {
+        return new ChangeLogParameters(this, new HashSet<>());
+    }
+
+    /**
+     * Returns true if any of the given keys was looked up through this instance. Always false if this instance was not
+     * created by {@link #fork()}.
+     */
+    boolean hasReadAnyOf(Collection<String> keys) {
+        if (readKeys == null) {
+            return false;
+        }
+        for (String key : keys) {
+            if (readKeys.contains(key)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Adds the parameters set through the given {@link #fork()} to this instance, in the order they were set.
+     *
+     * @return the lower-cased keys of the added parameters
+     */
+    Set<String> merge(ChangeLogParameters fork) {
+        Set<String> mergedKeys = new HashSet<>();
+        for (ChangeLogParameter parameter : fork.addedGlobalParameters) {
+            this.globalParameters.add(parameter);
+            mergedKeys.add(normalizeKey(parameter.getKey()));
+        }
+        fork.addedLocalParameters.forEach((changelogKey, parameters) -> {
+            this.localParameters.computeIfAbsent(changelogKey, key -> new ArrayList<>()).addAll(parameters);
+            parameters.forEach(parameter -> mergedKeys.add(normalizeKey(parameter.getKey())));
+        });
+        return mergedKeys;
+    }
+
+    static String normalizeKey(String key) {
+        return key == null ? null : key.toLowerCase(Locale.ROOT);
     }
 
     /**
@@ -221,7 +292,11 @@ public class ChangeLogParameters {
      * Just because you call this with a particular key, does not mean it will override the existing value. See the class description for more details on how values act as if they are immutable.
      */
     public void set(String key, Object value, ContextExpression contexts, Labels labels, String... databases) {
-        globalParameters.add(new ChangeLogParameter(key, value, contexts, labels, databases, true));
+        ChangeLogParameter parameter = new ChangeLogParameter(key, value, contexts, labels, databases, true);
+        globalParameters.add(parameter);
+        if (addedGlobalParameters != null) {
+            addedGlobalParameters.add(parameter);
+        }
     }
 
     /**
@@ -242,7 +317,11 @@ public class ChangeLogParameters {
             localParams = new ArrayList<>();
             this.localParameters.put(changelogKey, localParams);
         }
-        localParams.add(new ChangeLogParameter(key, value, contexts, labels, databases, true));
+        ChangeLogParameter parameter = new ChangeLogParameter(key, value, contexts, labels, databases, true);
+        localParams.add(parameter);
+        if (addedLocalParameters != null) {
+            addedLocalParameters.computeIfAbsent(changelogKey, k -> new ArrayList<>()).add(parameter);
+        }
     }
 
     /**
@@ -261,6 +340,9 @@ public class ChangeLogParameters {
      * Try to get local property from given ChangeSet.
      */
     public Object getLocalValue(String key, ChangeSet changeSet) {
+        if (readKeys != null) {
+            readKeys.add(normalizeKey(key));
+        }
         List<ChangeLogParameter> localList = localParameters.get(changeSet.getFilePath());
 
         if (null != localList) {
@@ -340,6 +422,9 @@ public class ChangeLogParameters {
     }
 
     private ChangeLogParameter getChangelogParameter(String key, DatabaseChangeLog changeLog, Filter filter) {
+        if (readKeys != null) {
+            readKeys.add(normalizeKey(key));
+        }
         if (changeLog != null) {
             LiquibaseExecutionParameter executionParameter = LiquibaseExecutionParameter.findByName(key);
             if (executionParameter != null) {
@@ -0,0 +1,260 @@
+package liquibase.changelog;
+
+import liquibase.ChecksumVersion;
+import liquibase.Contexts;
+import liquibase.GlobalConfiguration;
+import liquibase.LabelExpression;
+import liquibase.Scope;
+import liquibase.change.ColumnConfig;
+import liquibase.database.Database;
+import liquibase.database.ObjectQuotingStrategy;
+import liquibase.database.core.MSSQLDatabase;
+import liquibase.datatype.DataTypeFactory;
+import liquibase.exception.DatabaseException;
+import liquibase.exception.LiquibaseException;
+import liquibase.executor.ExecutorService;
+import liquibase.executor.jvm.ChangelogJdbcMdcListener;
+import liquibase.executor.jvm.JdbcExecutor;
+import liquibase.snapshot.SnapshotGeneratorFactory;
+import liquibase.statement.DatabaseFunction;
+import liquibase.statement.NotNullConstraint;
+import liquibase.statement.SqlStatement;
+import liquibase.statement.core.*;
+import liquibase.structure.core.Table;
+import liquibase.util.MD5Util;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Records that a database was found up to date with a changelog, so {@link FastCheckService} can tell with one
+ * single-row query instead of reading the DATABASECHANGELOG table, and the changelog does not need to be validated
+ * against it again, as configured by {@link GlobalConfiguration#DATABASECHANGELOG_STAMP}.
+ * <p>
+ * A stamp row holds a hash of the changelog, its checksums and the filters it ran with, and the row count and
+ * highest ORDEREXECUTED of DATABASECHANGELOG when it was found up to date. The row only matches while both numbers are
+ * unchanged, and every changeset which runs or runs again changes them. Removing or renaming DATABASECHANGELOG rows
+ * deletes all stamps in the same transaction.
+ * <p>
+ * Stamps are written without holding the changelog lock, so they are only written once the stamp table exists.
+ * It is created by {@link #createTable(Database)} when update holds the lock.
+ */
+public class ChangeLogStamp {
+
+    private final Database database;
+    private final String stamp;
+
+    private Integer changeSetCount;
+    private Integer maxOrderExecuted;
+
+    private ChangeLogStamp(Database database, String stamp) {
+        this.database = database;
+        this.stamp = stamp;
+    }
+
+    /**
+     * Returns the stamp of the given changelog and filters, or null if stamps are disabled, the database is not
+     * changed through a {@link JdbcExecutor}, or the changelog checksums cannot be computed.
+     */
+    public static ChangeLogStamp get(Database database, DatabaseChangeLog databaseChangeLog, Contexts contexts, LabelExpression labelExpression) {
+        if (!GlobalConfiguration.DATABASECHANGELOG_STAMP.getCurrentValue()
+                || !(Scope.getCurrentScope().getSingleton(ExecutorService.class).getExecutor("jdbc", database) instanceof JdbcExecutor)) {
+            return null;
+        }
+        try {
+            return new ChangeLogStamp(database, Scope.child(Collections.singletonMap(Scope.Attr.database.name(), database),
+                    () -> computeStamp(database, databaseChangeLog, contexts, labelExpression)));
+        } catch (Exception e) {
+            Scope.getCurrentScope().getLog(ChangeLogStamp.class).fine("Cannot compute changelog stamp: " + e.getMessage());
+            return null;
+        }
+    }
+
+    static String computeStamp(Database database, DatabaseChangeLog databaseChangeLog, Contexts contexts, LabelExpression labelExpression) {
+        StringBuilder value = new StringBuilder()
+                .append(database.getShortName())
+                .append('|').append(contexts)
+                .append('|').append(labelExpression);
+        for (ChangeSet changeSet : databaseChangeLog.getChangeSets()) {
+            value.append('\n').append(changeSet.getStoredFilePath())
+                    .append("::").append(changeSet.getId())
+                    .append("::").append(changeSet.getAuthor())
+                    .append('|').append(ChecksumManifest.generateCheckSum(changeSet, ChecksumVersion.latest()))
+                    .append('|').append(changeSet.isAlwaysRun())
+                    .append('|').append(changeSet.isRunOnChange())
+                    .append('|').append(changeSet.isIgnore())
+                    .append('|').append(changeSet.getContextFilter())
+                    .append('|').append(changeSet.getLabels())
+                    .append('|').append(changeSet.getDbmsSet());
+        }
+        return MD5Util.computeMD5(value.toString());
+    }
+
+    String getStamp() {
+        return stamp;
+    }
+
+    /**
+     * Returns true if this stamp was recorded for the current state of the DATABASECHANGELOG table.
+     * Returns false if it was not, or the tables cannot be queried.
+     */
+    public boolean isCurrent() {
+        String databaseChangeLogTable = escapeTableName(database, database.getDatabaseChangeLogTableName());
+        SqlStatement selectStatement = new RawSqlStatement("SELECT COUNT(*) FROM " + escapeTableName(database, getTableName(database))
+                + " WHERE STAMP = '" + stamp + "'"
+                + " AND CHANGESET_COUNT = (SELECT COUNT(*) FROM " + databaseChangeLogTable + ")"
+                + " AND MAX_ORDER_EXECUTED = (SELECT MAX(ORDEREXECUTED) FROM " + databaseChangeLogTable + ")");
+        try {
+            return ChangelogJdbcMdcListener.query(database, executor -> executor.queryForInt(selectStatement)) > 0;
+        } catch (DatabaseException e) {
+            Scope.getCurrentScope().getLog(getClass()).fine("Cannot check changelog stamp, reading " + database.getDatabaseChangeLogTableName() + " instead: " + e.getMessage());
+            rollbackQuietly();
+            return false;
+        }
+    }
+
+    /**
+     * Reads the DATABASECHANGELOG row count and highest ORDEREXECUTED which {@link #write()} records.
+     * Must be called before the DATABASECHANGELOG table is read to find the database up to date.
+     */
+    public void readHistoryState() {
+        SqlStatement historyStateStatement = new SelectFromDatabaseChangeLogStatement(
+                new ColumnConfig().setName("COUNT(*) AS CHANGESET_COUNT", true),
+                new ColumnConfig().setName("MAX(ORDEREXECUTED) AS MAX_ORDER_EXECUTED", true));
+        try {
+            Map<String, ?> row = ChangelogJdbcMdcListener.query(database, executor -> executor.queryForList(historyStateStatement)).get(0);
+            changeSetCount = toInteger(row.get("CHANGESET_COUNT"));
+            maxOrderExecuted = toInteger(row.get("MAX_ORDER_EXECUTED"));
+        } catch (DatabaseException e) {
+            Scope.getCurrentScope().getLog(getClass()).fine("Cannot read " + database.getDatabaseChangeLogTableName() + " state for the changelog stamp: " + e.getMessage());
+            rollbackQuietly();
+        }
+    }
+
+    /**
+     * Records that the database is up to date with this stamp in the state read by {@link #readHistoryState()},
+     * replacing the stamps of earlier states. Does nothing if the stamp table does not exist yet.
+     * Failures are logged and leave the stamp unrecorded.
+     */
+    public void write() {
+        if ((changeSetCount == null) || (maxOrderExecuted == null)) {
+            return;
+        }
+        ObjectQuotingStrategy currentStrategy = database.getObjectQuotingStrategy();
+        database.setObjectQuotingStrategy(ObjectQuotingStrategy.LEGACY);
+        try {
+            if (!hasTable(database)) {
+                Scope.getCurrentScope().getLog(getClass()).fine("Not recording changelog stamp, " + getTableName(database) + " is created by the next update");
+                return;
+            }
+            ChangelogJdbcMdcListener.execute(database, executor -> {
+                executor.execute(new DeleteStatement(database.getLiquibaseCatalogName(), database.getLiquibaseSchemaName(), getTableName(database))
+                        .setWhere("STAMP = ? OR CHANGESET_COUNT <> ? OR MAX_ORDER_EXECUTED <> ?")
+                        .addWhereParameters(stamp, changeSetCount, maxOrderExecuted));
+                executor.execute(new InsertStatement(database.getLiquibaseCatalogName(), database.getLiquibaseSchemaName(), getTableName(database))
+                        .addColumnValue("STAMP", stamp)
+                        .addColumnValue("CHANGESET_COUNT", changeSetCount)
+                        .addColumnValue("MAX_ORDER_EXECUTED", maxOrderExecuted)
+                        .addColumnValue("DATEWRITTEN", new DatabaseFunction(database.getCurrentDateTimeFunction())));
+            });
+            database.commit();
+            Scope.getCurrentScope().getLog(getClass()).fine("Recorded changelog stamp " + stamp);
+        } catch (LiquibaseException e) {
+            Scope.getCurrentScope().getLog(getClass()).fine("Cannot record changelog stamp: " + e.getMessage());
+            rollbackQuietly();
+        } finally {
+            database.setObjectQuotingStrategy(currentStrategy);
+        }
+    }
+
+    /**
+     * Creates the stamp table if stamps are enabled and it does not exist yet. Must be called while holding the changelog lock.
+     * Failures are logged and leave stamps disabled for the database.
+     */
+    public static void createTable(Database database) {
+        if (!GlobalConfiguration.DATABASECHANGELOG_STAMP.getCurrentValue()
+                || !(Scope.getCurrentScope().getSingleton(ExecutorService.class).getExecutor("jdbc", database) instanceof JdbcExecutor)) {
+            return;
+        }
+        ObjectQuotingStrategy currentStrategy = database.getObjectQuotingStrategy();
+        database.setObjectQuotingStrategy(ObjectQuotingStrategy.LEGACY);
+        try {
+            if (!hasTable(database)) {
+                Scope.getCurrentScope().getLog(ChangeLogStamp.class).info("Creating changelog stamp table with name: " + getTableName(database));
+                ChangelogJdbcMdcListener.execute(database, executor -> executor.execute(getCreateTableStatement(database)));
+                database.commit();
+            }
+        } catch (DatabaseException e) {
+            Scope.getCurrentScope().getLog(ChangeLogStamp.class).warning("Cannot create changelog stamp table: " + e.getMessage(), e);
+            try {
+                database.rollback();
+            } catch (DatabaseException rollbackException) {
+                Scope.getCurrentScope().getLog(ChangeLogStamp.class).fine("Cannot roll back: " + rollbackException.getMessage());
+            }
+        } finally {
+            database.setObjectQuotingStrategy(currentStrategy);
+        }
+    }
+
+    /**
+     * Returns true if the stamp table exists in the given database.
+     */
+    static boolean hasTable(Database database) throws DatabaseException {
+        try {
+            return SnapshotGeneratorFactory.getInstance().has(new Table().setName(getTableName(database))
+                    .setSchema(database.getLiquibaseCatalogName(), database.getLiquibaseSchemaName()), database);
+        } catch (LiquibaseException e) {
+            throw new DatabaseException(e);
+        }
+    }
+
+    /**
+     * Deletes all stamps without committing, so they are deleted in the transaction which removes or renames DATABASECHANGELOG rows.
+     */
+    static void clear(Database database) throws DatabaseException {
+        ChangelogJdbcMdcListener.execute(database, executor -> executor.execute(new RawSqlStatement("DELETE FROM " + escapeTableName(database, getTableName(database)))));
+    }
+
+    private static String getTableName(Database database) {
+        return database.correctObjectName(GlobalConfiguration.DATABASECHANGELOGSTAMP_TABLE_NAME.getCurrentValue(), Table.class);
+    }
+
+    /**
+     * Escapes the given table name the way the Liquibase tables are created, with {@link ObjectQuotingStrategy#LEGACY} quoting.
+     */
+    private static String escapeTableName(Database database, String tableName) {
+        ObjectQuotingStrategy currentStrategy = database.getObjectQuotingStrategy();
+        database.setObjectQuotingStrategy(ObjectQuotingStrategy.LEGACY);
+        try {
+            return database.escapeTableName(database.getLiquibaseCatalogName(), database.getLiquibaseSchemaName(), tableName);
+        } finally {
+            database.setObjectQuotingStrategy(currentStrategy);
+        }
+    }
+
+    private static CreateTableStatement getCreateTableStatement(Database database) {
+        String charTypeName = ((database instanceof MSSQLDatabase) && ((MSSQLDatabase) database).sendsStringParametersAsUnicode()) ? "nvarchar" : "varchar";
+        String dateTimeTypeString = (database instanceof MSSQLDatabase) ? "datetime2(3)" : "datetime";
+        return new CreateTableStatement(database.getLiquibaseCatalogName(), database.getLiquibaseSchemaName(), getTableName(database))
+                .setTablespace(database.getLiquibaseTablespaceName())
+                .addColumn("STAMP", DataTypeFactory.getInstance().fromDescription(charTypeName + "(32)", database), null, null, new NotNullConstraint())
+                .addColumn("CHANGESET_COUNT", DataTypeFactory.getInstance().fromDescription("int", database), null, null, new NotNullConstraint())
+                .addColumn("MAX_ORDER_EXECUTED", DataTypeFactory.getInstance().fromDescription("int", database), null, null, new NotNullConstraint())
+                .addColumn("DATEWRITTEN", DataTypeFactory.getInstance().fromDescription(dateTimeTypeString, database), null, null, new NotNullConstraint());
+    }
+
+    private static Integer toInteger(Object value) {
+        if (value == null) {
+            return null;
+        }
+        return (value instanceof Number) ? ((Number) value).intValue() : Integer.valueOf(value.toString().trim());
+    }
+
+    private void rollbackQuietly() {
+        try {
+            database.rollback();
+        } catch (DatabaseException e) {
+            Scope.getCurrentScope().getLog(getClass()).fine("Cannot roll back: " + e.getMessage());
+        }
+    }
+}
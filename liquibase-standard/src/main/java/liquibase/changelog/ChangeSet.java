@@ -475,6 +475,9 @@ public class ChangeSet implements Conditional, ChangeLogChild {
                     .replaceFirst("^/", "");
 
         }
+        if (changeLog != null) {
+            changeLog.changeSetIdentifierChanged(this);
+        }
 
         this.setFailOnError(node.getChildValue(null, "failOnError", Boolean.class));
         String onValidationFailString = node.getChildValue(null, "onValidationFail", "HALT");
@@ -745,6 +748,14 @@ public class ChangeSet implements Conditional, ChangeLogChild {
 
         boolean skipChange = false;
 
+        GroupCommit groupCommit = GroupCommit.get(database);
+        boolean inGroupCommit;
+        try {
+            inGroupCommit = (groupCommit != null) && groupCommit.join(this);
+        } catch (DatabaseException e) {
+            throw new MigrationFailedException(this, e);
+        }
+
         Executor originalExecutor = setupCustomExecutorIfNecessary(database);
         try {
             Executor executor = getCurrentScope().getSingleton(ExecutorService.class).getExecutor("jdbc", database);
@@ -833,7 +844,11 @@ public class ChangeSet implements Conditional, ChangeLogChild {
 
                 database.rollback();
             } finally {
-                database.rollback();
+                // a changeset without preconditions runs no queries before this point which could need a rollback,
+                // and must not roll back the changesets before it in the same group commit
+                if (!inGroupCommit || (preconditions != null)) {
+                    database.rollback();
+                }
             }
 
             if (!skipChange) {
@@ -868,7 +883,7 @@ public class ChangeSet implements Conditional, ChangeLogChild {
                     }
                 }
 
-                if (runInTransaction) {
+                if (runInTransaction && !inGroupCommit) {
                     database.commit();
                 }
                 if (skippedAllChanges) {
@@ -905,7 +920,11 @@ public class ChangeSet implements Conditional, ChangeLogChild {
             CommandScope.suppressExceptionLogging(true);
 
             try {
-                database.rollback();
+                if (inGroupCommit) {
+                    groupCommit.rollback();
+                } else {
+                    database.rollback();
+                }
             } catch (Exception e1) {
                 throw new MigrationFailedException(this, e);
             }
@@ -1422,7 +1441,7 @@ public class ChangeSet implements Conditional, ChangeLogChild {
                 return true;
             }
         }
-        CheckSum currentMd5Sum = storedCheckSum != null ? generateCheckSum(ChecksumVersion.enumFromChecksumVersion(storedCheckSum.getVersion())) : null;
+        CheckSum currentMd5Sum = storedCheckSum != null ? ChecksumManifest.generateCheckSum(this, ChecksumVersion.enumFromChecksumVersion(storedCheckSum.getVersion())) : null;
         if (currentMd5Sum == null) {
             return true;
         }
@@ -1475,6 +1494,9 @@ public class ChangeSet implements Conditional, ChangeLogChild {
      */
     public void setFilePath(String filePath) {
         this.filePath = filePath;
+        if (changeLog != null) {
+            changeLog.changeSetIdentifierChanged(this);
+        }
     }
 
     public void setRunOrder(String runOrder) {
@@ -1727,6 +1749,13 @@ public class ChangeSet implements Conditional, ChangeLogChild {
         if (!change.supports(database)) {
             return null;
         }
+        //
+        // Changes which execute their statements in batches would have to materialize all of them here
+        //
+        if (!generateRollbackStatements && (change instanceof ChangeWithStatementBatches)
+                && ((ChangeWithStatementBatches) change).generateStatementsInBatches(database)) {
+            return null;
+        }
 
         AtomicReference<SqlStatement[]> statementsReference = new AtomicReference<>();
         Map<String, Object> scopeValues = new HashMap<>();
@@ -0,0 +1,106 @@
+package liquibase.changelog;
+
+import java.util.*;
+
+/**
+ * Hash index over the changesets of a {@link DatabaseChangeLog} so that lookups by (path, author, id) do not need
+ * to scan the whole changelog. Changesets are bucketed by case-folded author and id, and each entry keeps the
+ * normalized file path its changeset had when it was indexed. The changelog indexes each changeset as it is added
+ * and indexes it again whenever its path, author or id changes, so lookups only read the index.
+ * <p>
+ * Author, id and normalized path are compared with {@link String#equalsIgnoreCase(String)}.
+ */
+class ChangeSetIndex {
+
+    private final Map<String, List<Entry>> entriesByKey = new HashMap<>();
+    private final Map<ChangeSet, String> keysByChangeSet = new IdentityHashMap<>();
+
+    /**
+     * Indexes a changeset that was just added to the changelog.
+     */
+    void add(ChangeSet changeSet) {
+        String key = key(changeSet.getAuthor(), changeSet.getId());
+        entriesByKey.computeIfAbsent(key, k -> new ArrayList<>(1))
+                .add(new Entry(changeSet, DatabaseChangeLog.normalizePath(changeSet.getFilePath())));
+        keysByChangeSet.put(changeSet, key);
+    }
+
+    /**
+     * Indexes a changeset again after its path, author or id changed. Changesets which are not in the index are ignored.
+     */
+    void reindex(ChangeSet changeSet) {
+        String key = keysByChangeSet.remove(changeSet);
+        if (key == null) {
+            return;
+        }
+        List<Entry> entries = entriesByKey.get(key);
+        int count = 0;
+        for (Iterator<Entry> it = entries.iterator(); it.hasNext(); ) {
+            if (it.next().changeSet == changeSet) {
+                it.remove();
+                count++;
+            }
+        }
+        if (entries.isEmpty()) {
+            entriesByKey.remove(key);
+        }
+        for (int i = 0; i < count; i++) {
+            add(changeSet);
+        }
+    }
+
+    /**
+     * Returns the indexed changesets matching the given normalized path, author and id, in the order they were indexed.
+     */
+    List<ChangeSet> find(String normalizedPath, String author, String id) {
+        List<Entry> entries = entriesByKey.get(key(author, id));
+        if (entries == null) {
+            return new ArrayList<>();
+        }
+        List<ChangeSet> matches = new ArrayList<>(entries.size());
+        for (Entry entry : entries) {
+            ChangeSet changeSet = entry.changeSet;
+            if (changeSet.getAuthor().equalsIgnoreCase(author) && changeSet.getId().equalsIgnoreCase(id)
+                    && entry.normalizedFilePath != null && entry.normalizedFilePath.equalsIgnoreCase(normalizedPath)) {
+                matches.add(changeSet);
+            }
+        }
+        return matches;
+    }
+
+    private static String key(String author, String id) {
+        return foldCase(author) + ":" + foldCase(id);
+    }
+
+    /**
+     * Folds the case of each character the same way {@link String#equalsIgnoreCase(String)} compares them, so that
+     * strings which are equal ignoring case always end up in the same bucket.
+     */
+    private static String foldCase(String value) {
+        if (value == null) {
+            return null;
+        }
+        StringBuilder folded = null;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            char foldedChar = Character.toLowerCase(Character.toUpperCase(c));
+            if (foldedChar != c && folded == null) {
+                folded = new StringBuilder(value.length()).append(value, 0, i);
+            }
+            if (folded != null) {
+                folded.append(foldedChar);
+            }
+        }
+        return folded == null ? value : folded.toString();
+    }
+
+    private static class Entry {
+        private final ChangeSet changeSet;
+        private final String normalizedFilePath;
+
+        private Entry(ChangeSet changeSet, String normalizedFilePath) {
+            this.changeSet = changeSet;
+            this.normalizedFilePath = normalizedFilePath;
+        }
+    }
+}
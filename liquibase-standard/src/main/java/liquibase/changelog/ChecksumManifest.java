@@ -0,0 +1,552 @@
+package liquibase.changelog;
+
+import liquibase.ChecksumVersion;
+import liquibase.GlobalConfiguration;
+import liquibase.Scope;
+import liquibase.change.CheckSum;
+import liquibase.database.Database;
+import liquibase.exception.UnexpectedLiquibaseException;
+import liquibase.exception.UnknownChangeLogParameterException;
+import liquibase.resource.OpenOptions;
+import liquibase.resource.Resource;
+import liquibase.resource.ResourceAccessor;
+import liquibase.util.LiquibaseUtil;
+import liquibase.util.StreamUtil;
+
+import java.io.*;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Checksums of the changesets of a changelog, computed ahead of time so they do not have to be recomputed on every run.
+ * <p>
+ * A manifest is written at build time by the {@code generateChecksumManifest} command and is used at runtime when
+ * {@link GlobalConfiguration#CHECKSUM_MANIFEST_FILE} points to it. A checksum from the manifest is only trusted if all of
+ * these still match what the manifest recorded:
+ * <ul>
+ *     <li>the Liquibase version, checksum version and database type</li>
+ *     <li>the content hash of the changelog file that defines the changeset</li>
+ *     <li>the content hashes of the files read while computing the checksum, like the CSV files of loadData or the files
+ *     of sqlFile</li>
+ *     <li>the values of the changelog parameters referenced by any of these files</li>
+ * </ul>
+ * Otherwise the checksum is computed as usual.
+ */
+public class ChecksumManifest {
+
+    private static final String HEADER = "# Liquibase checksum manifest";
+    private static final String CHECKSUM_VERSION = "checksumVersion";
+    private static final String DATABASE = "database";
+    private static final String LIQUIBASE_VERSION = "liquibaseVersion";
+    private static final String FILE = "file";
+    private static final String CHANGESET = "changeSet";
+    private static final String RESOURCE = "resource";
+    private static final String PARAMETER = "parameter";
+
+    private static final Pattern PARAMETER_PATTERN = Pattern.compile("\\$\\{\\s*([^:${}\\s][^${}]*?)\\s*}");
+
+    private static ChecksumManifest configuredManifest;
+    private static String configuredManifestPath;
+    private static ResourceAccessor configuredManifestResourceAccessor;
+
+    private final int checksumVersion;
+    private final String database;
+    private final String liquibaseVersion;
+    private final Map<String, String> fileHashes = new LinkedHashMap<>();
+    private final Map<String, Entry> entries = new LinkedHashMap<>();
+    private final Map<String, Boolean> unchangedFiles = new ConcurrentHashMap<>();
+
+    private ChecksumManifest(int checksumVersion, String database, String liquibaseVersion) {
+        this.checksumVersion = checksumVersion;
+        this.database = database;
+        this.liquibaseVersion = liquibaseVersion;
+    }
+
+    /**
+     * Computes the checksums of all changesets of the given changelog for the given database.
+     */
+    public static ChecksumManifest generate(DatabaseChangeLog changeLog, Database database) throws Exception {
+        ChecksumVersion version = ChecksumVersion.latest();
+        ChecksumManifest manifest = new ChecksumManifest(version.getVersion(), database == null ? null : database.getShortName(),
+                LiquibaseUtil.getBuildVersion());
+        ResourceAccessor resourceAccessor = Scope.getCurrentScope().getResourceAccessor();
+        Map<String, Set<String>> parametersByFile = new HashMap<>();
+        Scope.child(Scope.Attr.database, database, () -> {
+            for (ChangeSet changeSet : changeLog.getChangeSets()) {
+                String physicalPath = getPhysicalFilePath(changeSet);
+                if (physicalPath == null || !manifest.addFile(resourceAccessor, physicalPath, parametersByFile)) {
+                    continue;
+                }
+                RecordingResourceAccessor recordingResourceAccessor = new RecordingResourceAccessor(resourceAccessor);
+                CheckSum checkSum = Scope.child(Collections.singletonMap(Scope.Attr.resourceAccessor.name(), recordingResourceAccessor),
+                        () -> changeSet.generateCheckSum(version));
+
+                Set<String> parameterKeys = new TreeSet<>(parametersByFile.get(physicalPath));
+                boolean allFilesHashed = true;
+                for (String resource : recordingResourceAccessor.readPaths) {
+                    if (!manifest.addFile(resourceAccessor, resource, parametersByFile)) {
+                        allFilesHashed = false;
+                        break;
+                    }
+                    parameterKeys.addAll(parametersByFile.get(resource));
+                }
+                if (!allFilesHashed) {
+                    continue;
+                }
+
+                Map<String, String> parameters = new LinkedHashMap<>();
+                for (String key : parameterKeys) {
+                    parameters.put(key, getParameterValue(changeSet, key));
+                }
+                manifest.entries.put(key(changeSet), new Entry(physicalPath, changeSet.getFilePath(), changeSet.getId(),
+                        changeSet.getAuthor(), checkSum, new ArrayList<>(recordingResourceAccessor.readPaths), parameters));
+            }
+        });
+        return manifest;
+    }
+
+    public static ChecksumManifest read(InputStream stream) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8));
+        Integer checksumVersion = null;
+        String database = null;
+        String liquibaseVersion = null;
+        List<String[]> lines = new ArrayList<>();
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            String[] fields = line.split("\t", -1);
+            for (int i = 0; i < fields.length; i++) {
+                fields[i] = unescape(fields[i]);
+            }
+            switch (fields[0]) {
+                case CHECKSUM_VERSION:
+                    checksumVersion = Integer.valueOf(fields[1]);
+                    break;
+                case DATABASE:
+                    database = fields[1].isEmpty() ? null : fields[1];
+                    break;
+                case LIQUIBASE_VERSION:
+                    liquibaseVersion = fields[1];
+                    break;
+                case FILE:
+                case CHANGESET:
+                case RESOURCE:
+                case PARAMETER:
+                    lines.add(fields);
+                    break;
+                default:
+                    throw new IOException("Unexpected line in checksum manifest: " + line);
+            }
+        }
+        if (checksumVersion == null) {
+            throw new IOException("Checksum manifest does not contain a " + CHECKSUM_VERSION);
+        }
+
+        ChecksumManifest manifest = new ChecksumManifest(checksumVersion, database, liquibaseVersion);
+        Entry entry = null;
+        for (String[] fields : lines) {
+            if (FILE.equals(fields[0])) {
+                manifest.fileHashes.put(fields[2], fields[1]);
+            } else if (CHANGESET.equals(fields[0])) {
+                entry = new Entry(fields[2], fields[5], fields[3], fields[4], CheckSum.parse(fields[1]), new ArrayList<>(), new LinkedHashMap<>());
+                manifest.entries.put(key(entry.filePath, entry.id, entry.author), entry);
+            } else if (entry == null) {
+                throw new IOException("Checksum manifest contains a " + fields[0] + " line before the first " + CHANGESET);
+            } else if (RESOURCE.equals(fields[0])) {
+                entry.resources.add(fields[1]);
+            } else {
+                entry.parameters.put(fields[1], fields.length > 2 ? fields[2] : null);
+            }
+        }
+        return manifest;
+    }
+
+    public void write(Writer writer) throws IOException {
+        writer.write(HEADER + "\n");
+        writeLine(writer, LIQUIBASE_VERSION, liquibaseVersion);
+        writeLine(writer, CHECKSUM_VERSION, String.valueOf(checksumVersion));
+        writeLine(writer, DATABASE, database == null ? "" : database);
+        for (Map.Entry<String, String> fileHash : fileHashes.entrySet()) {
+            writeLine(writer, FILE, fileHash.getValue(), fileHash.getKey());
+        }
+        for (Entry entry : entries.values()) {
+            writeLine(writer, CHANGESET, entry.checkSum.toString(), entry.physicalPath, entry.id, entry.author, entry.filePath);
+            for (String resource : entry.resources) {
+                writeLine(writer, RESOURCE, resource);
+            }
+            for (Map.Entry<String, String> parameter : entry.parameters.entrySet()) {
+                if (parameter.getValue() == null) {
+                    writeLine(writer, PARAMETER, parameter.getKey());
+                } else {
+                    writeLine(writer, PARAMETER, parameter.getKey(), parameter.getValue());
+                }
+            }
+        }
+        writer.flush();
+    }
+
+    public int getChecksumVersion() {
+        return checksumVersion;
+    }
+
+    public String getDatabase() {
+        return database;
+    }
+
+    public String getLiquibaseVersion() {
+        return liquibaseVersion;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Returns the checksum of the given changeset recorded in this manifest, or null if it cannot be trusted.
+     */
+    public CheckSum getCheckSum(ChangeSet changeSet, ChecksumVersion version) {
+        if (version == null || version.getVersion() != checksumVersion || !Objects.equals(liquibaseVersion, LiquibaseUtil.getBuildVersion())) {
+            return null;
+        }
+        Database currentDatabase = Scope.getCurrentScope().getDatabase();
+        if (!Objects.equals(database, currentDatabase == null ? null : currentDatabase.getShortName())) {
+            return null;
+        }
+        Entry entry = entries.get(key(changeSet));
+        if (entry == null || !entry.physicalPath.equals(getPhysicalFilePath(changeSet))) {
+            return null;
+        }
+        if (!isFileUnchanged(entry.physicalPath)) {
+            return null;
+        }
+        for (String resource : entry.resources) {
+            if (!isFileUnchanged(resource)) {
+                return null;
+            }
+        }
+        for (Map.Entry<String, String> parameter : entry.parameters.entrySet()) {
+            if (!Objects.equals(parameter.getValue(), getParameterValue(changeSet, parameter.getKey()))) {
+                Scope.getCurrentScope().getLog(ChecksumManifest.class).fine("Changelog parameter " + parameter.getKey() + " of " + changeSet +
+                        " changed since the checksum manifest was generated");
+                return null;
+            }
+        }
+        return entry.checkSum;
+    }
+
+    /**
+     * Returns the checksum of the given changeset from the manifest configured by
+     * {@link GlobalConfiguration#CHECKSUM_MANIFEST_FILE} if it can be trusted, and computes it otherwise.
+     */
+    public static CheckSum generateCheckSum(ChangeSet changeSet, ChecksumVersion version) {
+        ChecksumManifest manifest = getConfiguredManifest();
+        if (manifest != null) {
+            CheckSum checkSum = manifest.getCheckSum(changeSet, version);
+            if (checkSum != null) {
+                return checkSum;
+            }
+        }
+        return changeSet.generateCheckSum(version);
+    }
+
+    /**
+     * Returns the manifest configured by {@link GlobalConfiguration#CHECKSUM_MANIFEST_FILE}, read through the current
+     * resource accessor, or null if none is configured or it cannot be read.
+     */
+    public static synchronized ChecksumManifest getConfiguredManifest() {
+        String path = GlobalConfiguration.CHECKSUM_MANIFEST_FILE.getCurrentValue();
+        if (path == null || path.trim().isEmpty()) {
+            return null;
+        }
+        ResourceAccessor resourceAccessor = Scope.getCurrentScope().getResourceAccessor();
+        if (path.equals(configuredManifestPath) && resourceAccessor == configuredManifestResourceAccessor) {
+            return configuredManifest;
+        }
+
+        configuredManifestPath = path;
+        configuredManifestResourceAccessor = resourceAccessor;
+        configuredManifest = null;
+        try {
+            Resource resource = resourceAccessor.get(path);
+            if (resource == null || !resource.exists()) {
+                Scope.getCurrentScope().getLog(ChecksumManifest.class).warning("Checksum manifest " + path + " does not exist, checksums will be computed");
+                return null;
+            }
+            try (InputStream stream = resource.openInputStream()) {
+                configuredManifest = read(stream);
+            }
+            if (!Objects.equals(configuredManifest.getLiquibaseVersion(), LiquibaseUtil.getBuildVersion())) {
+                Scope.getCurrentScope().getLog(ChecksumManifest.class).warning("Checksum manifest " + path + " was generated by Liquibase " +
+                        configuredManifest.getLiquibaseVersion() + " instead of " + LiquibaseUtil.getBuildVersion() + ", checksums will be computed");
+            }
+            Scope.getCurrentScope().getLog(ChecksumManifest.class).fine("Using checksum manifest " + path + " with " + configuredManifest.size() + " changesets");
+        } catch (IOException | RuntimeException e) {
+            Scope.getCurrentScope().getLog(ChecksumManifest.class).warning("Cannot read checksum manifest " + path + ", checksums will be computed: " + e.getMessage(), e);
+        }
+        return configuredManifest;
+    }
+
+    private boolean isFileUnchanged(String physicalPath) {
+        return unchangedFiles.computeIfAbsent(physicalPath, path -> {
+            String expected = fileHashes.get(path);
+            if (expected == null) {
+                return false;
+            }
+            String actual = hash(Scope.getCurrentScope().getResourceAccessor(), path);
+            if (!expected.equals(actual)) {
+                Scope.getCurrentScope().getLog(ChecksumManifest.class).fine("File " + path + " changed since the checksum manifest was generated");
+                return false;
+            }
+            return true;
+        });
+    }
+
+    private static String getPhysicalFilePath(ChangeSet changeSet) {
+        if (changeSet.getChangeLog() != null && changeSet.getChangeLog().getPhysicalFilePath() != null) {
+            return changeSet.getChangeLog().getPhysicalFilePath();
+        }
+        return changeSet.getFilePath();
+    }
+
+    /**
+     * Records the content hash of the given file and the changelog parameters it references, unless already recorded.
+     *
+     * @return false if the file cannot be read
+     */
+    private boolean addFile(ResourceAccessor resourceAccessor, String path, Map<String, Set<String>> parametersByFile) {
+        if (fileHashes.containsKey(path)) {
+            return true;
+        }
+        byte[] content = read(resourceAccessor, path);
+        if (content == null) {
+            return false;
+        }
+        fileHashes.put(path, hash(content));
+        Set<String> parameterKeys = new TreeSet<>();
+        Matcher matcher = PARAMETER_PATTERN.matcher(new String(content, StandardCharsets.UTF_8));
+        while (matcher.find()) {
+            parameterKeys.add(matcher.group(1));
+        }
+        parametersByFile.put(path, parameterKeys);
+        return true;
+    }
+
+    /**
+     * Returns the value the given changelog parameter has for the changelog of the given changeset, with the expressions
+     * in it expanded, or null if it is not set.
+     */
+    private static String getParameterValue(ChangeSet changeSet, String key) {
+        DatabaseChangeLog changeLog = changeSet.getChangeLog();
+        ChangeLogParameters changeLogParameters = changeLog == null ? null : changeLog.getChangeLogParameters();
+        if (changeLogParameters == null) {
+            return null;
+        }
+        Object value = changeLogParameters.getValue(key, changeLog);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return changeLogParameters.expandExpressions(String.valueOf(value), changeLog);
+        } catch (UnknownChangeLogParameterException e) {
+            return String.valueOf(value);
+        }
+    }
+
+    private static String hash(ResourceAccessor resourceAccessor, String path) {
+        byte[] content = read(resourceAccessor, path);
+        return content == null ? null : hash(content);
+    }
+
+    private static String hash(byte[] content) {
+        try {
+            StringBuilder hash = new StringBuilder();
+            for (byte b : MessageDigest.getInstance("SHA-256").digest(content)) {
+                hash.append(String.format("%02x", b));
+            }
+            return hash.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new UnexpectedLiquibaseException(e);
+        }
+    }
+
+    private static byte[] read(ResourceAccessor resourceAccessor, String path) {
+        try {
+            Resource resource = resourceAccessor.get(path);
+            if (resource == null || !resource.exists()) {
+                return null;
+            }
+            try (InputStream stream = resource.openInputStream()) {
+                return StreamUtil.readStream(stream);
+            }
+        } catch (IOException e) {
+            Scope.getCurrentScope().getLog(ChecksumManifest.class).fine("Cannot read " + path + ": " + e.getMessage(), e);
+            return null;
+        }
+    }
+
+    private static String key(ChangeSet changeSet) {
+        return key(changeSet.getFilePath(), changeSet.getId(), changeSet.getAuthor());
+    }
+
+    private static String key(String filePath, String id, String author) {
+        return DatabaseChangeLog.normalizePath(filePath) + "::" + id + "::" + author;
+    }
+
+    private static void writeLine(Writer writer, String... fields) throws IOException {
+        for (int i = 0; i < fields.length; i++) {
+            if (i > 0) {
+                writer.write('\t');
+            }
+            writer.write(escape(fields[i] == null ? "" : fields[i]));
+        }
+        writer.write('\n');
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\t", "\\t").replace("\n", "\\n").replace("\r", "\\r");
+    }
+
+    private static String unescape(String value) {
+        if (value.indexOf('\\') < 0) {
+            return value;
+        }
+        StringBuilder unescaped = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '\\' && i + 1 < value.length()) {
+                char next = value.charAt(++i);
+                unescaped.append(next == 't' ? '\t' : next == 'n' ? '\n' : next == 'r' ? '\r' : next);
+            } else {
+                unescaped.append(c);
+            }
+        }
+        return unescaped.toString();
+    }
+
+    private static class Entry {
+        private final String physicalPath;
+        private final String filePath;
+        private final String id;
+        private final String author;
+        private final CheckSum checkSum;
+        private final List<String> resources;
+        private final Map<String, String> parameters;
+
+        private Entry(String physicalPath, String filePath, String id, String author, CheckSum checkSum,
+                      List<String> resources, Map<String, String> parameters) {
+            this.physicalPath = physicalPath;
+            this.filePath = filePath;
+            this.id = id;
+            this.author = author;
+            this.checkSum = checkSum;
+            this.resources = resources;
+            this.parameters = parameters;
+        }
+    }
+
+    /**
+     * Passes all calls to the given {@link ResourceAccessor} and records the paths of the resources read through it,
+     * including resources resolved relative to them.
+     */
+    private static class RecordingResourceAccessor implements ResourceAccessor {
+        private final ResourceAccessor resourceAccessor;
+        private final Set<String> readPaths = new LinkedHashSet<>();
+
+        private RecordingResourceAccessor(ResourceAccessor resourceAccessor) {
+            this.resourceAccessor = resourceAccessor;
+        }
+
+        @Override
+        public List<Resource> search(String path, boolean recursive) throws IOException {
+            return record(resourceAccessor.search(path, recursive));
+        }
+
+        @Override
+        public List<Resource> getAll(String path) throws IOException {
+            return record(resourceAccessor.getAll(path));
+        }
+
+        @Override
+        public List<String> describeLocations() {
+            return resourceAccessor.describeLocations();
+        }
+
+        @Override
+        public void close() throws Exception {
+            resourceAccessor.close();
+        }
+
+        private List<Resource> record(List<Resource> resources) {
+            if (resources == null) {
+                return null;
+            }
+            List<Resource> recordingResources = new ArrayList<>(resources.size());
+            for (Resource resource : resources) {
+                recordingResources.add(new RecordingResource(resource));
+            }
+            return recordingResources;
+        }
+
+        private class RecordingResource implements Resource {
+            private final Resource resource;
+
+            private RecordingResource(Resource resource) {
+                this.resource = resource;
+            }
+
+            @Override
+            public String getPath() {
+                return resource.getPath();
+            }
+
+            @Override
+            public InputStream openInputStream() throws IOException {
+                readPaths.add(resource.getPath());
+                return resource.openInputStream();
+            }
+
+            @Override
+            public boolean isWritable() {
+                return resource.isWritable();
+            }
+
+            @Override
+            public boolean exists() {
+                return resource.exists();
+            }
+
+            @Override
+            public Resource resolve(String other) {
+                return new RecordingResource(resource.resolve(other));
+            }
+
+            @Override
+            public Resource resolveSibling(String other) {
+                return new RecordingResource(resource.resolveSibling(other));
+            }
+
+            @Override
+            public OutputStream openOutputStream(OpenOptions openOptions) throws IOException {
+                return resource.openOutputStream(openOptions);
+            }
+
+            @Override
+            public URI getUri() {
+                return resource.getUri();
+            }
+
+            @Override
+            public String toString() {
+                return resource.toString();
+            }
+        }
+    }
+}
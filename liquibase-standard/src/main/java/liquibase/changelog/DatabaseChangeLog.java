@@ -32,10 +32,13 @@ import liquibase.precondition.core.PreconditionContainer;
 import liquibase.resource.Resource;
 import liquibase.resource.ResourceAccessor;
 import liquibase.servicelocator.LiquibaseService;
+import liquibase.util.ConcurrencyUtil;
 import liquibase.util.ExceptionUtil;
 import liquibase.util.FileUtil;
 import liquibase.util.LiquibaseLauncherSettings;
 import liquibase.util.StringUtil;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
 import lombok.Getter;
 import org.apache.commons.io.FilenameUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -43,11 +46,13 @@ import org.apache.commons.lang3.StringUtils;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.lang.reflect.Method;
 import java.net.URI;
 import java.nio.file.InvalidPathException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.*;
+import java.util.concurrent.Future;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
@@ -64,6 +69,7 @@ public class DatabaseChangeLog implements Comparable<DatabaseChangeLog>, Conditi
     private static final Pattern NO_LETTER_PATTERN = Pattern.compile("^[a-zA-Z]:");
     private static final String CLASSPATH_PROTOCOL = "classpath:";
     public static final String SEEN_CHANGELOGS_PATHS_SCOPE_KEY = "SEEN_CHANGELOG_PATHS";
+    private static final String PARALLEL_INCLUDE_SCOPE_KEY = "liquibase.parallelInclude";
     public static final String FILE = "file";
     public static final String CONTEXT_FILTER = "contextFilter";
     public static final String CONTEXT = "context";
@@ -105,8 +111,11 @@ public class DatabaseChangeLog implements Comparable<DatabaseChangeLog>, Conditi
     @Getter
     private final List<ChangeVisitor> changeVisitors = new ArrayList<>();
 
-    @Getter
     private final List<ChangeSet> changeSets = new ArrayList<>();
+    private final List<ChangeSet> unmodifiableChangeSets = Collections.unmodifiableList(changeSets);
+    private final ChangeSetIndex changeSetIndex = new ChangeSetIndex();
+    private List<IncludeRequest> parallelIncludes;
+    private ResourceAccessor parallelIncludesResourceAccessor;
     @Getter
     private final List<ChangeSet> skippedChangeSets = new ArrayList<>();
     @Getter
@@ -287,15 +296,20 @@ public class DatabaseChangeLog implements Comparable<DatabaseChangeLog>, Conditi
     }
 
     public List<ChangeSet> getChangeSets(String path, String author, String id) {
-        final ArrayList<ChangeSet> changeSetsToReturn = new ArrayList<>();
         final String normalizedPath = normalizePath(path);
-        if (normalizedPath != null) {
+        if (normalizedPath == null) {
+            return new ArrayList<>();
+        }
+        final List<ChangeSet> changeSetsToReturn = changeSetIndex.find(normalizedPath, author, id);
+        changeSetsToReturn.removeIf(changeSet -> !isDbmsMatch(changeSet.getDbmsSet()));
+        if (changeSetsToReturn.size() > 1) {
+            // runOrder can place a changeset before ones added earlier, so return matches in changelog order
+            final Set<ChangeSet> matches = Collections.newSetFromMap(new IdentityHashMap<>());
+            matches.addAll(changeSetsToReturn);
+            changeSetsToReturn.clear();
             for (ChangeSet changeSet : this.changeSets) {
-                if (changeSet.getAuthor().equalsIgnoreCase(author) && changeSet.getId().equalsIgnoreCase(id) && isDbmsMatch(changeSet.getDbmsSet())) {
-                    final String changesetNormalizedPath = normalizePath(changeSet.getFilePath());
-                    if (changesetNormalizedPath != null && changesetNormalizedPath.equalsIgnoreCase(normalizedPath)) {
-                        changeSetsToReturn.add(changeSet);
-                    }
+                if (matches.contains(changeSet)) {
+                    changeSetsToReturn.add(changeSet);
                 }
             }
         }
@@ -335,6 +349,22 @@ public class DatabaseChangeLog implements Comparable<DatabaseChangeLog>, Conditi
         } else {
             throw new UnexpectedLiquibaseException("Unknown runOrder: " + changeSet.getRunOrder());
         }
+        changeSetIndex.add(changeSet);
+    }
+
+    /**
+     * Returns the changesets of this changelog in run order. The list cannot be modified, changesets are added with
+     * {@link #addChangeSet(ChangeSet)}.
+     */
+    public List<ChangeSet> getChangeSets() {
+        return unmodifiableChangeSets;
+    }
+
+    /**
+     * Called when the path, author or id of one of the changesets changed, so that lookups do not use the old values.
+     */
+    void changeSetIdentifierChanged(ChangeSet changeSet) {
+        changeSetIndex.reindex(changeSet);
     }
 
     @Override
@@ -430,11 +460,22 @@ public class DatabaseChangeLog implements Comparable<DatabaseChangeLog>, Conditi
         if (nodeObjectQuotingStrategy != null) {
             setObjectQuotingStrategy(ObjectQuotingStrategy.valueOf(nodeObjectQuotingStrategy));
         }
-        for (ParsedNode childNode : parsedNode.getChildren()) {
+        List<ParsedNode> childNodes = parsedNode.getChildren();
+        for (int i = 0; i < childNodes.size(); i++) {
+            ParsedNode childNode = childNodes.get(i);
             if (childNode.getName().equals((new ChangeSet(null)).getSerializedObjectName())) {
                 this.currentlyLoadedChangeSetNode = childNode;
             }
-            handleChildNode(childNode, resourceAccessor, new HashMap<>());
+            int includeRunEnd = i;
+            while (includeRunEnd < childNodes.size() && INCLUDE_CHANGELOG.equals(childNodes.get(includeRunEnd).getName())) {
+                includeRunEnd++;
+            }
+            if (isParallelIncludeEnabled(includeRunEnd - i)) {
+                handleIncludes(childNodes.subList(i, includeRunEnd), resourceAccessor);
+                i = includeRunEnd - 1;
+            } else {
+                handleChildNode(childNode, resourceAccessor, new HashMap<>());
+            }
         }
         this.currentlyLoadedChangeSetNode = null;
     }
@@ -687,6 +728,77 @@ public class DatabaseChangeLog implements Comparable<DatabaseChangeLog>, Conditi
 
     private void handleInclude(ParsedNode node, ResourceAccessor resourceAccessor, Map<String, Object> nodeScratch)
             throws ParsedNodeException, SetupException {
+        IncludeRequest request = createIncludeRequest(node, nodeScratch);
+        if (parallelIncludes != null) {
+            parallelIncludes.add(request);
+            return;
+        }
+        try {
+            include(request.fileName,
+                    request.isRelativePath,
+                    request.errorIfMissing,
+                    resourceAccessor,
+                    request.includeContextFilter,
+                    request.labels,
+                    request.ignore,
+                    request.logicalFilePath,
+                    request.onUnknownFileFormat,
+                    request.modifyChangeSets);
+        } catch (LiquibaseException e) {
+            throw new SetupException(e);
+        }
+    }
+
+    /**
+     * Handles a run of consecutive include nodes, parsing the included files concurrently.
+     * <p>
+     * Each node still goes through {@link #handleChildNode(ParsedNode, ResourceAccessor, Map)}. The includes it
+     * reaches are collected and parsed together at the end of the run. A subclass that overrides the node handling may
+     * add changesets itself, so for it the collected includes are parsed before each node to keep the declared order.
+     */
+    private void handleIncludes(List<ParsedNode> nodes, ResourceAccessor resourceAccessor) throws ParsedNodeException, SetupException {
+        boolean flushBeforeEachNode = overridesChildNodeHandling();
+        parallelIncludes = new ArrayList<>(nodes.size());
+        parallelIncludesResourceAccessor = resourceAccessor;
+        try {
+            for (ParsedNode node : nodes) {
+                if (flushBeforeEachNode) {
+                    includePendingInParallel();
+                }
+                handleChildNode(node, resourceAccessor, new HashMap<>());
+            }
+            includePendingInParallel();
+        } catch (LiquibaseException e) {
+            throw new SetupException(e);
+        } finally {
+            parallelIncludes = null;
+            parallelIncludesResourceAccessor = null;
+        }
+    }
+
+    private boolean overridesChildNodeHandling() {
+        for (Class<?> type = getClass(); type != DatabaseChangeLog.class; type = type.getSuperclass()) {
+            for (Method method : type.getDeclaredMethods()) {
+                if ((method.getName().equals("handleChildNode") || method.getName().equals("handleChildNodeHelper"))
+                        && method.getParameterCount() == 3) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private void includePendingInParallel() throws LiquibaseException {
+        if (parallelIncludes == null || parallelIncludes.isEmpty()) {
+            return;
+        }
+        List<IncludeRequest> requests = new ArrayList<>(parallelIncludes);
+        parallelIncludes.clear();
+        includeInParallel(requests, parallelIncludesResourceAccessor);
+    }
+
+    private IncludeRequest createIncludeRequest(ParsedNode node, Map<String, Object> nodeScratch)
+            throws ParsedNodeException, SetupException {
         String path = node.getChildValue(null, FILE, String.class);
         if (path == null) {
             throw new UnexpectedLiquibaseException("No 'file' attribute on 'include'");
@@ -701,20 +813,15 @@ public class DatabaseChangeLog implements Comparable<DatabaseChangeLog>, Conditi
         // Fires here at the parse-time entry point so the configured-off rejection happens
         // BEFORE the path reaches the ResourceAccessor and produces a real load attempt.
         requireRelativeChangelogPathOrThrow(path, relativeToChangelogFile, "include");
-        try {
-            include(path,
-                    relativeToChangelogFile,
-                    node.getChildValue(null, ERROR_IF_MISSING, true),
-                    resourceAccessor,
-                    includeNodeContextFilter,
-                    labels,
-                    ignore,
-                    node.getChildValue(null, LOGICAL_FILE_PATH, String.class),
-                    OnUnknownFileFormat.FAIL,
-                    (ModifyChangeSets) nodeScratch.get(MODIFY_CHANGE_SETS));
-        } catch (LiquibaseException e) {
-            throw new SetupException(e);
-        }
+        return new IncludeRequest(path,
+                relativeToChangelogFile,
+                node.getChildValue(null, ERROR_IF_MISSING, true),
+                includeNodeContextFilter,
+                labels,
+                ignore,
+                node.getChildValue(null, LOGICAL_FILE_PATH, String.class),
+                OnUnknownFileFormat.FAIL,
+                (ModifyChangeSets) nodeScratch.get(MODIFY_CHANGE_SETS));
     }
 
     private static ContextExpression determineContextExpression(ParsedNode node) throws ParsedNodeException {
@@ -913,10 +1020,20 @@ public class DatabaseChangeLog implements Comparable<DatabaseChangeLog>, Conditi
         try {
             Set<String> seenChangelogPaths = Scope.getCurrentScope().get(SEEN_CHANGELOGS_PATHS_SCOPE_KEY, new HashSet<>());
             Scope.child(Collections.singletonMap(SEEN_CHANGELOGS_PATHS_SCOPE_KEY, seenChangelogPaths), () -> {
-                for (Resource resource : resources) {
-                    Scope.getCurrentScope().getLog(getClass()).info("Reading resource: " + resource);
-                    include(resource.getPath(), false, errorIfMissingOrEmpty, resourceAccessor, includeContextFilter,
-                            labels, ignore, logicalFilePath, OnUnknownFileFormat.WARN, modifyChangeSets);
+                if (isParallelIncludeEnabled(resources.size())) {
+                    List<IncludeRequest> requests = new ArrayList<>(resources.size());
+                    for (Resource resource : resources) {
+                        Scope.getCurrentScope().getLog(getClass()).info("Reading resource: " + resource);
+                        requests.add(new IncludeRequest(resource.getPath(), false, errorIfMissingOrEmpty, includeContextFilter,
+                                labels, ignore, logicalFilePath, OnUnknownFileFormat.WARN, modifyChangeSets));
+                    }
+                    includeInParallel(requests, resourceAccessor);
+                } else {
+                    for (Resource resource : resources) {
+                        Scope.getCurrentScope().getLog(getClass()).info("Reading resource: " + resource);
+                        include(resource.getPath(), false, errorIfMissingOrEmpty, resourceAccessor, includeContextFilter,
+                                labels, ignore, logicalFilePath, OnUnknownFileFormat.WARN, modifyChangeSets);
+                    }
                 }
             });
         } catch (Exception e) {
@@ -1131,11 +1248,27 @@ public class DatabaseChangeLog implements Comparable<DatabaseChangeLog>, Conditi
                            OnUnknownFileFormat onUnknownFileFormat,
                            ModifyChangeSets modifyChangeSets)
             throws LiquibaseException {
-        if (".svn".equalsIgnoreCase(fileName) || "cvs".equalsIgnoreCase(fileName)) {
+        IncludedChangeLog includedChangeLog = parseInclude(new IncludeRequest(fileName, isRelativePath, errorIfMissing,
+                includeContextFilter, labels, ignore, logicalFilePath, onUnknownFileFormat, modifyChangeSets),
+                resourceAccessor, changeLogParameters);
+        if (includedChangeLog == null) {
             return false;
         }
+        addIncludedChangeLog(includedChangeLog);
+        return true;
+    }
 
-        if (isRelativePath) {
+    /**
+     * Parses the file of an include, returning null if the include is skipped.
+     */
+    private IncludedChangeLog parseInclude(IncludeRequest request, ResourceAccessor resourceAccessor, ChangeLogParameters parameters)
+            throws LiquibaseException {
+        String fileName = request.fileName;
+        if (".svn".equalsIgnoreCase(fileName) || "cvs".equalsIgnoreCase(fileName)) {
+            return null;
+        }
+
+        if (request.isRelativePath) {
             try {
                 fileName = resourceAccessor.get(this.getPhysicalFilePath()).resolveSibling(fileName).getPath();
                 fileName = normalizePath(normalizePathViaPaths(fileName, false));
@@ -1157,26 +1290,26 @@ public class DatabaseChangeLog implements Comparable<DatabaseChangeLog>, Conditi
             try {
                 if (!resourceAccessor.get(normalizedFilePath).exists()) {
                     if (ChangeLogParserConfiguration.ON_MISSING_INCLUDE_CHANGELOG.getCurrentValue().equals(ChangeLogParserConfiguration.MissingIncludeConfiguration.WARN)
-                            || !errorIfMissing) {
+                            || !request.errorIfMissing) {
                         Scope.getCurrentScope().getLog(getClass()).warning(FileUtil.getFileNotFoundMessage(normalizedFilePath));
-                        return false;
+                        return null;
                     } else {
                         throw new ChangeLogParseException(FileUtil.getFileNotFoundMessage(normalizedFilePath));
                     }
                 }
                 parser = ChangeLogParserFactory.getInstance().getParser(normalizedFilePath, resourceAccessor);
 
-                if (modifyChangeSets != null) {
+                if (request.modifyChangeSets != null) {
                     // Some parser need to know it's not a top level changelog, in modifyChangeSets flow 'runWith' attributes are added later on
                     ChangeLogParser finalParser = parser;
                     changeLog = Scope.child(Collections.singletonMap(MODIFY_CHANGE_SETS, true),
-                            () -> finalParser.parse(normalizedFilePath, changeLogParameters, resourceAccessor));
+                            () -> finalParser.parse(normalizedFilePath, parameters, resourceAccessor));
                 } else {
-                    changeLog = parser.parse(normalizedFilePath, changeLogParameters, resourceAccessor);
+                    changeLog = parser.parse(normalizedFilePath, parameters, resourceAccessor);
                 }
-                changeLog.setIncludeContextFilter(includeContextFilter);
-                changeLog.setIncludeLabels(labels);
-                changeLog.setIncludeIgnore(ignore != null && ignore);
+                changeLog.setIncludeContextFilter(request.includeContextFilter);
+                changeLog.setIncludeLabels(request.labels);
+                changeLog.setIncludeIgnore(request.ignore != null && request.ignore);
             } finally {
                 if (rootChangeLogInstance == null) {
                     ROOT_CHANGE_LOG.remove();
@@ -1188,20 +1321,29 @@ public class DatabaseChangeLog implements Comparable<DatabaseChangeLog>, Conditi
                 }
             }
         } catch (UnknownChangelogFormatException e) {
-            if (onUnknownFileFormat == OnUnknownFileFormat.FAIL) {
+            if (request.onUnknownFileFormat == OnUnknownFileFormat.FAIL) {
                 throw e;
             }
             // This matches only an extension, but filename can be a full path, too. Is it right?
             boolean matchesFileExtension = StringUtil.trimToEmpty(normalizedFilePath).matches("\\.\\w+$");
-            if (matchesFileExtension || onUnknownFileFormat == OnUnknownFileFormat.WARN) {
+            if (matchesFileExtension || request.onUnknownFileFormat == OnUnknownFileFormat.WARN) {
                 Scope.getCurrentScope().getLog(getClass()).warning(
                         "included file " + normalizedFilePath + "/" + normalizedFilePath + " is not a recognized file type", e
                 );
             }
-            return false;
+            return null;
         } catch (Exception e) {
             throw new LiquibaseException(e.getMessage(), e);
         }
+        return new IncludedChangeLog(request, changeLog, parser);
+    }
+
+    /**
+     * Adds the changesets, skipped changesets and preconditions of a parsed include to this changelog.
+     */
+    private void addIncludedChangeLog(IncludedChangeLog includedChangeLog) throws LiquibaseException {
+        DatabaseChangeLog changeLog = includedChangeLog.changeLog;
+        ModifyChangeSets modifyChangeSets = includedChangeLog.request.modifyChangeSets;
         PreconditionContainer preconditions = changeLog.getPreconditions();
         if (preconditions != null) {
             if (null == this.getPreconditions()) {
@@ -1217,7 +1359,7 @@ public class DatabaseChangeLog implements Comparable<DatabaseChangeLog>, Conditi
             ranChangeSets = database.getRanChangeSetList();
         }
 
-        String actualLogicalFilePath = getActualLogicalFilePath(logicalFilePath, changeLog);
+        String actualLogicalFilePath = getActualLogicalFilePath(includedChangeLog.request.logicalFilePath, changeLog);
 
         for (ChangeSet changeSet : changeLog.getChangeSets()) {
             if (modifyChangeSets != null) {
@@ -1235,7 +1377,7 @@ public class DatabaseChangeLog implements Comparable<DatabaseChangeLog>, Conditi
             // the correct file paths of changesets from included changelogs (fixes issue #7222).
             //
             if (actualLogicalFilePath != null && changeSet.getLogicalFilePath() == null &&
-                !(parser instanceof SqlChangeLogParser) && !ranChangeSetExists(changeSet, ranChangeSets) &&
+                !(includedChangeLog.parser instanceof SqlChangeLogParser) && !ranChangeSetExists(changeSet, ranChangeSets) &&
                 changeSet.getChangeLog() == changeLog) {
                 changeSet.setLogicalFilePath(actualLogicalFilePath);
                 if (StringUtils.isNotEmpty(actualLogicalFilePath)) {
@@ -1245,8 +1387,116 @@ public class DatabaseChangeLog implements Comparable<DatabaseChangeLog>, Conditi
             addChangeSet(changeSet);
         }
         skippedChangeSets.addAll(changeLog.getSkippedChangeSets());
+    }
 
-        return true;
+    private boolean isParallelIncludeEnabled(int includeCount) {
+        Integer parallelism = ChangeLogParserConfiguration.INCLUDE_PARALLELISM.getCurrentValue();
+        return includeCount > 1 && parallelism != null && parallelism > 1
+                && !Scope.getCurrentScope().get(PARALLEL_INCLUDE_SCOPE_KEY, false);
+    }
+
+    /**
+     * Parses the given includes concurrently and adds them to this changelog in the given order.
+     * <p>
+     * Each file is parsed against a {@link ChangeLogParameters#fork()} of this changelog's parameters. The properties each
+     * file sets are merged back in declared order, and a file that looked up a property set by a preceding file is parsed
+     * again once that file has been added, so the result is the same as including the files one at a time.
+     * Includes nested in the files are parsed sequentially on the same worker.
+     * If several files fail, the error of the first one in declared order is thrown, after the files before it were added.
+     */
+    private void includeInParallel(List<IncludeRequest> requests, ResourceAccessor resourceAccessor) throws LiquibaseException {
+        final int parallelism = ChangeLogParserConfiguration.INCLUDE_PARALLELISM.getCurrentValue();
+        final DatabaseChangeLog rootChangeLogInstance = ROOT_CHANGE_LOG.get() == null ? this : ROOT_CHANGE_LOG.get();
+
+        List<Scope.ScopedRunnerWithReturn<ForkedInclude>> tasks = new ArrayList<>(requests.size());
+        for (IncludeRequest request : requests) {
+            ChangeLogParameters forkedParameters = changeLogParameters == null ? null : changeLogParameters.fork();
+            tasks.add(() -> parseForkedInclude(request, resourceAccessor, forkedParameters, rootChangeLogInstance));
+        }
+
+        Map<String, Object> scopeValues = new HashMap<>();
+        scopeValues.put(PARALLEL_INCLUDE_SCOPE_KEY, true);
+        Set<String> seenChangelogPaths = Scope.getCurrentScope().get(SEEN_CHANGELOGS_PATHS_SCOPE_KEY, new HashSet<>());
+        scopeValues.put(SEEN_CHANGELOGS_PATHS_SCOPE_KEY, Collections.synchronizedSet(seenChangelogPaths));
+
+        List<Future<ForkedInclude>> results;
+        try {
+            results = Scope.child(scopeValues, () -> ConcurrencyUtil.invokeAll(tasks, parallelism, "liquibase-include"));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new LiquibaseException(e);
+        } catch (LiquibaseException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new LiquibaseException(e);
+        }
+
+        Set<String> keysSetByPrecedingIncludes = new HashSet<>();
+        for (int i = 0; i < requests.size(); i++) {
+            ForkedInclude forkedInclude;
+            try {
+                forkedInclude = ConcurrencyUtil.getResult(results.get(i));
+            } catch (LiquibaseException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new LiquibaseException(e);
+            }
+
+            if (forkedInclude.parameters != null && forkedInclude.parameters.hasReadAnyOf(keysSetByPrecedingIncludes)) {
+                LOG.fine("Parsing " + requests.get(i).fileName + " again because it uses properties set by a preceding include");
+                forkedInclude = parseForkedInclude(requests.get(i), resourceAccessor, changeLogParameters.fork(), rootChangeLogInstance);
+            }
+            if (forkedInclude.exception != null) {
+                throw forkedInclude.exception;
+            }
+            if (forkedInclude.parameters != null) {
+                keysSetByPrecedingIncludes.addAll(changeLogParameters.merge(forkedInclude.parameters));
+            }
+            if (forkedInclude.includedChangeLog != null) {
+                if (forkedInclude.parameters != null) {
+                    replaceChangeLogParameters(forkedInclude.includedChangeLog.changeLog, forkedInclude.parameters);
+                }
+                addIncludedChangeLog(forkedInclude.includedChangeLog);
+            }
+        }
+    }
+
+    private ForkedInclude parseForkedInclude(IncludeRequest request, ResourceAccessor resourceAccessor, ChangeLogParameters parameters,
+                                             DatabaseChangeLog rootChangeLogInstance) {
+        DatabaseChangeLog previousRootChangeLog = ROOT_CHANGE_LOG.get();
+        ROOT_CHANGE_LOG.set(rootChangeLogInstance);
+        try {
+            return new ForkedInclude(parseInclude(request, resourceAccessor, parameters), parameters, null);
+        } catch (LiquibaseException e) {
+            return new ForkedInclude(null, parameters, e);
+        } finally {
+            if (previousRootChangeLog == null) {
+                ROOT_CHANGE_LOG.remove();
+            } else {
+                ROOT_CHANGE_LOG.set(previousRootChangeLog);
+            }
+        }
+    }
+
+    /**
+     * Points the changelogs and changesets parsed against a forked {@link ChangeLogParameters} to this changelog's
+     * parameters, so they see every property once parsing is done.
+     */
+    private void replaceChangeLogParameters(DatabaseChangeLog includedChangeLog, ChangeLogParameters forkedParameters) {
+        if (includedChangeLog.getChangeLogParameters() == forkedParameters) {
+            includedChangeLog.setChangeLogParameters(changeLogParameters);
+        }
+        List<ChangeSet> includedChangeSets = new ArrayList<>(includedChangeLog.getChangeSets());
+        includedChangeSets.addAll(includedChangeLog.getSkippedChangeSets());
+        for (ChangeSet changeSet : includedChangeSets) {
+            if (changeSet.getChangeLogParameters() == forkedParameters) {
+                changeSet.setChangeLogParameters(changeLogParameters);
+            }
+            DatabaseChangeLog changeSetChangeLog = changeSet.getChangeLog();
+            if (changeSetChangeLog != null && changeSetChangeLog.getChangeLogParameters() == forkedParameters) {
+                changeSetChangeLog.setChangeLogParameters(changeLogParameters);
+            }
+        }
     }
 
     /**
@@ -1480,6 +1730,40 @@ public class DatabaseChangeLog implements Comparable<DatabaseChangeLog>, Conditi
         }
     }
 
+    /**
+     * The attributes of a single include, resolved from an include or includeAll element.
+     */
+    @AllArgsConstructor(access = AccessLevel.PRIVATE)
+    private static class IncludeRequest {
+        private final String fileName;
+        private final boolean isRelativePath;
+        private final boolean errorIfMissing;
+        private final ContextExpression includeContextFilter;
+        private final Labels labels;
+        private final Boolean ignore;
+        private final String logicalFilePath;
+        private final OnUnknownFileFormat onUnknownFileFormat;
+        private final ModifyChangeSets modifyChangeSets;
+    }
+
+    @AllArgsConstructor(access = AccessLevel.PRIVATE)
+    private static class IncludedChangeLog {
+        private final IncludeRequest request;
+        private final DatabaseChangeLog changeLog;
+        private final ChangeLogParser parser;
+    }
+
+    /**
+     * Result of parsing an include against forked {@link ChangeLogParameters}. Either the changelog (which is null
+     * if the include was skipped) or the exception is set.
+     */
+    @AllArgsConstructor(access = AccessLevel.PRIVATE)
+    private static class ForkedInclude {
+        private final IncludedChangeLog includedChangeLog;
+        private final ChangeLogParameters parameters;
+        private final LiquibaseException exception;
+    }
+
     /**
      * Controls what to do when including a file with a format that isn't recognized by a changelog parser.
      */
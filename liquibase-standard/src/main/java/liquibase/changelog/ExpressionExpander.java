@@ -8,13 +8,14 @@ import liquibase.parser.ChangeLogParserConfiguration;
 
 import java.io.IOException;
 import java.io.StringReader;
+import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.Map;
 
 class ExpressionExpander {
     private final boolean enableEscaping;
     private final ChangeLogParameters parameters;
-    private final static Map<String, Object> expandedParameters = new LinkedHashMap<>();
+    private final static Map<String, Object> expandedParameters = Collections.synchronizedMap(new LinkedHashMap<>());
 
     public ExpressionExpander(ChangeLogParameters parameters) {
         this.enableEscaping = ChangeLogParserConfiguration.SUPPORT_PROPERTY_ESCAPING.getCurrentValue();
@@ -28,7 +29,12 @@ class ExpressionExpander {
 
         String expressions = expandExpressions(new StringReader(text), changeLog, false);
         if (!expandedParameters.isEmpty()) {
-            Scope.getCurrentScope().addMdcValue(MdcKey.CHANGELOG_PROPERTIES, expandedParameters);
+            Map<String, Object> expandedParametersCopy;
+            // included changelogs may be parsed concurrently, so hand the MDC a copy it can safely iterate
+            synchronized (expandedParameters) {
+                expandedParametersCopy = new LinkedHashMap<>(expandedParameters);
+            }
+            Scope.getCurrentScope().addMdcValue(MdcKey.CHANGELOG_PROPERTIES, expandedParametersCopy);
         }
         return expressions;
     }
@@ -33,15 +33,29 @@ public class FastCheckService implements SingletonObject {
      * But, if there are changelogs that might have to be ran and this returns <b>false</b>, you MUST get a lock and do a real check to know what changesets actually need to run.
      * <p>
      * NOTE: to reduce the number of queries to the databasehistory table, this method will cache the "fast check" results within this instance under the assumption that the total changesets will not change within this instance.
+     * <p>
+     * With {@link GlobalConfiguration#DATABASECHANGELOG_STAMP} enabled, a {@link ChangeLogStamp} recorded by an earlier check replaces reading the databasehistory table.
      */
     public boolean isUpToDateFastCheck(List<ChangeSetFilter> changesetFilters, Database database, DatabaseChangeLog databaseChangeLog, Contexts contexts, LabelExpression labelExpression) throws LiquibaseException {
         String cacheKey = String.format("%s/%s/%s/%s/%s/%s", contexts, labelExpression, database.getDefaultSchemaName(), database.getDefaultCatalogName(), database.getConnection().getURL(), databaseChangeLog.getLogicalFilePath());
         if (!upToDateFastCheck.containsKey(cacheKey) || BooleanUtils.isFalse(upToDateFastCheck.get(cacheKey))) {
+            ChangeLogStamp changeLogStamp = ChangeLogStamp.get(database, databaseChangeLog, contexts, labelExpression);
+            if ((changeLogStamp != null) && changeLogStamp.isCurrent()) {
+                Scope.getCurrentScope().getLog(getClass()).fine("Fast check found a current changelog stamp");
+                upToDateFastCheck.put(cacheKey, true);
+                return true;
+            }
             ChangeLogHistoryService changeLogService = Scope.getCurrentScope().getSingleton(ChangeLogHistoryServiceFactory.class).getChangeLogService(database);
             try {
+                if (changeLogStamp != null) {
+                    changeLogStamp.readHistoryState();
+                }
                 if (changeLogService.isDatabaseChecksumsCompatible() && listUnrunChangeSets(changesetFilters, database, databaseChangeLog, contexts, labelExpression).isEmpty()) {
                     Scope.getCurrentScope().getLog(getClass()).fine("Fast check found no un-run changesets");
                     upToDateFastCheck.put(cacheKey, true);
+                    if (changeLogStamp != null) {
+                        changeLogStamp.write();
+                    }
                 } else {
                     upToDateFastCheck.put(cacheKey, false);
                 }
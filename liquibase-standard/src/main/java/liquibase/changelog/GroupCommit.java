@@ -0,0 +1,216 @@
+package liquibase.changelog;
+
+import liquibase.GlobalConfiguration;
+import liquibase.Scope;
+import liquibase.database.Database;
+import liquibase.exception.DatabaseException;
+import liquibase.executor.ExecutorService;
+import liquibase.executor.jvm.JdbcExecutor;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Runs consecutive changesets in one transaction during an update, as configured by
+ * {@link GlobalConfiguration#GROUP_COMMIT_SIZE} and {@link GlobalConfiguration#GROUP_COMMIT_TIME_LIMIT}.
+ * <p>
+ * A changeset joins the open group if it runs in a transaction, is not run always, has no failOnError="false"
+ * and no runWith attribute, and the database supports DDL in transactions. Any other changeset commits the group
+ * first and then runs and commits on its own. A changeset with preconditions commits the group before its
+ * preconditions are checked, so a failing precondition query cannot affect the changesets before it.
+ * <p>
+ * The DATABASECHANGELOG rows of the changesets in a group are written in the same transaction as their changes.
+ * With {@link GlobalConfiguration#DATABASECHANGELOG_BATCH_SIZE}, they are kept in memory and inserted in JDBC batches,
+ * at the latest when the group is committed.
+ * If a changeset of the group fails, the whole group is rolled back and the next update runs all its changesets again.
+ */
+public class GroupCommit {
+
+    private static final String SCOPE_KEY = "liquibase.groupCommit";
+
+    private final Database database;
+    private final int maxChangeSets;
+    private final long timeLimitMillis;
+    private final int historyBatchSize;
+
+    private boolean open;
+    private int changeSetCount;
+    private long openedAt;
+    private final List<String> historySql = new ArrayList<>();
+    private int historyRowCount;
+
+    private GroupCommit(Database database, int maxChangeSets, long timeLimitMillis, int historyBatchSize) {
+        this.database = database;
+        this.maxChangeSets = maxChangeSets;
+        this.timeLimitMillis = timeLimitMillis;
+        this.historyBatchSize = historyBatchSize;
+    }
+
+    /**
+     * Runs the given code with group commits enabled for the given database, if configured, and the database is changed
+     * through a {@link JdbcExecutor}. The open group is committed when the code returns, and rolled back if it fails.
+     */
+    public static void run(Database database, Scope.ScopedRunner runner) throws Exception {
+        int maxChangeSets = GlobalConfiguration.GROUP_COMMIT_SIZE.getCurrentValue();
+        int historyBatchSize = GlobalConfiguration.DATABASECHANGELOG_BATCH_SIZE.getCurrentValue();
+        if (!(Scope.getCurrentScope().getSingleton(ExecutorService.class).getExecutor("jdbc", database) instanceof JdbcExecutor)) {
+            runner.run();
+            return;
+        }
+        if ((maxChangeSets <= 1) || !database.supportsDDLInTransaction()) {
+            if (historyBatchSize > 1) {
+                Scope.getCurrentScope().getLog(GroupCommit.class).warning(GlobalConfiguration.DATABASECHANGELOG_BATCH_SIZE.getKey()
+                        + " is ignored: DATABASECHANGELOG rows are only batched in a group commit, which needs "
+                        + GlobalConfiguration.GROUP_COMMIT_SIZE.getKey() + " greater than 1 and a database supporting DDL in transactions");
+            }
+            runner.run();
+            return;
+        }
+
+        GroupCommit groupCommit = new GroupCommit(database, maxChangeSets, GlobalConfiguration.GROUP_COMMIT_TIME_LIMIT.getCurrentValue(),
+                historyBatchSize);
+        try {
+            Scope.child(Collections.singletonMap(SCOPE_KEY, groupCommit), runner);
+        } catch (Exception e) {
+            try {
+                groupCommit.rollback();
+            } catch (Exception rollbackException) {
+                e.addSuppressed(rollbackException);
+            }
+            throw e;
+        }
+        groupCommit.commit();
+    }
+
+    /**
+     * Returns the group commit used for the given database in the current scope, or null if there is none.
+     */
+    public static GroupCommit get(Database database) {
+        GroupCommit groupCommit = Scope.getCurrentScope().get(SCOPE_KEY, GroupCommit.class);
+        if ((groupCommit == null) || (groupCommit.database != database)) {
+            return null;
+        }
+        return groupCommit;
+    }
+
+    /**
+     * Returns true if a group commit is open for the given database, so its transaction must not be committed yet.
+     */
+    public static boolean isOpen(Database database) {
+        GroupCommit groupCommit = get(database);
+        return (groupCommit != null) && groupCommit.open;
+    }
+
+    /**
+     * Called before the given changeset runs. Returns true if the changeset runs in the open group,
+     * otherwise the group is committed first and false is returned.
+     */
+    public boolean join(ChangeSet changeSet) throws DatabaseException {
+        if (!canJoin(changeSet)) {
+            commit();
+            return false;
+        }
+        if (changeSet.getPreconditions() != null) {
+            commit();
+        }
+        if (!open) {
+            open = true;
+            openedAt = System.currentTimeMillis();
+        }
+        return true;
+    }
+
+    private boolean canJoin(ChangeSet changeSet) {
+        return changeSet.isRunInTransaction()
+                && !changeSet.isAlwaysRun()
+                && !Boolean.FALSE.equals(changeSet.getFailOnError())
+                && (changeSet.getRunWith() == null);
+    }
+
+    /**
+     * Called once a changeset of the open group ran and its DATABASECHANGELOG row was written.
+     * Commits the group if it is full or has been open for longer than the time limit.
+     */
+    public void changeSetRan() throws DatabaseException {
+        if (!open) {
+            return;
+        }
+        changeSetCount++;
+        if ((changeSetCount >= maxChangeSets) || ((System.currentTimeMillis() - openedAt) >= timeLimitMillis)) {
+            commit();
+        }
+    }
+
+    /**
+     * Returns true if the DATABASECHANGELOG rows written now are kept in memory until the batch is full or the group
+     * is committed.
+     */
+    boolean isBatchingHistory() {
+        return open && (historyBatchSize > 1);
+    }
+
+    /**
+     * Keeps the statements which insert one DATABASECHANGELOG row, and writes the kept rows once
+     * {@link GlobalConfiguration#DATABASECHANGELOG_BATCH_SIZE} rows are kept.
+     */
+    void addHistoryRow(List<String> sql) throws DatabaseException {
+        historySql.addAll(sql);
+        historyRowCount++;
+        if (historyRowCount >= historyBatchSize) {
+            flushHistory();
+        }
+    }
+
+    /**
+     * Writes the DATABASECHANGELOG rows kept in memory in the transaction of the group.
+     * The rows are forgotten even if writing them fails, as the group is then rolled back.
+     */
+    void flushHistory() throws DatabaseException {
+        if (historySql.isEmpty()) {
+            return;
+        }
+        List<String> sql = new ArrayList<>(historySql);
+        int rowCount = historyRowCount;
+        historySql.clear();
+        historyRowCount = 0;
+        ChangeLogHistoryService changeLogHistoryService = Scope.getCurrentScope().getSingleton(ChangeLogHistoryServiceFactory.class).getChangeLogService(database);
+        ((StandardChangeLogHistoryService) changeLogHistoryService).writeHistoryBatch(sql, rowCount);
+    }
+
+    /**
+     * Writes the DATABASECHANGELOG rows kept in memory and commits the open group.
+     */
+    public void commit() throws DatabaseException {
+        if (!open) {
+            return;
+        }
+        flushHistory();
+        Scope.getCurrentScope().getLog(getClass()).fine("Committing " + changeSetCount + " changesets in one transaction");
+        open = false;
+        changeSetCount = 0;
+        database.commit();
+    }
+
+    /**
+     * Rolls back the open group, including the DATABASECHANGELOG rows kept in memory.
+     */
+    public void rollback() throws DatabaseException {
+        if (!open) {
+            return;
+        }
+        if (changeSetCount > 0) {
+            Scope.getCurrentScope().getLog(getClass()).warning("Rolling back the " + changeSetCount + " changesets which ran in the same transaction " +
+                    "as the failed changeset. They will run again on the next update.");
+        }
+        historySql.clear();
+        historyRowCount = 0;
+        ChangeLogHistoryService changeLogHistoryService = Scope.getCurrentScope().getSingleton(ChangeLogHistoryServiceFactory.class).getChangeLogService(database);
+        if (changeLogHistoryService instanceof StandardChangeLogHistoryService) {
+            ((StandardChangeLogHistoryService) changeLogHistoryService).forgetRanChangeSets();
+        }
+        open = false;
+        changeSetCount = 0;
+        database.rollback();
+    }
+}
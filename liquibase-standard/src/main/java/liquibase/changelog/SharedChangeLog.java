@@ -0,0 +1,110 @@
+package liquibase.changelog;
+
+import liquibase.Contexts;
+import liquibase.LabelExpression;
+import liquibase.Liquibase;
+import liquibase.Scope;
+import liquibase.command.CommandResults;
+import liquibase.command.CommandScope;
+import liquibase.command.core.UpdateCommandStep;
+import liquibase.command.core.helpers.DatabaseChangelogCommandStep;
+import liquibase.command.core.helpers.DbUrlConnectionArgumentsCommandStep;
+import liquibase.database.Database;
+import liquibase.exception.LiquibaseException;
+import liquibase.parser.ChangeLogParser;
+import liquibase.parser.ChangeLogParserFactory;
+import liquibase.parser.ParsedChangeLogCache;
+import liquibase.resource.ResourceAccessor;
+import lombok.Getter;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A changelog which is parsed once and then run against any number of databases, from any number of threads.
+ * <p>
+ * The parsed form of the changelog file and of every file it includes is kept in an in-memory {@link ParsedChangeLogCache}
+ * which is never modified after a file has been parsed. Every run builds its own {@link DatabaseChangeLog} from it, so
+ * per-run state such as the runtime environment, execution results and checksums stays with that run.
+ * Code which parses the changelog file inside {@link #run(Scope.ScopedRunnerWithReturn)}, for example any
+ * {@link CommandScope} or {@link Liquibase} call, reuses the shared parse.
+ * <p>
+ * Only parsers that build a {@link liquibase.parser.core.ParsedNode} tree independent of the changelog parameters,
+ * which is the XML parser, can share their work. YAML, JSON and formatted SQL changelogs, including those included
+ * from an XML changelog, are read and parsed again on every run, so sharing them saves nothing.
+ */
+public class SharedChangeLog {
+
+    @Getter
+    private final String changeLogFile;
+
+    @Getter
+    private final ResourceAccessor resourceAccessor;
+
+    private final ParsedChangeLogCache parsedChangeLogCache = ParsedChangeLogCache.inMemory();
+
+    private SharedChangeLog(String changeLogFile, ResourceAccessor resourceAccessor) {
+        this.changeLogFile = changeLogFile;
+        this.resourceAccessor = resourceAccessor;
+    }
+
+    /**
+     * Parses the changelog file and the files it includes, failing fast if they cannot be parsed.
+     * Files included through changelog parameters which are only set for some databases are parsed on first use.
+     */
+    public static SharedChangeLog parse(String changeLogFile, ResourceAccessor resourceAccessor) throws LiquibaseException {
+        SharedChangeLog sharedChangeLog = new SharedChangeLog(changeLogFile, resourceAccessor);
+        sharedChangeLog.run(() -> {
+            ChangeLogParameters changeLogParameters = new ChangeLogParameters();
+            changeLogParameters.addJavaProperties();
+            changeLogParameters.addDefaultFileProperties();
+            ChangeLogParser parser = ChangeLogParserFactory.getInstance().getParser(changeLogFile, resourceAccessor);
+            return parser.parse(changeLogFile, changeLogParameters, resourceAccessor);
+        });
+        return sharedChangeLog;
+    }
+
+    /**
+     * Runs the given code in a scope in which parsing this changelog reuses the shared parse.
+     */
+    public <T> T run(Scope.ScopedRunnerWithReturn<T> runner) throws LiquibaseException {
+        Map<String, Object> scopeValues = new HashMap<>();
+        scopeValues.put(ParsedChangeLogCache.SCOPE_KEY, parsedChangeLogCache);
+        scopeValues.put(Scope.Attr.resourceAccessor.name(), resourceAccessor);
+        try {
+            return Scope.child(scopeValues, runner);
+        } catch (LiquibaseException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new LiquibaseException(e);
+        }
+    }
+
+    /**
+     * Builds a new {@link DatabaseChangeLog} for a single run against the given database.
+     */
+    public DatabaseChangeLog newDatabaseChangeLog(Database database, ChangeLogParameters changeLogParameters) throws LiquibaseException {
+        return run(() -> DatabaseChangelogCommandStep.getDatabaseChangeLog(changeLogFile, changeLogParameters, database));
+    }
+
+    /**
+     * Runs the update command against the given database.
+     */
+    public CommandResults update(Database database, String contexts, String labelFilter) throws LiquibaseException {
+        return run(() -> new CommandScope(UpdateCommandStep.COMMAND_NAME)
+                .addArgumentValue(DbUrlConnectionArgumentsCommandStep.DATABASE_ARG, database)
+                .addArgumentValue(UpdateCommandStep.CHANGELOG_FILE_ARG, changeLogFile)
+                .addArgumentValue(UpdateCommandStep.CONTEXTS_ARG, contexts)
+                .addArgumentValue(UpdateCommandStep.LABEL_FILTER_ARG, labelFilter)
+                .execute());
+    }
+
+    /**
+     * Returns the changesets which have not been run against the given database yet.
+     */
+    public List<ChangeSet> listUnrunChangeSets(Database database, String contexts, String labelFilter) throws LiquibaseException {
+        return run(() -> new Liquibase(changeLogFile, resourceAccessor, database)
+                .listUnrunChangeSets(new Contexts(contexts), new LabelExpression(labelFilter)));
+    }
+}
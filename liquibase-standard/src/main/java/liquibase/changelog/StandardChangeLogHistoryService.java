@@ -6,9 +6,11 @@ import liquibase.change.CheckSum;
 import liquibase.change.ColumnConfig;
 import liquibase.command.core.TagCommandStep;
 import liquibase.database.Database;
+import liquibase.database.DatabaseConnection;
 import liquibase.database.core.DB2Database;
 import liquibase.database.core.MSSQLDatabase;
 import liquibase.database.core.SQLiteDatabase;
+import liquibase.database.jvm.JdbcConnection;
 import liquibase.diff.output.DiffOutputControl;
 import liquibase.diff.output.changelog.ChangeGeneratorFactory;
 import liquibase.exception.DatabaseException;
@@ -18,9 +20,13 @@ import liquibase.exception.UnexpectedLiquibaseException;
 import liquibase.executor.Executor;
 import liquibase.executor.ExecutorService;
 import liquibase.executor.jvm.ChangelogJdbcMdcListener;
+import liquibase.executor.jvm.JdbcExecutor;
+import liquibase.executor.jvm.RanChangeSetRowMapper;
+import liquibase.logging.Logger;
 import liquibase.snapshot.InvalidExampleException;
 import liquibase.snapshot.SnapshotControl;
 import liquibase.snapshot.SnapshotGeneratorFactory;
+import liquibase.sql.Sql;
 import liquibase.sqlgenerator.SqlGeneratorFactory;
 import liquibase.statement.SqlStatement;
 import liquibase.statement.core.*;
@@ -28,6 +34,8 @@ import liquibase.structure.DatabaseObject;
 import liquibase.structure.core.Column;
 import liquibase.structure.core.DataType;
 import liquibase.structure.core.Table;
+import lombok.Data;
+import lombok.Getter;
 
 import java.text.DateFormat;
 import java.text.ParseException;
@@ -35,6 +43,7 @@ import java.text.SimpleDateFormat;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static liquibase.executor.jvm.JdbcExecutor.SHOULD_UPDATE_ROWS_AFFECTED_SCOPE_KEY;
 
@@ -43,9 +52,16 @@ public class StandardChangeLogHistoryService extends AbstractChangeLogHistorySer
     private List<RanChangeSet> ranChangeSetList;
     private boolean serviceInitialized;
     private Boolean hasDatabaseChangeLogTable;
+    private Boolean hasChangeLogStampTable;
     private boolean databaseChecksumsCompatible = true;
     private Integer lastChangeSetSequenceValue;
 
+    /**
+     * Rows read from DATABASECHANGELOG tables when {@link GlobalConfiguration#DATABASECHANGELOG_INCREMENTAL_READ} is enabled,
+     * kept across service instances since a new instance is created for every command.
+     */
+    private static final Map<String, HistorySnapshot> HISTORY_SNAPSHOTS = new ConcurrentHashMap<>();
+
     protected static final String LABELS_SIZE = "255";
     protected static final String CONTEXTS_SIZE = "255";
 
@@ -80,6 +96,7 @@ public class StandardChangeLogHistoryService extends AbstractChangeLogHistorySer
         this.ranChangeSetList = null;
         this.serviceInitialized = false;
         this.hasDatabaseChangeLogTable = null;
+        this.hasChangeLogStampTable = null;
     }
 
     public boolean hasDatabaseChangeLogTable() {
@@ -291,6 +308,7 @@ public class StandardChangeLogHistoryService extends AbstractChangeLogHistorySer
             //reset the cache if there was a change to the table. Especially catches things like md5 changes
             // which might have been updated but would still be wrong in the cache
             this.ranChangeSetList = null;
+            forgetHistorySnapshot();
             Scope.getCurrentScope().getSingleton(FastCheckService.class).clearCache();
         }
         serviceInitialized = true;
@@ -299,8 +317,25 @@ public class StandardChangeLogHistoryService extends AbstractChangeLogHistorySer
     @Override
     public void upgradeChecksums(final DatabaseChangeLog databaseChangeLog, final Contexts contexts, LabelExpression
         labels) throws DatabaseException {
+        flushHistoryBatch();
         super.upgradeChecksums(databaseChangeLog, contexts, labels);
         getDatabase().commit();
+        forgetHistorySnapshot();
+    }
+
+    @Override
+    public void replaceChecksum(ChangeSet changeSet) throws DatabaseException {
+        flushHistoryBatch();
+        super.replaceChecksum(changeSet);
+        forgetHistorySnapshot();
+    }
+
+    @Override
+    public void replaceFilePath(ChangeSet changeSet, String oldPath) throws DatabaseException {
+        flushHistoryBatch();
+        clearChangeLogStamps();
+        super.replaceFilePath(changeSet, oldPath);
+        forgetHistorySnapshot();
     }
 
     /**
@@ -309,48 +344,18 @@ public class StandardChangeLogHistoryService extends AbstractChangeLogHistorySer
     @Override
     public List<RanChangeSet> getRanChangeSets() throws DatabaseException {
         if (this.ranChangeSetList == null) {
+            flushHistoryBatch();
             Database database = getDatabase();
             String databaseChangeLogTableName = getDatabase().escapeTableName(getLiquibaseCatalogName(),
                     getLiquibaseSchemaName(), getDatabaseChangeLogTableName());
             List<RanChangeSet> ranChangeSets = new ArrayList<>();
             if (hasDatabaseChangeLogTable()) {
-                Scope.getCurrentScope().getLog(getClass()).info("Reading from " + databaseChangeLogTableName);
-                List<Map<String, ?>> results = queryDatabaseChangeLogTable(database);
-                for (Map rs : results) {
-                    Object storedFileNameObj = rs.get("FILENAME");
-                    String storedFileName = (storedFileNameObj == null) ? null : storedFileNameObj.toString();
-                    String fileName = DatabaseChangeLog.normalizePath(storedFileName);
-                    Object authorObj = rs.get("AUTHOR");
-                    String author = (authorObj == null) ? null : authorObj.toString();
-                    Object idObj = rs.get("ID");
-                    String id = (idObj == null) ? null : idObj.toString();
-                    String md5sum = ((rs.get("MD5SUM") == null)) ? null : rs.get("MD5SUM").toString();
-                    String description = (rs.get("DESCRIPTION") == null) ? null : rs.get("DESCRIPTION").toString();
-                    String comments = (rs.get("COMMENTS") == null) ? null : rs.get("COMMENTS").toString();
-                    Object tmpDateExecuted = rs.get("DATEEXECUTED");
-                    Date dateExecuted = convertDate(tmpDateExecuted);
-                    Object tmpOrderExecutedObj = rs.get("ORDEREXECUTED");
-                    String tmpOrderExecuted = (tmpOrderExecutedObj == null) ? null : tmpOrderExecutedObj.toString();
-                    Integer orderExecuted = ((tmpOrderExecuted == null) ? null : Integer.valueOf(tmpOrderExecuted));
-                    String tag = (rs.get("TAG") == null) ? null : rs.get("TAG").toString();
-                    String execType = (rs.get("EXECTYPE") == null) ? null : rs.get("EXECTYPE").toString();
-                    ContextExpression contexts = new ContextExpression((String) rs.get("CONTEXTS"));
-                    Labels labels = new Labels((String) rs.get("LABELS"));
-                    String deploymentId = (String) rs.get("DEPLOYMENT_ID");
-                    String liquibaseVersion =  (rs.get("LIQUIBASE") == null) ? null : rs.get("LIQUIBASE").toString();
-
-                    try {
-                        RanChangeSet ranChangeSet = new RanChangeSet(fileName, id, author, CheckSum.parse(md5sum),
-                            dateExecuted, tag, ChangeSet.ExecType.valueOf(execType), description, comments, contexts,
-                            labels, deploymentId, storedFileName);
-                        ranChangeSet.setOrderExecuted(orderExecuted);
-                        ranChangeSet.setLiquibaseVersion(liquibaseVersion);
-                        ranChangeSets.add(ranChangeSet);
-                    } catch (IllegalArgumentException e) {
-                        Scope.getCurrentScope().getLog(getClass()).severe("Unknown EXECTYPE from database: " +
-                            execType);
-                        throw e;
-                    }
+                String historySnapshotKey = getHistorySnapshotKey();
+                if (historySnapshotKey == null) {
+                    Scope.getCurrentScope().getLog(getClass()).info("Reading from " + databaseChangeLogTableName);
+                    ranChangeSets = readAllRanChangeSets(database);
+                } else {
+                    ranChangeSets = readIncrementally(historySnapshotKey, databaseChangeLogTableName);
                 }
             }
 
@@ -359,6 +364,181 @@ public class StandardChangeLogHistoryService extends AbstractChangeLogHistorySer
         return Collections.unmodifiableList(ranChangeSetList);
     }
 
+    /**
+     * Reads all rows, mapping them directly to {@link RanChangeSet}s unless a subclass changed how the table is queried
+     * by overriding {@link #queryDatabaseChangeLogTable(Database)}.
+     */
+    private List<RanChangeSet> readAllRanChangeSets(Database database) throws DatabaseException {
+        if (overridesQueryDatabaseChangeLogTable()) {
+            return toRanChangeSets(queryDatabaseChangeLogTable(database));
+        }
+        return queryRanChangeSets(getSelectAllStatement());
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<RanChangeSet> queryRanChangeSets(SelectFromDatabaseChangeLogStatement select) throws DatabaseException {
+        return ChangelogJdbcMdcListener.query(getDatabase(), executor -> {
+            if (executor instanceof JdbcExecutor) {
+                Integer fetchSize = getDatabase().getFetchSize();
+                if (fetchSize == null) {
+                    return (List<RanChangeSet>) ((JdbcExecutor) executor).query(select, new RanChangeSetRowMapper());
+                }
+                return (List<RanChangeSet>) ((JdbcExecutor) executor).query(select, new RanChangeSetRowMapper(), fetchSize);
+            }
+            return toRanChangeSets(executor.queryForList(select));
+        });
+    }
+
+    private boolean overridesQueryDatabaseChangeLogTable() {
+        try {
+            return getClass().getMethod("queryDatabaseChangeLogTable", Database.class).getDeclaringClass() != StandardChangeLogHistoryService.class;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    private List<RanChangeSet> toRanChangeSets(List<Map<String, ?>> results) {
+        List<RanChangeSet> ranChangeSets = new ArrayList<>();
+        for (Map rs : results) {
+            Object storedFileNameObj = rs.get("FILENAME");
+            String storedFileName = (storedFileNameObj == null) ? null : storedFileNameObj.toString();
+            String fileName = DatabaseChangeLog.normalizePath(storedFileName);
+            Object authorObj = rs.get("AUTHOR");
+            String author = (authorObj == null) ? null : authorObj.toString();
+            Object idObj = rs.get("ID");
+            String id = (idObj == null) ? null : idObj.toString();
+            String md5sum = ((rs.get("MD5SUM") == null)) ? null : rs.get("MD5SUM").toString();
+            String description = (rs.get("DESCRIPTION") == null) ? null : rs.get("DESCRIPTION").toString();
+            String comments = (rs.get("COMMENTS") == null) ? null : rs.get("COMMENTS").toString();
+            Object tmpDateExecuted = rs.get("DATEEXECUTED");
+            Date dateExecuted = convertDate(tmpDateExecuted);
+            Object tmpOrderExecutedObj = rs.get("ORDEREXECUTED");
+            String tmpOrderExecuted = (tmpOrderExecutedObj == null) ? null : tmpOrderExecutedObj.toString();
+            Integer orderExecuted = ((tmpOrderExecuted == null) ? null : Integer.valueOf(tmpOrderExecuted));
+            String tag = (rs.get("TAG") == null) ? null : rs.get("TAG").toString();
+            String execType = (rs.get("EXECTYPE") == null) ? null : rs.get("EXECTYPE").toString();
+            ContextExpression contexts = new ContextExpression((String) rs.get("CONTEXTS"));
+            Labels labels = new Labels((String) rs.get("LABELS"));
+            String deploymentId = (String) rs.get("DEPLOYMENT_ID");
+            String liquibaseVersion =  (rs.get("LIQUIBASE") == null) ? null : rs.get("LIQUIBASE").toString();
+
+            try {
+                RanChangeSet ranChangeSet = new RanChangeSet(fileName, id, author, CheckSum.parse(md5sum),
+                    dateExecuted, tag, ChangeSet.ExecType.valueOf(execType), description, comments, contexts,
+                    labels, deploymentId, storedFileName);
+                ranChangeSet.setOrderExecuted(orderExecuted);
+                ranChangeSet.setLiquibaseVersion(liquibaseVersion);
+                ranChangeSets.add(ranChangeSet);
+            } catch (IllegalArgumentException e) {
+                Scope.getCurrentScope().getLog(getClass()).severe("Unknown EXECTYPE from database: " +
+                    execType);
+                throw e;
+            }
+        }
+        return ranChangeSets;
+    }
+
+    /**
+     * Reads the table through the {@link HistorySnapshot} kept for this database when
+     * {@link GlobalConfiguration#DATABASECHANGELOG_INCREMENTAL_READ} is enabled. Only rows with a higher ORDEREXECUTED
+     * than seen before are fetched, unless the fingerprint shows that rows were removed or rewritten.
+     */
+    private List<RanChangeSet> readIncrementally(String historySnapshotKey, String databaseChangeLogTableName) throws DatabaseException {
+        Logger log = Scope.getCurrentScope().getLog(getClass());
+        HistoryFingerprint fingerprint = queryHistoryFingerprint();
+        HistorySnapshot previous = HISTORY_SNAPSHOTS.get(historySnapshotKey);
+
+        List<RanChangeSet> ranChangeSets = null;
+        if (previous != null) {
+            if (previous.getFingerprint().equals(fingerprint)) {
+                log.fine("Rows in " + databaseChangeLogTableName + " are unchanged since they were last read");
+                ranChangeSets = previous.copyRanChangeSets();
+            } else if ((previous.getFingerprint().getMaxOrderExecuted() != null) && (fingerprint.getMaxOrderExecuted() != null)
+                    && (fingerprint.getMaxOrderExecuted() > previous.getFingerprint().getMaxOrderExecuted())
+                    && (fingerprint.getRowCount() >= previous.getFingerprint().getRowCount())) {
+                int lastOrderExecuted = previous.getFingerprint().getMaxOrderExecuted();
+                log.info("Reading from " + databaseChangeLogTableName + " the rows after ORDEREXECUTED " + lastOrderExecuted);
+                SelectFromDatabaseChangeLogStatement select = new SelectFromDatabaseChangeLogStatement(
+                        new SelectFromDatabaseChangeLogStatement.ByOrderExecutedAfter(lastOrderExecuted),
+                        new ColumnConfig().setName("*").setComputed(true)).setOrderBy("DATEEXECUTED ASC", "ORDEREXECUTED ASC");
+                List<RanChangeSet> newerRanChangeSets = queryRanChangeSets(select);
+
+                List<RanChangeSet> merged = previous.copyRanChangeSets();
+                for (RanChangeSet newer : newerRanChangeSets) {
+                    // rerun changesets update their existing row, which moves it to the end of the history
+                    merged.removeIf(existing -> Objects.equals(existing.getId(), newer.getId())
+                            && Objects.equals(existing.getAuthor(), newer.getAuthor())
+                            && Objects.equals(existing.getStoredChangeLog(), newer.getStoredChangeLog()));
+                    merged.add(newer);
+                }
+                if (fingerprint.matches(merged)) {
+                    ranChangeSets = merged;
+                }
+            }
+        }
+
+        if (ranChangeSets == null) {
+            log.info("Reading from " + databaseChangeLogTableName);
+            ranChangeSets = readAllRanChangeSets(getDatabase());
+        }
+
+        if (fingerprint.matches(ranChangeSets)) {
+            HISTORY_SNAPSHOTS.put(historySnapshotKey, new HistorySnapshot(fingerprint, ranChangeSets));
+        } else {
+            // the table changed while it was read
+            HISTORY_SNAPSHOTS.remove(historySnapshotKey);
+        }
+        return ranChangeSets;
+    }
+
+    private HistoryFingerprint queryHistoryFingerprint() throws DatabaseException {
+        SqlStatement fingerprintStatement = new SelectFromDatabaseChangeLogStatement(
+                new ColumnConfig().setName("COUNT(*) AS ROW_COUNT", true),
+                new ColumnConfig().setName("MAX(ORDEREXECUTED) AS MAX_ORDER_EXECUTED", true),
+                new ColumnConfig().setName("COUNT(TAG) AS TAG_COUNT", true),
+                new ColumnConfig().setName("COUNT(MD5SUM) AS CHECKSUM_COUNT", true));
+        Map<String, ?> row = ChangelogJdbcMdcListener.query(getDatabase(), executor -> executor.queryForList(fingerprintStatement)).get(0);
+        return new HistoryFingerprint(toInteger(row.get("ROW_COUNT")), toInteger(row.get("MAX_ORDER_EXECUTED")),
+                toInteger(row.get("TAG_COUNT")), toInteger(row.get("CHECKSUM_COUNT")));
+    }
+
+    private static Integer toInteger(Object value) {
+        if (value == null) {
+            return null;
+        }
+        return (value instanceof Number) ? ((Number) value).intValue() : Integer.valueOf(value.toString().trim());
+    }
+
+    /**
+     * Returns the key under which the {@link HistorySnapshot} of this database is kept,
+     * or null if incremental reads are disabled or not possible for this connection.
+     */
+    private String getHistorySnapshotKey() throws DatabaseException {
+        if (!GlobalConfiguration.DATABASECHANGELOG_INCREMENTAL_READ.getCurrentValue() || overridesQueryDatabaseChangeLogTable()) {
+            return null;
+        }
+        DatabaseConnection connection = getDatabase().getConnection();
+        if (!(connection instanceof JdbcConnection)) {
+            return null;
+        }
+        return connection.getURL() + "|" + connection.getConnectionUserName() + "|" + getDatabase().escapeTableName(
+                getLiquibaseCatalogName(), getLiquibaseSchemaName(), getDatabaseChangeLogTableName());
+    }
+
+    /**
+     * Forgets the rows kept for this database after this service rewrote rows in a way the fingerprint does not show.
+     */
+    private void forgetHistorySnapshot() {
+        try {
+            String historySnapshotKey = getHistorySnapshotKey();
+            if (historySnapshotKey != null) {
+                HISTORY_SNAPSHOTS.remove(historySnapshotKey);
+            }
+        } catch (DatabaseException e) {
+            HISTORY_SNAPSHOTS.clear();
+        }
+    }
+
     public static Date convertDate(Object tmpDateExecuted) {
         Date dateExecuted = null;
         if (tmpDateExecuted instanceof Date) {
@@ -377,11 +557,16 @@ public class StandardChangeLogHistoryService extends AbstractChangeLogHistorySer
     }
 
     public List<Map<String, ?>> queryDatabaseChangeLogTable(Database database) throws DatabaseException {
-        SelectFromDatabaseChangeLogStatement select = new SelectFromDatabaseChangeLogStatement(new ColumnConfig()
-            .setName("*").setComputed(true)).setOrderBy("DATEEXECUTED ASC", "ORDEREXECUTED ASC");
+        flushHistoryBatch();
+        SelectFromDatabaseChangeLogStatement select = getSelectAllStatement();
         return ChangelogJdbcMdcListener.query(getDatabase(), executor -> executor.queryForList(select));
     }
 
+    private static SelectFromDatabaseChangeLogStatement getSelectAllStatement() {
+        return new SelectFromDatabaseChangeLogStatement(new ColumnConfig()
+            .setName("*").setComputed(true)).setOrderBy("DATEEXECUTED ASC", "ORDEREXECUTED ASC");
+    }
+
     @Override
     public RanChangeSet getRanChangeSet(final ChangeSet changeSet) throws DatabaseException, DatabaseHistoryException {
         if (!hasDatabaseChangeLogTable()) {
@@ -394,24 +579,73 @@ public class StandardChangeLogHistoryService extends AbstractChangeLogHistorySer
     @Override
     public void setExecType(ChangeSet changeSet, ChangeSet.ExecType execType) throws DatabaseException {
         SqlStatement markChangeSetRanStatement = new MarkChangeSetRanStatement(changeSet, execType);
+        GroupCommit groupCommit = GroupCommit.get(getDatabase());
+        if ((groupCommit != null) && groupCommit.isBatchingHistory()) {
+            List<String> sql = new ArrayList<>();
+            for (Sql statementSql : SqlGeneratorFactory.getInstance().generateSql(markChangeSetRanStatement, getDatabase())) {
+                sql.add(statementSql.toSql());
+            }
+            groupCommit.addHistoryRow(sql);
+        } else {
+            writeHistory(markChangeSetRanStatement);
+        }
+        if (this.ranChangeSetList != null) {
+            this.ranChangeSetList.add(new RanChangeSet(changeSet, execType, null, null));
+        }
+
+    }
+
+    private void writeHistory(SqlStatement markChangeSetRanStatement) throws DatabaseException {
         try {
             Scope.child(Collections.singletonMap(SHOULD_UPDATE_ROWS_AFFECTED_SCOPE_KEY, false), () -> {
                 ChangelogJdbcMdcListener.execute(getDatabase(), executor -> executor.execute(markChangeSetRanStatement));
-                getDatabase().commit();
+                if (!GroupCommit.isOpen(getDatabase())) {
+                    getDatabase().commit();
+                }
             });
         } catch (Exception e) {
             throw new DatabaseException(e);
         }
-        if (this.ranChangeSetList != null) {
-            this.ranChangeSetList.add(new RanChangeSet(changeSet, execType, null, null));
+    }
+
+    /**
+     * Writes the DATABASECHANGELOG rows which the open {@link GroupCommit} keeps in memory, so that they can be read
+     * or changed. The rows are committed with the group.
+     */
+    public void flushHistoryBatch() throws DatabaseException {
+        GroupCommit groupCommit = GroupCommit.get(getDatabase());
+        if (groupCommit != null) {
+            groupCommit.flushHistory();
         }
+    }
 
+    /**
+     * Inserts the given DATABASECHANGELOG rows in one JDBC batch, without committing them.
+     */
+    void writeHistoryBatch(List<String> sql, int rowCount) throws DatabaseException {
+        Scope.getCurrentScope().getLog(getClass()).fine("Writing " + rowCount + " rows to " + getDatabaseChangeLogTableName() + " in one batch");
+        try {
+            Scope.child(Collections.singletonMap(SHOULD_UPDATE_ROWS_AFFECTED_SCOPE_KEY, false), () ->
+                    ChangelogJdbcMdcListener.execute(getDatabase(), executor -> ((JdbcExecutor) executor).executeBatch(sql)));
+        } catch (Exception e) {
+            throw new DatabaseException(e);
+        }
+    }
+
+    /**
+     * Forgets the rows read before, after the transaction which wrote some of them was rolled back.
+     */
+    void forgetRanChangeSets() {
+        this.ranChangeSetList = null;
+        this.lastChangeSetSequenceValue = null;
     }
 
     @Override
     public void removeFromHistory(final ChangeSet changeSet) throws DatabaseException {
+        flushHistoryBatch();
         SqlStatement removeChangeSetRanStatusStatement = new RemoveChangeSetRanStatusStatement(changeSet);
         ChangelogJdbcMdcListener.execute(getDatabase(), executor -> executor.execute(removeChangeSetRanStatusStatement));
+        clearChangeLogStamps();
         getDatabase().commit();
 
         if (this.ranChangeSetList != null) {
@@ -419,6 +653,22 @@ public class StandardChangeLogHistoryService extends AbstractChangeLogHistorySer
         }
     }
 
+    /**
+     * Deletes the {@link ChangeLogStamp}s without committing, so they are deleted in the transaction which removes rows,
+     * renames them or clears their checksums.
+     */
+    private void clearChangeLogStamps() throws DatabaseException {
+        if (!GlobalConfiguration.DATABASECHANGELOG_STAMP.getCurrentValue()) {
+            return;
+        }
+        if (hasChangeLogStampTable == null) {
+            hasChangeLogStampTable = ChangeLogStamp.hasTable(getDatabase());
+        }
+        if (hasChangeLogStampTable) {
+            ChangeLogStamp.clear(getDatabase());
+        }
+    }
+
     @Override
     public int getNextSequenceValue() throws LiquibaseException {
         if (lastChangeSetSequenceValue == null) {
@@ -438,11 +688,13 @@ public class StandardChangeLogHistoryService extends AbstractChangeLogHistorySer
      */
     @Override
     public void tag(final String tagString) throws DatabaseException {
+        flushHistoryBatch();
         SqlStatement totalRowsStatement = new SelectFromDatabaseChangeLogStatement(new ColumnConfig().setName("COUNT(*)", true));
         int totalRows = ChangelogJdbcMdcListener.query(getDatabase(), executor -> executor.queryForInt(totalRowsStatement));
         if (totalRows == 0) {
             ChangeSet emptyChangeSet = TagCommandStep.getEmptyTagChangeSet(getDatabase());
             this.setExecType(emptyChangeSet, ChangeSet.ExecType.EXECUTED);
+            flushHistoryBatch();
         }
         SqlStatement tagStatement = new TagDatabaseStatement(tagString);
         ChangelogJdbcMdcListener.execute(getDatabase(), executor -> executor.execute(tagStatement));
@@ -455,6 +707,7 @@ public class StandardChangeLogHistoryService extends AbstractChangeLogHistorySer
 
     @Override
     public boolean tagExists(final String tag) throws DatabaseException {
+        flushHistoryBatch();
         SqlStatement selectChangelogStatement = new SelectFromDatabaseChangeLogStatement(new SelectFromDatabaseChangeLogStatement.ByTag(tag),
                 new ColumnConfig().setName("COUNT(*)", true));
         int count = ChangelogJdbcMdcListener.query(getDatabase(), executor -> executor.queryForInt(selectChangelogStatement));
@@ -463,15 +716,18 @@ public class StandardChangeLogHistoryService extends AbstractChangeLogHistorySer
 
     @Override
     public void clearAllCheckSums() throws LiquibaseException {
+        flushHistoryBatch();
         Database database = getDatabase();
         UpdateStatement updateStatement = new UpdateStatement(database.getLiquibaseCatalogName(), database
             .getLiquibaseSchemaName(), database.getDatabaseChangeLogTableName());
         updateStatement.addNewColumnValue("MD5SUM", null);
         ChangelogJdbcMdcListener.execute(getDatabase(), executor -> executor.execute(updateStatement));
+        clearChangeLogStamps();
         database.commit();
 
         // Clear the in-memory cache and FastCheck cache to ensure checksums are re-evaluated
         this.ranChangeSetList = null;
+        forgetHistorySnapshot();
         Scope.getCurrentScope().getSingleton(FastCheckService.class).clearCache();
     }
 
@@ -501,6 +757,7 @@ public class StandardChangeLogHistoryService extends AbstractChangeLogHistorySer
                 ChangelogJdbcMdcListener.execute(getDatabase(), executor -> executor.execute(sqlStatement[0]));
             }
             reset();
+            forgetHistorySnapshot();
         } catch (InvalidExampleException e) {
             throw new UnexpectedLiquibaseException(e);
         }
@@ -536,4 +793,66 @@ public class StandardChangeLogHistoryService extends AbstractChangeLogHistorySer
     public boolean isDatabaseChecksumsCompatible() {
         return this.databaseChecksumsCompatible;
     }
+
+    /**
+     * Cheap summary of a DATABASECHANGELOG table, used to tell whether rows read earlier are still valid.
+     */
+    @Data
+    private static class HistoryFingerprint {
+        private final Integer rowCount;
+        private final Integer maxOrderExecuted;
+        private final Integer tagCount;
+        private final Integer checkSumCount;
+
+        boolean matches(List<RanChangeSet> ranChangeSets) {
+            Integer max = null;
+            int tags = 0;
+            int checkSums = 0;
+            for (RanChangeSet ranChangeSet : ranChangeSets) {
+                if ((ranChangeSet.getOrderExecuted() != null) && ((max == null) || (ranChangeSet.getOrderExecuted() > max))) {
+                    max = ranChangeSet.getOrderExecuted();
+                }
+                if (ranChangeSet.getTag() != null) {
+                    tags++;
+                }
+                if (ranChangeSet.getLastCheckSum() != null) {
+                    checkSums++;
+                }
+            }
+            return Objects.equals(rowCount, ranChangeSets.size()) && Objects.equals(maxOrderExecuted, max)
+                    && Objects.equals(tagCount, tags) && Objects.equals(checkSumCount, checkSums);
+        }
+    }
+
+    /**
+     * The rows of a DATABASECHANGELOG table as last read. Holds its own copies, since the lists handed out are modified.
+     */
+    @Getter
+    private static class HistorySnapshot {
+        private final HistoryFingerprint fingerprint;
+        private final List<RanChangeSet> ranChangeSets;
+
+        HistorySnapshot(HistoryFingerprint fingerprint, List<RanChangeSet> ranChangeSets) {
+            this.fingerprint = fingerprint;
+            this.ranChangeSets = copy(ranChangeSets);
+        }
+
+        List<RanChangeSet> copyRanChangeSets() {
+            return copy(ranChangeSets);
+        }
+
+        private static List<RanChangeSet> copy(List<RanChangeSet> ranChangeSets) {
+            List<RanChangeSet> copies = new ArrayList<>(ranChangeSets.size());
+            for (RanChangeSet ranChangeSet : ranChangeSets) {
+                RanChangeSet copy = new RanChangeSet(ranChangeSet.getChangeLog(), ranChangeSet.getId(), ranChangeSet.getAuthor(),
+                        ranChangeSet.getLastCheckSum(), ranChangeSet.getDateExecuted(), ranChangeSet.getTag(), ranChangeSet.getExecType(),
+                        ranChangeSet.getDescription(), ranChangeSet.getComments(), ranChangeSet.getContextExpression(),
+                        ranChangeSet.getLabels(), ranChangeSet.getDeploymentId(), ranChangeSet.getStoredChangeLog());
+                copy.setOrderExecuted(ranChangeSet.getOrderExecuted());
+                copy.setLiquibaseVersion(ranChangeSet.getLiquibaseVersion());
+                copies.add(copy);
+            }
+            return copies;
+        }
+    }
 }
@@ -2,6 +2,7 @@ package liquibase.changelog.filter;
 
 import liquibase.ChecksumVersion;
 import liquibase.changelog.ChangeSet;
+import liquibase.changelog.ChecksumManifest;
 import liquibase.changelog.RanChangeSet;
 import liquibase.database.Database;
 import liquibase.exception.DatabaseException;
@@ -79,8 +80,8 @@ public class ShouldRunChangeSetFilter implements ChangeSetFilter {
             return false;
         }
         // generate the checksum for the current changeset loaded from changelog files using the same checksum version
-        // that we have at database so we are able to compare them
-        return !changeSet.generateCheckSum(ChecksumVersion.enumFromChecksumVersion(ranChangeSet.getLastCheckSum().getVersion()))
+        // that we have at database so we are able to compare them. A trusted checksum manifest saves computing it.
+        return !ChecksumManifest.generateCheckSum(changeSet, ChecksumVersion.enumFromChecksumVersion(ranChangeSet.getLastCheckSum().getVersion()))
                 .equals(ranChangeSet.getLastCheckSum());
     }
 
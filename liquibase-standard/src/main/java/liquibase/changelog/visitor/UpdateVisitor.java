@@ -10,6 +10,7 @@ import liquibase.changelog.ChangeSet;
 import liquibase.changelog.ChangeSet.ExecType;
 import liquibase.changelog.ChangeSet.RunStatus;
 import liquibase.changelog.DatabaseChangeLog;
+import liquibase.changelog.GroupCommit;
 import liquibase.changelog.filter.ChangeSetFilterResult;
 import liquibase.changelog.filter.ShouldRunChangeSetFilter;
 import liquibase.database.Database;
@@ -69,10 +70,17 @@ public class UpdateVisitor implements ChangeSetVisitor {
         CheckSum oldChecksum = updateCheckSumIfRequired(changeSet);
         if (isAccepted) {
             executeAcceptedChange(changeSet, databaseChangeLog, database);
-            this.database.commit();
+            GroupCommit groupCommit = GroupCommit.get(this.database);
+            if ((groupCommit != null) && GroupCommit.isOpen(this.database)) {
+                groupCommit.changeSetRan();
+            } else {
+                this.database.commit();
+            }
         } else if ((oldChecksum == null || oldChecksum.getVersion() < ChecksumVersion.latest().getVersion())) {
             upgradeCheckSumVersionForAlreadyExecutedOrNullChange(changeSet, database, oldChecksum);
-            this.database.commit();
+            if (!GroupCommit.isOpen(this.database)) {
+                this.database.commit();
+            }
         }
     }
 
@@ -106,6 +106,7 @@ public abstract class AbstractUpdateCommandStep extends AbstractCommandStep impl
                 LockServiceFactory.getInstance().getLockService(database).waitForLock();
                 isDBLocked.set(true);
             }
+            ChangeLogStamp.createTable(database);
 
             Scope.getCurrentScope().addMdcValue(MdcKey.DEPLOYMENT_ID, scope.getDeploymentId());
             Scope.getCurrentScope().getLog(getClass()).info(String.format("Using deploymentId: %s", scope.getDeploymentId()));
@@ -119,8 +120,9 @@ public abstract class AbstractUpdateCommandStep extends AbstractCommandStep impl
             ChangeLogIterator finalRunChangeLogIterator = runChangeLogIterator;
             Scope.child(scopeValues, () -> {
                 try {
-                    finalRunChangeLogIterator.run(new UpdateVisitor(database, changeExecListener, new ShouldRunChangeSetFilter(database)),
-                            new RuntimeEnvironment(database, contexts, labelExpression));
+                    GroupCommit.run(database, () ->
+                            finalRunChangeLogIterator.run(new UpdateVisitor(database, changeExecListener, new ShouldRunChangeSetFilter(database)),
+                                    new RuntimeEnvironment(database, contexts, labelExpression)));
                 } finally {
                     UpdateSummaryDetails details = ShowSummaryUtil.buildSummaryDetails(databaseChangeLog, getShowSummary(commandScope), getShowSummaryOutput(commandScope), statusVisitor, resultsBuilder.getOutputStream(), finalRunChangeLogIterator, changeExecListener);
                     if (details != null) {
@@ -302,10 +304,16 @@ public abstract class AbstractUpdateCommandStep extends AbstractCommandStep impl
         FastCheckService fastCheck = Scope.getCurrentScope().getSingleton(FastCheckService.class);
         List<ChangeSetFilter> filters = this.getStandardChangelogIteratorFilters(database, contexts, labelExpression);
 
-        if (fastCheck.isUpToDateFastCheck(filters, database, databaseChangeLog, contexts, labelExpression)) {
+        // a changelog stamp found current when the changelog was loaded already shows there is nothing to run
+        if ((commandScope.getDependency(ChangeLogStamp.class) != null)
+                || fastCheck.isUpToDateFastCheck(filters, database, databaseChangeLog, contexts, labelExpression)) {
             Scope.getCurrentScope().getUI().sendMessage(DATABASE_UP_TO_DATE_MESSAGE);
-            StatusVisitor statusVisitor = getStatusVisitor(commandScope, database, contexts, labelExpression, databaseChangeLog);
             UpdateSummaryEnum showSummary = getShowSummary(commandScope);
+            if ((showSummary == null) || (showSummary == UpdateSummaryEnum.OFF)) {
+                // no summary to show, so there is no need to read the databasechangelog table for it
+                return true;
+            }
+            StatusVisitor statusVisitor = getStatusVisitor(commandScope, database, contexts, labelExpression, databaseChangeLog);
             UpdateSummaryOutputEnum showSummaryOutput = getShowSummaryOutput(commandScope);
             ShowSummaryUtil.showUpdateSummary(databaseChangeLog, showSummary, showSummaryOutput, statusVisitor, outputStream, null);
             return true;
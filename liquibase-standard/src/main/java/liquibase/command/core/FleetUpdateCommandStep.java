@@ -0,0 +1,261 @@
+package liquibase.command.core;
+
+import liquibase.Scope;
+import liquibase.UpdateSummaryEnum;
+import liquibase.UpdateSummaryOutputEnum;
+import liquibase.changelog.SharedChangeLog;
+import liquibase.command.*;
+import liquibase.command.core.helpers.DbUrlConnectionArgumentsCommandStep;
+import liquibase.command.core.helpers.ShowSummaryArgument;
+import liquibase.configuration.ConfigurationValueObfuscator;
+import liquibase.database.jvm.JdbcConnection;
+import liquibase.exception.CommandValidationException;
+import liquibase.report.UpdateReportParameters;
+import liquibase.resource.PathHandlerFactory;
+import liquibase.resource.Resource;
+import liquibase.util.ConcurrencyUtil;
+import liquibase.util.StringUtil;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Future;
+
+/**
+ * Runs {@link UpdateCommandStep} against many databases concurrently, parsing the changelog only once through a
+ * {@link SharedChangeLog}. Every target runs with its own connection and lock, and a failure on one target does not
+ * stop the others. The summary of each target is produced by the regular update command, so the configured
+ * {@link liquibase.report.ShowSummaryGenerator} applies, and the {@link UpdateReportParameters} of all targets are
+ * returned in {@link #UPDATE_REPORTS_RESULT}.
+ */
+public class FleetUpdateCommandStep extends AbstractCommandStep {
+
+    public static final String[] COMMAND_NAME = {"fleetUpdate"};
+
+    public static final CommandArgumentDefinition<String> CHANGELOG_FILE_ARG;
+    public static final CommandArgumentDefinition<String> URLS_ARG;
+    public static final CommandArgumentDefinition<String> URLS_FILE_ARG;
+    public static final CommandArgumentDefinition<String> USERNAME_ARG;
+    public static final CommandArgumentDefinition<String> PASSWORD_ARG;
+    public static final CommandArgumentDefinition<String> LABEL_FILTER_ARG;
+    public static final CommandArgumentDefinition<String> CONTEXTS_ARG;
+    public static final CommandArgumentDefinition<Integer> PARALLELISM_ARG;
+    public static final CommandArgumentDefinition<UpdateSummaryEnum> SHOW_SUMMARY_ARG;
+
+    public static final CommandResultDefinition<List<UpdateReportParameters>> UPDATE_REPORTS_RESULT;
+    public static final CommandResultDefinition<Integer> SUCCEEDED_COUNT_RESULT;
+    public static final CommandResultDefinition<Integer> FAILED_COUNT_RESULT;
+
+    static {
+        CommandBuilder builder = new CommandBuilder(COMMAND_NAME);
+        CHANGELOG_FILE_ARG = builder.argument(CommonArgumentNames.CHANGELOG_FILE, String.class).required()
+                .description("The root changelog").build();
+        URLS_ARG = builder.argument("urls", String.class)
+                .description("Comma separated JDBC URLs of the databases to update").build();
+        URLS_FILE_ARG = builder.argument("urlsFile", String.class)
+                .description("File with the JDBC URLs of the databases to update, one per line. " +
+                        "Empty lines and lines starting with # are ignored").build();
+        USERNAME_ARG = builder.argument(CommonArgumentNames.USERNAME, String.class)
+                .description("Username to use to connect to all databases").build();
+        PASSWORD_ARG = builder.argument(CommonArgumentNames.PASSWORD, String.class)
+                .description("Password to use to connect to all databases")
+                .setValueObfuscator(ConfigurationValueObfuscator.STANDARD)
+                .build();
+        LABEL_FILTER_ARG = builder.argument("labelFilter", String.class)
+                .addAlias("labels")
+                .description("Changeset labels to match")
+                .build();
+        CONTEXTS_ARG = builder.argument("contextFilter", String.class)
+                .addAlias("contexts")
+                .description("Changeset contexts to match")
+                .build();
+        PARALLELISM_ARG = builder.argument("parallelism", Integer.class).defaultValue(4)
+                .description("Number of databases to update at the same time").build();
+        SHOW_SUMMARY_ARG = builder.argument("showSummary", UpdateSummaryEnum.class).defaultValue(UpdateSummaryEnum.SUMMARY)
+                .description("Type of update results summary to show for each database.  Values can be 'off', 'summary', or 'verbose'.")
+                .setValueHandler(value -> ShowSummaryArgument.SHOW_SUMMARY.getValueConverter().convert(value))
+                .build();
+
+        @SuppressWarnings("unchecked")
+        Class<List<UpdateReportParameters>> reportsType = (Class<List<UpdateReportParameters>>) (Class<?>) List.class;
+        UPDATE_REPORTS_RESULT = builder.result("updateReports", reportsType)
+                .description("The update report of every database, in the order the databases were given").build();
+        SUCCEEDED_COUNT_RESULT = builder.result("succeededCount", Integer.class)
+                .description("Number of databases which were updated successfully").build();
+        FAILED_COUNT_RESULT = builder.result("failedCount", Integer.class)
+                .description("Number of databases which failed to update").build();
+    }
+
+    @Override
+    public String[][] defineCommandNames() {
+        return new String[][]{COMMAND_NAME};
+    }
+
+    @Override
+    public void validate(CommandScope commandScope) throws CommandValidationException {
+        super.validate(commandScope);
+        if ((commandScope.getArgumentValue(URLS_ARG) == null) && (commandScope.getArgumentValue(URLS_FILE_ARG) == null)) {
+            throw new CommandValidationException("Either --urls or --urls-file must be set");
+        }
+        Integer parallelism = commandScope.getArgumentValue(PARALLELISM_ARG);
+        if ((parallelism != null) && (parallelism < 1)) {
+            throw new CommandValidationException("parallelism", "must be at least 1");
+        }
+    }
+
+    @Override
+    public void run(CommandResultsBuilder resultsBuilder) throws Exception {
+        CommandScope commandScope = resultsBuilder.getCommandScope();
+        final String changeLogFile = commandScope.getArgumentValue(CHANGELOG_FILE_ARG).replace('\\', '/');
+        final List<String> urls = getUrls(commandScope);
+        if (urls.isEmpty()) {
+            throw new CommandValidationException("No database URLs were given");
+        }
+
+        final SharedChangeLog sharedChangeLog = SharedChangeLog.parse(changeLogFile, Scope.getCurrentScope().getResourceAccessor());
+        final OutputStream outputStream = resultsBuilder.getOutputStream();
+
+        List<Scope.ScopedRunnerWithReturn<UpdateReportParameters>> tasks = new ArrayList<>();
+        for (String url : urls) {
+            tasks.add(() -> updateTarget(commandScope, sharedChangeLog, url, outputStream));
+        }
+        List<Future<UpdateReportParameters>> futures = ConcurrencyUtil.invokeAll(tasks,
+                Math.min(commandScope.getArgumentValue(PARALLELISM_ARG), urls.size()), "liquibase-fleet");
+
+        List<UpdateReportParameters> reports = new ArrayList<>();
+        int failed = 0;
+        for (Future<UpdateReportParameters> future : futures) {
+            UpdateReportParameters report = ConcurrencyUtil.getResult(future);
+            if (!Boolean.TRUE.equals(report.getSuccess())) {
+                failed++;
+            }
+            reports.add(report);
+        }
+
+        writeFleetSummary(reports, outputStream);
+        resultsBuilder.addResult(UPDATE_REPORTS_RESULT, reports);
+        resultsBuilder.addResult(SUCCEEDED_COUNT_RESULT, reports.size() - failed);
+        resultsBuilder.addResult(FAILED_COUNT_RESULT, failed);
+        if (failed > 0) {
+            throw resultsBuilder.commandFailed(String.format("Update failed on %d of %d databases", failed, reports.size()), 1, true);
+        }
+    }
+
+    /**
+     * Updates a single database. Failures are recorded in the returned report instead of being thrown,
+     * so that one failing database does not affect the others.
+     */
+    private UpdateReportParameters updateTarget(CommandScope commandScope, SharedChangeLog sharedChangeLog, String url,
+                                                OutputStream outputStream) throws IOException {
+        ByteArrayOutputStream targetOutput = new ByteArrayOutputStream();
+        UpdateReportParameters report;
+        try {
+            CommandResults results = sharedChangeLog.run(() -> new CommandScope(UpdateCommandStep.COMMAND_NAME)
+                    .addArgumentValue(DbUrlConnectionArgumentsCommandStep.URL_ARG, url)
+                    .addArgumentValue(DbUrlConnectionArgumentsCommandStep.USERNAME_ARG, commandScope.getArgumentValue(USERNAME_ARG))
+                    .addArgumentValue(DbUrlConnectionArgumentsCommandStep.PASSWORD_ARG, commandScope.getArgumentValue(PASSWORD_ARG))
+                    .addArgumentValue(UpdateCommandStep.CHANGELOG_FILE_ARG, sharedChangeLog.getChangeLogFile())
+                    .addArgumentValue(UpdateCommandStep.CONTEXTS_ARG, commandScope.getArgumentValue(CONTEXTS_ARG))
+                    .addArgumentValue(UpdateCommandStep.LABEL_FILTER_ARG, commandScope.getArgumentValue(LABEL_FILTER_ARG))
+                    .addArgumentValue(ShowSummaryArgument.SHOW_SUMMARY, commandScope.getArgumentValue(SHOW_SUMMARY_ARG))
+                    .addArgumentValue(ShowSummaryArgument.SHOW_SUMMARY_OUTPUT, UpdateSummaryOutputEnum.CONSOLE)
+                    .setOutput(targetOutput)
+                    .execute());
+            report = (UpdateReportParameters) results.getResult("updateReport");
+            if (report == null) {
+                report = new UpdateReportParameters();
+                report.setJdbcUrl(url);
+            }
+        } catch (Exception e) {
+            Scope.getCurrentScope().getLog(getClass()).severe("Update failed on " + JdbcConnection.sanitizeUrl(url), e);
+            report = new UpdateReportParameters();
+            report.setJdbcUrl(url);
+            report.getDatabaseInfo().setDatabaseUrl(JdbcConnection.sanitizeUrl(url));
+            report.setSuccess(false);
+            Throwable cause = e;
+            while ((cause.getCause() != null) && (cause.getCause() != cause)) {
+                cause = cause.getCause();
+            }
+            report.getOperationInfo().setException(cause.getMessage());
+        }
+
+        if (outputStream != null) {
+            synchronized (outputStream) {
+                Writer writer = new OutputStreamWriter(outputStream, StandardCharsets.UTF_8);
+                writer.write(String.format("%n=== %s ===%n", getVisibleUrl(report)));
+                writer.flush();
+                targetOutput.writeTo(outputStream);
+                outputStream.flush();
+            }
+        }
+        return report;
+    }
+
+    private void writeFleetSummary(List<UpdateReportParameters> reports, OutputStream outputStream) throws IOException {
+        StringBuilder summary = new StringBuilder(String.format("%nFleet update summary%n"));
+        for (UpdateReportParameters report : reports) {
+            summary.append(String.format("  %-7s %s", Boolean.TRUE.equals(report.getSuccess()) ? "OK" : "FAILED", getVisibleUrl(report)));
+            if (report.getOperationInfo().getException() != null) {
+                summary.append(": ").append(report.getOperationInfo().getException());
+            } else {
+                summary.append(String.format(" (%d changesets run)", report.getChangesetInfo().getChangesetCount()));
+            }
+            summary.append(String.format("%n"));
+        }
+        Scope.getCurrentScope().getLog(getClass()).info(summary.toString());
+        if (outputStream != null) {
+            synchronized (outputStream) {
+                Writer writer = new OutputStreamWriter(outputStream, StandardCharsets.UTF_8);
+                writer.write(summary.toString());
+                writer.flush();
+            }
+        }
+    }
+
+    private static String getVisibleUrl(UpdateReportParameters report) {
+        if (report.getDatabaseInfo().getDatabaseUrl() != null) {
+            return report.getDatabaseInfo().getDatabaseUrl();
+        }
+        return JdbcConnection.sanitizeUrl(report.getJdbcUrl());
+    }
+
+    private static List<String> getUrls(CommandScope commandScope) throws IOException {
+        Set<String> urls = new LinkedHashSet<>();
+        String urlList = commandScope.getArgumentValue(URLS_ARG);
+        if (urlList != null) {
+            for (String url : StringUtil.splitAndTrim(urlList, ",")) {
+                if (StringUtil.isNotEmpty(url)) {
+                    urls.add(url);
+                }
+            }
+        }
+        String urlsFile = commandScope.getArgumentValue(URLS_FILE_ARG);
+        if (urlsFile != null) {
+            Resource resource = Scope.getCurrentScope().getSingleton(PathHandlerFactory.class).getResource(urlsFile);
+            if (!resource.exists()) {
+                throw new FileNotFoundException("The urls file " + urlsFile + " does not exist");
+            }
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(resource.openInputStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    line = line.trim();
+                    if (!line.isEmpty() && !line.startsWith("#")) {
+                        urls.add(line);
+                    }
+                }
+            }
+        }
+        return new ArrayList<>(urls);
+    }
+
+    @Override
+    public void adjustCommandDefinition(CommandDefinition commandDefinition) {
+        commandDefinition.setShortDescription("Deploy changes from the changelog file to many databases");
+        commandDefinition.setLongDescription("Deploys the changelog to every database given with --urls or --urls-file, " +
+                "--parallelism databases at a time. The changelog is parsed once and shared by all databases. " +
+                "Every database is updated even if others fail, and a summary of all databases is shown at the end.");
+    }
+}
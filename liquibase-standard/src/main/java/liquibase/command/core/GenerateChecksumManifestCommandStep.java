@@ -0,0 +1,88 @@
+package liquibase.command.core;
+
+import liquibase.Scope;
+import liquibase.changelog.ChangeLogParameters;
+import liquibase.changelog.ChecksumManifest;
+import liquibase.changelog.DatabaseChangeLog;
+import liquibase.command.*;
+import liquibase.command.core.helpers.DatabaseChangelogCommandStep;
+import liquibase.database.Database;
+import liquibase.resource.OpenOptions;
+import liquibase.resource.PathHandlerFactory;
+import liquibase.resource.Resource;
+
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Writes a {@link ChecksumManifest} for a changelog, so that later runs configured with
+ * {@link liquibase.GlobalConfiguration#CHECKSUM_MANIFEST_FILE} do not have to compute the checksums of unchanged changesets.
+ * Does not need a live database: an offline URL for the target database type is enough.
+ */
+public class GenerateChecksumManifestCommandStep extends AbstractCommandStep {
+
+    public static final String[] COMMAND_NAME = {"generateChecksumManifest"};
+
+    public static final CommandArgumentDefinition<String> CHANGELOG_FILE_ARG;
+    public static final CommandArgumentDefinition<String> MANIFEST_FILE_ARG;
+
+    public static final CommandResultDefinition<Integer> CHANGESET_COUNT_RESULT;
+
+    static {
+        CommandBuilder builder = new CommandBuilder(COMMAND_NAME);
+        CHANGELOG_FILE_ARG = builder.argument(CommonArgumentNames.CHANGELOG_FILE, String.class).required()
+                .description("The root changelog file").build();
+        MANIFEST_FILE_ARG = builder.argument("manifestFile", String.class).required()
+                .description("File to write the checksum manifest to").build();
+
+        CHANGESET_COUNT_RESULT = builder.result("changesetCount", Integer.class)
+                .description("Number of changesets written to the manifest").build();
+    }
+
+    @Override
+    public List<Class<?>> requiredDependencies() {
+        return Collections.singletonList(Database.class);
+    }
+
+    @Override
+    public String[][] defineCommandNames() {
+        return new String[][]{COMMAND_NAME};
+    }
+
+    @Override
+    public void run(CommandResultsBuilder resultsBuilder) throws Exception {
+        CommandScope commandScope = resultsBuilder.getCommandScope();
+        final String changeLogFile = commandScope.getArgumentValue(CHANGELOG_FILE_ARG).replace('\\', '/');
+        final String manifestFile = commandScope.getArgumentValue(MANIFEST_FILE_ARG);
+        final Database database = (Database) commandScope.getDependency(Database.class);
+
+        ChangeLogParameters changeLogParameters = new ChangeLogParameters(database);
+        changeLogParameters.addJavaProperties();
+        changeLogParameters.addDefaultFileProperties();
+        DatabaseChangeLog changeLog = DatabaseChangelogCommandStep.getDatabaseChangeLog(changeLogFile, changeLogParameters, database);
+
+        ChecksumManifest manifest = ChecksumManifest.generate(changeLog, database);
+
+        Resource resource = Scope.getCurrentScope().getSingleton(PathHandlerFactory.class).getResource(manifestFile);
+        try (OutputStream outputStream = resource.openOutputStream(new OpenOptions());
+             Writer writer = new OutputStreamWriter(outputStream, StandardCharsets.UTF_8)) {
+            manifest.write(writer);
+        }
+
+        Scope.getCurrentScope().getUI().sendMessage(String.format("Wrote checksums of %d changesets to %s", manifest.size(), manifestFile));
+        resultsBuilder.addResult(CHANGESET_COUNT_RESULT, manifest.size());
+    }
+
+    @Override
+    public void adjustCommandDefinition(CommandDefinition commandDefinition) {
+        commandDefinition.setShortDescription("Writes a checksum manifest for the changelog");
+        commandDefinition.setLongDescription("Computes the checksums of all changesets in the changelog and writes them, together with " +
+                "content hashes of the changelog files and the files their changes read, and the values of the changelog parameters " +
+                "these files reference, to a manifest. Runs configured with --checksum-manifest-file use the manifest instead of " +
+                "computing the checksums of changesets whose files and parameters have not changed.");
+    }
+}
@@ -1,7 +1,6 @@
 package liquibase.command.core;
 
 import liquibase.CatalogAndSchema;
-import liquibase.GlobalConfiguration;
 import liquibase.Scope;
 import liquibase.command.*;
 import liquibase.database.Database;
@@ -13,13 +12,9 @@ import liquibase.snapshot.SnapshotGeneratorFactory;
 import liquibase.util.ExceptionUtil;
 import lombok.Getter;
 
-import java.io.IOException;
 import java.io.OutputStream;
-import java.io.OutputStreamWriter;
-import java.io.Writer;
 import java.util.*;
 import java.util.concurrent.Callable;
-import java.util.concurrent.atomic.AtomicReference;
 
 @Getter
 public class SnapshotCommandStep extends AbstractCommandStep {
@@ -85,10 +80,8 @@ public class SnapshotCommandStep extends AbstractCommandStep {
 
             OutputStream outputStream = resultsBuilder.getOutputStream();
             if (outputStream != null) {
-                String result = printSnapshot(commandScope, snapshot);
-                Writer outputWriter = getOutputWriter(outputStream);
-                outputWriter.write(result);
-                outputWriter.flush();
+                writeSnapshot(commandScope, snapshot, outputStream);
+                outputStream.flush();
             }
         } finally {
             //
@@ -108,30 +101,22 @@ public class SnapshotCommandStep extends AbstractCommandStep {
         return snapshotControl;
     }
 
-    private Writer getOutputWriter(final OutputStream outputStream) throws IOException {
-        String charsetName = GlobalConfiguration.OUTPUT_FILE_ENCODING.getCurrentValue();
-
-        return new OutputStreamWriter(outputStream, charsetName);
-    }
-
-    private String printSnapshot(CommandScope commandScope, DatabaseSnapshot snapshot) {
+    private void writeSnapshot(CommandScope commandScope, DatabaseSnapshot snapshot, OutputStream outputStream) {
         String format = commandScope.getArgumentValue(SNAPSHOT_FORMAT_ARG);
         if (format == null) {
             format = "txt";
         }
 
-        AtomicReference<String> serializedSnapshotString = new AtomicReference<>();
         String finalFormat = format;
         try {
             Scope.child(DatabaseSnapshot.SNAPSHOT_SCOPE_KEY, snapshot, () -> {
-                serializedSnapshotString.set(SnapshotSerializerFactory.getInstance()
+                SnapshotSerializerFactory.getInstance()
                         .getSerializer(finalFormat.toLowerCase(Locale.US))
-                        .serialize(snapshot, true));
+                        .write(snapshot, outputStream);
             });
         } catch (Exception e) {
             throw new RuntimeException(e);
         }
-        return serializedSnapshotString.get();
     }
 
 }
@@ -7,6 +7,7 @@ import liquibase.Scope;
 import liquibase.changelog.ChangeLogHistoryService;
 import liquibase.changelog.ChangeLogHistoryServiceFactory;
 import liquibase.changelog.ChangeLogParameters;
+import liquibase.changelog.ChangeLogStamp;
 import liquibase.changelog.DatabaseChangeLog;
 import liquibase.command.*;
 import liquibase.database.Database;
@@ -66,7 +67,7 @@ public class DatabaseChangelogCommandStep extends AbstractHelperCommandStep impl
      */
     @Override
     public List<Class<?>> providedDependencies() {
-        return Arrays.asList(DatabaseChangeLog.class, ChangeLogParameters.class);
+        return Arrays.asList(DatabaseChangeLog.class, ChangeLogParameters.class, ChangeLogStamp.class);
     }
 
     /**
@@ -98,8 +99,16 @@ public class DatabaseChangelogCommandStep extends AbstractHelperCommandStep impl
         }
 
         final Boolean shouldUpdateNullChecksums = commandScope.getArgumentValue(UPDATE_NULL_CHECKSUMS);
-        checkLiquibaseTables(shouldUpdateNullChecksums, databaseChangeLog, changeLogParameters.getContexts(), changeLogParameters.getLabels(), database);
-        databaseChangeLog.validate(database, changeLogParameters.getContexts(), changeLogParameters.getLabels());
+        ChangeLogStamp changeLogStamp = ChangeLogStamp.get(database, databaseChangeLog, changeLogParameters.getContexts(), changeLogParameters.getLabels());
+        if ((changeLogStamp != null) && changeLogStamp.isCurrent()) {
+            // this changelog was validated against the same databasechangelog rows, without null checksums, when the stamp was recorded
+            Scope.getCurrentScope().getLog(getClass()).fine("Found a current changelog stamp, skipping checksum upgrade and changelog validation");
+            checkLiquibaseTables(false, databaseChangeLog, changeLogParameters.getContexts(), changeLogParameters.getLabels(), database);
+            commandScope.provideDependency(ChangeLogStamp.class, changeLogStamp);
+        } else {
+            checkLiquibaseTables(shouldUpdateNullChecksums, databaseChangeLog, changeLogParameters.getContexts(), changeLogParameters.getLabels(), database);
+            databaseChangeLog.validate(database, changeLogParameters.getContexts(), changeLogParameters.getLabels());
+        }
 
         commandScope.provideDependency(DatabaseChangeLog.class, databaseChangeLog);
         commandScope.provideDependency(ChangeLogParameters.class, changeLogParameters);
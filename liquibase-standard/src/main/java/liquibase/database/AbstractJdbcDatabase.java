@@ -845,6 +845,14 @@ public abstract class AbstractJdbcDatabase implements Database {
     public String getViewDefinition(CatalogAndSchema schema, final String viewName) throws DatabaseException {
         schema = schema.customize(this);
         String definition = Scope.getCurrentScope().getSingleton(ExecutorService.class).getExecutor("jdbc", this).queryForObject(new GetViewDefinitionStatement(schema.getCatalogName(), schema.getSchemaName(), viewName), String.class);
+        return removeCreateViewAs(definition);
+    }
+
+    /**
+     * Removes the leading "CREATE ... VIEW ... AS" from a view definition read from the database, as
+     * {@link #getViewDefinition(CatalogAndSchema, String)} does. Returns null for a null definition.
+     */
+    public static String removeCreateViewAs(String definition) {
         if (definition == null) {
             return null;
         }
@@ -1,6 +1,7 @@
 package liquibase.database.jvm;
 
 import liquibase.Scope;
+import liquibase.database.ConnectionServiceFactory;
 import liquibase.database.Database;
 import liquibase.database.DatabaseConnection;
 import liquibase.exception.DatabaseException;
@@ -22,6 +23,8 @@ public class JdbcConnection implements DatabaseConnection {
     private java.sql.Connection con;
     private static final Pattern PROXY_USER = Pattern.compile(".*(?:thin|oci)\\:(.+)/@.*");
     private String originalUrl; // Store the original URL for OAuth validation
+    private Driver driverObject;
+    private Properties driverProperties;
 
     private static final List<ConnectionPatterns> JDBC_CONNECTION_PATTERNS = Scope.getCurrentScope().getServiceLocator().findInstances(ConnectionPatterns.class);
 
@@ -44,7 +47,9 @@ public class JdbcConnection implements DatabaseConnection {
         String errorMessage = "Connection could not be created to " + sanitizeUrl(url) + " with driver " + driverClassName;
         try {
             this.originalUrl = url;
-            
+            this.driverObject = driverObject;
+            this.driverProperties = driverProperties;
+
             this.con = driverObject.connect(url, driverProperties);
             if (this.con == null) {
                 throw new DatabaseException(errorMessage + ".  Possibly the wrong driver for the given database URL");
@@ -57,6 +62,18 @@ public class JdbcConnection implements DatabaseConnection {
         }
     }
 
+    /**
+     * Opens another connection with the URL, driver and properties this connection was opened with.
+     * Returns null if this connection was not opened with {@link #open(String, Driver, Properties)},
+     * for example because it wraps a connection passed in by the application.
+     */
+    public DatabaseConnection openNewConnection() throws DatabaseException {
+        if (driverObject == null) {
+            return null;
+        }
+        return ConnectionServiceFactory.getInstance().create(originalUrl, driverObject, driverProperties);
+    }
+
     @Override
     public void attached(Database database) {
         try {
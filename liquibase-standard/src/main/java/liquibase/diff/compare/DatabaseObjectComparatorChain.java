@@ -21,6 +21,10 @@ public class DatabaseObjectComparatorChain {
         return new DatabaseObjectComparatorChain(comparators, schemaComparisons);
     }
 
+    List<DatabaseObjectComparator> getComparators() {
+        return comparators;
+    }
+
     public CompareControl.SchemaComparison[] getSchemaComparisons() {
         return schemaComparisons;
     }
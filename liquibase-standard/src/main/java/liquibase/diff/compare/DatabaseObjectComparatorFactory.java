@@ -10,15 +10,21 @@ import liquibase.structure.core.Schema;
 import liquibase.util.StringUtil;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 public class DatabaseObjectComparatorFactory {
 
-    private static DatabaseObjectComparatorFactory instance;
+    private static volatile DatabaseObjectComparatorFactory instance;
 
-    private final List<DatabaseObjectComparator> comparators = new ArrayList<>();
+    private final List<DatabaseObjectComparator> comparators = new CopyOnWriteArrayList<>();
 
-    private final Map<String, List<DatabaseObjectComparator>> validComparatorsByClassAndDatabase = new HashMap<>();
-    private final Map<String, DatabaseObjectComparatorChain> comparatorChainsByClassAndDatabase = new HashMap<>();
+    /**
+     * Comparator chains resolved per object type and database type. A chain keeps track of the next comparator to call,
+     * so each call works on a {@link DatabaseObjectComparatorChain#copy()} of the cached chain.
+     * Replaced instead of cleared, so chains resolved while a comparator is registered are not cached.
+     */
+    private volatile Map<ComparatorKey, DatabaseObjectComparatorChain> comparatorChains = new ConcurrentHashMap<>();
 
     private DatabaseObjectComparatorFactory() {
         try {
@@ -35,11 +41,18 @@ public class DatabaseObjectComparatorFactory {
     /**
      * Return singleton DatabaseObjectComparatorFactory
      */
-    public static synchronized DatabaseObjectComparatorFactory getInstance() {
-        if (instance == null) {
-            instance = new DatabaseObjectComparatorFactory();
+    public static DatabaseObjectComparatorFactory getInstance() {
+        DatabaseObjectComparatorFactory factory = instance;
+        if (factory == null) {
+            synchronized (DatabaseObjectComparatorFactory.class) {
+                factory = instance;
+                if (factory == null) {
+                    factory = new DatabaseObjectComparatorFactory();
+                    instance = factory;
+                }
+            }
         }
-        return instance;
+        return factory;
     }
 
     public static synchronized void reset() {
@@ -52,10 +65,12 @@ public class DatabaseObjectComparatorFactory {
 
     public void register(DatabaseObjectComparator generator) {
         comparators.add(generator);
+        comparatorChains = new ConcurrentHashMap<>();
     }
 
     public void unregister(DatabaseObjectComparator generator) {
         comparators.remove(generator);
+        comparatorChains = new ConcurrentHashMap<>();
     }
 
     public void unregister(Class generatorClass) {
@@ -78,24 +93,23 @@ public class DatabaseObjectComparatorFactory {
     }
 
     protected List<DatabaseObjectComparator> getComparators(Class<? extends DatabaseObject> comparatorClass, Database database) {
-        String key = comparatorClass.getName()+":"+database.getShortName();
-        if (validComparatorsByClassAndDatabase.containsKey(key)) {
-            return validComparatorsByClassAndDatabase.get(key);
-        }
+        return getComparatorChain(comparatorClass, database).getComparators();
+    }
 
-        List<DatabaseObjectComparator> validComparators = new ArrayList<>();
+    private DatabaseObjectComparatorChain getComparatorChain(Class<? extends DatabaseObject> databaseObjectType, Database database) {
+        return comparatorChains.computeIfAbsent(new ComparatorKey(databaseObjectType, database.getClass()), key -> {
+            List<DatabaseObjectComparator> validComparators = new ArrayList<>();
 
-        for (DatabaseObjectComparator comparator : comparators) {
-            if (comparator.getPriority(comparatorClass, database) > 0) {
-                validComparators.add(comparator);
+            for (DatabaseObjectComparator comparator : comparators) {
+                if (comparator.getPriority(databaseObjectType, database) > 0) {
+                    validComparators.add(comparator);
+                }
             }
-        }
-
-        validComparators.sort(new DatabaseObjectComparatorComparator(comparatorClass, database));
 
-        validComparatorsByClassAndDatabase.put(key, validComparators);
+            validComparators.sort(new DatabaseObjectComparatorComparator(databaseObjectType, database));
 
-        return validComparators;
+            return new DatabaseObjectComparatorChain(Collections.unmodifiableList(validComparators), null);
+        });
     }
 
     public boolean isSameObject(DatabaseObject object1, DatabaseObject object2, CompareControl.SchemaComparison[] schemaComparisons, Database accordingTo) {
@@ -186,25 +200,17 @@ public class DatabaseObjectComparatorFactory {
     }
 
     private DatabaseObjectComparatorChain createComparatorChain(Class<? extends DatabaseObject> databaseObjectType, CompareControl.SchemaComparison[] schemaComparisons, Database database) {
-        String key = databaseObjectType.getName()+":"+database.getShortName();
-
-        if (comparatorChainsByClassAndDatabase.containsKey(key)) {
-            DatabaseObjectComparatorChain copy = comparatorChainsByClassAndDatabase.get(key).copy();
-            copy.setSchemaComparisons(schemaComparisons);
-            return copy;
-        }
-
-        List<DatabaseObjectComparator> comparators = DatabaseObjectComparatorFactory.getInstance().getComparators(databaseObjectType, database);
-        if ((comparators == null) || comparators.isEmpty()) {
+        DatabaseObjectComparatorChain chain = getComparatorChain(databaseObjectType, database);
+        if (chain.getComparators().isEmpty()) {
             return null;
         }
 
-        DatabaseObjectComparatorChain chain = new DatabaseObjectComparatorChain(comparators, null);
-        comparatorChainsByClassAndDatabase.put(key, chain);
-        //noinspection unchecked
         chain = chain.copy();
         chain.setSchemaComparisons(schemaComparisons);
         return chain;
     }
 
+    private record ComparatorKey(Class<? extends DatabaseObject> databaseObjectType, Class<? extends Database> databaseType) {
+    }
+
 }
@@ -1,5 +1,7 @@
 package liquibase.diff.core;
 
+import liquibase.GlobalConfiguration;
+import liquibase.Scope;
 import liquibase.database.Database;
 import liquibase.diff.DiffGenerator;
 import liquibase.diff.DiffResult;
@@ -14,9 +16,12 @@ import liquibase.snapshot.EmptyDatabaseSnapshot;
 import liquibase.snapshot.InvalidExampleException;
 import liquibase.structure.DatabaseObject;
 import liquibase.structure.core.Schema;
+import liquibase.util.ConcurrencyUtil;
 import org.apache.commons.lang3.StringUtils;
 
-import java.util.Set;
+import java.util.*;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
 
 public class StandardDiffGenerator implements DiffGenerator {
 
@@ -48,8 +53,13 @@ public class StandardDiffGenerator implements DiffGenerator {
         typesToCompare.retainAll(referenceSnapshot.getSnapshotControl().getTypesToInclude());
         typesToCompare.retainAll(comparisonSnapshot.getSnapshotControl().getTypesToInclude());
 
-        for (Class<? extends DatabaseObject> typeToCompare : typesToCompare) {
-            compareObjectType(typeToCompare, referenceSnapshot, comparisonSnapshot, diffResult);
+        int parallelism = GlobalConfiguration.DIFF_PARALLELISM.getCurrentValue();
+        if ((parallelism > 1) && (typesToCompare.size() > 1)) {
+            compareObjectTypesInParallel(typesToCompare, referenceSnapshot, comparisonSnapshot, diffResult, parallelism);
+        } else {
+            for (Class<? extends DatabaseObject> typeToCompare : typesToCompare) {
+                compareObjectType(typeToCompare, referenceSnapshot, comparisonSnapshot, diffResult);
+            }
         }
 
         return diffResult;
@@ -71,35 +81,53 @@ public class StandardDiffGenerator implements DiffGenerator {
 
         CompareControl.SchemaComparison[] schemaComparisons = diffResult.getCompareControl().getSchemaComparisons();
         if (schemaComparisons != null) {
+            Set<T> referenceObjects = referenceSnapshot.get(type);
+            Set<T> comparisonObjects = comparisonSnapshot.get(type);
+
+            //objects are looked up and compared at most once, even if they belong to several schema comparisons
+            Map<T, T> comparisonObjectsByReferenceObject = new IdentityHashMap<>();
+            Map<T, ObjectDifferences> differencesByReferenceObject = new IdentityHashMap<>();
+            Map<T, Boolean> referenceObjectExists = new IdentityHashMap<>();
+            Map<Schema, String> standardizedReferenceSchemaNames = new IdentityHashMap<>();
+            Map<Schema, String> standardizedComparisonSchemaNames = new IdentityHashMap<>();
+
             for (CompareControl.SchemaComparison schemaComparison : schemaComparisons) {
-                for (T referenceObject : referenceSnapshot.get(type)) {
+                String referenceSchemaName = StringUtils.trimToEmpty(schemaComparison.getReferenceSchema().standardize(referenceDatabase).getSchemaName());
+                for (T referenceObject : referenceObjects) {
                     Schema referenceObjectSchema = referenceObject.getSchema();
                     if ((referenceObjectSchema != null) && (referenceObjectSchema.getName() != null)) { //don't filter out null-named schemas. May actually be catalog-level objects that should be included
-                        if (!StringUtils.trimToEmpty(
-                            referenceObjectSchema.toCatalogAndSchema().standardize(referenceDatabase).getSchemaName())
-                            .equalsIgnoreCase(
-                                StringUtils.trimToEmpty(schemaComparison.getReferenceSchema()
-                                .standardize(referenceDatabase).getSchemaName()))) {
+                        String referenceObjectSchemaName = standardizedReferenceSchemaNames.computeIfAbsent(referenceObjectSchema,
+                                schema -> StringUtils.trimToEmpty(schema.toCatalogAndSchema().standardize(referenceDatabase).getSchemaName()));
+                        if (!referenceObjectSchemaName.equalsIgnoreCase(referenceSchemaName)) {
                             continue;
                         }
                     }
-                    T comparisonObject = comparisonSnapshot.get(referenceObject);
+                    T comparisonObject;
+                    if (comparisonObjectsByReferenceObject.containsKey(referenceObject)) {
+                        comparisonObject = comparisonObjectsByReferenceObject.get(referenceObject);
+                    } else {
+                        comparisonObject = comparisonSnapshot.get(referenceObject);
+                        comparisonObjectsByReferenceObject.put(referenceObject, comparisonObject);
+                    }
                     if (comparisonObject == null) {
                         diffResult.addMissingObject(referenceObject);
                     } else {
-                        ObjectDifferences differences = DatabaseObjectComparatorFactory.getInstance().findDifferences(referenceObject, comparisonObject, comparisonDatabase, diffResult.getCompareControl());
+                        final T foundObject = comparisonObject;
+                        ObjectDifferences differences = differencesByReferenceObject.computeIfAbsent(referenceObject,
+                                object -> DatabaseObjectComparatorFactory.getInstance().findDifferences(object, foundObject, comparisonDatabase, diffResult.getCompareControl()));
                         if (differences.hasDifferences()) {
                             diffResult.addChangedObject(referenceObject, differences);
                         }
                     }
                 }
                 //
-                for (T comparisonObject : comparisonSnapshot.get(type)) {
+                String schemaComparisonName1 = StringUtils.trimToEmpty(schemaComparison.getComparisonSchema().standardize(comparisonDatabase).getSchemaName());
+                String schemaComparisonName2 = StringUtils.trimToEmpty(schemaComparison.getReferenceSchema().standardize(comparisonDatabase).getSchemaName());
+                for (T comparisonObject : comparisonObjects) {
                     Schema comparisonObjectSchema = comparisonObject.getSchema();
                     if (comparisonObjectSchema != null) {
-                        String comparisonObjectSchemaName = StringUtils.trimToEmpty(comparisonObjectSchema.toCatalogAndSchema().standardize(comparisonDatabase).getSchemaName());
-                        String schemaComparisonName1 = StringUtils.trimToEmpty(schemaComparison.getComparisonSchema().standardize(comparisonDatabase).getSchemaName());
-                        String schemaComparisonName2 = StringUtils.trimToEmpty(schemaComparison.getReferenceSchema().standardize(comparisonDatabase).getSchemaName());
+                        String comparisonObjectSchemaName = standardizedComparisonSchemaNames.computeIfAbsent(comparisonObjectSchema,
+                                schema -> StringUtils.trimToEmpty(schema.toCatalogAndSchema().standardize(comparisonDatabase).getSchemaName()));
 
                         if (comparisonObjectSchemaName.isEmpty() && !schemaComparisonName1.isEmpty() && !schemaComparisonName2.isEmpty()) {
                             comparisonObjectSchemaName = StringUtils.trimToEmpty(comparisonObjectSchema.getName());
@@ -109,7 +137,7 @@ public class StandardDiffGenerator implements DiffGenerator {
                         }
                     }
 
-                    if (referenceSnapshot.get(comparisonObject) == null) {
+                    if (!referenceObjectExists.computeIfAbsent(comparisonObject, object -> referenceSnapshot.get(object) != null)) {
                         diffResult.addUnexpectedObject(comparisonObject);
                     }
                 }
@@ -119,4 +147,72 @@ public class StandardDiffGenerator implements DiffGenerator {
         }
 
     }
+
+    /**
+     * Compares each type on its own thread into a {@link RecordingDiffResult}, then replays what was found into the given diff result
+     * in the order of the types, so it ends up the same as when the types are compared one after the other.
+     */
+    private void compareObjectTypesInParallel(Set<Class<? extends DatabaseObject>> typesToCompare, DatabaseSnapshot referenceSnapshot, DatabaseSnapshot comparisonSnapshot,
+                                              DiffResult diffResult, int parallelism) throws DatabaseException {
+        List<RecordingDiffResult> typeResults = new ArrayList<>();
+        List<Scope.ScopedRunnerWithReturn<Void>> tasks = new ArrayList<>();
+        for (Class<? extends DatabaseObject> typeToCompare : typesToCompare) {
+            RecordingDiffResult typeResult = new RecordingDiffResult(referenceSnapshot, comparisonSnapshot, diffResult.getCompareControl());
+            typeResults.add(typeResult);
+            tasks.add(() -> {
+                compareObjectType(typeToCompare, referenceSnapshot, comparisonSnapshot, typeResult);
+                return null;
+            });
+        }
+
+        try {
+            for (Future<Void> result : ConcurrencyUtil.invokeAll(tasks, parallelism, "liquibase-diff")) {
+                ConcurrencyUtil.getResult(result);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DatabaseException(e);
+        } catch (DatabaseException | RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new DatabaseException(e);
+        }
+
+        for (RecordingDiffResult typeResult : typeResults) {
+            typeResult.replay(diffResult);
+        }
+    }
+
+    /**
+     * Remembers the objects added to it, in order, so they can be added to another diff result later.
+     */
+    private static class RecordingDiffResult extends DiffResult {
+
+        private final List<Consumer<DiffResult>> additions = new ArrayList<>();
+
+        RecordingDiffResult(DatabaseSnapshot referenceSnapshot, DatabaseSnapshot comparisonSnapshot, CompareControl compareControl) {
+            super(referenceSnapshot, comparisonSnapshot, compareControl);
+        }
+
+        @Override
+        public void addMissingObject(DatabaseObject obj) {
+            additions.add(diffResult -> diffResult.addMissingObject(obj));
+        }
+
+        @Override
+        public void addUnexpectedObject(DatabaseObject obj) {
+            additions.add(diffResult -> diffResult.addUnexpectedObject(obj));
+        }
+
+        @Override
+        public void addChangedObject(DatabaseObject obj, ObjectDifferences differences) {
+            additions.add(diffResult -> diffResult.addChangedObject(obj, differences));
+        }
+
+        void replay(DiffResult diffResult) {
+            for (Consumer<DiffResult> addition : additions) {
+                addition.accept(diffResult);
+            }
+        }
+    }
 }
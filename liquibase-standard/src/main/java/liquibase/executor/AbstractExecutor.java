@@ -131,7 +131,13 @@ public abstract class AbstractExecutor implements Executor {
 
     @Override
     public void execute(Change change, List<SqlVisitor> sqlVisitors) throws DatabaseException {
-        SqlStatement[] sqlStatements = change.generateStatements(database);
+        execute(change, change.generateStatements(database), sqlVisitors);
+    }
+
+    /**
+     * Executes statements generated by the given change, skipping unsupported statements and those which may continue on error.
+     */
+    protected void execute(Change change, SqlStatement[] sqlStatements, List<SqlVisitor> sqlVisitors) throws DatabaseException {
         if (sqlStatements != null) {
             for (SqlStatement statement : sqlStatements) {
                 if (statement.skipOnUnsupported() && !SqlGeneratorFactory.getInstance().supports(statement, database)) {
@@ -1,11 +1,16 @@
 package liquibase.executor.jvm;
 
 import liquibase.Scope;
+import liquibase.change.Change;
+import liquibase.change.ChangeWithStatementBatches;
 import liquibase.database.DatabaseConnection;
 import liquibase.database.OfflineConnection;
 import liquibase.database.PreparedStatementFactory;
 import liquibase.database.core.Db2zDatabase;
+import liquibase.database.core.MSSQLDatabase;
 import liquibase.database.core.OracleDatabase;
+import liquibase.database.core.SybaseASADatabase;
+import liquibase.database.core.SybaseDatabase;
 import liquibase.database.jvm.JdbcConnection;
 import liquibase.exception.DatabaseException;
 import liquibase.executor.AbstractExecutor;
@@ -22,6 +27,7 @@ import liquibase.statement.CompoundStatement;
 import liquibase.statement.ExecutablePreparedStatement;
 import liquibase.statement.SqlStatement;
 import liquibase.statement.core.RawParameterizedSqlStatement;
+import liquibase.statement.core.RawSqlStatement;
 import liquibase.util.JdbcUtil;
 import liquibase.util.StringUtil;
 
@@ -44,6 +50,25 @@ public class JdbcExecutor extends AbstractExecutor {
     public static final String SHOULD_UPDATE_ROWS_AFFECTED_SCOPE_KEY = "shouldUpdateRowsAffected";
     public static final String ROWS_AFFECTED_SCOPE_KEY = "rowsAffected";
 
+    /**
+     * Statements which can be sent in a batch, unless {@link #RESULT_RETURNING_SQL_PATTERN} shows they return a result set.
+     */
+    private static final Pattern BATCHABLE_SQL_PATTERN = Pattern.compile(
+            "^\\s*(CREATE|ALTER|DROP|COMMENT|GRANT|REVOKE|RENAME|TRUNCATE|INSERT|UPDATE|DELETE|MERGE)\\s", Pattern.CASE_INSENSITIVE);
+
+    /**
+     * Statements which MSSQL and Sybase only accept as the first statement of a batch.
+     */
+    private static final Pattern FIRST_IN_BATCH_SQL_PATTERN = Pattern.compile(
+            "^\\s*(CREATE\\s+(OR\\s+ALTER\\s+)?|ALTER\\s+)(VIEW|PROC|PROCEDURE|FUNCTION|TRIGGER|SCHEMA|DEFAULT|RULE)\\s", Pattern.CASE_INSENSITIVE);
+
+    /**
+     * Clauses which make DML statements return a result set, such as INSERT ... RETURNING or MERGE ... OUTPUT.
+     */
+    private static final Pattern RESULT_RETURNING_SQL_PATTERN = Pattern.compile("\\b(RETURNING|OUTPUT)\\b", Pattern.CASE_INSENSITIVE);
+
+    private Boolean statementExecutionOverridden;
+
     /**
      * Return the name of the Executor
      *
@@ -151,6 +176,15 @@ public class JdbcExecutor extends AbstractExecutor {
         }
     }
 
+    @Override
+    public void execute(final Change change, final List<SqlVisitor> sqlVisitors) throws DatabaseException {
+        if ((change instanceof ChangeWithStatementBatches) && ((ChangeWithStatementBatches) change).generateStatementsInBatches(database)) {
+            ((ChangeWithStatementBatches) change).generateStatementBatches(database, statements -> execute(change, statements, sqlVisitors));
+        } else {
+            super.execute(change, sqlVisitors);
+        }
+    }
+
     @Override
     public void execute(final SqlStatement sql) throws DatabaseException {
         execute(sql, new ArrayList<>());
@@ -241,6 +275,9 @@ public class JdbcExecutor extends AbstractExecutor {
 
             try (PreparedStatement pstmt = factory.create(finalSql)) {
                 setParameters(pstmt, (RawParameterizedSqlStatement) sql);
+                if (rse.getFetchSize() != null) {
+                    pstmt.setFetchSize(rse.getFetchSize());
+                }
                 try (ResultSet rs = pstmt.executeQuery()) {
                     return rse.extractData(rs);
                 }
@@ -264,6 +301,14 @@ public class JdbcExecutor extends AbstractExecutor {
         return (List) query(sql, new RowMapperResultSetExtractor(rowMapper), sqlVisitors);
     }
 
+    /**
+     * Maps every row of the query result with the given RowMapper, asking the driver to fetch
+     * <code>fetchSize</code> rows per round trip.
+     */
+    public List query(SqlStatement sql, RowMapper rowMapper, int fetchSize) throws DatabaseException {
+        return (List) query(sql, new RowMapperResultSetExtractor(rowMapper, 0, fetchSize), new ArrayList<>());
+    }
+
     public Object queryForObject(SqlStatement sql, RowMapper rowMapper) throws DatabaseException {
         return queryForObject(sql, rowMapper, new ArrayList<>());
     }
@@ -366,6 +411,150 @@ public class JdbcExecutor extends AbstractExecutor {
         return (Integer) execute(new UpdateStatementCallback(), sqlVisitors);
     }
 
+    private static void addUpdateCountToScope(int updateCount) {
+        if (updateCount > -1) {
+            AtomicInteger scopeRowsAffected = Scope.getCurrentScope().get(ROWS_AFFECTED_SCOPE_KEY, AtomicInteger.class);
+            Boolean shouldUpdateRowsAffected = Scope.getCurrentScope().get(SHOULD_UPDATE_ROWS_AFFECTED_SCOPE_KEY, true);
+            if (scopeRowsAffected != null && Boolean.TRUE.equals(shouldUpdateRowsAffected)) {
+                scopeRowsAffected.addAndGet(updateCount);
+            }
+        }
+    }
+
+    private static boolean isDML(String statement) {
+        Pattern dmlPattern = Pattern.compile("^\\s*?(SELECT\\s|INSERT\\s|UPDATE\\s|DELETE\\s|MERGE\\s)(.*)", Pattern.CASE_INSENSITIVE);
+        Matcher m = dmlPattern.matcher(statement);
+        if (!m.matches()) {
+            return false;
+        }
+        // Exclude Liquibase internal tracking tables
+        String upperStatement = statement.toUpperCase();
+        return !upperStatement.contains("DATABASECHANGELOG") && !upperStatement.contains("DATABASECHANGELOGLOCK");
+    }
+
+    /**
+     * Executes the statements generated by the given change. If {@link SqlConfiguration#BATCH_STATEMENTS} is enabled and
+     * the database supports batch updates, consecutive statements which generate only DDL or DML are sent in one
+     * JDBC batch, and the other statements are executed one by one in between.
+     * Nothing is batched if a subclass changes how single statements are executed.
+     */
+    @Override
+    protected void execute(Change change, SqlStatement[] sqlStatements, List<SqlVisitor> sqlVisitors) throws DatabaseException {
+        if ((sqlStatements == null) || (sqlStatements.length < 2) || !SqlConfiguration.BATCH_STATEMENTS.getCurrentValue()
+                || !database.supportsBatchUpdates() || isStatementExecutionOverridden()) {
+            super.execute(change, sqlStatements, sqlVisitors);
+            return;
+        }
+
+        List<String> batch = new ArrayList<>();
+        for (SqlStatement statement : sqlStatements) {
+            if (statement.skipOnUnsupported() && !SqlGeneratorFactory.getInstance().supports(statement, database)) {
+                continue;
+            }
+            List<String> batchableSql = getBatchableSql(statement, sqlVisitors);
+            if (batchableSql == null) {
+                executeBatch(batch);
+                batch.clear();
+                super.execute(change, new SqlStatement[]{statement}, sqlVisitors);
+            } else {
+                Scope.getCurrentScope().getLog(getClass()).fine("Executing Statement: " + System.lineSeparator() + statement);
+                batch.addAll(batchableSql);
+            }
+        }
+        executeBatch(batch);
+    }
+
+    /**
+     * Returns true if a subclass overrides {@link #execute(SqlStatement)} or {@link #execute(SqlStatement, List)},
+     * so every statement must go through them.
+     */
+    private boolean isStatementExecutionOverridden() {
+        if (statementExecutionOverridden == null) {
+            try {
+                statementExecutionOverridden = (getClass().getMethod("execute", SqlStatement.class).getDeclaringClass() != JdbcExecutor.class)
+                        || (getClass().getMethod("execute", SqlStatement.class, List.class).getDeclaringClass() != JdbcExecutor.class);
+            } catch (NoSuchMethodException e) {
+                statementExecutionOverridden = true;
+            }
+        }
+        return statementExecutionOverridden;
+    }
+
+    /**
+     * Returns the SQL generated for the given statement if it can be added to a batch, otherwise null.
+     * SQL which may return a result set, contains several statements, or contains '?', which needs escape
+     * processing turned off, is not batched. Neither are the CREATE and ALTER statements which MSSQL and Sybase
+     * require to start a batch, such as CREATE VIEW or CREATE PROCEDURE.
+     */
+    List<String> getBatchableSql(SqlStatement statement, List<SqlVisitor> sqlVisitors) throws DatabaseException {
+        if ((statement instanceof RawParameterizedSqlStatement) || (statement instanceof ExecutablePreparedStatement)
+                || (statement instanceof CompoundStatement) || (statement instanceof CallableSqlStatement) || statement.continueOnError()) {
+            return null;
+        }
+        List<String> batchableSql = new ArrayList<>();
+        for (String sql : applyVisitors(statement, sqlVisitors)) {
+            if (sql == null) {
+                continue;
+            }
+            sql = removeTrailingSlashes(sql);
+            if (!BATCHABLE_SQL_PATTERN.matcher(sql).find() || RESULT_RETURNING_SQL_PATTERN.matcher(sql).find()
+                    || (requiresFirstInBatch() && FIRST_IN_BATCH_SQL_PATTERN.matcher(sql).find())
+                    || sql.contains("?") || StringUtil.trimToEmpty(sql).replaceFirst(";+$", "").contains(";")) {
+                return null;
+            }
+            batchableSql.add(sql);
+        }
+        return batchableSql;
+    }
+
+    private boolean requiresFirstInBatch() {
+        return (database instanceof MSSQLDatabase) || (database instanceof SybaseDatabase) || (database instanceof SybaseASADatabase);
+    }
+
+    /**
+     * Removes the trailing '/' delimiters Oracle statements may end with, which JDBC does not accept.
+     */
+    private String removeTrailingSlashes(String statement) {
+        if (database instanceof OracleDatabase) {
+            while (statement.matches("(?s).*[\\s\\r\\n]*[^*]/[\\s\\r\\n]*$")) { //all trailing /'s
+                statement = statement.replaceFirst("[\\s\\r\\n]*[^*]/[\\s\\r\\n]*$", "");
+            }
+        }
+        return statement;
+    }
+
+    /**
+     * Executes the given SQL statements, which must not return result sets, in a single JDBC batch if the database
+     * supports batch updates, and one after the other otherwise. The statements are not committed.
+     * If a statement fails, the thrown exception names that statement.
+     */
+    public void executeBatch(final List<String> sql) throws DatabaseException {
+        if (sql.isEmpty()) {
+            return;
+        }
+        execute(new BatchStatementCallback(sql), null);
+    }
+
+    /**
+     * Returns the statement of a batch that caused the given exception. Drivers which stop at the first failure
+     * report the update counts of the statements before it, the others mark it with {@link Statement#EXECUTE_FAILED}.
+     */
+    static String getFailedBatchSql(BatchUpdateException e, List<String> sql) {
+        int[] updateCounts = e.getUpdateCounts();
+        if (updateCounts == null) {
+            return StringUtil.join(sql, "; ");
+        }
+        for (int i = 0; i < updateCounts.length; i++) {
+            if (updateCounts[i] == Statement.EXECUTE_FAILED) {
+                return sql.get(i);
+            }
+        }
+        if (updateCounts.length < sql.size()) {
+            return sql.get(updateCounts.length);
+        }
+        return StringUtil.join(sql, "; ");
+    }
+
     /**
      * Create a new RowMapper for reading columns as key-value pairs.
      *
@@ -469,37 +658,12 @@ public class JdbcExecutor extends AbstractExecutor {
             this.sqlVisitors = sqlVisitors;
         }
 
-        private void addUpdateCountToScope(int updateCount) {
-            if (updateCount > -1) {
-                AtomicInteger scopeRowsAffected = Scope.getCurrentScope().get(ROWS_AFFECTED_SCOPE_KEY, AtomicInteger.class);
-                Boolean shouldUpdateRowsAffected = Scope.getCurrentScope().get(SHOULD_UPDATE_ROWS_AFFECTED_SCOPE_KEY, true);
-                if (scopeRowsAffected != null && Boolean.TRUE.equals(shouldUpdateRowsAffected)) {
-                    scopeRowsAffected.addAndGet(updateCount);
-                }
-            }
-        }
-
-        private boolean isDML(String statement) {
-            Pattern dmlPattern = Pattern.compile("^\\s*?(SELECT\\s|INSERT\\s|UPDATE\\s|DELETE\\s|MERGE\\s)(.*)", Pattern.CASE_INSENSITIVE);
-            Matcher m = dmlPattern.matcher(statement);
-            if (!m.matches()) {
-                return false;
-            }
-            // Exclude Liquibase internal tracking tables
-            String upperStatement = statement.toUpperCase();
-            return !upperStatement.contains("DATABASECHANGELOG") && !upperStatement.contains("DATABASECHANGELOGLOCK");
-        }
-
         @Override
         public Object doInStatement(Statement stmt) throws SQLException, DatabaseException {
             Logger log = Scope.getCurrentScope().getLog(getClass());
 
             for (String statement : applyVisitors(sql, sqlVisitors)) {
-                if (database instanceof OracleDatabase) {
-                    while (statement.matches("(?s).*[\\s\\r\\n]*[^*]/[\\s\\r\\n]*$")) { //all trailing /'s
-                        statement = statement.replaceFirst("[\\s\\r\\n]*[^*]/[\\s\\r\\n]*$", "");
-                    }
-                }
+                statement = removeTrailingSlashes(statement);
 
                 for (SqlListener listener : Scope.getCurrentScope().getListeners(SqlListener.class)) {
                     listener.writeSqlWillRun(String.format("%s", statement));
@@ -551,6 +715,74 @@ public class JdbcExecutor extends AbstractExecutor {
     }
 
 
+    private class BatchStatementCallback implements StatementCallback {
+
+        private final List<String> sql;
+
+        private BatchStatementCallback(List<String> sql) {
+            this.sql = sql;
+        }
+
+        @Override
+        public Object doInStatement(Statement stmt) throws SQLException, DatabaseException {
+            Logger log = Scope.getCurrentScope().getLog(getClass());
+            Level sqlLogLevel = SqlConfiguration.SHOW_AT_LOG_LEVEL.getCurrentValue();
+            boolean batch = database.supportsBatchUpdates();
+            for (String statement : sql) {
+                for (SqlListener listener : Scope.getCurrentScope().getListeners(SqlListener.class)) {
+                    listener.writeSqlWillRun(statement);
+                }
+                log.log(sqlLogLevel, System.lineSeparator() + statement, null);
+                if (batch) {
+                    stmt.addBatch(statement);
+                } else {
+                    try {
+                        if (!stmt.execute(statement)) {
+                            addUpdateCountToScope(stmt.getUpdateCount());
+                        }
+                    } catch (SQLException e) {
+                        throw new DatabaseException(e.getMessage() + " [Failed SQL: " + getErrorCode(e) + statement + "]", e);
+                    } finally {
+                        showAndClearSqlWarnings(stmt);
+                    }
+                }
+            }
+            if (batch) {
+                try {
+                    int[] updateCounts = stmt.executeBatch();
+                    for (int i = 0; i < updateCounts.length; i++) {
+                        addUpdateCountToScope(updateCounts[i]);
+                        if ((updateCounts[i] > -1) && (i < sql.size()) && isDML(sql.get(i))) {
+                            log.log(sqlLogLevel, updateCounts[i] + " row(s) affected", null);
+                        }
+                    }
+                } catch (BatchUpdateException e) {
+                    throw new DatabaseException(e.getMessage() + " [Failed SQL: " + getErrorCode(e) + getFailedBatchSql(e, sql) + "]", e);
+                } finally {
+                    showAndClearSqlWarnings(stmt);
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Shows the warnings of the statements run so far, since running the next one clears them.
+         */
+        private void showAndClearSqlWarnings(Statement stmt) throws DatabaseException {
+            try {
+                showSqlWarnings(stmt, this);
+                stmt.clearWarnings();
+            } catch (SQLException e) {
+                Scope.getCurrentScope().getLog(JdbcExecutor.class).warning(String.format("Unable to access SQL warning: %s", e.getMessage()));
+            }
+        }
+
+        @Override
+        public SqlStatement getStatement() {
+            return new RawSqlStatement(StringUtil.join(sql, "; "));
+        }
+    }
+
     private class QueryStatementCallback implements StatementCallback {
 
         private final SqlStatement sql;
@@ -588,6 +820,9 @@ public class JdbcExecutor extends AbstractExecutor {
                     throw new DatabaseException("Can only query with statements that return one sql statement");
                 }
 
+                if (rse.getFetchSize() != null) {
+                    stmt.setFetchSize(rse.getFetchSize());
+                }
                 try {
                     rs = stmt.executeQuery(sqlToExecute[0]);
                     ResultSet rsToUse = rs;
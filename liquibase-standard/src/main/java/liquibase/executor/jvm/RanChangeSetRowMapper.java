@@ -0,0 +1,103 @@
+package liquibase.executor.jvm;
+
+import liquibase.ContextExpression;
+import liquibase.Labels;
+import liquibase.Scope;
+import liquibase.change.CheckSum;
+import liquibase.changelog.ChangeSet;
+import liquibase.changelog.DatabaseChangeLog;
+import liquibase.changelog.RanChangeSet;
+import liquibase.changelog.StandardChangeLogHistoryService;
+import liquibase.util.JdbcUtil;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * {@link RowMapper} which maps a row of the DATABASECHANGELOG table directly to a {@link RanChangeSet},
+ * without building a column {@link Map} per row first.
+ * <p>
+ * Values which repeat across many rows, such as the file name, author, Liquibase version and deployment id,
+ * are shared between the mapped {@link RanChangeSet}s, and each file name is normalized only once.
+ * An instance keeps that state, so use a new instance for every query.
+ */
+public class RanChangeSetRowMapper implements RowMapper {
+
+    private static final String[] COLUMNS = {"FILENAME", "AUTHOR", "ID", "MD5SUM", "DESCRIPTION", "COMMENTS", "DATEEXECUTED",
+            "ORDEREXECUTED", "TAG", "EXECTYPE", "CONTEXTS", "LABELS", "DEPLOYMENT_ID", "LIQUIBASE"};
+
+    private ResultSet resultSet;
+    private Map<String, Integer> columnIndexes;
+
+    private final Map<String, String> sharedValues = new HashMap<>();
+    private final Map<String, String> normalizedPaths = new HashMap<>();
+
+    @Override
+    public Object mapRow(ResultSet rs, int rowNum) throws SQLException {
+        if (rs != resultSet) {
+            resultSet = rs;
+            columnIndexes = getColumnIndexes(rs.getMetaData());
+        }
+
+        String storedFileName = shared(getString(rs, "FILENAME"));
+        String fileName = (storedFileName == null) ? null
+                : normalizedPaths.computeIfAbsent(storedFileName, path -> shared(DatabaseChangeLog.normalizePath(path)));
+        String md5sum = getString(rs, "MD5SUM");
+        String execType = getString(rs, "EXECTYPE");
+
+        Integer dateExecutedIndex = columnIndexes.get("DATEEXECUTED");
+        Date dateExecuted = (dateExecutedIndex == null) ? null
+                : StandardChangeLogHistoryService.convertDate(JdbcUtil.getResultSetValue(rs, dateExecutedIndex));
+
+        Integer orderExecuted = null;
+        Integer orderExecutedIndex = columnIndexes.get("ORDEREXECUTED");
+        if (orderExecutedIndex != null) {
+            int value = rs.getInt(orderExecutedIndex);
+            orderExecuted = rs.wasNull() ? null : value;
+        }
+
+        RanChangeSet ranChangeSet;
+        try {
+            ranChangeSet = new RanChangeSet(fileName, getString(rs, "ID"), shared(getString(rs, "AUTHOR")), CheckSum.parse(md5sum),
+                    dateExecuted, getString(rs, "TAG"), ChangeSet.ExecType.valueOf(execType), getString(rs, "DESCRIPTION"),
+                    getString(rs, "COMMENTS"), new ContextExpression(shared(getString(rs, "CONTEXTS"))),
+                    new Labels(shared(getString(rs, "LABELS"))), shared(getString(rs, "DEPLOYMENT_ID")), storedFileName);
+        } catch (IllegalArgumentException e) {
+            Scope.getCurrentScope().getLog(getClass()).severe("Unknown EXECTYPE from database: " + execType);
+            throw e;
+        }
+        ranChangeSet.setOrderExecuted(orderExecuted);
+        ranChangeSet.setLiquibaseVersion(shared(getString(rs, "LIQUIBASE")));
+        return ranChangeSet;
+    }
+
+    private String getString(ResultSet rs, String column) throws SQLException {
+        Integer index = columnIndexes.get(column);
+        return (index == null) ? null : rs.getString(index);
+    }
+
+    private String shared(String value) {
+        if (value == null) {
+            return null;
+        }
+        return sharedValues.computeIfAbsent(value, key -> key);
+    }
+
+    private static Map<String, Integer> getColumnIndexes(ResultSetMetaData metaData) throws SQLException {
+        Map<String, Integer> columnIndexes = new HashMap<>();
+        for (int i = 1; i <= metaData.getColumnCount(); i++) {
+            String label = metaData.getColumnLabel(i).toUpperCase(Locale.US);
+            for (String column : COLUMNS) {
+                if (column.equals(label)) {
+                    columnIndexes.putIfAbsent(column, i);
+                }
+            }
+        }
+        return columnIndexes;
+    }
+}
@@ -31,4 +31,11 @@ interface ResultSetExtractor {
      */
     Object extractData(ResultSet rs) throws SQLException;
 
+    /**
+     * Number of rows the driver should fetch per round trip for the query, or <code>null</code> for the driver default.
+     */
+    default Integer getFetchSize() {
+        return null;
+    }
+
 }
@@ -41,6 +41,8 @@ public class RowMapperResultSetExtractor implements ResultSetExtractor {
 
     protected final int rowsExpected;
 
+    private final Integer fetchSize;
+
 
     /**
      * Create a new RowMapperResultSetExtractor.
@@ -59,8 +61,22 @@ public class RowMapperResultSetExtractor implements ResultSetExtractor {
      *                     (just used for optimized collection handling)
      */
     public RowMapperResultSetExtractor(RowMapper rowMapper, int rowsExpected) {
+        this(rowMapper, rowsExpected, null);
+    }
+
+    /**
+     * Create a new RowMapperResultSetExtractor.
+     *
+     * @param rowMapper    the RowMapper which creates an object for each row
+     * @param rowsExpected the number of expected rows
+     *                     (just used for optimized collection handling)
+     * @param fetchSize    the number of rows the driver should fetch per round trip,
+     *                     or <code>null</code> for the driver default
+     */
+    public RowMapperResultSetExtractor(RowMapper rowMapper, int rowsExpected, Integer fetchSize) {
         this.rowMapper = rowMapper;
         this.rowsExpected = rowsExpected;
+        this.fetchSize = fetchSize;
     }
 
 
@@ -74,4 +90,9 @@ public class RowMapperResultSetExtractor implements ResultSetExtractor {
         return results;
     }
 
+    @Override
+    public Integer getFetchSize() {
+        return fetchSize;
+    }
+
 }
@@ -6,6 +6,8 @@ package liquibase.integration.spring;
 import liquibase.Scope;
 import liquibase.exception.LiquibaseException;
 import liquibase.logging.Logger;
+import liquibase.parser.ParsedChangeLogCache;
+import liquibase.util.ConcurrencyUtil;
 import lombok.Getter;
 import lombok.Setter;
 import org.springframework.beans.factory.InitializingBean;
@@ -15,9 +17,11 @@ import org.springframework.core.io.ResourceLoader;
 import javax.naming.*;
 import javax.sql.DataSource;
 import java.io.File;
+import java.util.AbstractMap;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Future;
 
 /**
  * A wrapper of Liquibase suitable in multi-tenant environments where multiple
@@ -124,6 +128,15 @@ public class MultiTenantSpringLiquibase implements InitializingBean, ResourceLoa
     @Setter
     private File rollbackFile;
 
+    /**
+     * Number of tenants to update at the same time. Defaults to 1, which updates one tenant after another.
+     * Every tenant uses its own connection and lock; schema based tenants sharing a {@link #liquibaseSchema}
+     * are always updated one after another.
+     */
+    @Getter
+    @Setter
+    private int parallelism = 1;
+
 
     @Override
     public void afterPropertiesSet() throws Exception {
@@ -178,29 +191,91 @@ public class MultiTenantSpringLiquibase implements InitializingBean, ResourceLoa
     }
 
     private void runOnAllDataSources() throws LiquibaseException {
-        Logger log = Scope.getCurrentScope().getLog(getClass());
-
+        List<Map.Entry<String, SpringLiquibase>> tenants = new ArrayList<>();
         for (DataSource aDataSource : dataSources) {
-            log.info("Initializing Liquibase for data source " + aDataSource);
-            SpringLiquibase liquibase = getSpringLiquibase(aDataSource);
-            liquibase.afterPropertiesSet();
-            log.info("Liquibase ran for data source " + aDataSource);
+            tenants.add(new AbstractMap.SimpleEntry<>("data source " + aDataSource, getSpringLiquibase(aDataSource)));
         }
+        runOnAllTenants(tenants, parallelism);
     }
 
     private void runOnAllSchemas() throws LiquibaseException {
         Logger log = Scope.getCurrentScope().getLog(getClass());
 
+        List<Map.Entry<String, SpringLiquibase>> tenants = new ArrayList<>();
         for (String schema : schemas) {
             if ("default".equals(schema)) {
                 schema = null;
             }
-            log.info("Initializing Liquibase for schema " + schema);
             SpringLiquibase liquibase = getSpringLiquibase(dataSource);
             liquibase.setDefaultSchema(schema);
-            liquibase.afterPropertiesSet();
-            log.info("Liquibase ran for schema " + schema);
+            tenants.add(new AbstractMap.SimpleEntry<>("schema " + schema, liquibase));
         }
+
+        int schemaParallelism = parallelism;
+        if ((schemaParallelism > 1) && (liquibaseSchema != null)) {
+            log.info("All schemas share the Liquibase tables in " + liquibaseSchema + ", updating them one after another");
+            schemaParallelism = 1;
+        }
+        runOnAllTenants(tenants, schemaParallelism);
+    }
+
+    /**
+     * Runs the given tenants, parsing the changelog files only once for all of them. With a parallelism greater than 1
+     * the tenants run concurrently and all of them run even if some fail; the failures are reported together afterwards.
+     */
+    private void runOnAllTenants(List<Map.Entry<String, SpringLiquibase>> tenants, int tenantParallelism) throws LiquibaseException {
+        Logger log = Scope.getCurrentScope().getLog(getClass());
+
+        try {
+            Scope.child(ParsedChangeLogCache.SCOPE_KEY, ParsedChangeLogCache.inMemory(), () -> {
+                if ((tenantParallelism <= 1) || (tenants.size() <= 1)) {
+                    for (Map.Entry<String, SpringLiquibase> tenant : tenants) {
+                        runTenant(tenant.getKey(), tenant.getValue());
+                    }
+                    return;
+                }
+
+                log.info("Running Liquibase for " + tenants.size() + " tenants, " + tenantParallelism + " at a time");
+                List<Scope.ScopedRunnerWithReturn<Void>> tasks = new ArrayList<>();
+                for (Map.Entry<String, SpringLiquibase> tenant : tenants) {
+                    tasks.add(() -> {
+                        runTenant(tenant.getKey(), tenant.getValue());
+                        return null;
+                    });
+                }
+                List<Future<Void>> results = ConcurrencyUtil.invokeAll(tasks, tenantParallelism, "liquibase-tenant");
+
+                List<String> failedTenants = new ArrayList<>();
+                List<Exception> failures = new ArrayList<>();
+                for (int i = 0; i < results.size(); i++) {
+                    try {
+                        ConcurrencyUtil.getResult(results.get(i));
+                    } catch (Exception e) {
+                        log.severe("Liquibase failed for " + tenants.get(i).getKey(), e);
+                        failedTenants.add(tenants.get(i).getKey());
+                        failures.add(e);
+                    }
+                }
+                if (!failures.isEmpty()) {
+                    LiquibaseException exception = new LiquibaseException("Liquibase failed for " + failedTenants.size() + " of " +
+                            tenants.size() + " tenants: " + String.join(", ", failedTenants), failures.get(0));
+                    failures.stream().skip(1).forEach(exception::addSuppressed);
+                    throw exception;
+                }
+            });
+        } catch (LiquibaseException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new LiquibaseException(e);
+        }
+    }
+
+    private void runTenant(String tenant, SpringLiquibase liquibase) throws LiquibaseException {
+        Logger log = Scope.getCurrentScope().getLog(getClass());
+
+        log.info("Initializing Liquibase for " + tenant);
+        liquibase.afterPropertiesSet();
+        log.info("Liquibase ran for " + tenant);
     }
 
     private SpringLiquibase getSpringLiquibase(DataSource dataSource) {
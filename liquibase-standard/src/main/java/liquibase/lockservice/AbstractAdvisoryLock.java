@@ -0,0 +1,32 @@
+package liquibase.lockservice;
+
+import liquibase.database.Database;
+import liquibase.database.jvm.JdbcConnection;
+import liquibase.exception.DatabaseException;
+
+import java.sql.Connection;
+
+/**
+ * Convenience base class for {@link AdvisoryLock} implementations which call the database through JDBC.
+ */
+public abstract class AbstractAdvisoryLock implements AdvisoryLock {
+
+    @Override
+    public int getPriority() {
+        return PRIORITY_DEFAULT;
+    }
+
+    protected Connection getConnection(Database database) throws DatabaseException {
+        if (!(database.getConnection() instanceof JdbcConnection)) {
+            throw new DatabaseException("Advisory locks require a JDBC connection");
+        }
+        return ((JdbcConnection) database.getConnection()).getUnderlyingConnection();
+    }
+
+    /**
+     * Converts the timeout to whole seconds, rounding up, for databases which wait in seconds.
+     */
+    protected static int toSeconds(long timeoutMillis) {
+        return (int) Math.min(Integer.MAX_VALUE, (Math.max(0, timeoutMillis) + 999) / 1000);
+    }
+}
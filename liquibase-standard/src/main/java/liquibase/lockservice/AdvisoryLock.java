@@ -0,0 +1,31 @@
+package liquibase.lockservice;
+
+import liquibase.database.Database;
+import liquibase.exception.DatabaseException;
+import liquibase.plugin.Plugin;
+
+/**
+ * A named lock held by the database session, such as a PostgreSQL advisory lock, which {@link StandardLockService}
+ * waits for before it takes the DATABASECHANGELOGLOCK table lock when {@link liquibase.GlobalConfiguration#CHANGELOGLOCK_USE_ADVISORY_LOCK}
+ * is enabled. Waiting sessions are woken up by the database as soon as the lock is released, instead of polling the table.
+ * Implementations are looked up through {@link AdvisoryLockFactory}.
+ */
+public interface AdvisoryLock extends Plugin {
+
+    int getPriority();
+
+    boolean supports(Database database);
+
+    /**
+     * Waits up to the given time for the lock with the given name.
+     *
+     * @return true if the lock was acquired, false if the time ran out
+     * @throws DatabaseException if the database cannot take the lock, for example because of missing privileges
+     */
+    boolean acquire(Database database, String name, long timeoutMillis) throws DatabaseException;
+
+    /**
+     * Releases the lock with the given name held by this session.
+     */
+    void release(Database database, String name) throws DatabaseException;
+}
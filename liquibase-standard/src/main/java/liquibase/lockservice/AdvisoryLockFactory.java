@@ -0,0 +1,33 @@
+package liquibase.lockservice;
+
+import liquibase.database.Database;
+import liquibase.plugin.AbstractPluginFactory;
+import liquibase.plugin.Plugin;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class AdvisoryLockFactory extends AbstractPluginFactory<AdvisoryLock> {
+
+    @Override
+    protected Class<AdvisoryLock> getPluginClass() {
+        return AdvisoryLock.class;
+    }
+
+    @Override
+    protected int getPriority(AdvisoryLock advisoryLock, Object... args) {
+        Database database = (Database) args[0];
+        if (advisoryLock.supports(database)) {
+            return advisoryLock.getPriority();
+        } else {
+            return Plugin.PRIORITY_NOT_APPLICABLE;
+        }
+    }
+
+    /**
+     * Returns the advisory lock for the given database, or null if there is none.
+     */
+    public AdvisoryLock getAdvisoryLock(Database database) {
+        return getPlugin(database);
+    }
+}
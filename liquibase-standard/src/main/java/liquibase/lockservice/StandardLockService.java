@@ -21,6 +21,7 @@ import liquibase.executor.Executor;
 import liquibase.executor.ExecutorService;
 import liquibase.executor.LoggingExecutor;
 import liquibase.executor.jvm.ChangelogJdbcMdcListener;
+import liquibase.executor.jvm.JdbcExecutor;
 import liquibase.logging.mdc.MdcKey;
 import liquibase.logging.mdc.MdcObject;
 import liquibase.logging.mdc.MdcValue;
@@ -33,6 +34,7 @@ import liquibase.statement.core.*;
 import liquibase.structure.DatabaseObject;
 import liquibase.structure.core.Table;
 import liquibase.ui.ConsoleUIService;
+import liquibase.util.StringUtil;
 
 import java.security.SecureRandom;
 import java.text.DateFormat;
@@ -56,6 +58,14 @@ public class StandardLockService implements LockService {
     protected ObjectQuotingStrategy quotingStrategy;
     protected final SecureRandom random = new SecureRandom();
 
+    /**
+     * Milliseconds to wait before checking the changelog lock table again for the first time.
+     * The wait doubles with every check up to {@link #getChangeLogLockRecheckTime()}.
+     */
+    protected static final long INITIAL_LOCK_RECHECK_MILLIS = 250;
+
+    private AdvisoryLock heldAdvisoryLock;
+
 
     public StandardLockService() {
         //Empty constructor
@@ -259,9 +269,53 @@ public class StandardLockService implements LockService {
         boolean locked = false;
         long timeToGiveUp = new Date().getTime() + (getChangeLogLockWaitTime() * 1000 * 60);
 
-        locked = acquireLock();
-        do {
+        boolean waitForTable = true;
+        if (!hasChangeLogLock && GlobalConfiguration.CHANGELOGLOCK_USE_ADVISORY_LOCK.getCurrentValue()) {
+            waitForTable = acquireAdvisoryLock(timeToGiveUp);
+        }
+
+        try {
+            if (waitForTable) {
+                locked = waitForTableLock(timeToGiveUp);
+            }
+        } finally {
             if (!locked) {
+                releaseAdvisoryLock();
+            }
+        }
+
+        if (!locked) {
+            DatabaseChangeLogLock[] locks = listLocks();
+            String lockedBy;
+            if (locks.length > 0) {
+                DatabaseChangeLogLock lock = locks[0];
+                lockedBy = lock.getLockedBy() + " since " +
+                        DateFormat.getDateTimeInstance(DateFormat.SHORT, DateFormat.SHORT)
+                                .format(lock.getLockGranted());
+            } else {
+                lockedBy = "UNKNOWN";
+            }
+            throw new LockException("Could not acquire change log lock.  Currently locked by " + lockedBy);
+        }
+    }
+
+    /**
+     * Checks the changelog lock table until it is unlocked or the given time is reached. The wait between checks starts
+     * at {@link #INITIAL_LOCK_RECHECK_MILLIS}, doubles up to {@link #getChangeLogLockRecheckTime()} and is randomized,
+     * so processes waiting for the same lock do not check the table at the same moments.
+     */
+    protected boolean waitForTableLock(long timeToGiveUp) throws LockException {
+        long maxRecheckMillis = getChangeLogLockRecheckTime() * 1000;
+        long recheckMillis = Math.min(INITIAL_LOCK_RECHECK_MILLIS, maxRecheckMillis);
+        long nextMessage = 0;
+
+        boolean locked = acquireLock();
+        do {
+            if (locked) {
+                break;
+            }
+            long now = new Date().getTime();
+            if (now >= nextMessage) {
                 try {
                     //
                     // Use the ConsoleUIService to prevent mirroring of this message to log
@@ -273,31 +327,69 @@ public class StandardLockService implements LockService {
                     // continue on
                 }
                 Scope.getCurrentScope().getLog(getClass()).info("Waiting for changelog lock....");
-                try {
-                    Thread.sleep(getChangeLogLockRecheckTime() * 1000);
-                } catch (InterruptedException e) {
-                    // Restore thread interrupt status
-                    Thread.currentThread().interrupt();
-                }
+                nextMessage = now + maxRecheckMillis;
+            }
+            try {
+                Thread.sleep(Math.min(getLockRecheckWaitMillis(recheckMillis), Math.max(0, timeToGiveUp - now)));
+            } catch (InterruptedException e) {
+                // Restore thread interrupt status
+                Thread.currentThread().interrupt();
             }
+            recheckMillis = Math.min(recheckMillis * 2, maxRecheckMillis);
             locked = acquireLock();
         } while (!locked && (new Date().getTime() < timeToGiveUp));
+        return locked;
+    }
 
-        if (!locked) {
-            DatabaseChangeLogLock[] locks = listLocks();
-            String lockedBy;
-            if (locks.length > 0) {
-                DatabaseChangeLogLock lock = locks[0];
-                lockedBy = lock.getLockedBy() + " since " +
-                        DateFormat.getDateTimeInstance(DateFormat.SHORT, DateFormat.SHORT)
-                                .format(lock.getLockGranted());
-            } else {
-                lockedBy = "UNKNOWN";
+    /**
+     * Returns how long to wait before checking the changelog lock table again, a random time between half and all of
+     * the given backoff.
+     */
+    protected long getLockRecheckWaitMillis(long backoffMillis) {
+        return backoffMillis / 2 + (long) (random.nextDouble() * (backoffMillis / 2 + 1));
+    }
+
+    /**
+     * Waits for the advisory lock of this database until the given time. Returns false if the time ran out,
+     * and true if the lock was acquired or advisory locks cannot be used, in which case only the changelog lock table is used.
+     */
+    private boolean acquireAdvisoryLock(long timeToGiveUp) {
+        AdvisoryLock advisoryLock = Scope.getCurrentScope().getSingleton(AdvisoryLockFactory.class).getAdvisoryLock(database);
+        if ((advisoryLock == null) || !(Scope.getCurrentScope().getSingleton(ExecutorService.class).getExecutor("jdbc", database) instanceof JdbcExecutor)) {
+            return true;
+        }
+        try {
+            if (!advisoryLock.acquire(database, getAdvisoryLockName(), timeToGiveUp - new Date().getTime())) {
+                return false;
             }
-            throw new LockException("Could not acquire change log lock.  Currently locked by " + lockedBy);
+            heldAdvisoryLock = advisoryLock;
+        } catch (DatabaseException e) {
+            Scope.getCurrentScope().getLog(getClass()).warning("Cannot use an advisory lock, using only the changelog lock table: " + e.getMessage(), e);
+        }
+        return true;
+    }
+
+    private void releaseAdvisoryLock() {
+        if (heldAdvisoryLock == null) {
+            return;
+        }
+        try {
+            heldAdvisoryLock.release(database, getAdvisoryLockName());
+        } catch (DatabaseException e) {
+            Scope.getCurrentScope().getLog(getClass()).warning("Failed to release advisory lock: " + e.getMessage(), e);
+        } finally {
+            heldAdvisoryLock = null;
         }
     }
 
+    /**
+     * Returns the name of the advisory lock, which is the same for every process using the same changelog lock table.
+     */
+    protected String getAdvisoryLockName() {
+        return "liquibase:" + StringUtil.trimToEmpty(database.getLiquibaseCatalogName()) + "." + StringUtil.trimToEmpty(database.getLiquibaseSchemaName())
+                + "." + database.getDatabaseChangeLogLockTableName();
+    }
+
     @Override
     public boolean acquireLock() throws LockException {
         if (hasChangeLogLock) {
@@ -444,6 +536,7 @@ public class StandardLockService implements LockService {
             if (incomingQuotingStrategy != null) {
                 database.setObjectQuotingStrategy(incomingQuotingStrategy);
             }
+            releaseAdvisoryLock();
         }
     }
 
@@ -0,0 +1,54 @@
+package liquibase.lockservice.core;
+
+import liquibase.database.Database;
+import liquibase.database.core.MSSQLDatabase;
+import liquibase.exception.DatabaseException;
+import liquibase.lockservice.AbstractAdvisoryLock;
+
+import java.sql.CallableStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+
+/**
+ * Uses a session owned SQL Server application lock taken with <code>sp_getapplock</code>.
+ */
+public class MSSQLAdvisoryLock extends AbstractAdvisoryLock {
+
+    private static final int LOCK_TIMEOUT = -1;
+
+    @Override
+    public boolean supports(Database database) {
+        return database instanceof MSSQLDatabase;
+    }
+
+    @Override
+    public boolean acquire(Database database, String name, long timeoutMillis) throws DatabaseException {
+        try (CallableStatement statement = getConnection(database).prepareCall("{? = call sp_getapplock(?, 'Exclusive', 'Session', ?)}")) {
+            statement.registerOutParameter(1, Types.INTEGER);
+            statement.setString(2, name);
+            statement.setInt(3, (int) Math.min(Integer.MAX_VALUE, Math.max(0, timeoutMillis)));
+            statement.execute();
+            int result = statement.getInt(1);
+            if (result == LOCK_TIMEOUT) {
+                return false;
+            }
+            if (result < 0) {
+                throw new DatabaseException("sp_getapplock returned " + result + " for " + name);
+            }
+            return true;
+        } catch (SQLException e) {
+            throw new DatabaseException("Cannot acquire advisory lock " + name + ": " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void release(Database database, String name) throws DatabaseException {
+        try (CallableStatement statement = getConnection(database).prepareCall("{? = call sp_releaseapplock(?, 'Session')}")) {
+            statement.registerOutParameter(1, Types.INTEGER);
+            statement.setString(2, name);
+            statement.execute();
+        } catch (SQLException e) {
+            throw new DatabaseException("Cannot release advisory lock " + name + ": " + e.getMessage(), e);
+        }
+    }
+}
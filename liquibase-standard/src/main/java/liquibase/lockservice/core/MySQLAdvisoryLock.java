@@ -0,0 +1,59 @@
+package liquibase.lockservice.core;
+
+import liquibase.database.Database;
+import liquibase.database.core.MySQLDatabase;
+import liquibase.exception.DatabaseException;
+import liquibase.lockservice.AbstractAdvisoryLock;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Uses the MySQL and MariaDB <code>GET_LOCK</code> function. Lock names longer than MySQL allows are shortened with a hash.
+ */
+public class MySQLAdvisoryLock extends AbstractAdvisoryLock {
+
+    private static final int MAX_NAME_LENGTH = 64;
+
+    @Override
+    public boolean supports(Database database) {
+        return database instanceof MySQLDatabase;
+    }
+
+    @Override
+    public boolean acquire(Database database, String name, long timeoutMillis) throws DatabaseException {
+        try (PreparedStatement statement = getConnection(database).prepareStatement("SELECT GET_LOCK(?, ?)")) {
+            statement.setString(1, getLockName(name));
+            statement.setInt(2, toSeconds(timeoutMillis));
+            try (ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                int result = resultSet.getInt(1);
+                if (resultSet.wasNull()) {
+                    throw new DatabaseException("GET_LOCK returned NULL for " + name);
+                }
+                return result == 1;
+            }
+        } catch (SQLException e) {
+            throw new DatabaseException("Cannot acquire advisory lock " + name + ": " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void release(Database database, String name) throws DatabaseException {
+        try (PreparedStatement statement = getConnection(database).prepareStatement("SELECT RELEASE_LOCK(?)")) {
+            statement.setString(1, getLockName(name));
+            statement.execute();
+        } catch (SQLException e) {
+            throw new DatabaseException("Cannot release advisory lock " + name + ": " + e.getMessage(), e);
+        }
+    }
+
+    static String getLockName(String name) {
+        if (name.length() <= MAX_NAME_LENGTH) {
+            return name;
+        }
+        String hash = Integer.toHexString(name.hashCode());
+        return name.substring(0, MAX_NAME_LENGTH - hash.length() - 1) + "#" + hash;
+    }
+}
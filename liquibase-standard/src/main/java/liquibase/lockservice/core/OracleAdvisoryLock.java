@@ -0,0 +1,65 @@
+package liquibase.lockservice.core;
+
+import liquibase.database.Database;
+import liquibase.database.core.OracleDatabase;
+import liquibase.exception.DatabaseException;
+import liquibase.lockservice.AbstractAdvisoryLock;
+
+import java.sql.CallableStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+
+/**
+ * Uses an exclusive <code>DBMS_LOCK</code> lock, which requires EXECUTE privilege on <code>DBMS_LOCK</code>.
+ * The lock id is derived from the lock name, so no lock handle has to be allocated.
+ */
+public class OracleAdvisoryLock extends AbstractAdvisoryLock {
+
+    private static final int MAX_LOCK_ID = 1073741823;
+    private static final int MAX_WAIT_SECONDS = 32767;
+
+    private static final int SUCCESS = 0;
+    private static final int TIMEOUT = 1;
+    private static final int ALREADY_OWNED = 4;
+
+    @Override
+    public boolean supports(Database database) {
+        return database instanceof OracleDatabase;
+    }
+
+    @Override
+    public boolean acquire(Database database, String name, long timeoutMillis) throws DatabaseException {
+        try (CallableStatement statement = getConnection(database).prepareCall(
+                "BEGIN ? := DBMS_LOCK.REQUEST(id => ?, lockmode => DBMS_LOCK.X_MODE, timeout => ?, release_on_commit => FALSE); END;")) {
+            statement.registerOutParameter(1, Types.INTEGER);
+            statement.setInt(2, getLockId(name));
+            statement.setInt(3, Math.min(MAX_WAIT_SECONDS, toSeconds(timeoutMillis)));
+            statement.execute();
+            int result = statement.getInt(1);
+            if ((result == SUCCESS) || (result == ALREADY_OWNED)) {
+                return true;
+            }
+            if (result == TIMEOUT) {
+                return false;
+            }
+            throw new DatabaseException("DBMS_LOCK.REQUEST returned " + result + " for " + name);
+        } catch (SQLException e) {
+            throw new DatabaseException("Cannot acquire advisory lock " + name + ": " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void release(Database database, String name) throws DatabaseException {
+        try (CallableStatement statement = getConnection(database).prepareCall("BEGIN ? := DBMS_LOCK.RELEASE(id => ?); END;")) {
+            statement.registerOutParameter(1, Types.INTEGER);
+            statement.setInt(2, getLockId(name));
+            statement.execute();
+        } catch (SQLException e) {
+            throw new DatabaseException("Cannot release advisory lock " + name + ": " + e.getMessage(), e);
+        }
+    }
+
+    static int getLockId(String name) {
+        return Math.floorMod(name.hashCode(), MAX_LOCK_ID + 1);
+    }
+}
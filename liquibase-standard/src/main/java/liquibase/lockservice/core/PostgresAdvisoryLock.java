@@ -0,0 +1,85 @@
+package liquibase.lockservice.core;
+
+import liquibase.database.Database;
+import liquibase.database.core.CockroachDatabase;
+import liquibase.database.core.PostgresDatabase;
+import liquibase.exception.DatabaseException;
+import liquibase.lockservice.AbstractAdvisoryLock;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Uses a session level <code>pg_advisory_lock</code>, waiting at most <code>lock_timeout</code>.
+ * The lock is identified by two integer keys derived from the lock name.
+ */
+public class PostgresAdvisoryLock extends AbstractAdvisoryLock {
+
+    private static final int LOCK_CLASS_ID = "liquibase".hashCode();
+    private static final String LOCK_NOT_AVAILABLE = "55P03";
+
+    @Override
+    public boolean supports(Database database) {
+        return (database instanceof PostgresDatabase) && !(database instanceof CockroachDatabase);
+    }
+
+    @Override
+    public boolean acquire(Database database, String name, long timeoutMillis) throws DatabaseException {
+        Connection connection = getConnection(database);
+        try {
+            String previousLockTimeout = setLockTimeout(connection, Math.max(1, timeoutMillis) + "ms");
+            boolean acquired;
+            try (PreparedStatement statement = connection.prepareStatement("SELECT pg_advisory_lock(?, ?)")) {
+                statement.setInt(1, LOCK_CLASS_ID);
+                statement.setInt(2, name.hashCode());
+                statement.execute();
+                acquired = true;
+            } catch (SQLException e) {
+                if (!LOCK_NOT_AVAILABLE.equals(e.getSQLState())) {
+                    //the transaction may be aborted, so restoring the timeout can fail as well
+                    try {
+                        setLockTimeout(connection, previousLockTimeout);
+                    } catch (SQLException restoreFailure) {
+                        e.addSuppressed(restoreFailure);
+                    }
+                    throw e;
+                }
+                if (!connection.getAutoCommit()) {
+                    connection.rollback();
+                }
+                acquired = false;
+            }
+            setLockTimeout(connection, previousLockTimeout);
+            return acquired;
+        } catch (SQLException e) {
+            throw new DatabaseException("Cannot acquire advisory lock " + name + ": " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void release(Database database, String name) throws DatabaseException {
+        try (PreparedStatement statement = getConnection(database).prepareStatement("SELECT pg_advisory_unlock(?, ?)")) {
+            statement.setInt(1, LOCK_CLASS_ID);
+            statement.setInt(2, name.hashCode());
+            statement.execute();
+        } catch (SQLException e) {
+            throw new DatabaseException("Cannot release advisory lock " + name + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Sets the session's lock_timeout and returns the previous value.
+     */
+    private static String setLockTimeout(Connection connection, String lockTimeout) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT current_setting('lock_timeout'), set_config('lock_timeout', ?, false)")) {
+            statement.setString(1, lockTimeout);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                return resultSet.getString(1);
+            }
+        }
+    }
+}
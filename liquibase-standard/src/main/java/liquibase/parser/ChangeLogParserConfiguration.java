@@ -15,6 +15,8 @@ public class ChangeLogParserConfiguration implements AutoloadedConfigurations {
     public static final ConfigurationDefinition<MissingIncludeConfiguration> ON_MISSING_INCLUDE_CHANGELOG;
     public static final ConfigurationDefinition<Boolean> ERROR_ON_CIRCULAR_INCLUDE_ALL;
     public static final ConfigurationDefinition<MissingIncludeConfiguration> ON_MISSING_SQL_FILE;
+    public static final ConfigurationDefinition<Integer> INCLUDE_PARALLELISM;
+    public static final ConfigurationDefinition<String> PARSED_CHANGELOG_CACHE_DIRECTORY;
 
     static {
         ConfigurationDefinition.Builder builder = new ConfigurationDefinition.Builder("liquibase");
@@ -56,6 +58,18 @@ public class ChangeLogParserConfiguration implements AutoloadedConfigurations {
                 .setDefaultValue(MissingIncludeConfiguration.FAIL)
                 .setHidden(true)
                 .build();
+
+        INCLUDE_PARALLELISM = builder.define("includeParallelism", Integer.class)
+                .setDescription("Maximum number of files parsed at the same time for an includeAll or a run of consecutive include tags. " +
+                        "Changesets are still added in declared order, and an included file that reads a property set by a preceding sibling is re-parsed after that sibling. " +
+                        "The default of 1 parses included files one at a time.")
+                .setDefaultValue(1)
+                .build();
+
+        PARSED_CHANGELOG_CACHE_DIRECTORY = builder.define("parsedChangelogCacheDirectory", String.class)
+                .setDescription("Directory in which the parsed form of changelog files is cached between runs, keyed by file content and Liquibase version. " +
+                        "Unchanged files are then loaded from the cache instead of being parsed again. Caching is disabled if not set.")
+                .build();
     }
 
     public enum MissingPropertyMode {
@@ -6,6 +6,8 @@ import liquibase.exception.UnexpectedLiquibaseException;
 import liquibase.exception.UnknownChangelogFormatException;
 import liquibase.resource.ResourceAccessor;
 
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -16,6 +18,8 @@ public class ChangeLogParserFactory {
 
     private final List<ChangeLogParser> parsers = new ArrayList<>();
 
+    private volatile ParsedChangeLogCache parsedChangeLogCache;
+
     public static synchronized void reset() {
         instance = new ChangeLogParserFactory();
     }
@@ -59,6 +63,33 @@ public class ChangeLogParserFactory {
         throw new UnknownChangelogFormatException("Cannot find parser that supports " + fileNameOrExtension);
     }
 
+    /**
+     * Returns the cache of parsed changelog files set in the current scope under {@link ParsedChangeLogCache#SCOPE_KEY}, otherwise
+     * the one configured by {@link ChangeLogParserConfiguration#PARSED_CHANGELOG_CACHE_DIRECTORY}, or null if caching is disabled.
+     */
+    public ParsedChangeLogCache getParsedChangeLogCache() {
+        ParsedChangeLogCache scopedCache = Scope.getCurrentScope().get(ParsedChangeLogCache.SCOPE_KEY, ParsedChangeLogCache.class);
+        if (scopedCache != null) {
+            return scopedCache;
+        }
+        String cacheDirectory = ChangeLogParserConfiguration.PARSED_CHANGELOG_CACHE_DIRECTORY.getCurrentValue();
+        if (cacheDirectory == null || cacheDirectory.trim().isEmpty()) {
+            return null;
+        }
+        Path directory = Paths.get(cacheDirectory.trim()).toAbsolutePath();
+        ParsedChangeLogCache cache = parsedChangeLogCache;
+        if (cache == null || !cache.getDirectory().equals(directory)) {
+            synchronized (this) {
+                cache = parsedChangeLogCache;
+                if (cache == null || !cache.getDirectory().equals(directory)) {
+                    cache = new ParsedChangeLogCache(directory);
+                    parsedChangeLogCache = cache;
+                }
+            }
+        }
+        return cache;
+    }
+
     public void register(ChangeLogParser changeLogParsers) {
         register(Collections.singletonList(changeLogParsers));
     }
@@ -0,0 +1,410 @@
+package liquibase.parser;
+
+import liquibase.Scope;
+import liquibase.exception.ChangeLogParseException;
+import liquibase.parser.core.ParsedNode;
+import liquibase.parser.core.ParsedNodeException;
+import liquibase.resource.Resource;
+import liquibase.resource.ResourceAccessor;
+import liquibase.util.LiquibaseUtil;
+import liquibase.util.StreamUtil;
+
+import java.io.*;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * On-disk cache of the {@link ParsedNode} trees that changelog parsers build from changelog files.
+ * <p>
+ * Entries are keyed by a SHA-256 hash of the file content, the parser class, the parser settings and the Liquibase
+ * version, so a changed file, a different setting or a Liquibase upgrade is simply a cache miss. On a miss the file is read once, and the parser works on the
+ * bytes that were hashed. Since every included file is parsed (and cached) on its own, an unchanged changelog tree is
+ * loaded without invoking the underlying XML parser at all; building the changelog objects from the loaded trees
+ * still takes most of the time of a cached parse.
+ * <p>
+ * For files on the local file system, the cache also remembers the last modification time and size the content hash was
+ * computed for, and while both are unchanged a hit does not read the file at all. Like {@code make}, this relies on
+ * a changed file getting a new modification time or size; files modified too recently for their modification time to
+ * tell such changes apart are always read.
+ * <p>
+ * Only trees whose values are all strings, which is what the XML parser produces, are cached. Unreadable or
+ * corrupt entries are ignored and overwritten.
+ * <p>
+ * An {@link #inMemory() in-memory} cache keeps the entries for the lifetime of the cache object instead. Running code in
+ * a scope with such a cache under {@link #SCOPE_KEY} lets several runs in the same process share the parsing of their
+ * changelog files, each run still building its own changelog objects.
+ *
+ * @see ChangeLogParserConfiguration#PARSED_CHANGELOG_CACHE_DIRECTORY
+ */
+public class ParsedChangeLogCache {
+
+    /**
+     * Scope key of a cache to use instead of the one configured by {@link ChangeLogParserConfiguration#PARSED_CHANGELOG_CACHE_DIRECTORY}.
+     */
+    public static final String SCOPE_KEY = "liquibase.parsedChangeLogCache";
+
+    private static final int MAGIC = 0x4C42504E;
+    private static final int FORMAT_VERSION = 1;
+    private static final String FILE_EXTENSION = ".node";
+    private static final String STAT_FILE_EXTENSION = ".stat";
+
+    /**
+     * Modification times closer to the time they are recorded than this are not trusted, since the file may still be
+     * changed within the resolution of the file system's timestamps without changing its modification time.
+     */
+    private static final long RACY_MODIFICATION_MILLIS = 2000;
+
+    private final Path directory;
+    private final Map<String, byte[]> memory;
+    private final Map<String, Object> memoryLocks;
+    private final Map<String, FileStat> memoryStats;
+
+    public ParsedChangeLogCache(Path directory) {
+        this.directory = directory;
+        this.memory = null;
+        this.memoryLocks = null;
+        this.memoryStats = null;
+    }
+
+    private ParsedChangeLogCache() {
+        this.directory = null;
+        this.memory = new ConcurrentHashMap<>();
+        this.memoryLocks = new ConcurrentHashMap<>();
+        this.memoryStats = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Creates a cache which keeps its entries in memory. Concurrent requests for the same file parse it only once.
+     */
+    public static ParsedChangeLogCache inMemory() {
+        return new ParsedChangeLogCache();
+    }
+
+    /**
+     * Returns the cache directory, or null for an in-memory cache.
+     */
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Returns the cached tree for the given file, or calls the given parser and caches its result.
+     */
+    public ParsedNode parseToNode(String physicalChangeLogLocation, ResourceAccessor resourceAccessor,
+                                  Class<? extends ChangeLogParser> parserType, NodeParser parser) throws ChangeLogParseException {
+        return parseToNode(physicalChangeLogLocation, resourceAccessor, parserType, "", parser);
+    }
+
+    /**
+     * Returns the cached tree for the given file, or calls the given parser and caches its result.
+     *
+     * @param parserSettings the settings of the parser which change the tree it builds from the same file
+     */
+    public ParsedNode parseToNode(String physicalChangeLogLocation, ResourceAccessor resourceAccessor,
+                                  Class<? extends ChangeLogParser> parserType, String parserSettings,
+                                  NodeParser parser) throws ChangeLogParseException {
+        Resource resource;
+        try {
+            resource = resourceAccessor.get(physicalChangeLogLocation);
+        } catch (IOException | RuntimeException e) {
+            Scope.getCurrentScope().getLog(getClass()).fine("Cannot find " + physicalChangeLogLocation + " for the parsed changelog cache: " + e.getMessage(), e);
+            return parser.parseToNode(null);
+        }
+        if (resource == null || !resource.exists()) {
+            return parser.parseToNode(null);
+        }
+
+        FileStat stat = FileStat.of(resource);
+        String statKey = null;
+        if (stat != null) {
+            statKey = computeKey(parserType, parserSettings, resource.getUri().toString().getBytes(StandardCharsets.UTF_8));
+            FileStat recorded = readStat(statKey);
+            if (recorded != null && recorded.isSameFile(stat)) {
+                ParsedNode node = load(recorded.contentKey, physicalChangeLogLocation);
+                if (node != null) {
+                    return node;
+                }
+            }
+        }
+
+        byte[] content;
+        try (InputStream stream = resource.openInputStream()) {
+            content = StreamUtil.readStream(stream);
+        } catch (IOException e) {
+            Scope.getCurrentScope().getLog(getClass()).fine("Cannot read " + physicalChangeLogLocation + " for the parsed changelog cache: " + e.getMessage(), e);
+            return parser.parseToNode(null);
+        }
+        String key = computeKey(parserType, parserSettings, content);
+        if (key == null) {
+            return parser.parseToNode(new ByteArrayInputStream(content));
+        }
+
+        ParsedNode node;
+        if (memoryLocks == null) {
+            node = loadOrParse(key, physicalChangeLogLocation, parser, content);
+        } else {
+            synchronized (memoryLocks.computeIfAbsent(key, k -> new Object())) {
+                node = loadOrParse(key, physicalChangeLogLocation, parser, content);
+            }
+        }
+        if (stat != null && node != null && isCacheable(node) && stat.lastModified < System.currentTimeMillis() - RACY_MODIFICATION_MILLIS) {
+            writeStat(statKey, stat.withContentKey(key));
+        }
+        return node;
+    }
+
+    private ParsedNode loadOrParse(String key, String physicalChangeLogLocation, NodeParser parser, byte[] content) throws ChangeLogParseException {
+        ParsedNode node = load(key, physicalChangeLogLocation);
+        if (node != null) {
+            return node;
+        }
+        node = parser.parseToNode(new ByteArrayInputStream(content));
+        if (node != null && isCacheable(node)) {
+            store(key, node);
+        }
+        return node;
+    }
+
+    /**
+     * Returns a new copy of the cached tree, since building the changelog modifies it, or null if there is no usable entry.
+     */
+    private ParsedNode load(String key, String physicalChangeLogLocation) throws ChangeLogParseException {
+        if (memory != null) {
+            byte[] entry = memory.get(key);
+            if (entry == null) {
+                return null;
+            }
+            try (DataInputStream input = new DataInputStream(new ByteArrayInputStream(entry))) {
+                ParsedNode node = readNode(input);
+                Scope.getCurrentScope().getLog(getClass()).fine("Reusing parsed changelog " + physicalChangeLogLocation);
+                return node;
+            } catch (IOException | ParsedNodeException e) {
+                throw new ChangeLogParseException(e);
+            }
+        }
+
+        Path cacheFile = directory.resolve(key + FILE_EXTENSION);
+        if (Files.isRegularFile(cacheFile)) {
+            try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(cacheFile)))) {
+                if (input.readInt() == MAGIC && input.readInt() == FORMAT_VERSION) {
+                    ParsedNode node = readNode(input);
+                    Scope.getCurrentScope().getLog(getClass()).fine("Loaded parsed changelog " + physicalChangeLogLocation + " from cache " + cacheFile);
+                    return node;
+                }
+            } catch (IOException | ParsedNodeException | RuntimeException e) {
+                Scope.getCurrentScope().getLog(getClass()).fine("Ignoring unreadable parsed changelog cache entry " + cacheFile + ": " + e.getMessage(), e);
+            }
+        }
+        return null;
+    }
+
+    private void store(String key, ParsedNode node) throws ChangeLogParseException {
+        if (memory != null) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (DataOutputStream output = new DataOutputStream(bytes)) {
+                writeNode(output, node);
+            } catch (IOException e) {
+                throw new ChangeLogParseException(e);
+            }
+            memory.put(key, bytes.toByteArray());
+        } else {
+            write(directory.resolve(key + FILE_EXTENSION), output -> writeNode(output, node));
+        }
+    }
+
+    private FileStat readStat(String statKey) {
+        if (memoryStats != null) {
+            return memoryStats.get(statKey);
+        }
+        Path statFile = directory.resolve(statKey + STAT_FILE_EXTENSION);
+        if (!Files.isRegularFile(statFile)) {
+            return null;
+        }
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(statFile)))) {
+            if (input.readInt() == MAGIC && input.readInt() == FORMAT_VERSION) {
+                return new FileStat(input.readLong(), input.readLong(), readString(input));
+            }
+        } catch (IOException | RuntimeException e) {
+            Scope.getCurrentScope().getLog(getClass()).fine("Ignoring unreadable parsed changelog cache entry " + statFile + ": " + e.getMessage(), e);
+        }
+        return null;
+    }
+
+    private void writeStat(String statKey, FileStat stat) {
+        if (memoryStats != null) {
+            memoryStats.put(statKey, stat);
+        } else {
+            write(directory.resolve(statKey + STAT_FILE_EXTENSION), output -> {
+                output.writeLong(stat.lastModified);
+                output.writeLong(stat.size);
+                writeString(output, stat.contentKey);
+            });
+        }
+    }
+
+    private String computeKey(Class<? extends ChangeLogParser> parserType, String parserSettings, byte[] content) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(LiquibaseUtil.getBuildVersionInfo().getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(parserType.getName().getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(parserSettings.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(content);
+            StringBuilder key = new StringBuilder();
+            for (byte b : digest.digest()) {
+                key.append(String.format("%02x", b));
+            }
+            return key.toString();
+        } catch (NoSuchAlgorithmException e) {
+            Scope.getCurrentScope().getLog(getClass()).fine("Cannot compute parsed changelog cache key: " + e.getMessage(), e);
+            return null;
+        }
+    }
+
+    private void write(Path cacheFile, EntryWriter writer) {
+        Path tempFile = null;
+        try {
+            Files.createDirectories(directory);
+            tempFile = Files.createTempFile(directory, "parsed", ".tmp");
+            try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+                output.writeInt(MAGIC);
+                output.writeInt(FORMAT_VERSION);
+                writer.write(output);
+            }
+            Files.move(tempFile, cacheFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | UnsupportedOperationException e) {
+            Scope.getCurrentScope().getLog(getClass()).fine("Cannot write parsed changelog cache entry " + cacheFile + ": " + e.getMessage(), e);
+            if (tempFile != null) {
+                try {
+                    Files.deleteIfExists(tempFile);
+                } catch (IOException ignored) {
+                    // nothing more to do
+                }
+            }
+        }
+    }
+
+    private static boolean isCacheable(ParsedNode node) {
+        if (node.getValue() != null && !(node.getValue() instanceof String)) {
+            return false;
+        }
+        for (ParsedNode child : node.getChildren()) {
+            if (!isCacheable(child)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void writeNode(DataOutputStream output, ParsedNode node) throws IOException {
+        writeString(output, node.getNamespace());
+        writeString(output, node.getName());
+        writeString(output, node.getParsedNamespace());
+        writeString(output, (String) node.getValue());
+        output.writeInt(node.getChildren().size());
+        for (ParsedNode child : node.getChildren()) {
+            writeNode(output, child);
+        }
+    }
+
+    private static ParsedNode readNode(DataInputStream input) throws IOException, ParsedNodeException {
+        ParsedNode node = new ParsedNode(readString(input), readString(input));
+        node.setParsedNamespace(readString(input));
+        String value = readString(input);
+        int childCount = input.readInt();
+        for (int i = 0; i < childCount; i++) {
+            node.addChild(readNode(input));
+        }
+        if (value != null) {
+            node.setValue(value);
+        }
+        return node;
+    }
+
+    private static void writeString(DataOutputStream output, String value) throws IOException {
+        if (value == null) {
+            output.writeInt(-1);
+        } else {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            output.writeInt(bytes.length);
+            output.write(bytes);
+        }
+    }
+
+    private static String readString(DataInputStream input) throws IOException {
+        int length = input.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        input.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Parses a changelog file into a {@link ParsedNode} tree on a cache miss.
+     */
+    @FunctionalInterface
+    public interface NodeParser {
+
+        /**
+         * @param content the content of the file as read by the cache, or null if the cache could not read it
+         */
+        ParsedNode parseToNode(InputStream content) throws ChangeLogParseException;
+    }
+
+    @FunctionalInterface
+    private interface EntryWriter {
+        void write(DataOutputStream output) throws IOException;
+    }
+
+    /**
+     * Last modification time and size of a local file, and the key of its content when they were recorded.
+     */
+    private static class FileStat {
+        private final long lastModified;
+        private final long size;
+        private final String contentKey;
+
+        private FileStat(long lastModified, long size, String contentKey) {
+            this.lastModified = lastModified;
+            this.size = size;
+            this.contentKey = contentKey;
+        }
+
+        /**
+         * Returns the current modification time and size of the given resource, or null if it is not a local file.
+         */
+        private static FileStat of(Resource resource) {
+            URI uri = resource.getUri();
+            if (uri == null || !"file".equals(uri.getScheme())) {
+                return null;
+            }
+            try {
+                BasicFileAttributes attributes = Files.readAttributes(Paths.get(uri), BasicFileAttributes.class);
+                return new FileStat(attributes.lastModifiedTime().toMillis(), attributes.size(), null);
+            } catch (IOException | RuntimeException e) {
+                return null;
+            }
+        }
+
+        private FileStat withContentKey(String contentKey) {
+            return new FileStat(lastModified, size, contentKey);
+        }
+
+        private boolean isSameFile(FileStat current) {
+            return lastModified == current.lastModified && size == current.size;
+        }
+    }
+}
@@ -4,15 +4,26 @@ import liquibase.changelog.ChangeLogParameters;
 import liquibase.changelog.DatabaseChangeLog;
 import liquibase.exception.ChangeLogParseException;
 import liquibase.parser.ChangeLogParser;
+import liquibase.parser.ChangeLogParserFactory;
+import liquibase.parser.ParsedChangeLogCache;
 import liquibase.parser.core.ParsedNode;
 import liquibase.resource.ResourceAccessor;
 
+import java.io.InputStream;
+
 public abstract class AbstractChangeLogParser implements ChangeLogParser {
 
     @Override
     public DatabaseChangeLog parse(String physicalChangeLogLocation, ChangeLogParameters changeLogParameters,
                                    ResourceAccessor resourceAccessor) throws ChangeLogParseException {
-        ParsedNode parsedNode = parseToNode(physicalChangeLogLocation, changeLogParameters, resourceAccessor);
+        ParsedNode parsedNode;
+        ParsedChangeLogCache cache = ChangeLogParserFactory.getInstance().getParsedChangeLogCache();
+        if (cache == null) {
+            parsedNode = parseToNode(physicalChangeLogLocation, changeLogParameters, resourceAccessor);
+        } else {
+            parsedNode = cache.parseToNode(physicalChangeLogLocation, resourceAccessor, getClass(), getParsedChangeLogCacheSettings(),
+                    content -> parseToNode(physicalChangeLogLocation, changeLogParameters, resourceAccessor, content));
+        }
         if (parsedNode == null) {
             return null;
         }
@@ -30,4 +41,21 @@ public abstract class AbstractChangeLogParser implements ChangeLogParser {
 
     protected abstract ParsedNode parseToNode(String physicalChangeLogLocation, ChangeLogParameters changeLogParameters,
                                               ResourceAccessor resourceAccessor) throws ChangeLogParseException;
+
+    /**
+     * Parses the given content of the changelog file, which the {@link ParsedChangeLogCache} has already read, or the
+     * file itself if the content is null. The default implementation ignores the content and reads the file again.
+     */
+    protected ParsedNode parseToNode(String physicalChangeLogLocation, ChangeLogParameters changeLogParameters,
+                                     ResourceAccessor resourceAccessor, InputStream content) throws ChangeLogParseException {
+        return parseToNode(physicalChangeLogLocation, changeLogParameters, resourceAccessor);
+    }
+
+    /**
+     * Returns the settings of this parser which change the tree {@link #parseToNode} builds from the same file, so that
+     * the {@link ParsedChangeLogCache} keeps trees parsed with different settings apart.
+     */
+    protected String getParsedChangeLogCacheSettings() {
+        return "";
+    }
 }
@@ -93,8 +93,19 @@ public class XMLChangeLogSAXParser extends AbstractChangeLogParser {
         resolver.setShouldWarnOnMismatchedXsdVersion(shouldWarnOnMismatchedXsdVersion);
     }
 
+    @Override
+    protected String getParsedChangeLogCacheSettings() {
+        return "validating=" + saxParserFactory.isValidating() + ",secureParsing=" + GlobalConfiguration.SECURE_PARSING.getCurrentValue();
+    }
+
     @Override
     protected ParsedNode parseToNode(String physicalChangeLogLocation, ChangeLogParameters changeLogParameters, ResourceAccessor resourceAccessor) throws ChangeLogParseException {
+        return parseToNode(physicalChangeLogLocation, changeLogParameters, resourceAccessor, null);
+    }
+
+    @Override
+    protected ParsedNode parseToNode(String physicalChangeLogLocation, ChangeLogParameters changeLogParameters, ResourceAccessor resourceAccessor,
+                                     InputStream content) throws ChangeLogParseException {
         try {
             Resource resource = resourceAccessor.get(physicalChangeLogLocation);
             SAXParser parser = saxParserFactory.newSAXParser();
@@ -129,7 +140,7 @@ public class XMLChangeLogSAXParser extends AbstractChangeLogParser {
                 }
             });
 
-            if (!resource.exists()) {
+            if (content == null && !resource.exists()) {
                 if (physicalChangeLogLocation.startsWith("WEB-INF/classes/")) {
                     // Correct physicalChangeLogLocation and try again.
                     return parseToNode(
@@ -142,7 +153,7 @@ public class XMLChangeLogSAXParser extends AbstractChangeLogParser {
 
             XMLChangeLogSAXHandler contentHandler = new XMLChangeLogSAXHandler(physicalChangeLogLocation, resourceAccessor, changeLogParameters);
             xmlReader.setContentHandler(contentHandler);
-            try (InputStream stream = resource.openInputStream()) {
+            try (InputStream stream = content == null ? resource.openInputStream() : content) {
                 xmlReader.parse(new InputSource(new BomAwareInputStream(stream)));
             }
 
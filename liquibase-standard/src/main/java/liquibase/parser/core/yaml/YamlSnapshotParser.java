@@ -11,17 +11,22 @@ import liquibase.resource.Resource;
 import liquibase.resource.ResourceAccessor;
 import liquibase.snapshot.DatabaseSnapshot;
 import liquibase.snapshot.RestoredDatabaseSnapshot;
+import liquibase.structure.DatabaseObject;
 import liquibase.util.SnakeYamlUtil;
-import org.yaml.snakeyaml.DumperOptions;
 import org.yaml.snakeyaml.LoaderOptions;
-import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.composer.Composer;
 import org.yaml.snakeyaml.constructor.SafeConstructor;
-import org.yaml.snakeyaml.representer.Representer;
+import org.yaml.snakeyaml.error.YAMLException;
+import org.yaml.snakeyaml.events.*;
+import org.yaml.snakeyaml.parser.Parser;
+import org.yaml.snakeyaml.parser.ParserImpl;
+import org.yaml.snakeyaml.reader.StreamReader;
 import org.yaml.snakeyaml.resolver.Resolver;
 
 import java.io.InputStream;
 import java.io.InputStreamReader;
-import java.util.Map;
+import java.io.Reader;
+import java.util.*;
 
 public class YamlSnapshotParser extends YamlParser implements SnapshotParser {
 
@@ -30,78 +35,207 @@ public class YamlSnapshotParser extends YamlParser implements SnapshotParser {
     @SuppressWarnings("java:S2095")
     @Override
     public DatabaseSnapshot parse(String path, ResourceAccessor resourceAccessor) throws LiquibaseParseException {
-        Yaml yaml = createYaml();
-
         try {
             Resource resource = resourceAccessor.get(path);
             if (resource == null) {
                 throw new LiquibaseParseException(path + " does not exist");
             }
 
-            Map parsedYaml;
-            try (InputStream stream = resource.openInputStream()) {
-                parsedYaml = getParsedYamlFromInputStream(yaml, stream);
+            try (InputStream stream = resource.openInputStream();
+                 InputStreamReader reader = new InputStreamReader(stream, GlobalConfiguration.OUTPUT_FILE_ENCODING.getCurrentValue())) {
+                return new SnapshotReader(reader, resourceAccessor).read();
             }
+        } catch (LiquibaseParseException e) {
+            throw e;
+        }
+        catch (Exception e) {
+            throw new LiquibaseParseException(e);
+        }
+    }
+
+    private DatabaseSnapshot createSnapshot(Map<?, ?> databaseMap) throws Exception {
+        String shortName = (String) databaseMap.get("shortName");
+
+        Database database = DatabaseFactory.getInstance().getDatabase(shortName).getClass().getConstructor().newInstance();
+        database.setConnection(new OfflineConnection("offline:" + shortName, null));
+
+        return new RestoredDatabaseSnapshot(database);
+    }
+
+    /**
+     * Reads a snapshot from the YAML events of the file. The objects are created one at a time as they are read, so only
+     * the snapshot objects are kept in memory rather than a map and a {@link ParsedNode} tree of the whole file as well.
+     */
+    private class SnapshotReader {
+
+        private final Parser parser;
+        private final Resolver resolver = new Resolver();
+        private final LoaderOptions loaderOptions;
+        private final SafeConstructor constructor;
+        private final ResourceAccessor resourceAccessor;
+
+        private SnapshotReader(Reader reader, ResourceAccessor resourceAccessor) {
+            this.loaderOptions = new LoaderOptions();
+            SnakeYamlUtil.setCodePointLimitSafely(loaderOptions, CODE_POINT_LIMIT);
+            this.parser = new ParserImpl(new StreamReader(reader), loaderOptions);
+            this.constructor = new SafeConstructor(loaderOptions);
+            this.resourceAccessor = resourceAccessor;
+        }
 
-            Map rootList = (Map) parsedYaml.get("snapshot");
-            if (rootList == null) {
-                throw new LiquibaseParseException("Could not find root snapshot node");
+        private DatabaseSnapshot read() throws Exception {
+            try {
+                nextEvent(Event.ID.StreamStart);
+                if (parser.checkEvent(Event.ID.DocumentStart)) {
+                    parser.getEvent();
+                    if (parser.checkEvent(Event.ID.MappingStart)) {
+                        parser.getEvent();
+                        while (!parser.checkEvent(Event.ID.MappingEnd)) {
+                            if ("snapshot".equals(readValue())) {
+                                return readSnapshot();
+                            }
+                            readValue();
+                        }
+                    }
+                }
+            } catch (YAMLException e) {
+                throw new LiquibaseParseException("Syntax error in " + getSupportedFileExtensions()[0] + ": " + e.getMessage(), e);
             }
+            throw new LiquibaseParseException("Could not find root snapshot node");
+        }
 
-            String shortName = (String) ((Map<?, ?>) rootList.get("database")).get("shortName");
+        private DatabaseSnapshot readSnapshot() throws Exception {
+            DatabaseSnapshot snapshot = null;
+            Map<String, Object> rootMap = new LinkedHashMap<>();
+            List<DatabaseObject> objects = new ArrayList<>();
+            List<DatabaseObject> referencedObjects = new ArrayList<>();
+
+            nextEvent(Event.ID.MappingStart);
+            while (!parser.checkEvent(Event.ID.MappingEnd)) {
+                Object key = readValue();
+                if (snapshot != null && "objects".equals(key)) {
+                    readObjects(snapshot, objects);
+                } else if (snapshot != null && "referencedObjects".equals(key)) {
+                    readObjects(snapshot, referencedObjects);
+                } else {
+                    Object value = readValue();
+                    rootMap.put(String.valueOf(key), value);
+                    if ("database".equals(key) && value instanceof Map) {
+                        snapshot = createSnapshot((Map<?, ?>) value);
+                    }
+                }
+            }
 
-            Database database = DatabaseFactory.getInstance().getDatabase(shortName).getClass().getConstructor().newInstance();
-            database.setConnection(new OfflineConnection("offline:" + shortName, null));
+            if (snapshot == null) {
+                snapshot = createSnapshot((Map<?, ?>) rootMap.get("database"));
+            }
 
-            DatabaseSnapshot snapshot = new RestoredDatabaseSnapshot(database);
             ParsedNode snapshotNode = new ParsedNode(null, "snapshot");
-            snapshotNode.setValue(rootList);
+            snapshotNode.setValue(rootMap);
 
-            Map metadata = (Map) rootList.get("metadata");
+            Map metadata = (Map) rootMap.get("metadata");
             if (metadata != null) {
                 snapshot.getMetadata().putAll(metadata);
             }
 
-            snapshot.load(snapshotNode, resourceAccessor);
+            snapshot.load(snapshotNode, objects, referencedObjects, resourceAccessor);
 
             return snapshot;
-        } catch (LiquibaseParseException e) {
-            throw e;
         }
-        catch (Exception e) {
-            throw new LiquibaseParseException(e);
+
+        /**
+         * Reads the map of object type to objects, creating the objects of each list entry as soon as it is read.
+         */
+        private void readObjects(DatabaseSnapshot snapshot, List<DatabaseObject> objects) throws Exception {
+            if (!parser.checkEvent(Event.ID.MappingStart)) {
+                readValue();
+                return;
+            }
+            parser.getEvent();
+            while (!parser.checkEvent(Event.ID.MappingEnd)) {
+                String typeName = String.valueOf(readValue());
+                if (parser.checkEvent(Event.ID.SequenceStart)) {
+                    parser.getEvent();
+                    while (!parser.checkEvent(Event.ID.SequenceEnd)) {
+                        ParsedNode typeNode = new ParsedNode(null, typeName).setValue(Collections.singletonList(readValue()));
+                        objects.addAll(snapshot.createObjects(typeNode, resourceAccessor));
+                    }
+                    parser.getEvent();
+                } else {
+                    objects.addAll(snapshot.createObjects(new ParsedNode(null, typeName).setValue(readValue()), resourceAccessor));
+                }
+            }
+            parser.getEvent();
         }
-    }
 
-    private Yaml createYaml() {
-        LoaderOptions loaderOptions = new LoaderOptions();
-        SnakeYamlUtil.setCodePointLimitSafely(loaderOptions, CODE_POINT_LIMIT);
-        Representer representer = new Representer(new DumperOptions());
-        DumperOptions dumperOptions = initDumperOptions(representer);
-        return new Yaml(new SafeConstructor(loaderOptions), representer, dumperOptions, loaderOptions, new Resolver());
-    }
+        /**
+         * Constructs the next node of the file, with all its children, as {@link org.yaml.snakeyaml.Yaml#load} would.
+         */
+        private Object readValue() {
+            constructor.setComposer(new Composer(new SingleNodeParser(parser), resolver, loaderOptions));
+            return constructor.getSingleData(Object.class);
+        }
 
-    private static DumperOptions initDumperOptions(Representer representer) {
-        DumperOptions dumperOptions = new DumperOptions();
-        dumperOptions.setDefaultFlowStyle(representer.getDefaultFlowStyle());
-        dumperOptions.setDefaultScalarStyle(representer.getDefaultScalarStyle());
-        dumperOptions
-                .setAllowReadOnlyProperties(representer.getPropertyUtils().isAllowReadOnlyProperties());
-        dumperOptions.setTimeZone(representer.getTimeZone());
-        return dumperOptions;
+        private void nextEvent(Event.ID id) {
+            if (!parser.checkEvent(id)) {
+                throw new YAMLException("expected " + id + " but found " + parser.peekEvent());
+            }
+            parser.getEvent();
+        }
     }
 
-    private Map getParsedYamlFromInputStream(Yaml yaml, InputStream stream) throws LiquibaseParseException {
-        Map parsedYaml;
-        try (
-            InputStreamReader inputStreamReader = new InputStreamReader(
-                stream, GlobalConfiguration.OUTPUT_FILE_ENCODING.getCurrentValue()
-            )
-        ) {
-            parsedYaml = (Map) yaml.load(inputStreamReader);
-        } catch (Exception e) {
-            throw new LiquibaseParseException("Syntax error in " + getSupportedFileExtensions()[0] + ": " + e.getMessage(), e);
+    /**
+     * Presents the next node of a parser, which may be a whole mapping or sequence, as a document of its own.
+     */
+    private static class SingleNodeParser implements Parser {
+
+        private final Parser parser;
+        private final Deque<Event> pending = new ArrayDeque<>();
+        private int depth;
+        private boolean nodeRead;
+
+        private SingleNodeParser(Parser parser) {
+            this.parser = parser;
+            this.pending.add(new StreamStartEvent(null, null));
+            this.pending.add(new DocumentStartEvent(null, null, false, null, null));
+        }
+
+        @Override
+        public boolean checkEvent(Event.ID choice) {
+            Event event = peekEvent();
+            return event != null && event.is(choice);
+        }
+
+        @Override
+        public Event peekEvent() {
+            if (!pending.isEmpty()) {
+                return pending.peek();
+            }
+            if (nodeRead) {
+                return null;
+            }
+            return parser.peekEvent();
+        }
+
+        @Override
+        public Event getEvent() {
+            if (!pending.isEmpty()) {
+                return pending.poll();
+            }
+            if (nodeRead) {
+                return null;
+            }
+            Event event = parser.getEvent();
+            if (event instanceof CollectionStartEvent) {
+                depth++;
+            } else if (event instanceof CollectionEndEvent) {
+                depth--;
+            }
+            if (depth == 0) {
+                nodeRead = true;
+                pending.add(new DocumentEndEvent(null, null, false));
+                pending.add(new StreamEndEvent(null, null));
+            }
+            return event;
         }
-        return parsedYaml;
     }
 }
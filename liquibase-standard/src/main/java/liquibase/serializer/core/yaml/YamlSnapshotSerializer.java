@@ -18,29 +18,152 @@ import liquibase.structure.core.Table;
 import liquibase.util.ISODateFormat;
 import org.apache.commons.lang3.StringUtils;
 import org.yaml.snakeyaml.DumperOptions;
+import org.yaml.snakeyaml.emitter.Emitter;
+import org.yaml.snakeyaml.events.*;
 import org.yaml.snakeyaml.nodes.Node;
 import org.yaml.snakeyaml.nodes.Tag;
 import org.yaml.snakeyaml.representer.Represent;
+import org.yaml.snakeyaml.serializer.Serializer;
 
 import java.io.BufferedWriter;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.math.BigInteger;
 import java.util.*;
 
 public class YamlSnapshotSerializer extends YamlSerializer implements SnapshotSerializer {
 
+    private static final Set<String> STREAMED_FIELDS = new HashSet<>(Arrays.asList("objects", "referencedObjects"));
+
     private boolean alreadySerializingObject;
     private Object objectBeingSerialized;
+    private boolean streamingSnapshot;
 
+    /**
+     * Writes the snapshot one object at a time, so the output matches {@link #serialize(LiquibaseSerializable, boolean)}
+     * without building the maps and the text of the whole snapshot in memory first.
+     */
     @Override
     public void write(DatabaseSnapshot snapshot, OutputStream out) throws IOException {
-        BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(out, GlobalConfiguration.OUTPUT_FILE_ENCODING.getCurrentValue()));
-        writer.write(serialize(snapshot, true));
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, GlobalConfiguration.OUTPUT_FILE_ENCODING.getCurrentValue()));
+        if (isJson()) {
+            writer = new ClassTypeMarkRemovingWriter(writer);
+        }
+        DumperOptions dumperOptions = createDumperOptions();
+        Emitter emitter = new Emitter(writer, dumperOptions);
+        Serializer nodeSerializer = new Serializer(event -> {
+            if (!(event instanceof StreamStartEvent || event instanceof StreamEndEvent
+                    || event instanceof DocumentStartEvent || event instanceof DocumentEndEvent)) {
+                emitter.emit(event);
+            }
+        }, getLiquibaseResolver(), dumperOptions, null);
+        nodeSerializer.open();
+
+        emitter.emit(new StreamStartEvent(null, null));
+        emitter.emit(new DocumentStartEvent(null, null, dumperOptions.isExplicitStart(), dumperOptions.getVersion(), dumperOptions.getTags()));
+        emitter.emit(new MappingStartEvent(null, Tag.MAP.getValue(), true, null, null, dumperOptions.getDefaultFlowStyle()));
+        nodeSerializer.serialize(yaml.represent(snapshot.getSerializedObjectName()));
+        emitter.emit(new MappingStartEvent(null, Tag.MAP.getValue(), true, null, null, dumperOptions.getDefaultFlowStyle()));
+
+        Map<?, ?> fields;
+        streamingSnapshot = true;
+        try {
+            fields = (Map<?, ?>) ((Map<?, ?>) toMap(snapshot)).get(snapshot.getSerializedObjectName());
+        } finally {
+            streamingSnapshot = false;
+        }
+        SortedSet<String> fieldNames = new TreeSet<>(getComparator(snapshot));
+        for (Object field : fields.keySet()) {
+            fieldNames.add((String) field);
+        }
+        fieldNames.addAll(STREAMED_FIELDS);
+        for (String field : fieldNames) {
+            if (STREAMED_FIELDS.contains(field)) {
+                writeObjects(field, (DatabaseObjectCollection) snapshot.getSerializableFieldValue(field), nodeSerializer, emitter, dumperOptions);
+            } else {
+                nodeSerializer.serialize(yaml.represent(field));
+                nodeSerializer.serialize(yaml.represent(fields.get(field)));
+            }
+        }
+
+        emitter.emit(new MappingEndEvent(null, null));
+        emitter.emit(new MappingEndEvent(null, null));
+        emitter.emit(new DocumentEndEvent(null, null, dumperOptions.isExplicitEnd()));
+        emitter.emit(new StreamEndEvent(null, null));
         writer.flush();
     }
 
+    /**
+     * Writes the objects of the collection by type, as {@link #toMap(LiquibaseSerializable)} and {@link YamlSerializer}
+     * lay them out, representing each object only when it is written.
+     */
+    private void writeObjects(String field, DatabaseObjectCollection collection, Serializer nodeSerializer, Emitter emitter, DumperOptions dumperOptions) throws IOException {
+        Map<Class<? extends DatabaseObject>, Set<? extends DatabaseObject>> objectsByType = collection.toMap();
+        if (objectsByType.isEmpty()) {
+            return;
+        }
+        SortedMap<String, Set<? extends DatabaseObject>> sortedObjectsByType = new TreeMap<>();
+        for (Map.Entry<Class<? extends DatabaseObject>, Set<? extends DatabaseObject>> entry : objectsByType.entrySet()) {
+            sortedObjectsByType.put(entry.getKey().getName(), entry.getValue());
+        }
+
+        nodeSerializer.serialize(yaml.represent(field));
+        emitter.emit(new MappingStartEvent(null, Tag.MAP.getValue(), true, null, null, dumperOptions.getDefaultFlowStyle()));
+        for (Map.Entry<String, Set<? extends DatabaseObject>> entry : sortedObjectsByType.entrySet()) {
+            List<DatabaseObject> objects = new ArrayList<>(entry.getValue());
+            if (objects.isEmpty()) {
+                nodeSerializer.serialize(yaml.represent(entry.getKey()));
+                nodeSerializer.serialize(yaml.represent(objects));
+                continue;
+            }
+            objects.sort(new DatabaseObjectCollectionComparator());
+
+            //
+            // Objects whose references had no snapshot ID are moved to the referencedObjects and not
+            // converted. As in YamlSerializer, the type is only written if at least one object was converted.
+            //
+            List<Object> unconverted = new ArrayList<>();
+            boolean typeWritten = false;
+            for (DatabaseObject object : objects) {
+                noSnapshotIdFound = false;
+                Object objectMap = toMap(object);
+                if (noSnapshotIdFound) {
+                    if (typeWritten) {
+                        nodeSerializer.serialize(yaml.represent(object));
+                    } else {
+                        unconverted.add(object);
+                    }
+                    continue;
+                }
+                if (!typeWritten) {
+                    nodeSerializer.serialize(yaml.represent(entry.getKey()));
+                    emitter.emit(new SequenceStartEvent(null, Tag.SEQ.getValue(), true, null, null, dumperOptions.getDefaultFlowStyle()));
+                    for (Object unconvertedObject : unconverted) {
+                        nodeSerializer.serialize(yaml.represent(unconvertedObject));
+                    }
+                    typeWritten = true;
+                }
+                nodeSerializer.serialize(yaml.represent(objectMap));
+            }
+            if (typeWritten) {
+                emitter.emit(new SequenceEndEvent(null, null));
+            }
+        }
+        emitter.emit(new MappingEndEvent(null, null));
+    }
+
+    @Override
+    protected Set<String> getSerializableObjectFields(LiquibaseSerializable object) {
+        if (streamingSnapshot && object instanceof DatabaseSnapshot) {
+            Set<String> fields = new HashSet<>(super.getSerializableObjectFields(object));
+            fields.removeAll(STREAMED_FIELDS);
+            return fields;
+        }
+        return super.getSerializableObjectFields(object);
+    }
+
     @Override
     protected Object toMap(final LiquibaseSerializable object) {
         if (object instanceof DatabaseObject) {
@@ -123,6 +246,46 @@ public class YamlSnapshotSerializer extends YamlSerializer implements SnapshotSe
         return PRIORITY_DEFAULT;
     }
 
+    /**
+     * Applies {@link #removeClassTypeMarksFromSerializedJson(String)} to each line written, as the marks never span lines.
+     */
+    private static class ClassTypeMarkRemovingWriter extends Writer {
+
+        private final Writer out;
+        private final StringBuilder line = new StringBuilder();
+
+        private ClassTypeMarkRemovingWriter(Writer out) {
+            this.out = out;
+        }
+
+        @Override
+        public void write(char[] cbuf, int off, int len) throws IOException {
+            for (int i = off; i < off + len; i++) {
+                line.append(cbuf[i]);
+                if (cbuf[i] == '\n') {
+                    writeLine();
+                }
+            }
+        }
+
+        private void writeLine() throws IOException {
+            out.write(removeClassTypeMarksFromSerializedJson(line.toString()));
+            line.setLength(0);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            writeLine();
+            out.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+            out.close();
+        }
+    }
+
     public static class SnapshotLiquibaseRepresenter extends LiquibaseRepresenter {
 
         public SnapshotLiquibaseRepresenter(DumperOptions options) {
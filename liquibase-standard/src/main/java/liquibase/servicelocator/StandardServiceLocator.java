@@ -5,11 +5,23 @@ import liquibase.exception.ServiceNotFoundException;
 import liquibase.logging.Logger;
 import liquibase.util.SystemUtil;
 
+import java.lang.reflect.InvocationTargetException;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 
+/**
+ * Finds services with {@link ServiceLoader}, in the classloader of the current scope.
+ * <p>
+ * The names of the provider classes found for each service type are cached per classloader, so the
+ * META-INF/services files are only read once per classloader, and a new classloader is searched again.
+ * New instances are still created on every call. The cache is keyed by the classloader, held weakly, and by the
+ * name of the service type, and holds only class names, so it does not keep classloaders from being garbage collected.
+ */
 public class StandardServiceLocator implements ServiceLocator {
 
+    private final Map<ClassLoader, Map<String, List<String>>> providerClassNames = Collections.synchronizedMap(new WeakHashMap<>());
+
     @Override
     public int getPriority() {
         return PRIORITY_DEFAULT;
@@ -20,12 +32,17 @@ public class StandardServiceLocator implements ServiceLocator {
         List<T> allInstances = new ArrayList<>();
 
         final Logger log = Scope.getCurrentScope().getLog(getClass());
-        final Iterator<T> services = ServiceLoader.load(interfaceType, Scope.getCurrentScope().getClassLoader(true)).iterator();
-        while (services.hasNext()) {
+        ClassLoader classLoader = Scope.getCurrentScope().getClassLoader(true);
+        if (classLoader == null) {
+            classLoader = ClassLoader.getSystemClassLoader();
+        }
+        for (String className : getProviderClassNames(interfaceType, classLoader)) {
             try {
-                final T service = services.next();
+                final T service = Class.forName(className, true, classLoader).asSubclass(interfaceType).getConstructor().newInstance();
                 log.fine("Loaded "+interfaceType.getName()+" instance "+service.getClass().getName());
                 allInstances.add(service);
+            } catch (InvocationTargetException e) {
+                new ServiceLoadExceptionHandler().handleException(e.getCause());
             } catch (Throwable e) {
                 new ServiceLoadExceptionHandler().handleException(e);
             }
@@ -35,6 +52,47 @@ public class StandardServiceLocator implements ServiceLocator {
 
     }
 
+    /**
+     * Returns the names of the provider classes of the given service type in the given classloader,
+     * reading the META-INF/services files the first time the service type is looked up in the classloader.
+     */
+    private List<String> getProviderClassNames(Class<?> interfaceType, ClassLoader classLoader) {
+        Map<String, List<String>> classNames = providerClassNames.computeIfAbsent(classLoader, loader -> new ConcurrentHashMap<>());
+        List<String> found = classNames.get(interfaceType.getName());
+        if (found != null) {
+            return found;
+        }
+
+        found = new ArrayList<>();
+        final Iterator<? extends ServiceLoader.Provider<?>> providers = ServiceLoader.load(interfaceType, classLoader).stream().iterator();
+        String previousFailure = null;
+        while (true) {
+            try {
+                // hasNext() moves past a provider which fails to load, like the ServiceLoader iterator
+                if (!providers.hasNext()) {
+                    break;
+                }
+                previousFailure = null;
+            } catch (Throwable e) {
+                if (String.valueOf(e).equals(previousFailure)) {
+                    // the iterator is not moving past the failure, so stop looking
+                    break;
+                }
+                previousFailure = String.valueOf(e);
+                new ServiceLoadExceptionHandler().handleException(e);
+                continue;
+            }
+            try {
+                found.add(providers.next().type().getName());
+            } catch (Throwable e) {
+                new ServiceLoadExceptionHandler().handleException(e);
+            }
+        }
+        found = Collections.unmodifiableList(found);
+        classNames.put(interfaceType.getName(), found);
+        return found;
+    }
+
     /**
      * Exception handler for when a service cannot be loaded. Created as an inner class so logs can be suppressed if desired.
      */
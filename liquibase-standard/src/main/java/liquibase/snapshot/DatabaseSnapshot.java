@@ -105,6 +105,8 @@ public abstract class DatabaseSnapshot implements LiquibaseSerializable {
                 }
             }
 
+            prefetch(examples);
+
             if (getDatabase().supports(Catalog.class)) {
                 for (Catalog catalog : catalogs) {
                     this.snapshotControl.addType(catalog.getClass(), database);
@@ -275,10 +277,30 @@ public abstract class DatabaseSnapshot implements LiquibaseSerializable {
     }
 
     public ResultSetCache getResultSetCache(String key) {
-        if (!resultSetCaches.containsKey(key)) {
-            resultSetCaches.put(key, new ResultSetCache());
+        return resultSetCaches.computeIfAbsent(key, k -> new ResultSetCache());
+    }
+
+    /**
+     * Returns true if {@link GlobalConfiguration#SNAPSHOT_PREFETCH} is enabled and this snapshot was created for the whole given schema,
+     * so the objects of the schema are read with one query per type instead of one by one.
+     */
+    public boolean isPrefetching(CatalogAndSchema schema) {
+        if ((schema == null) || !GlobalConfiguration.SNAPSHOT_PREFETCH.getCurrentValue()) {
+            return false;
         }
-        return resultSetCaches.get(key);
+        for (DatabaseObject example : originalExamples) {
+            if ((example instanceof Schema) && ((Schema) example).toCatalogAndSchema().equals(schema, database)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Called once before the objects described by the given examples are included, so implementations can read
+     * the metadata of their schemas ahead of time. Does nothing by default.
+     */
+    protected void prefetch(DatabaseObject[] examples) throws DatabaseException {
     }
 
     /**
@@ -603,6 +625,15 @@ public abstract class DatabaseSnapshot implements LiquibaseSerializable {
 
     @Override
     public void load(ParsedNode parsedNode, ResourceAccessor resourceAccessor) throws ParsedNodeException {
+        load(parsedNode, Collections.emptyList(), Collections.emptyList(), resourceAccessor);
+    }
+
+    /**
+     * Loads the snapshot from the given node together with objects that were already created from their nodes by
+     * {@link #createObjects(ParsedNode, ResourceAccessor)}. Lets a parser create the objects while it reads the file
+     * instead of keeping a node tree of all of them until the end.
+     */
+    public void load(ParsedNode parsedNode, Collection<DatabaseObject> loadedObjects, Collection<DatabaseObject> loadedReferencedObjects, ResourceAccessor resourceAccessor) throws ParsedNodeException {
         try {
             Map<String, DatabaseObject> referencedObjects = new HashMap<>();
             Map<String, DatabaseObject> objects = new HashMap<>();
@@ -616,7 +647,9 @@ public abstract class DatabaseSnapshot implements LiquibaseSerializable {
                 ((OfflineConnection) connection).setConnectionUserName(databaseNode.getChildValue(null, "user", String.class));
             }
 
+            addObjects(referencedObjects, allObjects, loadedReferencedObjects);
             loadObjects(referencedObjects, allObjects, parsedNode.getChild(null, "referencedObjects"), resourceAccessor);
+            addObjects(objects, allObjects, loadedObjects);
             loadObjects(objects, allObjects, parsedNode.getChild(null, "objects"), resourceAccessor);
 
             for (DatabaseObject object : allObjects.values()) {
@@ -677,14 +710,30 @@ public abstract class DatabaseSnapshot implements LiquibaseSerializable {
             return;
         }
         for (ParsedNode typeNode : node.getChildren()) {
-            Class<? extends DatabaseObject> objectType = (Class<? extends DatabaseObject>) Class.forName(typeNode.getName());
-            for (ParsedNode objectNode : typeNode.getChildren()) {
-                DatabaseObject databaseObject = objectType.getConstructor().newInstance();
-                databaseObject.load(objectNode, resourceAccessor);
-                String key = objectType.getName() + "#" + databaseObject.getSnapshotId();
-                objectMap.put(key, databaseObject);
-                allObjects.put(key, databaseObject);
-            }
+            addObjects(objectMap, allObjects, createObjects(typeNode, resourceAccessor));
+        }
+    }
+
+    /**
+     * Creates the objects described by the children of the given node, which is named after their type. The objects are
+     * not added to this snapshot.
+     */
+    public List<DatabaseObject> createObjects(ParsedNode typeNode, ResourceAccessor resourceAccessor) throws ReflectiveOperationException, ParsedNodeException {
+        Class<? extends DatabaseObject> objectType = (Class<? extends DatabaseObject>) Class.forName(typeNode.getName());
+        List<DatabaseObject> databaseObjects = new ArrayList<>();
+        for (ParsedNode objectNode : typeNode.getChildren()) {
+            DatabaseObject databaseObject = objectType.getConstructor().newInstance();
+            databaseObject.load(objectNode, resourceAccessor);
+            databaseObjects.add(databaseObject);
+        }
+        return databaseObjects;
+    }
+
+    private void addObjects(Map<String, DatabaseObject> objectMap, Map<String, DatabaseObject> allObjects, Collection<DatabaseObject> databaseObjects) {
+        for (DatabaseObject databaseObject : databaseObjects) {
+            String key = databaseObject.getClass().getName() + "#" + databaseObject.getSnapshotId();
+            objectMap.put(key, databaseObject);
+            allObjects.put(key, databaseObject);
         }
     }
 
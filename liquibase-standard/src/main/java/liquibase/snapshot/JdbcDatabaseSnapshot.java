@@ -1,10 +1,12 @@
 package liquibase.snapshot;
 
 import liquibase.CatalogAndSchema;
+import liquibase.GlobalConfiguration;
 import liquibase.Scope;
 import liquibase.database.AbstractJdbcDatabase;
 import liquibase.database.Database;
 import liquibase.database.DatabaseConnection;
+import liquibase.database.DatabaseFactory;
 import liquibase.database.LiquibaseTableNamesFactory;
 import liquibase.database.core.*;
 import liquibase.database.jvm.JdbcConnection;
@@ -12,15 +14,16 @@ import liquibase.exception.DatabaseException;
 import liquibase.executor.jvm.ColumnMapRowMapper;
 import liquibase.executor.jvm.RowMapperNotNullConstraintsResultSetExtractor;
 import liquibase.structure.DatabaseObject;
-import liquibase.structure.core.Catalog;
-import liquibase.structure.core.Schema;
-import liquibase.structure.core.Table;
-import liquibase.structure.core.View;
+import liquibase.structure.core.*;
+import liquibase.util.ConcurrencyUtil;
 import liquibase.util.JdbcUtil;
 import liquibase.util.StringUtil;
 
 import java.sql.*;
 import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Future;
 
 public class JdbcDatabaseSnapshot extends DatabaseSnapshot {
 
@@ -29,9 +32,9 @@ public class JdbcDatabaseSnapshot extends DatabaseSnapshot {
 
     private CachingDatabaseMetaData cachingDatabaseMetaData;
 
-    private Map<String, CachedRow> cachedExpressionMap = null;
+    private volatile Map<String, CachedRow> cachedExpressionMap = null;
 
-    private Set<String> userDefinedTypes;
+    private volatile Set<String> userDefinedTypes;
 
     public JdbcDatabaseSnapshot(DatabaseObject[] examples, Database database, SnapshotControl snapshotControl) throws DatabaseException, InvalidExampleException {
         super(examples, database, snapshotControl);
@@ -53,6 +56,130 @@ public class JdbcDatabaseSnapshot extends DatabaseSnapshot {
         return cachingDatabaseMetaData;
     }
 
+    /**
+     * Reads the tables, views, columns, primary keys, unique constraints, foreign keys and indexes of the given schemas into the
+     * result set caches, with one query per object type and schema. The queries run in parallel on {@link GlobalConfiguration#SNAPSHOT_PARALLELISM}
+     * additional connections, or one after the other on the main connection with {@link GlobalConfiguration#SNAPSHOT_PREFETCH}.
+     * The snapshot is then built on the main connection from the cached rows, so the objects found and their order do not change.
+     * No additional connections are opened if auto-commit is off, because they cannot see uncommitted changes of the main connection.
+     * A failed read is logged and done again when needed.
+     */
+    @Override
+    protected void prefetch(DatabaseObject[] examples) throws DatabaseException {
+        int parallelism = GlobalConfiguration.SNAPSHOT_PARALLELISM.getCurrentValue();
+        boolean prefetchAll = GlobalConfiguration.SNAPSHOT_PREFETCH.getCurrentValue();
+        Database database = getDatabase();
+        if (((parallelism <= 1) && !prefetchAll) || !(database instanceof AbstractJdbcDatabase) || !(database.getConnection() instanceof JdbcConnection)) {
+            return;
+        }
+
+        List<Scope.ScopedRunnerWithReturn<Void>> tasks = new ArrayList<>();
+        BlockingQueue<CachingDatabaseMetaData> prefetchMetaData = new ArrayBlockingQueue<>(Math.max(parallelism, 1));
+        for (DatabaseObject example : examples) {
+            if (!(example instanceof Schema)) {
+                continue;
+            }
+            CatalogAndSchema catalogAndSchema = ((Schema) example).toCatalogAndSchema().customize(database);
+            String catalogName = ((AbstractJdbcDatabase) database).getJdbcCatalogName(catalogAndSchema);
+            String schemaName = ((AbstractJdbcDatabase) database).getJdbcSchemaName(catalogAndSchema);
+            addPrefetchTask(tasks, prefetchMetaData, Table.class, metaData -> metaData.getTables(catalogName, schemaName, null));
+            addPrefetchTask(tasks, prefetchMetaData, View.class, metaData -> metaData.getViews(catalogName, schemaName, null));
+            addPrefetchTask(tasks, prefetchMetaData, Column.class, metaData -> metaData.getColumns(catalogName, schemaName, null, null));
+            addPrefetchTask(tasks, prefetchMetaData, PrimaryKey.class, metaData -> metaData.getPrimaryKeys(catalogName, schemaName, null));
+            addPrefetchTask(tasks, prefetchMetaData, UniqueConstraint.class, metaData -> metaData.getUniqueConstraints(catalogAndSchema.getCatalogName(), catalogAndSchema.getSchemaName(), null));
+            addPrefetchTask(tasks, prefetchMetaData, ForeignKey.class, metaData -> metaData.getForeignKeys(catalogName, schemaName, null, null));
+            addPrefetchTask(tasks, prefetchMetaData, Index.class, metaData -> metaData.getIndexInfo(catalogName, schemaName, null, null));
+        }
+        if (tasks.isEmpty()) {
+            return;
+        }
+
+        //additional connections cannot see changes the main connection has not committed yet
+        boolean openConnections = (parallelism > 1) && database.getConnection().getAutoCommit();
+        if ((parallelism > 1) && !openConnections) {
+            Scope.getCurrentScope().getLog(getClass()).fine("Not reading snapshot metadata on additional connections, because auto-commit is off");
+        }
+
+        List<Database> prefetchDatabases = new ArrayList<>();
+        try {
+            for (int i = 0; i < Math.min(parallelism, tasks.size()) && openConnections; i++) {
+                Database prefetchDatabase = openPrefetchDatabase(database);
+                if (prefetchDatabase == null) {
+                    break;
+                }
+                prefetchDatabases.add(prefetchDatabase);
+                prefetchMetaData.add(new CachingDatabaseMetaData(prefetchDatabase,
+                        ((JdbcConnection) prefetchDatabase.getConnection()).getUnderlyingConnection().getMetaData(), true));
+            }
+            if (prefetchDatabases.isEmpty()) {
+                if (prefetchAll) {
+                    prefetchMetaData.add(new CachingDatabaseMetaData(database,
+                            ((JdbcConnection) database.getConnection()).getUnderlyingConnection().getMetaData(), true));
+                    for (Scope.ScopedRunnerWithReturn<Void> task : tasks) {
+                        task.run();
+                    }
+                }
+                return;
+            }
+
+            Scope.getCurrentScope().getLog(getClass()).fine("Reading snapshot metadata on " + prefetchDatabases.size() + " additional connections");
+            for (Future<Void> result : ConcurrencyUtil.invokeAll(tasks, prefetchDatabases.size(), "liquibase-snapshot")) {
+                ConcurrencyUtil.getResult(result);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DatabaseException(e);
+        } catch (Exception e) {
+            Scope.getCurrentScope().getLog(getClass()).fine("Cannot read snapshot metadata ahead: " + e.getMessage(), e);
+        } finally {
+            for (Database prefetchDatabase : prefetchDatabases) {
+                try {
+                    prefetchDatabase.close();
+                } catch (DatabaseException e) {
+                    Scope.getCurrentScope().getLog(getClass()).fine("Cannot close snapshot connection: " + e.getMessage(), e);
+                }
+            }
+        }
+    }
+
+    private void addPrefetchTask(List<Scope.ScopedRunnerWithReturn<Void>> tasks, BlockingQueue<CachingDatabaseMetaData> prefetchMetaData,
+                                 Class<? extends DatabaseObject> type, PrefetchQuery query) {
+        if (!getSnapshotControl().shouldInclude(type)) {
+            return;
+        }
+        tasks.add(() -> {
+            CachingDatabaseMetaData metaData = prefetchMetaData.take();
+            try {
+                query.run(metaData);
+            } catch (Exception e) {
+                Scope.getCurrentScope().getLog(getClass()).fine("Cannot read " + type.getSimpleName() + " metadata ahead: " + e.getMessage(), e);
+            } finally {
+                prefetchMetaData.add(metaData);
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Opens another connection to the database with the connection details of the given database,
+     * or returns null if its connection cannot be opened again.
+     */
+    private static Database openPrefetchDatabase(Database database) throws DatabaseException {
+        DatabaseConnection connection = ((JdbcConnection) database.getConnection()).openNewConnection();
+        if (!(connection instanceof JdbcConnection)) {
+            return null;
+        }
+        Database prefetchDatabase = DatabaseFactory.getInstance().findCorrectDatabaseImplementation(connection);
+        prefetchDatabase.setDefaultCatalogName(database.getDefaultCatalogName());
+        prefetchDatabase.setDefaultSchemaName(database.getDefaultSchemaName());
+        prefetchDatabase.setObjectQuotingStrategy(database.getObjectQuotingStrategy());
+        return prefetchDatabase;
+    }
+
+    private interface PrefetchQuery {
+        void run(CachingDatabaseMetaData metaData) throws Exception;
+    }
+
     public static boolean supportsPartitionKeyCatalog(Database database) throws DatabaseException {
         // Cockroach reports PG 10+ but ships its own catalog subset without pg_partitioned_table.
         return database instanceof PostgresDatabase
@@ -64,10 +191,28 @@ public class JdbcDatabaseSnapshot extends DatabaseSnapshot {
         private static final String SQL_FILTER_MATCH_ALL = "%";
         private final DatabaseMetaData databaseMetaData;
         private final Database database;
+        private final boolean prefetching;
 
         public CachingDatabaseMetaData(Database database, DatabaseMetaData metaData) {
+            this(database, metaData, false);
+        }
+
+        private CachingDatabaseMetaData(Database database, DatabaseMetaData metaData, boolean prefetching) {
             this.databaseMetaData = metaData;
             this.database = database;
+            this.prefetching = prefetching;
+        }
+
+        /**
+         * Returns the rows of the given extractor from the given cache. When this metadata is used to prefetch,
+         * the rows of the whole schema are only read into the cache and an empty list is returned.
+         */
+        private List<CachedRow> getCachedRows(ResultSetCache resultSetCache, ResultSetCache.ResultSetExtractor extractor) throws DatabaseException {
+            if (prefetching) {
+                resultSetCache.prefetch(extractor);
+                return Collections.emptyList();
+            }
+            return resultSetCache.get(extractor);
         }
 
         public java.sql.DatabaseMetaData getDatabaseMetaData() {
@@ -80,12 +225,12 @@ public class JdbcDatabaseSnapshot extends DatabaseSnapshot {
             ResultSetCache importedKeys = getResultSetCache("getImportedKeys");
             importedKeys.setBulkTracking(!(database instanceof MSSQLDatabase));
 
-            return importedKeys.get(foreignKeysResultSetCache);
+            return getCachedRows(importedKeys, foreignKeysResultSetCache);
         }
 
         public List<CachedRow> getIndexInfo(final String catalogName, final String schemaName, final String tableName, final String indexName) throws DatabaseException, SQLException {
 
-            return getResultSetCache("getIndexInfo").get(new ResultSetCache.UnionResultSetExtractor(database) {
+            return getCachedRows(getResultSetCache("getIndexInfo"), new ResultSetCache.UnionResultSetExtractor(database) {
 
                 public boolean isBulkFetchMode;
 
@@ -345,13 +490,14 @@ public class JdbcDatabaseSnapshot extends DatabaseSnapshot {
                     }
                     String expSql = "SELECT e.column_expression, e.index_owner, e.index_name, e.column_position FROM all_ind_expressions e";
                     List<CachedRow> ec = executeAndExtract(expSql, database);
-                    cachedExpressionMap = new HashMap<>();
+                    Map<String, CachedRow> expressionMap = new HashMap<>();
                     ec.forEach(row -> {
                         String key = row.getString("INDEX_OWNER") + "::" + row.getString("INDEX_NAME") + "::" +
                                 row.getInt("COLUMN_POSITION");
-                        cachedExpressionMap.put(key, row);
+                        expressionMap.put(key, row);
                     });
-                    return cachedExpressionMap;
+                    cachedExpressionMap = expressionMap;
+                    return expressionMap;
                 }
 
                 @Override
@@ -384,7 +530,19 @@ public class JdbcDatabaseSnapshot extends DatabaseSnapshot {
         public List<CachedRow> getColumns(final String catalogName, final String schemaName, final String tableName, final String columnName) throws SQLException, DatabaseException {
 
             if ((database instanceof MSSQLDatabase) && (userDefinedTypes == null)) {
-                userDefinedTypes = new HashSet<>();
+                loadUserDefinedTypes(catalogName);
+            }
+            GetColumnResultSetCache getColumnResultSetCache = new GetColumnResultSetCache(database, catalogName,
+                    schemaName, tableName, columnName);
+            return getCachedRows(getResultSetCache("getColumns"), getColumnResultSetCache);
+        }
+
+        private void loadUserDefinedTypes(String catalogName) throws SQLException {
+            synchronized (JdbcDatabaseSnapshot.this) {
+                if (userDefinedTypes != null) {
+                    return;
+                }
+                Set<String> types = new HashSet<>();
                 DatabaseConnection databaseConnection = database.getConnection();
                 if (databaseConnection instanceof JdbcConnection) {
                     Statement stmt = null;
@@ -393,16 +551,14 @@ public class JdbcDatabaseSnapshot extends DatabaseSnapshot {
                         stmt = ((JdbcConnection) databaseConnection).getUnderlyingConnection().createStatement();
                         resultSet = stmt.executeQuery("select name from " + (catalogName == null ? "" : "[" + catalogName + "].") + "sys.types where is_user_defined=1");
                         while (resultSet.next()) {
-                            userDefinedTypes.add(resultSet.getString("name").toLowerCase());
+                            types.add(resultSet.getString("name").toLowerCase());
                         }
                     } finally {
                         JdbcUtil.close(resultSet, stmt);
                     }
                 }
+                userDefinedTypes = types;
             }
-            GetColumnResultSetCache getColumnResultSetCache = new GetColumnResultSetCache(database, catalogName,
-                    schemaName, tableName, columnName);
-            return getResultSetCache("getColumns").get(getColumnResultSetCache);
         }
 
         /**
@@ -415,7 +571,7 @@ public class JdbcDatabaseSnapshot extends DatabaseSnapshot {
             }
             GetNotNullConstraintsResultSetCache getNotNullConstraintsResultSetCache = new GetNotNullConstraintsResultSetCache(database, catalogName,
                     schemaName, tableName);
-            return getResultSetCache("getNotNullConst").get(getNotNullConstraintsResultSetCache);
+            return getCachedRows(getResultSetCache("getNotNullConst"), getNotNullConstraintsResultSetCache);
         }
 
         private class GetColumnResultSetCache extends ResultSetCache.SingleResultSetExtractor {
@@ -459,7 +615,7 @@ public class JdbcDatabaseSnapshot extends DatabaseSnapshot {
             protected boolean shouldBulkSelect(String schemaKey, ResultSetCache resultSetCache) {
                 LiquibaseTableNamesFactory liquibaseTableNamesFactory = Scope.getCurrentScope().getSingleton(LiquibaseTableNamesFactory.class);
                 List<String> liquibaseTableNames = liquibaseTableNamesFactory.getLiquibaseTableNames(database);
-                return liquibaseTableNames.stream().noneMatch(tableName::equalsIgnoreCase);
+                return tableName == null || liquibaseTableNames.stream().noneMatch(tableName::equalsIgnoreCase);
             }
 
             @Override
@@ -1206,7 +1362,7 @@ public class JdbcDatabaseSnapshot extends DatabaseSnapshot {
         }
 
         public List<CachedRow> getTables(final String catalogName, final String schemaName, final String table) throws DatabaseException {
-            return getResultSetCache("getTables").get(new ResultSetCache.SingleResultSetExtractor(database) {
+            return getCachedRows(getResultSetCache("getTables"), new ResultSetCache.SingleResultSetExtractor(database) {
 
                 @Override
                 protected boolean shouldBulkSelect(String schemaKey, ResultSetCache resultSetCache) {
@@ -1420,7 +1576,7 @@ public class JdbcDatabaseSnapshot extends DatabaseSnapshot {
             } else {
                 view = viewName;
             }
-            return getResultSetCache("getViews").get(new ResultSetCache.SingleResultSetExtractor(database) {
+            return getCachedRows(getResultSetCache("getViews"), new ResultSetCache.SingleResultSetExtractor(database) {
 
                 @Override
                 protected boolean shouldBulkSelect(String schemaKey, ResultSetCache resultSetCache) {
@@ -1477,7 +1633,40 @@ public class JdbcDatabaseSnapshot extends DatabaseSnapshot {
 
                     String catalog = ((AbstractJdbcDatabase) database).getJdbcCatalogName(catalogAndSchema);
                     String schema = ((AbstractJdbcDatabase) database).getJdbcSchemaName(catalogAndSchema);
-                    return extract(databaseMetaData.getTables(catalog, escapeForLike(schema, database), SQL_FILTER_MATCH_ALL, new String[]{"VIEW"}));
+                    List<CachedRow> views = extract(databaseMetaData.getTables(catalog, escapeForLike(schema, database), SQL_FILTER_MATCH_ALL, new String[]{"VIEW"}));
+                    if (isPrefetching(catalogAndSchema)) {
+                        addViewDefinitions(catalogAndSchema, views);
+                    }
+                    return views;
+                }
+
+                /**
+                 * Reads the definitions of all views of the schema with one query and stores them in the VIEW_DEFINITION column of the matching rows,
+                 * for the databases which read them from a system view in {@link Database#getViewDefinition(CatalogAndSchema, String)}.
+                 */
+                private void addViewDefinitions(CatalogAndSchema catalogAndSchema, List<CachedRow> views) throws DatabaseException, SQLException {
+                    String sql;
+                    String owner;
+                    if (database instanceof AbstractPostgresDatabase) {
+                        sql = "select viewname as VIEW_NAME, definition as VIEW_DEFINITION from pg_views where schemaname=?";
+                        owner = catalogAndSchema.getSchemaName();
+                    } else if (database instanceof MySQLDatabase) {
+                        sql = "select table_name as VIEW_NAME, view_definition as VIEW_DEFINITION from information_schema.views where table_schema=?";
+                        owner = catalogAndSchema.getCatalogName();
+                    } else {
+                        return;
+                    }
+
+                    Map<String, String> definitions = new HashMap<>();
+                    for (CachedRow row : executeAndExtract(database, sql, owner)) {
+                        definitions.put(row.getString("VIEW_NAME"), row.getString("VIEW_DEFINITION"));
+                    }
+                    for (CachedRow view : views) {
+                        String viewName = view.getString("TABLE_NAME");
+                        if (definitions.containsKey(viewName)) {
+                            view.set("VIEW_DEFINITION", definitions.get(viewName));
+                        }
+                    }
                 }
 
                 private List<CachedRow> queryMssql(CatalogAndSchema catalogAndSchema, String viewName) throws DatabaseException, SQLException {
@@ -1541,7 +1730,7 @@ public class JdbcDatabaseSnapshot extends DatabaseSnapshot {
         }
 
         public List<CachedRow> getPrimaryKeys(final String catalogName, final String schemaName, final String table) throws DatabaseException {
-            return getResultSetCache("getPrimaryKeys").get(new ResultSetCache.SingleResultSetExtractor(database) {
+            return getCachedRows(getResultSetCache("getPrimaryKeys"), new ResultSetCache.SingleResultSetExtractor(database) {
 
                 @Override
                 public ResultSetCache.RowData rowKeyParameters(CachedRow row) {
@@ -1783,7 +1972,7 @@ public class JdbcDatabaseSnapshot extends DatabaseSnapshot {
         }
 
         public List<CachedRow> getUniqueConstraints(final String catalogName, final String schemaName, final String tableName) throws DatabaseException {
-            return getResultSetCache("getUniqueConstraints").get(new ResultSetCache.SingleResultSetExtractor(database) {
+            return getCachedRows(getResultSetCache("getUniqueConstraints"), new ResultSetCache.SingleResultSetExtractor(database) {
 
                 @Override
                 protected boolean shouldBulkSelect(String schemaKey, ResultSetCache resultSetCache) {
@@ -1829,7 +2018,7 @@ public class JdbcDatabaseSnapshot extends DatabaseSnapshot {
                     String jdbcCatalogName = catalogAndSchema.getCatalogName();
                     String jdbcSchemaName = catalogAndSchema.getSchemaName();
 
-                    Database database = getDatabase();
+                    Database database = CachingDatabaseMetaData.this.database;
                     List<String> parameters = new ArrayList<>(3);
                     String sql = null;
                     if (database instanceof Ingres9Database) {
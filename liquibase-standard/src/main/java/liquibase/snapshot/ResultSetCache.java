@@ -1,6 +1,7 @@
 package liquibase.snapshot;
 
 import liquibase.CatalogAndSchema;
+import liquibase.GlobalConfiguration;
 import liquibase.database.Database;
 import liquibase.database.core.InformixDatabase;
 import liquibase.database.jvm.JdbcConnection;
@@ -23,12 +24,13 @@ public class ResultSetCache {
     private final Map<String, Integer> timesSingleQueried = new HashMap<>();
     private final Map<String, Boolean> didBulkQuery = new HashMap<>();
     private boolean bulkTracking = true;
+    private final Set<String> prefetchedSchemas = new HashSet<>();
 
     private final Map<String, Map<String, List<CachedRow>>> cacheBySchema = new ConcurrentHashMap<>();
 
     private final Map<String, Object> info = new ConcurrentHashMap<>();
 
-    public List<CachedRow> get(ResultSetExtractor resultSetExtractor) throws DatabaseException {
+    public synchronized List<CachedRow> get(ResultSetExtractor resultSetExtractor) throws DatabaseException {
         try {
             String wantedKey = resultSetExtractor.wantedKeyParameters().createParamsKey(resultSetExtractor.database);
 
@@ -71,20 +73,7 @@ public class ResultSetCache {
                 results = resultSetExtractor.fastFetch();
             }
 
-            for (CachedRow row : results) {
-                for (String rowKey : resultSetExtractor.rowKeyParameters(row).getKeyPermutations()) {
-                    if (bulkQueried && resultSetExtractor.bulkContainsSchema(schemaKey)) {
-                        String rowSchema = CatalogAndSchema.CatalogAndSchemaCase.ORIGINAL_CASE.
-                                equals(resultSetExtractor.database.getSchemaAndCatalogCase())?resultSetExtractor.getSchemaKey(row):
-                                resultSetExtractor.getSchemaKey(row).toLowerCase();
-                        cache = cacheBySchema.computeIfAbsent(rowSchema, k -> new HashMap<>());
-                    }
-                    if (!cache.containsKey(rowKey)) {
-                        cache.put(rowKey, new ArrayList<>());
-                    }
-                    cache.get(rowKey).add(row);
-                }
-            }
+            addRows(resultSetExtractor, schemaKey, cache, results, bulkQueried);
 
             if (bulkQueried) {
                 cache = cacheBySchema.get(schemaKey);
@@ -101,6 +90,65 @@ public class ResultSetCache {
         }
     }
 
+    /**
+     * Runs the bulk query of the given extractor, which describes a whole schema, and caches its rows as {@link #get(ResultSetExtractor)}
+     * does when it runs a bulk query. The query runs without holding the lock of this cache, so several schemas can be prefetched at once
+     * on different connections. Does nothing if {@link #get(ResultSetExtractor)} would not run a bulk query for the schema,
+     * if the bulk query covers several schemas, or if the schema was already read.
+     */
+    public void prefetch(ResultSetExtractor resultSetExtractor) throws DatabaseException {
+        String schemaKey = resultSetExtractor.wantedKeyParameters().createSchemaKey(resultSetExtractor.database);
+        synchronized (this) {
+            prefetchedSchemas.add(schemaKey);
+            if (!resultSetExtractor.shouldBulkSelect(schemaKey, this) || resultSetExtractor.bulkContainsSchema(schemaKey)
+                    || Boolean.TRUE.equals(didBulkQuery.get(schemaKey))) {
+                return;
+            }
+        }
+
+        List<CachedRow> results;
+        try {
+            results = resultSetExtractor.bulkFetch();
+        } catch (SQLException e) {
+            throw new DatabaseException(e);
+        }
+
+        synchronized (this) {
+            if (Boolean.TRUE.equals(didBulkQuery.get(schemaKey))) {
+                return;
+            }
+            Map<String, List<CachedRow>> cache = cacheBySchema.computeIfAbsent(schemaKey, k -> new HashMap<>());
+            cache.clear();
+            didBulkQuery.put(schemaKey, bulkTracking);
+            addRows(resultSetExtractor, schemaKey, cache, results, true);
+        }
+    }
+
+    /**
+     * Returns true if {@link #prefetch(ResultSetExtractor)} was called for the given schema,
+     * which the snapshot does for the schemas it reads completely.
+     */
+    public synchronized boolean isPrefetched(String schemaKey) {
+        return prefetchedSchemas.contains(schemaKey);
+    }
+
+    private void addRows(ResultSetExtractor resultSetExtractor, String schemaKey, Map<String, List<CachedRow>> cache, List<CachedRow> results, boolean bulkQueried) {
+        for (CachedRow row : results) {
+            for (String rowKey : resultSetExtractor.rowKeyParameters(row).getKeyPermutations()) {
+                if (bulkQueried && resultSetExtractor.bulkContainsSchema(schemaKey)) {
+                    String rowSchema = CatalogAndSchema.CatalogAndSchemaCase.ORIGINAL_CASE.
+                            equals(resultSetExtractor.database.getSchemaAndCatalogCase())?resultSetExtractor.getSchemaKey(row):
+                            resultSetExtractor.getSchemaKey(row).toLowerCase();
+                    cache = cacheBySchema.computeIfAbsent(rowSchema, k -> new HashMap<>());
+                }
+                if (!cache.containsKey(rowKey)) {
+                    cache.put(rowKey, new ArrayList<>());
+                }
+                cache.get(rowKey).add(row);
+            }
+        }
+    }
+
     public <T> T getInfo(String key, Class<T> type) {
         return (T) info.get(key);
     }
@@ -224,7 +272,8 @@ public class ResultSetCache {
         }
 
         protected boolean shouldBulkSelect(String schemaKey, ResultSetCache resultSetCache) {
-            return resultSetCache.getTimesSingleQueried(schemaKey) >= 3;
+            return (GlobalConfiguration.SNAPSHOT_PREFETCH.getCurrentValue() && resultSetCache.isPrefetched(schemaKey))
+                    || (resultSetCache.getTimesSingleQueried(schemaKey) >= 3);
         }
 
         protected List<CachedRow> executeAndExtract(String sql, Database database) throws DatabaseException, SQLException {
@@ -9,6 +9,7 @@ import liquibase.exception.UnexpectedLiquibaseException;
 import liquibase.executor.ExecutorService;
 import liquibase.snapshot.DatabaseSnapshot;
 import liquibase.snapshot.InvalidExampleException;
+import liquibase.snapshot.ResultSetCache;
 import liquibase.snapshot.SnapshotIdService;
 import liquibase.statement.SqlStatement;
 import liquibase.statement.core.RawParameterizedSqlStatement;
@@ -17,6 +18,7 @@ import liquibase.structure.core.Schema;
 import liquibase.structure.core.Sequence;
 
 import java.math.BigInteger;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.StringJoiner;
@@ -38,8 +40,7 @@ public class SequenceSnapshotGenerator extends JdbcSnapshotGenerator {
         Schema schema = (Schema) foundObject;
         Database database = snapshot.getDatabase();
 
-        //noinspection unchecked
-        List<Map<String, ?>> sequences = Scope.getCurrentScope().getSingleton(ExecutorService.class).getExecutor("jdbc", database).queryForList(getSelectSequenceStatement(schema, database));
+        List<Map<String, ?>> sequences = querySequences(schema, snapshot);
 
         if (sequences != null) {
             for (Map<String, ?> sequence : sequences) {
@@ -56,9 +57,7 @@ public class SequenceSnapshotGenerator extends JdbcSnapshotGenerator {
         Database database = snapshot.getDatabase();
         List<Map<String, ?>> sequences;
         if (database instanceof Db2zDatabase) {
-            sequences = Scope.getCurrentScope().getSingleton(ExecutorService.class)
-                    .getExecutor("jdbc", database)
-                    .queryForList(getSelectSequenceStatement(example.getSchema(), database));
+            sequences = querySequences(example.getSchema(), snapshot);
             return getSequences(example, database, sequences);
         } else {
             if (example.getAttribute("liquibase-complete", false)) { //need to go through "snapshotting" the object even if it was previously populated in addTo. Use the "liquibase-complete" attribute to track that it doesn't need to be fully snapshotted
@@ -70,13 +69,35 @@ public class SequenceSnapshotGenerator extends JdbcSnapshotGenerator {
             if (!database.supports(Sequence.class)) {
                 return null;
             }
-            sequences = Scope.getCurrentScope().getSingleton(ExecutorService.class)
-                    .getExecutor("jdbc", database)
-                    .queryForList(getSelectSequenceStatement(example.getSchema(), database));
+            sequences = querySequences(example.getSchema(), snapshot);
             return getSequences(example, database, sequences);
         }
     }
 
+    /**
+     * Returns the sequences of the given schema. If the snapshot {@link DatabaseSnapshot#isPrefetching(CatalogAndSchema) prefetches} the schema,
+     * they are read once per schema and snapshot.
+     */
+    @SuppressWarnings("unchecked")
+    private List<Map<String, ?>> querySequences(Schema schema, DatabaseSnapshot snapshot) throws DatabaseException {
+        Database database = snapshot.getDatabase();
+        if ((schema == null) || !snapshot.isPrefetching(schema.toCatalogAndSchema())) {
+            return Scope.getCurrentScope().getSingleton(ExecutorService.class).getExecutor("jdbc", database).queryForList(getSelectSequenceStatement(schema, database));
+        }
+
+        ResultSetCache resultSetCache = snapshot.getResultSetCache("getSequences");
+        String schemaKey = schema.toCatalogAndSchema().customize(database).toString();
+        List<Map<String, ?>> sequences = resultSetCache.getInfo(schemaKey, List.class);
+        if (sequences == null) {
+            sequences = Scope.getCurrentScope().getSingleton(ExecutorService.class).getExecutor("jdbc", database).queryForList(getSelectSequenceStatement(schema, database));
+            if (sequences == null) {
+                sequences = new ArrayList<>();
+            }
+            resultSetCache.putInfo(schemaKey, sequences);
+        }
+        return sequences;
+    }
+
     private DatabaseObject getSequences(DatabaseObject example, Database database, List<Map<String, ?>> sequences) {
         for (Map<String, ?> sequenceRow : sequences) {
             String name = cleanNameFromDatabase((String) sequenceRow.get("SEQUENCE_NAME"), database);
@@ -157,7 +157,7 @@ public class UniqueConstraintSnapshotGenerator extends JdbcSnapshotGenerator {
 
         if (columnCache == null) {
             bulkQuery = false;
-            if (columnQueryCount > 3) {
+            if ((columnQueryCount > 3) || snapshot.isPrefetching(schema.toCatalogAndSchema())) {
                 bulkQuery = supportsBulkQuery(database);
             }
 
@@ -59,7 +59,12 @@ public class ViewSnapshotGenerator extends JdbcSnapshotGenerator {
                 ObjectQuotingStrategy originalQuotingStrategy = database.getObjectQuotingStrategy();
                 try {
                     database.setObjectQuotingStrategy(ObjectQuotingStrategy.QUOTE_ALL_OBJECTS);
-                    String definition = database.getViewDefinition(schemaFromJdbcInfo, view.getName());
+                    String definition;
+                    if (row.containsColumn("VIEW_DEFINITION")) {
+                        definition = AbstractJdbcDatabase.removeCreateViewAs(row.getString("VIEW_DEFINITION"));
+                    } else {
+                        definition = database.getViewDefinition(schemaFromJdbcInfo, view.getName());
+                    }
 
                     if (definition != null && definition.startsWith("FULL_DEFINITION: ")) {
                         definition = definition.replaceFirst("^FULL_DEFINITION: ", "");
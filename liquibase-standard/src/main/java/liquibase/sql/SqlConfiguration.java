@@ -15,6 +15,7 @@ public class SqlConfiguration implements AutoloadedConfigurations {
     public static final ConfigurationDefinition<Boolean> SHOW_SQL_WARNING_MESSAGES;
 
     public static final ConfigurationDefinition<Boolean> ALWAYS_SET_FETCH_SIZE;
+    public static final ConfigurationDefinition<Boolean> BATCH_STATEMENTS;
 
     static {
         ConfigurationDefinition.Builder builder = new ConfigurationDefinition.Builder("liquibase.sql");
@@ -33,5 +34,10 @@ public class SqlConfiguration implements AutoloadedConfigurations {
                 .setDefaultValue(Boolean.TRUE)
                 .setHidden(true)
                 .build();
+        BATCH_STATEMENTS = builder.define("batchStatements", Boolean.class)
+                .setDescription("If true, consecutive DDL and DML statements generated by a change are sent to the database in a single JDBC batch " +
+                        "when the driver supports batch updates. Statements which may return results, use parameters or continue on error are still run one by one.")
+                .setDefaultValue(Boolean.FALSE)
+                .build();
     }
 }
@@ -14,6 +14,8 @@ import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.lang.reflect.TypeVariable;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.atomic.AtomicReference;
 
 import static liquibase.sqlgenerator.SqlGenerator.EMPTY_SQL;
@@ -22,15 +24,19 @@ import static liquibase.sqlgenerator.SqlGenerator.EMPTY_SQL;
  * SqlGeneratorFactory is a singleton registry of SqlGenerators.
  * Use the register(SqlGenerator) method to add custom SqlGenerators,
  * and the getBestGenerator() method to retrieve the SqlGenerator that should be used for a given SqlStatement.
+ * <p>
+ * The generators found for a statement class and database are cached until a generator is registered or unregistered,
+ * and the cache can be read from several threads without locking.
  */
 public class SqlGeneratorFactory {
 
-    private static SqlGeneratorFactory instance;
+    private static volatile SqlGeneratorFactory instance;
     //caches for expensive reflection based calls that slow down Liquibase initialization: CORE-1207
-    private final Map<Class<?>, Type[]> genericInterfacesCache = new HashMap<>();
-    private final Map<Class<?>, Type> genericSuperClassCache = new HashMap<>();
-    private final List<SqlGenerator> generators = new ArrayList<>();
-    private final Map<String, SortedSet<SqlGenerator>> generatorsByKey = new HashMap<>();
+    private final Map<Class<?>, Type[]> genericInterfacesCache = new ConcurrentHashMap<>();
+    private final Map<Class<?>, Type> genericSuperClassCache = new ConcurrentHashMap<>();
+    private final List<SqlGenerator> generators = new CopyOnWriteArrayList<>();
+    //replaced instead of cleared, so generators found while a generator is registered are not cached
+    private volatile Map<GeneratorsKey, SortedSet<SqlGenerator>> generatorsByKey = new ConcurrentHashMap<>();
     public static final String GENERATED_SQL_ARRAY_SCOPE_KEY = "generatedSqlArray";
 
     private SqlGeneratorFactory() {
@@ -46,11 +52,18 @@ public class SqlGeneratorFactory {
     /**
      * Return singleton SqlGeneratorFactory
      */
-    public static synchronized SqlGeneratorFactory getInstance() {
-        if (instance == null) {
-            instance = new SqlGeneratorFactory();
+    public static SqlGeneratorFactory getInstance() {
+        SqlGeneratorFactory factory = instance;
+        if (factory == null) {
+            synchronized (SqlGeneratorFactory.class) {
+                factory = instance;
+                if (factory == null) {
+                    factory = new SqlGeneratorFactory();
+                    instance = factory;
+                }
+            }
         }
-        return instance;
+        return factory;
     }
 
     public static synchronized void reset() {
@@ -59,15 +72,13 @@ public class SqlGeneratorFactory {
 
 
     public void register(SqlGenerator generator) {
-        if (this.generators.size() == 0) {
-            //handle case in tests where we clear out the generators
-            this.generatorsByKey.clear();
-        }
         generators.add(generator);
+        this.generatorsByKey = new ConcurrentHashMap<>();
     }
 
     public void unregister(SqlGenerator generator) {
         generators.remove(generator);
+        this.generatorsByKey = new ConcurrentHashMap<>();
     }
 
     public void unregister(Class generatorClass) {
@@ -81,11 +92,63 @@ public class SqlGeneratorFactory {
     }
 
 
+    /**
+     * Returns all registered generators. Changes made through the returned collection clear the cached generators,
+     * like {@link #register(SqlGenerator)} and {@link #unregister(SqlGenerator)}.
+     */
     protected Collection<SqlGenerator> getGenerators() {
-        return generators;
+        return new AbstractCollection<SqlGenerator>() {
+            @Override
+            public Iterator<SqlGenerator> iterator() {
+                final Iterator<SqlGenerator> iterator = generators.iterator();
+                return new Iterator<SqlGenerator>() {
+                    private SqlGenerator current;
+
+                    @Override
+                    public boolean hasNext() {
+                        return iterator.hasNext();
+                    }
+
+                    @Override
+                    public SqlGenerator next() {
+                        current = iterator.next();
+                        return current;
+                    }
+
+                    @Override
+                    public void remove() {
+                        unregister(current);
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return generators.size();
+            }
+
+            @Override
+            public boolean add(SqlGenerator generator) {
+                register(generator);
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Returns the generators which support the given statement on the given database, highest priority first.
+     * The returned set can be changed by the caller.
+     */
+    public SortedSet<SqlGenerator> getGenerators(SqlStatement statement, Database database) {
+        return new TreeSet<>(getCachedGenerators(statement, database));
     }
 
-    public synchronized SortedSet<SqlGenerator> getGenerators(SqlStatement statement, Database database) {
+    /**
+     * Returns the generators which support the given statement on the given database, highest priority first,
+     * computed once per statement class, database and database major version. The returned set cannot be changed.
+     */
+    private SortedSet<SqlGenerator> getCachedGenerators(SqlStatement statement, Database database) {
+        Map<GeneratorsKey, SortedSet<SqlGenerator>> generatorsByKey = this.generatorsByKey;
         String databaseName = null;
         if (database == null) {
             databaseName = "NULL";
@@ -104,13 +167,10 @@ public class SqlGeneratorFactory {
             }
         }
 
-        String key = statement.getClass().getName()+":"+ databaseName+":"+ version;
-
-        if (generatorsByKey.containsKey(key) && !generatorsByKey.get(key).isEmpty()) {
-            SortedSet<SqlGenerator> result = new TreeSet<>(new SqlGeneratorComparator());
-            result.addAll(generatorsByKey.get(key));
-            result.retainAll(getGenerators());
-            return result;
+        GeneratorsKey key = new GeneratorsKey(statement.getClass(), databaseName, version);
+        SortedSet<SqlGenerator> cachedGenerators = generatorsByKey.get(key);
+        if (cachedGenerators != null) {
+            return cachedGenerators;
         }
 
         SortedSet<SqlGenerator> validGenerators = new TreeSet<>(new SqlGeneratorComparator());
@@ -137,25 +197,23 @@ public class SqlGeneratorFactory {
                 clazz = clazz.getSuperclass();
             }
         }
+        validGenerators = Collections.unmodifiableSortedSet(validGenerators);
         generatorsByKey.put(key, validGenerators);
         return validGenerators;
     }
 
     private Type[] getGenericInterfaces(Class<?> clazz) {
-        if(genericInterfacesCache.containsKey(clazz)) {
-            return genericInterfacesCache.get(clazz);
-        }
-        Type[] genericInterfaces = clazz.getGenericInterfaces();
-        genericInterfacesCache.put(clazz, genericInterfaces);
-        return genericInterfaces;
+        return genericInterfacesCache.computeIfAbsent(clazz, Class::getGenericInterfaces);
     }
 
     private Type getGenericSuperclass(Class<?> clazz) {
-        if(genericSuperClassCache.containsKey(clazz)) {
-            return genericSuperClassCache.get(clazz);
+        Type genericSuperclass = genericSuperClassCache.get(clazz);
+        if (genericSuperclass == null) {
+            genericSuperclass = clazz.getGenericSuperclass();
+            if (genericSuperclass != null) {
+                genericSuperClassCache.put(clazz, genericSuperclass);
+            }
         }
-        Type genericSuperclass = clazz.getGenericSuperclass();
-        genericSuperClassCache.put(clazz, genericSuperclass);
         return genericSuperclass;
     }
 
@@ -185,8 +243,8 @@ public class SqlGeneratorFactory {
     }
 
     private SqlGeneratorChain createGeneratorChain(SqlStatement statement, Database database) {
-        SortedSet<SqlGenerator> sqlGenerators = getGenerators(statement, database);
-        if ((sqlGenerators == null) || sqlGenerators.isEmpty()) {
+        SortedSet<SqlGenerator> sqlGenerators = getCachedGenerators(statement, database);
+        if (sqlGenerators.isEmpty()) {
             return null;
         }
         //noinspection unchecked
@@ -242,7 +300,7 @@ public class SqlGeneratorFactory {
      * If the statement queries the database, it cannot be used in updateSql type operations
      */
     public boolean generateStatementsVolatile(SqlStatement statement, Database database) {
-        for (SqlGenerator generator : getGenerators(statement, database)) {
+        for (SqlGenerator generator : getCachedGenerators(statement, database)) {
             if (generator.generateStatementsIsVolatile(database)) {
                 return true;
             }
@@ -251,7 +309,7 @@ public class SqlGeneratorFactory {
     }
 
     public boolean generateRollbackStatementsVolatile(SqlStatement statement, Database database) {
-        for (SqlGenerator generator : getGenerators(statement, database)) {
+        for (SqlGenerator generator : getCachedGenerators(statement, database)) {
             if (generator.generateRollbackStatementsIsVolatile(database)) {
                 return true;
             }
@@ -260,7 +318,7 @@ public class SqlGeneratorFactory {
     }
 
     public boolean supports(SqlStatement statement, Database database) {
-        return !getGenerators(statement, database).isEmpty();
+        return !getCachedGenerators(statement, database).isEmpty();
     }
 
     public ValidationErrors validate(SqlStatement statement, Database database) {
@@ -297,4 +355,7 @@ public class SqlGeneratorFactory {
         }
         return affectedObjects;
     }
+
+    private record GeneratorsKey(Class<?> statementClass, String databaseName, int databaseMajorVersion) {
+    }
 }
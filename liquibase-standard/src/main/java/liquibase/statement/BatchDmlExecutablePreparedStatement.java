@@ -64,7 +64,9 @@ public class BatchDmlExecutablePreparedStatement extends ExecutablePreparedState
         int[] updateCounts = stmt.executeBatch();
         long sumUpdateCounts = 0;
         for (int updateCount : updateCounts) {
-            sumUpdateCounts = updateCount;
+            if (updateCount > 0) {
+                sumUpdateCounts += updateCount;
+            }
         }
         LOG.info(String.format("Executing JDBC DML batch was successful. %d operations were executed, %d individual UPDATE events were confirmed by the database.",
                 updateCounts.length, sumUpdateCounts));
@@ -0,0 +1,57 @@
+package liquibase.statement;
+
+import liquibase.Scope;
+import liquibase.bulkload.BulkLoader;
+import liquibase.database.Database;
+import liquibase.database.PreparedStatementFactory;
+import liquibase.exception.DatabaseException;
+import lombok.Getter;
+
+/**
+ * Loads the rows of a data file into a table through a {@link BulkLoader} instead of INSERT statements.
+ * The rows are read from the data file while they are loaded, so they are never all held in memory.
+ */
+@Getter
+public class BulkLoadStatement extends AbstractSqlStatement implements ExecutablePreparedStatement {
+
+    private final Database database;
+    private final String catalogName;
+    private final String schemaName;
+    private final String tableName;
+    private final BulkLoader bulkLoader;
+    private final RowSource rowSource;
+
+    public BulkLoadStatement(Database database, String catalogName, String schemaName, String tableName,
+                             BulkLoader bulkLoader, RowSource rowSource) {
+        this.database = database;
+        this.catalogName = catalogName;
+        this.schemaName = schemaName;
+        this.tableName = tableName;
+        this.bulkLoader = bulkLoader;
+        this.rowSource = rowSource;
+    }
+
+    @Override
+    public void execute(PreparedStatementFactory factory) throws DatabaseException {
+        long rowCount = bulkLoader.load(this);
+        Scope.getCurrentScope().getLog(getClass()).info(String.format("Bulk loaded %d rows into %s using %s",
+                rowCount, database.escapeTableName(catalogName, schemaName, tableName), bulkLoader.getClass().getSimpleName()));
+    }
+
+    /**
+     * Reads the data file and passes each row to the handler.
+     */
+    public void forEachRow(BulkLoader.RowHandler handler) throws DatabaseException {
+        rowSource.forEachRow(handler);
+    }
+
+    @Override
+    public String toString() {
+        return "Bulk load into " + database.escapeTableName(catalogName, schemaName, tableName);
+    }
+
+    @FunctionalInterface
+    public interface RowSource {
+        void forEachRow(BulkLoader.RowHandler handler) throws DatabaseException;
+    }
+}
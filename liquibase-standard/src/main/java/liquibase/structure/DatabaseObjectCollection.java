@@ -96,20 +96,26 @@ public class DatabaseObjectCollection implements LiquibaseSerializable {
 
         String[] hashes = DatabaseObjectComparatorFactory.getInstance().hash(example, null, database);
 
-        SortedSet<Set<DatabaseObject>> objectSets = new TreeSet<>((o1, o2) -> {
-            int sizeComparison = Integer.compare(o1.size(), o2.size());
-            if (sizeComparison == 0) {
-                return o1.toString().compareTo(o2.toString());
-            }
-            return sizeComparison;
-        });
-
+        Collection<Set<DatabaseObject>> objectSets = new ArrayList<>(hashes.length);
         for (String hash : hashes) {
             Set<DatabaseObject> databaseObjects = databaseObjectsByHash.get(hash);
             if (databaseObjects != null) {
                 objectSets.add(databaseObjects);
             }
         }
+        if (objectSets.size() > 1) {
+            //smallest sets first. The string values are only needed for sets of the same size, so they are computed at most once and only then
+            Map<Set<DatabaseObject>, String> stringValues = new IdentityHashMap<>();
+            SortedSet<Set<DatabaseObject>> sortedObjectSets = new TreeSet<>((o1, o2) -> {
+                int sizeComparison = Integer.compare(o1.size(), o2.size());
+                if (sizeComparison == 0) {
+                    return stringValues.computeIfAbsent(o1, Object::toString).compareTo(stringValues.computeIfAbsent(o2, Object::toString));
+                }
+                return sizeComparison;
+            });
+            sortedObjectSets.addAll(objectSets);
+            objectSets = sortedObjectSets;
+        }
 
         for (Set<DatabaseObject> databaseObjects : objectSets) {
             for (DatabaseObject obj : databaseObjects) {
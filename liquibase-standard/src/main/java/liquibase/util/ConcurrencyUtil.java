@@ -0,0 +1,71 @@
+package liquibase.util;
+
+import liquibase.Scope;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class ConcurrencyUtil {
+
+    /**
+     * Runs the given tasks on at most {@code parallelism} daemon threads and waits for all of them to finish.
+     * Every task runs in the scope that is current on the calling thread.
+     *
+     * @param tasks            the tasks to run
+     * @param parallelism      the maximum number of tasks to run at the same time
+     * @param threadNamePrefix prefix for the names of the worker threads
+     * @return the completed futures, in the same order as the tasks, so callers can handle results and failures
+     * deterministically
+     */
+    public static <T> List<Future<T>> invokeAll(List<? extends Scope.ScopedRunnerWithReturn<T>> tasks, int parallelism,
+                                                String threadNamePrefix) throws InterruptedException {
+        if (tasks.isEmpty()) {
+            return new ArrayList<>();
+        }
+        final Scope scope = Scope.getCurrentScope();
+        List<Callable<T>> callables = new ArrayList<>(tasks.size());
+        for (Scope.ScopedRunnerWithReturn<T> task : tasks) {
+            callables.add(() -> Scope.runInScope(scope, task));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(parallelism, tasks.size())),
+                daemonThreadFactory(threadNamePrefix));
+        try {
+            return executor.invokeAll(callables);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Returns the result of a completed future, unwrapping the exception thrown by the task if it failed.
+     */
+    public static <T> T getResult(Future<T> future) throws Exception {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Exception) {
+                throw (Exception) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+    }
+
+    private static ThreadFactory daemonThreadFactory(String threadNamePrefix) {
+        AtomicInteger threadNumber = new AtomicInteger(1);
+        return runnable -> {
+            Thread thread = new Thread(runnable, threadNamePrefix + "-" + threadNumber.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
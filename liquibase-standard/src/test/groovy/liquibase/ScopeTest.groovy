@@ -57,6 +57,20 @@ class ScopeTest extends Specification {
         } as Scope.ScopedRunner)
     }
 
+    def "javaProperties are looked up after their own scope and before its parents"() {
+        expect:
+        Scope.child([test1: "Level 1 A", test2: "Level 1 B", test3: "Level 1 C"], {
+            Scope.child([(Scope.JAVA_PROPERTIES): [test1: "Java A", test2: "Java B"], test2: "Level 2 B"], {
+                Scope.child([test3: null, test4: "Level 3 D"], {
+                    assert Scope.currentScope.get("test1", String) == "Java A"
+                    assert Scope.currentScope.get("test2", String) == "Level 2 B"
+                    assert Scope.currentScope.get("test3", String) == "Level 1 C"
+                    assert Scope.currentScope.get("test4", String) == "Level 3 D"
+                } as Scope.ScopedRunner)
+            } as Scope.ScopedRunner)
+        } as Scope.ScopedRunner)
+    }
+
     def "start and end works"() {
         def mdcFactory = Scope.currentScope.getSingleton(MdcManagerFactory)
         def existingManager = mdcFactory.getMdcManager()
@@ -0,0 +1,84 @@
+package liquibase.bulkload
+
+import liquibase.Scope
+import liquibase.bulkload.core.H2BulkLoader
+import liquibase.bulkload.core.MSSQLBulkLoader
+import liquibase.bulkload.core.MySQLBulkLoader
+import liquibase.bulkload.core.PostgresBulkLoader
+import liquibase.change.ColumnConfig
+import liquibase.database.DatabaseConnection
+import liquibase.database.core.*
+import liquibase.statement.DatabaseFunction
+import liquibase.exception.DatabaseException
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import java.sql.Timestamp
+
+class BulkLoaderFactoryTest extends Specification {
+
+    @Unroll
+    def "bulk loader for #database.shortName"() {
+        expect:
+        Scope.currentScope.getSingleton(BulkLoaderFactory).getBulkLoader(database)?.class == expected
+
+        where:
+        database                | expected
+        new PostgresDatabase()  | PostgresBulkLoader
+        new CockroachDatabase() | null
+        new MySQLDatabase()     | MySQLBulkLoader
+        new MariaDBDatabase()   | MySQLBulkLoader
+        new MSSQLDatabase()     | MSSQLBulkLoader
+        new H2Database()        | H2BulkLoader
+        new OracleDatabase()    | null
+    }
+
+    @Unroll
+    def "H2 bulk loader is only used when the database reads local files: #url"() {
+        given:
+        def connection = Mock(DatabaseConnection)
+        connection.getURL() >> url
+        def database = new H2Database()
+        database.setConnection(connection)
+
+        expect:
+        Scope.currentScope.getSingleton(BulkLoaderFactory).getBulkLoader(database)?.class == expected
+
+        where:
+        url                                 | expected
+        "jdbc:h2:mem:test"                  | H2BulkLoader
+        "jdbc:h2:file:./target/test"        | H2BulkLoader
+        "jdbc:h2:./target/test"             | H2BulkLoader
+        "jdbc:h2:tcp://localhost/mem:test"  | null
+        "JDBC:H2:SSL://localhost/~/test"    | null
+    }
+
+    def "rows are written as quoted CSV"() {
+        when:
+        def out = new StringBuilder()
+        loader.appendRow(out, [
+                new ColumnConfig(name: "a", value: 'say "hi", bye'),
+                new ColumnConfig(name: "b"),
+                new ColumnConfig(name: "c", valueBoolean: true),
+                new ColumnConfig(name: "d", valueNumeric: new BigDecimal("1E+3")),
+                new ColumnConfig(name: "e", valueDate: Timestamp.valueOf("2020-01-02 03:04:05")),
+                new ColumnConfig(name: "f", value: ""),
+        ])
+
+        then:
+        out.toString() == expected
+
+        where:
+        loader                   | expected
+        new PostgresBulkLoader() | '"say ""hi"", bye",,"true","1000","2020-01-02 03:04:05.0",""\n'
+        new MySQLBulkLoader()    | '"say ""hi"", bye",NULL,"1","1000","2020-01-02 03:04:05.0",""\n'
+    }
+
+    def "computed values cannot be bulk loaded"() {
+        when:
+        new H2BulkLoader().getText(new ColumnConfig(name: "a", valueComputed: new DatabaseFunction("NOW()")))
+
+        then:
+        thrown(DatabaseException)
+    }
+}
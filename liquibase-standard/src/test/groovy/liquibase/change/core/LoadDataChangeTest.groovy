@@ -5,8 +5,13 @@ import liquibase.GlobalConfiguration
 import liquibase.Scope
 import liquibase.change.ChangeStatus
 import liquibase.change.StandardChangeTest
+import liquibase.changelog.ChangeLogHistoryServiceFactory
 import liquibase.changelog.ChangeSet
 import liquibase.changelog.DatabaseChangeLog
+import liquibase.changelog.FastCheckService
+import liquibase.command.CommandScope
+import liquibase.command.core.UpdateSqlCommandStep
+import liquibase.command.core.helpers.DbUrlConnectionArgumentsCommandStep
 import liquibase.database.Database
 import liquibase.database.DatabaseConnection
 import liquibase.database.DatabaseFactory
@@ -19,6 +24,7 @@ import liquibase.parser.core.ParsedNodeException
 import liquibase.resource.ClassLoaderResourceAccessor
 import liquibase.resource.ResourceAccessor
 import liquibase.resource.SearchPathResourceAccessor
+import liquibase.sdk.resource.MockResourceAccessor
 import liquibase.snapshot.MockSnapshotGeneratorFactory
 import liquibase.snapshot.SnapshotGeneratorFactory
 import liquibase.statement.*
@@ -607,6 +613,80 @@ class LoadDataChangeTest extends StandardChangeTest {
         "John Doe" == ((InsertStatement) sqlStatements[1]).getColumnValue("name")
         "jdoe" == ((InsertStatement) sqlStatements[1]).getColumnValue("username")
     }
+
+    def "loadDataBatchSize generates the statements in bounded batches"() throws Exception {
+        when:
+        LoadDataChange loadDataChange = new LoadDataChange()
+        loadDataChange.setSchemaName("SCHEMA_NAME")
+        loadDataChange.setTableName("TABLE_NAME")
+        loadDataChange.setUsePreparedStatements(Boolean.FALSE)
+        loadDataChange.setFile("liquibase/change/core/sample.data1.csv")
+        def database = new MSSQLDatabase()
+
+        def batches = []
+        def inBatches = Scope.child([(GlobalConfiguration.LOAD_DATA_BATCH_SIZE.key): 1], {
+            loadDataChange.generateStatementBatches(database, { statements -> batches.add(statements) })
+            return loadDataChange.generateStatementsInBatches(database)
+        } as Scope.ScopedRunnerWithReturn)
+
+        then:
+        inBatches
+        !loadDataChange.generateStatementsInBatches(database)
+        batches.size() == 2
+        batches.every { it.length == 1 && it[0] instanceof InsertSetStatement }
+        "Bob Johnson" == ((InsertStatement) ((InsertSetStatement) batches[0][0]).getStatementsArray()[0]).getColumnValue("name")
+        "John Doe" == ((InsertStatement) ((InsertSetStatement) batches[1][0]).getStatementsArray()[0]).getColumnValue("name")
+    }
+
+    @Unroll
+    def "updateSql output for #changeType is the same with and without loadDataBatchSize"() {
+        when:
+        def rows = (1..5).collect { "$it,name $it" }
+        def resourceAccessor = new MockResourceAccessor([
+                "data.csv"     : "id,name\n" + rows.join("\n"),
+                "changelog.xml": """<databaseChangeLog
+        xmlns="http://www.liquibase.org/xml/ns/dbchangelog"
+        xmlns:xsi="http://www.w3.org/2001/XMLSchema-instance"
+        xsi:schemaLocation="http://www.liquibase.org/xml/ns/dbchangelog http://www.liquibase.org/xml/ns/dbchangelog/dbchangelog-latest.xsd">
+    <changeSet id="1" author="test">
+        <$changeType tableName="person" file="data.csv" $attributes>
+            <column name="id" type="NUMERIC"/>
+            <column name="name" type="STRING"/>
+        </$changeType>
+    </changeSet>
+</databaseChangeLog>""".toString()
+        ])
+        def streamed = updateSql(resourceAccessor, 2)
+        def unstreamed = updateSql(resourceAccessor, 0)
+
+        then:
+        streamed == unstreamed
+        rows.every { row -> streamed.contains("'name ${row.split(",")[0]}'") }
+
+        where:
+        changeType       | attributes
+        "loadData"       | ""
+        "loadUpdateData" | 'primaryKey="id"'
+    }
+
+    private static String updateSql(ResourceAccessor resourceAccessor, int loadDataBatchSize) {
+        def output = new ByteArrayOutputStream()
+        def history = File.createTempFile("databasechangelog", ".csv")
+        history.delete()
+        history.deleteOnExit()
+        Scope.getCurrentScope().getSingleton(FastCheckService.class).clearCache()
+        Scope.getCurrentScope().getSingleton(ChangeLogHistoryServiceFactory.class).resetAll()
+        Scope.child([(Scope.Attr.resourceAccessor.name())         : resourceAccessor,
+                     (GlobalConfiguration.LOAD_DATA_BATCH_SIZE.key): loadDataBatchSize], {
+            new CommandScope(UpdateSqlCommandStep.COMMAND_NAME)
+                    .addArgumentValue(DbUrlConnectionArgumentsCommandStep.URL_ARG, "offline:h2?outputLiquibaseSql=none&changeLogFile=" + history.absolutePath)
+                    .addArgumentValue(UpdateSqlCommandStep.CHANGELOG_FILE_ARG, "changelog.xml")
+                    .setOutput(output)
+                    .execute()
+        } as Scope.ScopedRunner)
+        return output.toString().readLines().findAll { !it.startsWith("-- ") }.join("\n")
+    }
+
     def "usePreparedStatements set to true produces PreparedStatement"() throws Exception {
         when:
         LoadDataChange loadDataChange = new LoadDataChange()
@@ -0,0 +1,240 @@
+package liquibase.changelog
+
+import liquibase.Contexts
+import liquibase.GlobalConfiguration
+import liquibase.LabelExpression
+import liquibase.Scope
+import liquibase.UpdateSummaryEnum
+import liquibase.change.core.CreateTableChange
+import liquibase.command.CommandScope
+import liquibase.command.core.UpdateCommandStep
+import liquibase.command.core.helpers.DbUrlConnectionArgumentsCommandStep
+import liquibase.command.core.helpers.ShowSummaryArgument
+import liquibase.database.Database
+import liquibase.database.DatabaseFactory
+import liquibase.database.core.MockDatabase
+import liquibase.database.jvm.JdbcConnection
+import liquibase.logging.core.BufferedLogService
+import liquibase.sdk.resource.MockResourceAccessor
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import java.sql.Connection
+import java.sql.DriverManager
+import java.util.logging.Level
+
+class ChangeLogStampTest extends Specification {
+
+    def database = new MockDatabase()
+
+    String url = "jdbc:h2:mem:stamp_${UUID.randomUUID()};DB_CLOSE_DELAY=-1".toString()
+    Connection connection
+    Database h2Database
+
+    def cleanup() {
+        if (connection != null) {
+            connection.createStatement().execute("DROP ALL OBJECTS")
+            connection.close()
+        }
+        h2Database?.close()
+    }
+
+    def "stamp is null when disabled"() {
+        expect:
+        ChangeLogStamp.get(database, createChangeLog("table1"), new Contexts(), new LabelExpression()) == null
+    }
+
+    def "stamp only changes with the changelog and its filters"() {
+        when:
+        def stamp = ChangeLogStamp.computeStamp(database, createChangeLog("table1"), new Contexts("prod"), new LabelExpression())
+
+        then:
+        stamp.length() == 32
+        ChangeLogStamp.computeStamp(database, createChangeLog("table1"), new Contexts("prod"), new LabelExpression()) == stamp
+        ChangeLogStamp.computeStamp(database, createChangeLog("table2"), new Contexts("prod"), new LabelExpression()) != stamp
+        ChangeLogStamp.computeStamp(database, createChangeLog("table1"), new Contexts("test"), new LabelExpression()) != stamp
+        ChangeLogStamp.computeStamp(database, createChangeLog("table1"), new Contexts("prod"), new LabelExpression("a")) != stamp
+    }
+
+    def "stamp changes when a changeset is added"() {
+        when:
+        def changeLog = createChangeLog("table1")
+        def stamp = ChangeLogStamp.computeStamp(database, changeLog, new Contexts(), new LabelExpression())
+        def changeSet = new ChangeSet("2", "test", false, false, "com/example/test.xml", null, null, changeLog)
+        changeSet.addChange(new CreateTableChange(tableName: "table2"))
+        changeLog.addChangeSet(changeSet)
+
+        then:
+        ChangeLogStamp.computeStamp(database, changeLog, new Contexts(), new LabelExpression()) != stamp
+    }
+
+    private static DatabaseChangeLog createChangeLog(String tableName) {
+        def changeLog = new DatabaseChangeLog("com/example/test.xml")
+        def changeSet = new ChangeSet("1", "test", false, false, "com/example/test.xml", null, null, changeLog)
+        changeSet.addChange(new CreateTableChange(tableName: tableName))
+        changeLog.addChangeSet(changeSet)
+        return changeLog
+    }
+
+    def "stamps are only written once the table exists, and are current until DATABASECHANGELOG changes"() {
+        given:
+        def service = openHistoryService()
+        def changeLog = createChangeLog("table1")
+        service.setExecType(changeLog.getChangeSets()[0], ChangeSet.ExecType.EXECUTED)
+
+        when: "there is no stamp table"
+        withStamps { writeStamp(changeLog, new Contexts()) }
+
+        then:
+        !withStamps { ChangeLogStamp.hasTable(h2Database) }
+
+        when:
+        withStamps { ChangeLogStamp.createTable(h2Database) }
+        withStamps { writeStamp(changeLog, new Contexts()) }
+
+        then:
+        queryInt("SELECT COUNT(*) FROM DATABASECHANGELOGSTAMP") == 1
+        isCurrent(changeLog, new Contexts())
+        !isCurrent(changeLog, new Contexts("prod"))
+
+        when: "a changeset ran since the stamp was written"
+        def changeSet = new ChangeSet("2", "test", false, false, "com/example/test.xml", null, null, changeLog)
+        changeSet.addChange(new CreateTableChange(tableName: "table2"))
+        changeLog.addChangeSet(changeSet)
+        def previousChangeLog = createChangeLog("table1")
+        service.setExecType(changeSet, ChangeSet.ExecType.EXECUTED)
+
+        then:
+        !isCurrent(changeLog, new Contexts())
+        !isCurrent(previousChangeLog, new Contexts())
+
+        when:
+        withStamps { writeStamp(changeLog, new Contexts()) }
+
+        then: "the stamp of the earlier state is replaced"
+        isCurrent(changeLog, new Contexts())
+        queryInt("SELECT COUNT(*) FROM DATABASECHANGELOGSTAMP") == 1
+    }
+
+    @Unroll
+    def "#operation deletes the stamps"() {
+        given:
+        def service = openHistoryService()
+        def changeLog = createChangeLog("table1")
+        service.setExecType(changeLog.getChangeSets()[0], ChangeSet.ExecType.EXECUTED)
+        withStamps { ChangeLogStamp.createTable(h2Database) }
+        withStamps { writeStamp(changeLog, new Contexts()) }
+
+        when:
+        withStamps { change(service, changeLog.getChangeSets()[0]) }
+
+        then:
+        queryInt("SELECT COUNT(*) FROM DATABASECHANGELOGSTAMP") == 0
+
+        where:
+        operation           | change
+        "removeFromHistory" | { StandardChangeLogHistoryService historyService, ChangeSet changeSet -> historyService.removeFromHistory(changeSet) }
+        "clearAllCheckSums" | { StandardChangeLogHistoryService historyService, ChangeSet changeSet -> historyService.clearAllCheckSums() }
+        "replaceFilePath"   | { StandardChangeLogHistoryService historyService, ChangeSet changeSet -> historyService.replaceFilePath(changeSet, "com/example/old.xml") }
+    }
+
+    def "update creates the stamp table under the lock, and later updates write and use the stamp"() {
+        given:
+        connection = DriverManager.getConnection(url)
+
+        when: "the database is up to date before stamps are enabled"
+        runUpdate(changeLogXml(1), false)
+        runUpdate(changeLogXml(1), true)
+
+        then: "the fast check does not create the stamp table"
+        !hasStampTable()
+
+        when: "an update with changesets to run takes the lock"
+        runUpdate(changeLogXml(2), true)
+
+        then:
+        hasStampTable()
+        queryInt("SELECT COUNT(*) FROM DATABASECHANGELOGSTAMP") == 0
+
+        when: "the next update finds the database up to date"
+        runUpdate(changeLogXml(2), true)
+
+        then:
+        queryInt("SELECT COUNT(*) FROM DATABASECHANGELOGSTAMP") == 1
+
+        when:
+        def log = runUpdate(changeLogXml(2), true)
+
+        then:
+        log.contains("Found a current changelog stamp, skipping checksum upgrade and changelog validation")
+        queryInt("SELECT COUNT(*) FROM DATABASECHANGELOG") == 2
+    }
+
+    private StandardChangeLogHistoryService openHistoryService() {
+        connection = DriverManager.getConnection(url)
+        h2Database = DatabaseFactory.getInstance().findCorrectDatabaseImplementation(new JdbcConnection(DriverManager.getConnection(url)))
+        def service = new StandardChangeLogHistoryService()
+        service.setDatabase(h2Database)
+        service.init()
+        return service
+    }
+
+    private void writeStamp(DatabaseChangeLog changeLog, Contexts contexts) {
+        def stamp = ChangeLogStamp.get(h2Database, changeLog, contexts, new LabelExpression())
+        stamp.readHistoryState()
+        stamp.write()
+    }
+
+    private boolean isCurrent(DatabaseChangeLog changeLog, Contexts contexts) {
+        return withStamps { ChangeLogStamp.get(h2Database, changeLog, contexts, new LabelExpression()).isCurrent() }
+    }
+
+    private static <T> T withStamps(Closure<T> closure) {
+        return Scope.child([(GlobalConfiguration.DATABASECHANGELOG_STAMP.key): true], closure as Scope.ScopedRunnerWithReturn<T>)
+    }
+
+    private int queryInt(String sql) {
+        def resultSet = connection.createStatement().executeQuery(sql)
+        resultSet.next()
+        return resultSet.getInt(1)
+    }
+
+    private boolean hasStampTable() {
+        return queryInt("SELECT COUNT(*) FROM INFORMATION_SCHEMA.TABLES WHERE TABLE_NAME = 'DATABASECHANGELOGSTAMP'") == 1
+    }
+
+    private static String changeLogXml(int count) {
+        return """<databaseChangeLog xmlns="http://www.liquibase.org/xml/ns/dbchangelog"
+                   xmlns:xsi="http://www.w3.org/2001/XMLSchema-instance"
+                   xsi:schemaLocation="http://www.liquibase.org/xml/ns/dbchangelog http://www.liquibase.org/xml/ns/dbchangelog/dbchangelog-latest.xsd">
+${(1..count).collect { """
+    <changeSet id="$it" author="test">
+        <createTable tableName="table$it">
+            <column name="id" type="int"/>
+        </createTable>
+    </changeSet>""" }.join("")}
+</databaseChangeLog>""".toString()
+    }
+
+    /**
+     * Runs update with showSummary=OFF, so an up to date database is found without reading DATABASECHANGELOG, and returns the log.
+     * The fast check results kept by earlier updates are cleared, as the changelog changes between them.
+     */
+    private String runUpdate(String changeLogXml, boolean stamps) {
+        Scope.getCurrentScope().getSingleton(FastCheckService.class).clearCache()
+        def logService = new BufferedLogService()
+        Scope.child([
+                (Scope.Attr.resourceAccessor.name())               : new MockResourceAccessor(["changelog.xml": changeLogXml]),
+                (Scope.Attr.logService.name())                     : logService,
+                (GlobalConfiguration.DATABASECHANGELOG_STAMP.key): stamps,
+        ], {
+            new CommandScope(UpdateCommandStep.COMMAND_NAME)
+                    .addArgumentValue(DbUrlConnectionArgumentsCommandStep.URL_ARG, url)
+                    .addArgumentValue(UpdateCommandStep.CHANGELOG_FILE_ARG, "changelog.xml")
+                    .addArgumentValue(ShowSummaryArgument.SHOW_SUMMARY, UpdateSummaryEnum.OFF)
+                    .setOutput(new ByteArrayOutputStream())
+                    .execute()
+        } as Scope.ScopedRunner)
+        return logService.getLogAsString(Level.FINE)
+    }
+}
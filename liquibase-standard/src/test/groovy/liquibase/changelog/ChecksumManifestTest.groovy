@@ -0,0 +1,193 @@
+package liquibase.changelog
+
+import liquibase.ChecksumVersion
+import liquibase.GlobalConfiguration
+import liquibase.Scope
+import liquibase.change.CheckSum
+import liquibase.change.core.CreateTableChange
+import liquibase.database.Database
+import liquibase.database.core.MockDatabase
+import liquibase.database.core.PostgresDatabase
+import liquibase.parser.ChangeLogParserFactory
+import liquibase.resource.DirectoryResourceAccessor
+import liquibase.resource.ResourceAccessor
+import liquibase.sdk.resource.MockResourceAccessor
+import liquibase.util.LiquibaseUtil
+import spock.lang.Specification
+import spock.lang.TempDir
+import spock.lang.Unroll
+
+import java.nio.file.Files
+import java.nio.file.Path
+
+class ChecksumManifestTest extends Specification {
+
+    private static final String CHANGELOG = "com/example/changelog.xml"
+
+    @TempDir
+    Path tempDir
+
+    def "manifest checksums are trusted while the changelog file is unchanged"() {
+        given:
+        def changeLog = new DatabaseChangeLog("com/example/test.xml")
+        def changeSet = new ChangeSet("1", "nvoxland", false, false, "com/example/test.xml", null, null, changeLog)
+        changeSet.addChange(new CreateTableChange(tableName: "person"))
+        changeLog.addChangeSet(changeSet)
+        def database = new PostgresDatabase()
+        def resourceAccessor = new MockResourceAccessor(["com/example/test.xml": "<databaseChangeLog/>"])
+
+        when:
+        def written = new StringWriter()
+        Scope.child([(Scope.Attr.resourceAccessor.name()): resourceAccessor], {
+            ChecksumManifest.generate(changeLog, database).write(written)
+        } as Scope.ScopedRunner)
+        def manifest = ChecksumManifest.read(new ByteArrayInputStream(written.toString().getBytes("UTF-8")))
+
+        then:
+        manifest.size() == 1
+        manifest.checksumVersion == ChecksumVersion.latest().version
+        manifest.database == "postgresql"
+        Scope.child([(Scope.Attr.resourceAccessor.name()): resourceAccessor, (Scope.Attr.database.name()): database], {
+            manifest.getCheckSum(changeSet, ChecksumVersion.latest())
+        } as Scope.ScopedRunnerWithReturn) == changeSet.generateCheckSum(ChecksumVersion.latest())
+
+        and: "other checksum versions and databases compute the checksum"
+        Scope.child([(Scope.Attr.resourceAccessor.name()): resourceAccessor], {
+            manifest.getCheckSum(changeSet, ChecksumVersion.V8)
+        } as Scope.ScopedRunnerWithReturn) == null
+        Scope.child([(Scope.Attr.resourceAccessor.name()): resourceAccessor, (Scope.Attr.database.name()): new MockDatabase()], {
+            manifest.getCheckSum(changeSet, ChecksumVersion.latest())
+        } as Scope.ScopedRunnerWithReturn) == null
+
+        when: "the changelog file changed"
+        def changedManifest = ChecksumManifest.read(new ByteArrayInputStream(written.toString().getBytes("UTF-8")))
+        def changedResourceAccessor = new MockResourceAccessor(["com/example/test.xml": "<databaseChangeLog></databaseChangeLog>"])
+
+        then:
+        Scope.child([(Scope.Attr.resourceAccessor.name()): changedResourceAccessor, (Scope.Attr.database.name()): database], {
+            changedManifest.getCheckSum(changeSet, ChecksumVersion.latest())
+        } as Scope.ScopedRunnerWithReturn) == null
+    }
+
+    @Unroll
+    def "a changed #file falls back to computing the checksum"() {
+        given:
+        def database = new PostgresDatabase()
+        writeFile(CHANGELOG, changeLogXml(change))
+        writeFile("com/example/" + file, content)
+        def generated = generateManifest(database)
+
+        expect: "the manifest records the file and is trusted while it is unchanged"
+        generated.manifest.contains("resource\tcom/example/" + file)
+        checkSumFromManifest(database, generated.changeLog) == generated.checkSum
+
+        when:
+        writeFile("com/example/" + file, changedContent)
+        def changedChangeLog = parse(new DirectoryResourceAccessor(tempDir))
+        def changedCheckSum = computeCheckSum(changedChangeLog)
+
+        then:
+        changedCheckSum != generated.checkSum
+        getCheckSum(generated.manifest, database, changedChangeLog) == null
+        checkSumFromManifest(database, changedChangeLog) == changedCheckSum
+
+        where:
+        file         | change                                                                                 | content                  | changedContent
+        "data.csv"   | '<loadData tableName="person" file="data.csv" relativeToChangelogFile="true"/>'        | "id,name\n1,Bob\n"     | "id,name\n1,Alice\n"
+        "script.sql" | '<sqlFile path="script.sql" relativeToChangelogFile="true"/>'                          | "insert into person values (1)" | "insert into person values (2)"
+    }
+
+    def "a changed changelog parameter falls back to computing the checksum"() {
+        given:
+        def database = new PostgresDatabase()
+        writeFile(CHANGELOG, changeLogXml('<createTable tableName="${tableName}"><column name="id" type="int"/></createTable>'))
+        def generated = generateManifest(database, [tableName: "person"])
+
+        expect:
+        generated.manifest.contains("parameter\ttableName\tperson")
+        getCheckSum(generated.manifest, database, parse(new DirectoryResourceAccessor(tempDir), [tableName: "person"])) == generated.checkSum
+        getCheckSum(generated.manifest, database, parse(new DirectoryResourceAccessor(tempDir), [tableName: "people"])) == null
+    }
+
+    def "a manifest of another Liquibase version or without a database is not trusted"() {
+        given:
+        def database = new PostgresDatabase()
+        writeFile(CHANGELOG, changeLogXml('<createTable tableName="person"><column name="id" type="int"/></createTable>'))
+        def generated = generateManifest(database)
+        def otherVersion = generated.manifest.replace("liquibaseVersion\t" + LiquibaseUtil.getBuildVersion(), "liquibaseVersion\t0.0.1")
+        def withoutDatabase = generateManifest(null)
+
+        expect:
+        otherVersion != generated.manifest
+        getCheckSum(generated.manifest, database, generated.changeLog) == generated.checkSum
+        getCheckSum(otherVersion, database, generated.changeLog) == null
+        getCheckSum(withoutDatabase.manifest, database, generated.changeLog) == null
+    }
+
+    private void writeFile(String path, String content) {
+        def file = tempDir.resolve(path)
+        Files.createDirectories(file.getParent())
+        Files.writeString(file, content)
+    }
+
+    private static String changeLogXml(String change) {
+        return """<databaseChangeLog xmlns="http://www.liquibase.org/xml/ns/dbchangelog"
+                   xmlns:xsi="http://www.w3.org/2001/XMLSchema-instance"
+                   xsi:schemaLocation="http://www.liquibase.org/xml/ns/dbchangelog http://www.liquibase.org/xml/ns/dbchangelog/dbchangelog-latest.xsd">
+    <changeSet id="1" author="nvoxland">
+        ${change}
+    </changeSet>
+</databaseChangeLog>"""
+    }
+
+    private static DatabaseChangeLog parse(ResourceAccessor resourceAccessor, Map<String, String> parameters = [:]) {
+        def changeLogParameters = new ChangeLogParameters()
+        parameters.each { key, value -> changeLogParameters.set(key, value) }
+        return Scope.child([(Scope.Attr.resourceAccessor.name()): resourceAccessor], {
+            ChangeLogParserFactory.getInstance().getParser(CHANGELOG, resourceAccessor).parse(CHANGELOG, changeLogParameters, resourceAccessor)
+        } as Scope.ScopedRunnerWithReturn<DatabaseChangeLog>)
+    }
+
+    /**
+     * Parses the changelog, writes its manifest into the temp directory and returns the manifest with the changelog and
+     * the checksum of its changeset.
+     */
+    private Map generateManifest(Database database, Map<String, String> parameters = [:]) {
+        def resourceAccessor = new DirectoryResourceAccessor(tempDir)
+        def changeLog = parse(resourceAccessor, parameters)
+        def written = new StringWriter()
+        Scope.child([(Scope.Attr.resourceAccessor.name()): resourceAccessor], {
+            ChecksumManifest.generate(changeLog, database).write(written)
+        } as Scope.ScopedRunner)
+        Files.writeString(tempDir.resolve("checksums.txt"), written.toString())
+        return [manifest : written.toString(),
+                changeLog: changeLog,
+                checkSum : computeCheckSum(changeLog)]
+    }
+
+    private CheckSum computeCheckSum(DatabaseChangeLog changeLog) {
+        return Scope.child([(Scope.Attr.resourceAccessor.name()): new DirectoryResourceAccessor(tempDir)], {
+            changeLog.getChangeSets()[0].generateCheckSum(ChecksumVersion.latest())
+        } as Scope.ScopedRunnerWithReturn<CheckSum>)
+    }
+
+    private CheckSum getCheckSum(String manifest, Database database, DatabaseChangeLog changeLog) {
+        def resourceAccessor = new DirectoryResourceAccessor(tempDir)
+        return Scope.child([(Scope.Attr.resourceAccessor.name()): resourceAccessor, (Scope.Attr.database.name()): database], {
+            ChecksumManifest.read(new ByteArrayInputStream(manifest.getBytes("UTF-8"))).getCheckSum(changeLog.getChangeSets()[0], ChecksumVersion.latest())
+        } as Scope.ScopedRunnerWithReturn<CheckSum>)
+    }
+
+    /**
+     * Returns the checksum that {@link ChecksumManifest#generateCheckSum} gives with the manifest written by
+     * {@link #generateManifest} configured.
+     */
+    private CheckSum checkSumFromManifest(Database database, DatabaseChangeLog changeLog) {
+        def resourceAccessor = new DirectoryResourceAccessor(tempDir)
+        return Scope.child([(Scope.Attr.resourceAccessor.name())              : resourceAccessor,
+                            (Scope.Attr.database.name())                      : database,
+                            (GlobalConfiguration.CHECKSUM_MANIFEST_FILE.key): "checksums.txt"], {
+            ChecksumManifest.generateCheckSum(changeLog.getChangeSets()[0], ChecksumVersion.latest())
+        } as Scope.ScopedRunnerWithReturn<CheckSum>)
+    }
+}
@@ -212,6 +212,59 @@ create view sql_view as select * from sql_table;'''
         changeLog.getChangeSet(path, "auth", "with-dbms-and-context") == null
     }
 
+    def "getChangeSets stays consistent with the changeset list"() {
+        def path = "com/example/path.xml"
+        when:
+        def changeLog = new DatabaseChangeLog(path)
+        def first = new ChangeSet("1", "auth", false, false, path, null, null, changeLog)
+        def second = new ChangeSet("1", "auth", false, false, path, null, null, changeLog)
+        second.runOrder = "first"
+        changeLog.addChangeSet(first)
+        changeLog.addChangeSet(second)
+
+        then: "lookup is case insensitive, normalizes the path and returns matches in changelog order"
+        changeLog.getChangeSets("/com/example/../example/PATH.xml", "AUTH", "1") == [second, first]
+
+        when: "a changeset path changes after it was added"
+        first.setFilePath("com/example/other.xml")
+
+        then:
+        changeLog.getChangeSets(path, "auth", "1") == [second]
+        changeLog.getChangeSets("com/example/other.xml", "auth", "1") == [first]
+
+        when: "a changeset id and path change after it was indexed"
+        def node = new ParsedNode(null, "changeSet").addChildren([id: "5", author: "auth", logicalFilePath: "com/example/logical.xml"])
+        first.load(node, new MockResourceAccessor())
+
+        then:
+        changeLog.getChangeSets("com/example/other.xml", "auth", "1") == []
+        changeLog.getChangeSet("com/example/logical.xml", "auth", "5") == first
+    }
+
+    def "the changeset list cannot be modified directly"() {
+        def path = "com/example/path.xml"
+        def changeLog = new DatabaseChangeLog(path)
+        def first = new ChangeSet("1", "auth", false, false, path, null, null, changeLog)
+        def second = new ChangeSet("2", "auth", false, false, path, null, null, changeLog)
+        changeLog.addChangeSet(first)
+
+        when:
+        modify(changeLog.getChangeSets(), second)
+
+        then:
+        thrown(UnsupportedOperationException)
+        changeLog.getChangeSets() == [first]
+        changeLog.getChangeSet(path, "auth", "1") == first
+
+        where:
+        modify << [
+                { List list, ChangeSet changeSet -> list.add(changeSet) },
+                { List list, ChangeSet changeSet -> list.set(0, changeSet) },
+                { List list, ChangeSet changeSet -> list.subList(0, 1).set(0, changeSet) },
+                { List list, ChangeSet changeSet -> list.clear() },
+        ]
+    }
+
     def "load handles both changes and preconditions"() {
         when:
         def children = [
@@ -504,6 +557,114 @@ create view sql_view as select * from sql_table;'''
                                                              "com/example/children/file3.sql"]
     }
 
+    def "include and includeAll with includeParallelism keep declared order and properties"() {
+        when:
+        def resourceAccessor = new MockResourceAccessor([
+                "com/example/a.xml"         : changeLogXml('<changeSet id="a" author="nvoxland"><sql>select \'${table}\'</sql></changeSet>'),
+                "com/example/b.xml"         : changeLogXml('<property name="table" value="fromB"/><changeSet id="b" author="nvoxland"><sql>select 1</sql></changeSet>'),
+                "com/example/c.xml"         : changeLogXml('<property name="table" value="fromC"/><changeSet id="c" author="nvoxland"><sql>select \'${table}\'</sql></changeSet>'),
+                "com/example/all/file1.sql" : "file 1",
+                "com/example/all/file2.sql" : "file 2",
+                "com/example/all/file3.sql" : "file 3",
+        ])
+        def rootChangeLog = new DatabaseChangeLog("com/example/root.xml")
+        rootChangeLog.setChangeLogParameters(new ChangeLogParameters())
+        Scope.child([(ChangeLogParserConfiguration.INCLUDE_PARALLELISM.getKey()): 4], {
+            rootChangeLog.load(new ParsedNode(null, "databaseChangeLog")
+                    .addChildren([include: [file: "com/example/a.xml"]])
+                    .addChildren([include: [file: "com/example/b.xml"]])
+                    .addChildren([include: [file: "com/example/c.xml"]])
+                    .addChildren([includeAll: [path: "com/example/all"]])
+                    , resourceAccessor)
+        } as Scope.ScopedRunner)
+
+        then:
+        rootChangeLog.changeSets.collect { it.filePath } == ["com/example/a.xml",
+                                                             "com/example/b.xml",
+                                                             "com/example/c.xml",
+                                                             "com/example/all/file1.sql",
+                                                             "com/example/all/file2.sql",
+                                                             "com/example/all/file3.sql"]
+        ((RawSQLChange) rootChangeLog.getChangeSet("com/example/a.xml", "nvoxland", "a").changes[0]).sql == 'select \'${table}\''
+        ((RawSQLChange) rootChangeLog.getChangeSet("com/example/c.xml", "nvoxland", "c").changes[0]).sql == "select 'fromB'"
+        rootChangeLog.changeSets.findAll { it.filePath.endsWith(".xml") }.every { it.changeLogParameters.is(rootChangeLog.changeLogParameters) }
+        rootChangeLog.changeLogParameters.getValue("table", rootChangeLog) == "fromB"
+    }
+
+    def "includes parsed with includeParallelism go through handleChildNode"() {
+        when:
+        def resourceAccessor = new MockResourceAccessor([
+                "com/example/a.xml": changeLogXml('<changeSet id="a" author="nvoxland"><sql>select 1</sql></changeSet>'),
+                "com/example/c.xml": changeLogXml('<changeSet id="c" author="nvoxland"><sql>select 1</sql></changeSet>'),
+                "com/example/d.xml": changeLogXml('<changeSet id="d" author="nvoxland"><sql>select 1</sql></changeSet>'),
+        ])
+        def handledFiles = []
+        def rootChangeLog = new DatabaseChangeLog("com/example/root.xml") {
+            @Override
+            protected void handleChildNode(ParsedNode node, ResourceAccessor accessor, Map<String, Object> nodeScratch) {
+                def file = node.getChildValue(null, "file", String)
+                handledFiles << file
+                if (file == "com/example/b.xml") {
+                    addChangeSet(new ChangeSet("b", "nvoxland", false, false, file, null, null, this))
+                } else {
+                    super.handleChildNode(node, accessor, nodeScratch)
+                }
+            }
+        }
+        rootChangeLog.setChangeLogParameters(new ChangeLogParameters())
+        Scope.child([(ChangeLogParserConfiguration.INCLUDE_PARALLELISM.getKey()): 4], {
+            rootChangeLog.load(new ParsedNode(null, "databaseChangeLog")
+                    .addChildren([include: [file: "com/example/a.xml"]])
+                    .addChildren([include: [file: "com/example/b.xml"]])
+                    .addChildren([include: [file: "com/example/c.xml"]])
+                    .addChildren([include: [file: "com/example/d.xml"]])
+                    , resourceAccessor)
+        } as Scope.ScopedRunner)
+
+        then:
+        handledFiles == ["com/example/a.xml", "com/example/b.xml", "com/example/c.xml", "com/example/d.xml"]
+        rootChangeLog.changeSets.collect { it.id } == ["a", "b", "c", "d"]
+    }
+
+    def "includes parsed with includeParallelism keep declared order when handleChildNodeHelper adds changesets"() {
+        when:
+        def resourceAccessor = new MockResourceAccessor([
+                "com/example/a.xml": changeLogXml('<changeSet id="a" author="nvoxland"><sql>select 1</sql></changeSet>'),
+                "com/example/c.xml": changeLogXml('<changeSet id="c" author="nvoxland"><sql>select 1</sql></changeSet>'),
+        ])
+        def rootChangeLog = new DatabaseChangeLog("com/example/root.xml") {
+            @Override
+            void handleChildNodeHelper(ParsedNode node, ResourceAccessor accessor, Map<String, Object> nodeScratch) {
+                def file = node.getChildValue(null, "file", String)
+                if (file == "com/example/b.xml") {
+                    addChangeSet(new ChangeSet("b", "nvoxland", false, false, file, null, null, this))
+                } else {
+                    super.handleChildNodeHelper(node, accessor, nodeScratch)
+                }
+            }
+        }
+        rootChangeLog.setChangeLogParameters(new ChangeLogParameters())
+        Scope.child([(ChangeLogParserConfiguration.INCLUDE_PARALLELISM.getKey()): 4], {
+            rootChangeLog.load(new ParsedNode(null, "databaseChangeLog")
+                    .addChildren([include: [file: "com/example/a.xml"]])
+                    .addChildren([include: [file: "com/example/b.xml"]])
+                    .addChildren([include: [file: "com/example/c.xml"]])
+                    , resourceAccessor)
+        } as Scope.ScopedRunner)
+
+        then:
+        rootChangeLog.changeSets.collect { it.id } == ["a", "b", "c"]
+    }
+
+    private static String changeLogXml(String body) {
+        return """<databaseChangeLog
+        xmlns="http://www.liquibase.org/xml/ns/dbchangelog"
+        xmlns:xsi="http://www.w3.org/2001/XMLSchema-instance"
+        xsi:schemaLocation="http://www.liquibase.org/xml/ns/dbchangelog http://www.liquibase.org/xml/ns/dbchangelog/dbchangelog-latest.xsd">
+    $body
+</databaseChangeLog>"""
+    }
+
     def "includeAll empty relative path"() {
         when:
         def resourceAccessor = new MockResourceAccessor([
@@ -0,0 +1,195 @@
+package liquibase.changelog
+
+import liquibase.GlobalConfiguration
+import liquibase.Scope
+import liquibase.command.CommandScope
+import liquibase.command.core.UpdateCommandStep
+import liquibase.command.core.helpers.DbUrlConnectionArgumentsCommandStep
+import liquibase.database.core.MockDatabase
+import liquibase.exception.CommandExecutionException
+import liquibase.logging.core.BufferedLogService
+import liquibase.sdk.resource.MockResourceAccessor
+import spock.lang.Specification
+
+import java.sql.Connection
+import java.sql.DriverManager
+import java.util.logging.Level
+
+class GroupCommitTest extends Specification {
+
+    def database = transactionalDatabase()
+
+    Connection connection
+
+    def cleanup() {
+        connection?.close()
+    }
+
+    private static MockDatabase transactionalDatabase() {
+        return new MockDatabase() {
+            @Override
+            boolean supportsDDLInTransaction() {
+                return true
+            }
+        }
+    }
+
+    def "only transactional changesets join the group"() {
+        when:
+        def joined = []
+        Scope.child([(GlobalConfiguration.GROUP_COMMIT_SIZE.key): 10], {
+            GroupCommit.run(database, {
+                def groupCommit = GroupCommit.get(database)
+                joined << groupCommit.join(new ChangeSet("1", "test", false, false, "com/example/test.xml", null, null, true, null))
+                joined << GroupCommit.isOpen(database)
+                joined << groupCommit.join(new ChangeSet("2", "test", true, false, "com/example/test.xml", null, null, true, null))
+                joined << GroupCommit.isOpen(database)
+                joined << groupCommit.join(new ChangeSet("3", "test", false, false, "com/example/test.xml", null, null, false, null))
+            } as Scope.ScopedRunner)
+        } as Scope.ScopedRunner)
+
+        then:
+        joined == [true, true, false, false, false]
+    }
+
+    def "group is committed once it is full"() {
+        when:
+        def open = []
+        Scope.child([(GlobalConfiguration.GROUP_COMMIT_SIZE.key): 2], {
+            GroupCommit.run(database, {
+                def groupCommit = GroupCommit.get(database)
+                for (def id : ["1", "2", "3"]) {
+                    groupCommit.join(new ChangeSet(id, "test", false, false, "com/example/test.xml", null, null, true, null))
+                    groupCommit.changeSetRan()
+                    open << GroupCommit.isOpen(database)
+                }
+            } as Scope.ScopedRunner)
+        } as Scope.ScopedRunner)
+
+        then:
+        open == [true, false, true]
+    }
+
+    def "no group is used when disabled or the database cannot run DDL in transactions"() {
+        when:
+        def groupCommits = []
+        Scope.child([(GlobalConfiguration.GROUP_COMMIT_SIZE.key): size], {
+            GroupCommit.run(db, { groupCommits << GroupCommit.get(db) } as Scope.ScopedRunner)
+        } as Scope.ScopedRunner)
+
+        then:
+        groupCommits == [null]
+
+        where:
+        size | db
+        0    | transactionalDatabase()
+        10   | new MockDatabase()
+    }
+
+    def "databaseChangelogBatchSize without a group commit is reported as ignored"() {
+        when:
+        def logService = new BufferedLogService()
+        Scope.child([(Scope.Attr.logService.name())                     : logService,
+                     (GlobalConfiguration.GROUP_COMMIT_SIZE.key)           : size,
+                     (GlobalConfiguration.DATABASECHANGELOG_BATCH_SIZE.key): batchSize], {
+            GroupCommit.run(database, {} as Scope.ScopedRunner)
+        } as Scope.ScopedRunner)
+
+        then:
+        logService.getLogAsString(Level.WARNING).contains("liquibase.databaseChangelogBatchSize is ignored") == warned
+
+        where:
+        size | batchSize | warned
+        0    | 100       | true
+        0    | 0         | false
+        10   | 100       | false
+    }
+
+    def "update runs the changesets of a group in one transaction"() {
+        given:
+        def url = openDatabase("group_commit_ok")
+
+        when:
+        runUpdate(url, changeLogXml(3), 10, 2)
+
+        then:
+        queryIds("SELECT ID FROM person ORDER BY ID") == ["1", "2", "3"]
+        queryIds("SELECT ID FROM DATABASECHANGELOG ORDER BY ORDEREXECUTED") == ["1", "2", "3"]
+    }
+
+    def "a failing changeset rolls back the changesets before it in the same group"() {
+        given:
+        def url = openDatabase("group_commit_fail_${groupCommitSize}_$historyBatchSize")
+
+        when:
+        runUpdate(url, changeLogXml(2) + failingChangeSetXml, groupCommitSize, historyBatchSize)
+
+        then:
+        thrown(CommandExecutionException)
+        queryIds("SELECT ID FROM person ORDER BY ID") == committedIds
+        queryIds("SELECT ID FROM DATABASECHANGELOG ORDER BY ORDEREXECUTED") == committedIds
+
+        where:
+        groupCommitSize | historyBatchSize | committedIds
+        0               | 0                | ["1", "2"]
+        2               | 0                | ["1", "2"]
+        10              | 0                | []
+        10              | 2                | []
+    }
+
+    private static String failingChangeSetXml = '''
+    <changeSet id="3" author="test">
+        <insert tableName="missing_table">
+            <column name="id" valueNumeric="3"/>
+        </insert>
+    </changeSet>'''
+
+    private static String changeLogXml(int count) {
+        return (1..count).collect {
+            """
+    <changeSet id="$it" author="test">
+        <insert tableName="person">
+            <column name="id" valueNumeric="$it"/>
+        </insert>
+    </changeSet>"""
+        }.join("")
+    }
+
+    /**
+     * Opens an in-memory database with a table created up front, as H2 commits DDL statements
+     */
+    private String openDatabase(String name) {
+        def url = "jdbc:h2:mem:$name;DB_CLOSE_DELAY=-1".toString()
+        connection = DriverManager.getConnection(url)
+        connection.createStatement().execute("CREATE TABLE person (id int)")
+        return url
+    }
+
+    private List<String> queryIds(String sql) {
+        def resultSet = connection.createStatement().executeQuery(sql)
+        def ids = []
+        while (resultSet.next()) {
+            ids << resultSet.getString(1)
+        }
+        return ids
+    }
+
+    private static void runUpdate(String url, String changeSetsXml, int groupCommitSize, int historyBatchSize) {
+        def changeLog = """<databaseChangeLog xmlns="http://www.liquibase.org/xml/ns/dbchangelog"
+                   xmlns:xsi="http://www.w3.org/2001/XMLSchema-instance"
+                   xsi:schemaLocation="http://www.liquibase.org/xml/ns/dbchangelog http://www.liquibase.org/xml/ns/dbchangelog/dbchangelog-latest.xsd">
+$changeSetsXml
+</databaseChangeLog>""".toString()
+        Scope.child([
+                (Scope.Attr.resourceAccessor.name())                    : new MockResourceAccessor(["changelog.xml": changeLog]),
+                (GlobalConfiguration.GROUP_COMMIT_SIZE.key)             : groupCommitSize,
+                (GlobalConfiguration.DATABASECHANGELOG_BATCH_SIZE.key)  : historyBatchSize,
+        ], {
+            new CommandScope(UpdateCommandStep.COMMAND_NAME)
+                    .addArgumentValue(DbUrlConnectionArgumentsCommandStep.URL_ARG, url)
+                    .addArgumentValue(UpdateCommandStep.CHANGELOG_FILE_ARG, "changelog.xml")
+                    .setOutput(new ByteArrayOutputStream())
+                    .execute()
+        } as Scope.ScopedRunner)
+    }
+}
@@ -0,0 +1,167 @@
+package liquibase.changelog
+
+import liquibase.Scope
+import liquibase.change.core.LoadDataChange
+import liquibase.changelog.visitor.AbstractChangeExecListener
+import liquibase.command.CommandScope
+import liquibase.command.core.UpdateCommandStep
+import liquibase.command.core.helpers.ChangeExecListenerCommandStep
+import liquibase.command.core.helpers.DbUrlConnectionArgumentsCommandStep
+import liquibase.database.Database
+import liquibase.database.DatabaseFactory
+import liquibase.database.core.H2Database
+import liquibase.database.core.PostgresDatabase
+import liquibase.database.jvm.JdbcConnection
+import liquibase.sdk.resource.MockResourceAccessor
+import liquibase.util.ConcurrencyUtil
+import spock.lang.Specification
+
+import java.sql.DriverManager
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.CyclicBarrier
+
+class SharedChangeLogTest extends Specification {
+
+    def changeLogXml = '''<databaseChangeLog xmlns="http://www.liquibase.org/xml/ns/dbchangelog"
+                   xmlns:xsi="http://www.w3.org/2001/XMLSchema-instance"
+                   xsi:schemaLocation="http://www.liquibase.org/xml/ns/dbchangelog http://www.liquibase.org/xml/ns/dbchangelog/dbchangelog-latest.xsd">
+    <property name="table" value="person"/>
+    <changeSet id="1" author="nvoxland">
+        <createTable tableName="${table}">
+            <column name="id" type="int"/>
+        </createTable>
+    </changeSet>
+    <include file="com/example/included.xml"/>
+</databaseChangeLog>'''
+
+    def includedXml = '''<databaseChangeLog xmlns="http://www.liquibase.org/xml/ns/dbchangelog"
+                   xmlns:xsi="http://www.w3.org/2001/XMLSchema-instance"
+                   xsi:schemaLocation="http://www.liquibase.org/xml/ns/dbchangelog http://www.liquibase.org/xml/ns/dbchangelog/dbchangelog-latest.xsd">
+    <changeSet id="2" author="nvoxland">
+        <dropTable tableName="person"/>
+    </changeSet>
+</databaseChangeLog>'''
+
+    def dataChangeLogXml = '''<databaseChangeLog xmlns="http://www.liquibase.org/xml/ns/dbchangelog"
+                   xmlns:xsi="http://www.w3.org/2001/XMLSchema-instance"
+                   xsi:schemaLocation="http://www.liquibase.org/xml/ns/dbchangelog http://www.liquibase.org/xml/ns/dbchangelog/dbchangelog-latest.xsd">
+    <changeSet id="1" author="nvoxland">
+        <createTable tableName="person">
+            <column name="id" type="int"/>
+            <column name="name" type="varchar(50)"/>
+        </createTable>
+    </changeSet>
+    <changeSet id="2" author="nvoxland">
+        <loadData tableName="person" file="com/example/person.csv"/>
+    </changeSet>
+</databaseChangeLog>'''
+
+    def dataResourceAccessor = new MockResourceAccessor(["com/example/data.xml": dataChangeLogXml, "com/example/person.csv": "id,name\n1,alice\n2,bob"])
+
+    List<String> urls = (1..2).collect { "jdbc:h2:mem:shared_${UUID.randomUUID()};DB_CLOSE_DELAY=-1".toString() }
+
+    def cleanup() {
+        urls.each { url -> DriverManager.getConnection(url).withCloseable { it.createStatement().execute("SHUTDOWN") } }
+    }
+
+    def "updates and listUnrunChangeSets run against two databases from several threads at once"() {
+        given:
+        def shared = SharedChangeLog.parse("com/example/data.xml", dataResourceAccessor)
+
+        when:
+        def unrunBefore = concurrently(urls) { Database database -> shared.listUnrunChangeSets(database, null, null)*.id }
+        concurrently(urls) { Database database -> shared.update(database, null, null) }
+        def unrunAfter = concurrently(urls + urls) { Database database -> shared.listUnrunChangeSets(database, null, null)*.id }
+
+        then:
+        unrunBefore == [["1", "2"]] * 2
+        unrunAfter == [[]] * 4
+        urls.every { url -> names(url) == ["alice", "bob"] }
+    }
+
+    def "per-run state stays with the run"() {
+        given:
+        def shared = SharedChangeLog.parse("com/example/data.xml", dataResourceAccessor)
+        def ranChangeLogs = new ConcurrentHashMap<Database, DatabaseChangeLog>()
+        def targetDatabases = new ConcurrentHashMap<Database, Set<Database>>()
+
+        when:
+        concurrently(urls) { Database database ->
+            def listener = new AbstractChangeExecListener() {
+                @Override
+                void ran(ChangeSet changeSet, DatabaseChangeLog databaseChangeLog, Database ranDatabase, ChangeSet.ExecType execType) {
+                    ranChangeLogs.put(ranDatabase, databaseChangeLog)
+                    targetDatabases.computeIfAbsent(ranDatabase, { [] as Set }).add(databaseChangeLog.runtimeEnvironment.targetDatabase)
+                }
+            }
+            shared.run({
+                new CommandScope(UpdateCommandStep.COMMAND_NAME)
+                        .addArgumentValue(DbUrlConnectionArgumentsCommandStep.DATABASE_ARG, database)
+                        .addArgumentValue(UpdateCommandStep.CHANGELOG_FILE_ARG, shared.changeLogFile)
+                        .addArgumentValue(ChangeExecListenerCommandStep.CHANGE_EXEC_LISTENER_ARG, listener)
+                        .execute()
+            } as Scope.ScopedRunnerWithReturn)
+        }
+        def fresh = shared.newDatabaseChangeLog(new H2Database(), new ChangeLogParameters(new H2Database()))
+        def ran = ranChangeLogs.values() as List<DatabaseChangeLog>
+
+        then:
+        ran.size() == 2
+        !ran[0].is(ran[1])
+        targetDatabases.every { database, targets -> targets == [database] as Set }
+        ran.every { changeLog -> changeLog.changeSets.every { it.execType == ChangeSet.ExecType.EXECUTED } }
+        ran.every { changeLog -> ((LoadDataChange) changeLog.changeSets[1].changes[0]).columns*.name == ["id", "name"] }
+
+        fresh.runtimeEnvironment == null
+        fresh.changeSets.every { it.execType == null }
+        ((LoadDataChange) fresh.changeSets[1].changes[0]).columns.isEmpty()
+    }
+
+    /**
+     * Runs the task for every url at the same time, each on its own thread with its own connection.
+     */
+    private static <T> List<T> concurrently(List<String> urls, Closure<T> task) {
+        def barrier = new CyclicBarrier(urls.size())
+        def tasks = urls.collect { url ->
+            {
+                def database = DatabaseFactory.getInstance().findCorrectDatabaseImplementation(new JdbcConnection(DriverManager.getConnection(url)))
+                try {
+                    barrier.await()
+                    return task.call(database)
+                } finally {
+                    database.close()
+                }
+            } as Scope.ScopedRunnerWithReturn<T>
+        }
+        return ConcurrencyUtil.invokeAll(tasks, tasks.size(), "shared-changelog-test").collect { ConcurrencyUtil.getResult(it) }
+    }
+
+    private static List<String> names(String url) {
+        DriverManager.getConnection(url).withCloseable { connection ->
+            def resultSet = connection.createStatement().executeQuery("SELECT NAME FROM PERSON ORDER BY ID")
+            def names = []
+            while (resultSet.next()) {
+                names << resultSet.getString(1)
+            }
+            return names
+        }
+    }
+
+    def "every run gets its own changelog built from the shared parse"() {
+        given:
+        def resourceAccessor = new MockResourceAccessor(["com/example/root.xml": changeLogXml, "com/example/included.xml": includedXml])
+        def shared = SharedChangeLog.parse("com/example/root.xml", resourceAccessor)
+
+        when:
+        def h2ChangeLog = shared.newDatabaseChangeLog(new H2Database(), new ChangeLogParameters(new H2Database()))
+        def postgresChangeLog = shared.newDatabaseChangeLog(new PostgresDatabase(), new ChangeLogParameters(new PostgresDatabase()))
+
+        then:
+        !h2ChangeLog.is(postgresChangeLog)
+        h2ChangeLog.changeSets*.id == ["1", "2"]
+        postgresChangeLog.changeSets*.id == ["1", "2"]
+        !h2ChangeLog.changeSets[0].is(postgresChangeLog.changeSets[0])
+        h2ChangeLog.changeSets[0].changes[0].tableName == "person"
+        postgresChangeLog.changeSets[0].changes[0].tableName == "person"
+    }
+}
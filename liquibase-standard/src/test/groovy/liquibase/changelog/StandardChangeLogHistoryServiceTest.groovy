@@ -0,0 +1,191 @@
+package liquibase.changelog
+
+import liquibase.ChecksumVersion
+import liquibase.Contexts
+import liquibase.GlobalConfiguration
+import liquibase.LabelExpression
+import liquibase.Scope
+import liquibase.change.core.RawSQLChange
+import liquibase.database.Database
+import liquibase.database.DatabaseFactory
+import liquibase.database.jvm.JdbcConnection
+import liquibase.logging.core.BufferedLogService
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import java.sql.Connection
+import java.sql.DriverManager
+import java.util.logging.Level
+
+class StandardChangeLogHistoryServiceTest extends Specification {
+
+    private static final String CHANGELOG = "com/example/changelog.xml"
+
+    String name = "history_${UUID.randomUUID()}"
+    Connection connection
+    Database database
+    DatabaseChangeLog changeLog = new DatabaseChangeLog(CHANGELOG)
+
+    def setup() {
+        def url = "jdbc:h2:mem:$name;DB_CLOSE_DELAY=-1".toString()
+        connection = DriverManager.getConnection(url)
+        database = DatabaseFactory.getInstance().findCorrectDatabaseImplementation(new JdbcConnection(DriverManager.getConnection(url)))
+    }
+
+    def cleanup() {
+        connection.createStatement().execute("DROP ALL OBJECTS")
+        database.close()
+        connection.close()
+        StandardChangeLogHistoryService.HISTORY_SNAPSHOTS.keySet().removeIf({ it.contains(name) })
+    }
+
+    def "rows are reused while the fingerprint is unchanged"() {
+        given:
+        run("1", "2")
+        def first = read()
+
+        when:
+        def second = read()
+
+        then:
+        first.log.contains("Reading from")
+        !second.log.contains("Reading from")
+        second.log.contains("are unchanged since they were last read")
+        second.ids == ["1", "2"]
+        second.ranChangeSets*.lastCheckSum == first.ranChangeSets*.lastCheckSum
+    }
+
+    def "only newer rows are read and merged, moving rerun changesets to the end"() {
+        given:
+        run("1", "2", "3")
+        read()
+        markRan(changeSet("2", true), ChangeSet.ExecType.RERAN)
+        run("4")
+
+        when:
+        def incremental = read()
+
+        then:
+        incremental.log.contains("the rows after ORDEREXECUTED 3")
+        incremental.log.readLines().findAll { it.contains("Reading from") }.every { it.contains("the rows after") }
+        incremental.ids == ["1", "3", "2", "4"]
+        incremental.ids == readAll().ids
+        incremental.ranChangeSets*.execType == readAll().ranChangeSets*.execType
+    }
+
+    @Unroll
+    def "the whole table is read again after a row is #change by another process"() {
+        given:
+        run("1", "2", "3")
+        read()
+        connection.createStatement().execute(sql)
+
+        when:
+        def reread = read()
+
+        then:
+        !reread.log.contains("are unchanged since they were last read")
+        !reread.log.contains("the rows after ORDEREXECUTED")
+        reread.log.contains("Reading from")
+        reread.ids == expectedIds
+        reread.ranChangeSets*.tag == expectedTags
+
+        where:
+        change    | sql                                                       | expectedIds     | expectedTags
+        "deleted" | "DELETE FROM DATABASECHANGELOG WHERE ID = '2'"            | ["1", "3"]      | [null, null]
+        "tagged"  | "UPDATE DATABASECHANGELOG SET TAG = 'v1' WHERE ID = '3'"  | ["1", "2", "3"] | [null, null, "v1"]
+    }
+
+    def "clearAllCheckSums forgets the rows read before"() {
+        given:
+        run("1", "2")
+        read()
+
+        when:
+        withIncrementalRead { service().clearAllCheckSums() }
+
+        then:
+        !hasHistorySnapshot()
+        read().ranChangeSets*.lastCheckSum == [null, null]
+    }
+
+    def "upgradeChecksums forgets the rows read before"() {
+        given:
+        run("1", "2")
+        connection.createStatement().execute("UPDATE DATABASECHANGELOG SET MD5SUM = NULL WHERE ID = '1'")
+        read()
+
+        when:
+        withIncrementalRead { service().upgradeChecksums(changeLog, new Contexts(), new LabelExpression()) }
+
+        then:
+        !hasHistorySnapshot()
+        read().ranChangeSets*.lastCheckSum == [changeLog.getChangeSet(CHANGELOG, "test", "1"), changeLog.getChangeSet(CHANGELOG, "test", "2")]
+                *.generateCheckSum(ChecksumVersion.latest())
+    }
+
+    def "destroy forgets the rows read before"() {
+        given:
+        run("1", "2")
+        read()
+
+        when: "the table is recreated with rows giving the same fingerprint"
+        withIncrementalRead { service().destroy() }
+        def afterDestroy = hasHistorySnapshot()
+        run("a", "b")
+
+        then:
+        !afterDestroy
+        read().ids == ["a", "b"]
+    }
+
+    private ChangeSet changeSet(String id, boolean runOnChange = false) {
+        def existing = changeLog.getChangeSet(CHANGELOG, "test", id)
+        if (existing != null) {
+            return existing
+        }
+        def changeSet = new ChangeSet(id, "test", false, runOnChange, CHANGELOG, null, null, changeLog)
+        changeSet.addChange(new RawSQLChange("SELECT $id FROM DUAL"))
+        changeLog.addChangeSet(changeSet)
+        return changeSet
+    }
+
+    private void run(String... ids) {
+        ids.each { markRan(changeSet(it), ChangeSet.ExecType.EXECUTED) }
+    }
+
+    private void markRan(ChangeSet changeSet, ChangeSet.ExecType execType) {
+        withIncrementalRead { service().setExecType(changeSet, execType) }
+    }
+
+    private StandardChangeLogHistoryService service() {
+        def service = new StandardChangeLogHistoryService()
+        service.setDatabase(database)
+        service.init()
+        return service
+    }
+
+    /**
+     * Reads the ran changesets with a new service, as every command does.
+     */
+    private Map read(boolean incrementalRead = true) {
+        def logService = new BufferedLogService()
+        def ranChangeSets = Scope.child([(Scope.Attr.logService.name())                          : logService,
+                                         (GlobalConfiguration.DATABASECHANGELOG_INCREMENTAL_READ.key): incrementalRead], {
+            service().getRanChangeSets()
+        } as Scope.ScopedRunnerWithReturn<List<RanChangeSet>>)
+        return [ranChangeSets: ranChangeSets, ids: ranChangeSets*.id, log: logService.getLogAsString(Level.FINE)]
+    }
+
+    private Map readAll() {
+        return read(false)
+    }
+
+    private void withIncrementalRead(Closure closure) {
+        Scope.child([(GlobalConfiguration.DATABASECHANGELOG_INCREMENTAL_READ.key): true], closure as Scope.ScopedRunner)
+    }
+
+    private boolean hasHistorySnapshot() {
+        return StandardChangeLogHistoryService.HISTORY_SNAPSHOTS.keySet().any { it.contains(name) }
+    }
+}
@@ -0,0 +1,164 @@
+package liquibase.command.core
+
+import liquibase.Scope
+import liquibase.command.CommandFailedException
+import liquibase.command.CommandScope
+import liquibase.exception.CommandExecutionException
+import liquibase.exception.CommandValidationException
+import liquibase.sdk.resource.MockResourceAccessor
+import spock.lang.Specification
+
+import java.sql.Connection
+import java.sql.DriverManager
+import java.util.concurrent.atomic.AtomicInteger
+
+class FleetUpdateCommandStepTest extends Specification {
+
+    private static final AtomicInteger running = new AtomicInteger()
+    private static final AtomicInteger maxRunning = new AtomicInteger()
+
+    def changeLogXml = '''<databaseChangeLog xmlns="http://www.liquibase.org/xml/ns/dbchangelog"
+                   xmlns:xsi="http://www.w3.org/2001/XMLSchema-instance"
+                   xsi:schemaLocation="http://www.liquibase.org/xml/ns/dbchangelog http://www.liquibase.org/xml/ns/dbchangelog/dbchangelog-latest.xsd">
+    <changeSet id="1" author="nvoxland">
+        <createTable tableName="person">
+            <column name="id" type="int"/>
+        </createTable>
+    </changeSet>
+    <changeSet id="2" author="nvoxland">
+        <sql>CREATE ALIAS FLEET_TRACK FOR "liquibase.command.core.FleetUpdateCommandStepTest.track"</sql>
+        <sql>CALL FLEET_TRACK()</sql>
+    </changeSet>
+</databaseChangeLog>'''
+
+    List<Connection> openConnections = []
+
+    def setup() {
+        running.set(0)
+        maxRunning.set(0)
+    }
+
+    def cleanup() {
+        openConnections*.close()
+    }
+
+    /**
+     * Called by the changelog through an H2 alias, to record how many databases are being updated at the same time.
+     */
+    static int track() {
+        int now = running.incrementAndGet()
+        maxRunning.accumulateAndGet(now, Math::max)
+        Thread.sleep(200)
+        running.decrementAndGet()
+        return now
+    }
+
+    def "validate requires urls or a urls file"() {
+        when:
+        def commandScope = new CommandScope(FleetUpdateCommandStep.COMMAND_NAME)
+                .addArgumentValue(FleetUpdateCommandStep.CHANGELOG_FILE_ARG, "changelog.xml")
+        new FleetUpdateCommandStep().validate(commandScope)
+
+        then:
+        def e = thrown(CommandValidationException)
+        e.message.contains("--urls")
+    }
+
+    def "validate rejects a parallelism below 1"() {
+        when:
+        def commandScope = new CommandScope(FleetUpdateCommandStep.COMMAND_NAME)
+                .addArgumentValue(FleetUpdateCommandStep.CHANGELOG_FILE_ARG, "changelog.xml")
+                .addArgumentValue(FleetUpdateCommandStep.URLS_ARG, "jdbc:h2:mem:one,jdbc:h2:mem:two")
+                .addArgumentValue(FleetUpdateCommandStep.PARALLELISM_ARG, 0)
+        new FleetUpdateCommandStep().validate(commandScope)
+
+        then:
+        def e = thrown(CommandValidationException)
+        e.message.contains("parallelism")
+    }
+
+    def "updates every database"() {
+        given:
+        def urls = (1..3).collect { openDatabase("fleet_ok_$it") }
+
+        when:
+        def results = runFleetUpdate(urls, 4)
+
+        then:
+        results.getResult(FleetUpdateCommandStep.SUCCEEDED_COUNT_RESULT) == 3
+        results.getResult(FleetUpdateCommandStep.FAILED_COUNT_RESULT) == 0
+        databaseNames(results.getResult(FleetUpdateCommandStep.UPDATE_REPORTS_RESULT)*.jdbcUrl) == databaseNames(urls)
+        results.getResult(FleetUpdateCommandStep.UPDATE_REPORTS_RESULT).every { it.success }
+        urls.every { ranChangeSetIds(it) == ["1", "2"] }
+    }
+
+    def "a failing database does not stop the others and is reported"() {
+        given:
+        def urls = (1..3).collect { openDatabase("fleet_fail_$it") }
+        openConnections[1].createStatement().execute("CREATE TABLE person (id int)")
+
+        when:
+        def output = new ByteArrayOutputStream()
+        runFleetUpdate(urls, 1, output)
+
+        then:
+        def e = thrown(CommandExecutionException)
+        def results = ((CommandFailedException) e.cause).results
+        e.cause.message == "Update failed on 1 of 3 databases"
+        results.getResult(FleetUpdateCommandStep.SUCCEEDED_COUNT_RESULT) == 2
+        results.getResult(FleetUpdateCommandStep.FAILED_COUNT_RESULT) == 1
+        def reports = results.getResult(FleetUpdateCommandStep.UPDATE_REPORTS_RESULT)
+        databaseNames(reports*.jdbcUrl) == databaseNames(urls)
+        reports*.success == [true, false, true]
+        reports[1].operationInfo.exception.toUpperCase().contains("PERSON")
+        ranChangeSetIds(urls[0]) == ["1", "2"]
+        ranChangeSetIds(urls[2]) == ["1", "2"]
+        output.toString("UTF-8").contains("FAILED  ${urls[1]}")
+    }
+
+    def "no more databases than the parallelism are updated at the same time"() {
+        given:
+        def urls = (1..5).collect { openDatabase("fleet_parallel_$it") }
+
+        when:
+        def results = runFleetUpdate(urls, 2)
+
+        then:
+        results.getResult(FleetUpdateCommandStep.SUCCEEDED_COUNT_RESULT) == 5
+        maxRunning.get() <= 2
+    }
+
+    /**
+     * Opens an in-memory database which is kept until the end of the test, so it can be checked after the update.
+     */
+    private String openDatabase(String name) {
+        def url = "jdbc:h2:mem:$name;DB_CLOSE_DELAY=-1".toString()
+        openConnections << DriverManager.getConnection(url)
+        return url
+    }
+
+    private static List<String> databaseNames(List<String> urls) {
+        return urls.collect { it.split(";")[0] }
+    }
+
+    private List<String> ranChangeSetIds(String url) {
+        def connection = openConnections[openConnections.findIndexOf { it.metaData.URL == url }]
+        def resultSet = connection.createStatement().executeQuery("SELECT ID FROM DATABASECHANGELOG ORDER BY ORDEREXECUTED")
+        def ids = []
+        while (resultSet.next()) {
+            ids << resultSet.getString(1)
+        }
+        return ids
+    }
+
+    private def runFleetUpdate(List<String> urls, int parallelism, OutputStream output = new ByteArrayOutputStream()) {
+        return Scope.child([(Scope.Attr.resourceAccessor.name()): new MockResourceAccessor(["changelog.xml": changeLogXml])], {
+            new CommandScope(FleetUpdateCommandStep.COMMAND_NAME)
+                    .addArgumentValue(FleetUpdateCommandStep.CHANGELOG_FILE_ARG, "changelog.xml")
+                    .addArgumentValue(FleetUpdateCommandStep.URLS_ARG, urls.join(","))
+                    .addArgumentValue(FleetUpdateCommandStep.PARALLELISM_ARG, parallelism)
+                    .setOutput(output)
+                    .execute()
+        } as Scope.ScopedRunnerWithReturn)
+    }
+}
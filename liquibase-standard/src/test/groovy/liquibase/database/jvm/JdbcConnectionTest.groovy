@@ -1,8 +1,10 @@
 package liquibase.database.jvm
 
+import org.h2.Driver
 import spock.lang.Specification
 import spock.lang.Unroll
 
+import java.sql.DriverManager
 import java.sql.SQLException
 
 class JdbcConnectionTest extends Specification {
@@ -156,4 +158,35 @@ class JdbcConnectionTest extends Specification {
         "jdbc:somevendor://host:5432/db;property=value@with-at-sign;password=p"              | "jdbc:somevendor://host:5432/db;property=value@with-at-sign;password=*****"
         null                                                                                 | null
     }
+
+    def "openNewConnection opens another connection to the same database"() {
+        given:
+        def connection = new JdbcConnection()
+        connection.open("jdbc:h2:mem:openNewConnection;DB_CLOSE_DELAY=-1", new Driver(), new Properties())
+        connection.getUnderlyingConnection().createStatement().execute("create table opened (id int)")
+
+        when:
+        def newConnection = connection.openNewConnection() as JdbcConnection
+
+        then:
+        !newConnection.is(connection)
+        newConnection.getURL() == connection.getURL()
+        newConnection.getUnderlyingConnection().getMetaData().getTables(null, null, "OPENED", null).next()
+
+        cleanup:
+        newConnection?.close()
+        connection.getUnderlyingConnection().createStatement().execute("drop table opened")
+        connection.close()
+    }
+
+    def "openNewConnection returns null for a connection passed in by the application"() {
+        given:
+        def connection = new JdbcConnection(DriverManager.getConnection("jdbc:h2:mem:passedIn"))
+
+        expect:
+        connection.openNewConnection() == null
+
+        cleanup:
+        connection.close()
+    }
 }
@@ -0,0 +1,67 @@
+package liquibase.diff.compare
+
+import liquibase.database.Database
+import liquibase.database.core.MockDatabase
+import liquibase.diff.ObjectDifferences
+import liquibase.structure.DatabaseObject
+import liquibase.structure.core.Table
+import spock.lang.Specification
+
+class DatabaseObjectComparatorFactoryTest extends Specification {
+
+    def "hash returns the same value for repeated calls"() {
+        given:
+        def database = new MockDatabase()
+        def table = new Table(null, "PUBLIC", "test_table")
+
+        expect:
+        DatabaseObjectComparatorFactory.getInstance().hash(table, null, database) == DatabaseObjectComparatorFactory.getInstance().hash(table, null, database)
+        DatabaseObjectComparatorFactory.getInstance().isSameObject(table, new Table(null, "PUBLIC", "test_table"), null, database)
+    }
+
+    def "registered comparators are used after the comparators for a type were resolved"() {
+        given:
+        def factory = DatabaseObjectComparatorFactory.getInstance()
+        def database = new MockDatabase()
+        def table = new Table(null, "PUBLIC", "test_table")
+        factory.hash(table, null, database)
+        def comparator = new FixedHashComparator()
+
+        when:
+        factory.register(comparator)
+
+        then:
+        factory.hash(table, null, database) == ["fixed"] as String[]
+
+        when:
+        factory.unregister(comparator)
+
+        then:
+        factory.hash(table, null, database) != ["fixed"] as String[]
+
+        cleanup:
+        factory.unregister(comparator)
+    }
+
+    private static class FixedHashComparator implements DatabaseObjectComparator {
+        @Override
+        int getPriority(Class<? extends DatabaseObject> objectType, Database database) {
+            return Table.isAssignableFrom(objectType) ? PRIORITY_DATABASE + 1 : PRIORITY_NONE
+        }
+
+        @Override
+        boolean isSameObject(DatabaseObject databaseObject1, DatabaseObject databaseObject2, Database accordingTo, DatabaseObjectComparatorChain chain) {
+            return chain.isSameObject(databaseObject1, databaseObject2, accordingTo)
+        }
+
+        @Override
+        String[] hash(DatabaseObject databaseObject, Database accordingTo, DatabaseObjectComparatorChain chain) {
+            return ["fixed"] as String[]
+        }
+
+        @Override
+        ObjectDifferences findDifferences(DatabaseObject databaseObject1, DatabaseObject databaseObject2, Database accordingTo, CompareControl compareControl, DatabaseObjectComparatorChain chain, Set<String> exclude) {
+            return chain.findDifferences(databaseObject1, databaseObject2, accordingTo, compareControl, exclude)
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package liquibase.diff.core
+
+import liquibase.CatalogAndSchema
+import liquibase.GlobalConfiguration
+import liquibase.Scope
+import liquibase.database.Database
+import liquibase.database.core.H2Database
+import liquibase.database.jvm.JdbcConnection
+import liquibase.diff.DiffResult
+import liquibase.diff.compare.CompareControl
+import liquibase.snapshot.DatabaseSnapshot
+import liquibase.snapshot.SnapshotControl
+import liquibase.snapshot.SnapshotGeneratorFactory
+import spock.lang.Shared
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import java.sql.DriverManager
+
+class StandardDiffGeneratorTest extends Specification {
+
+    @Shared
+    Database first
+
+    @Shared
+    Database second
+
+    @Shared
+    DatabaseSnapshot firstSnapshot
+
+    @Shared
+    DatabaseSnapshot secondSnapshot
+
+    def setupSpec() {
+        first = h2Database("jdbc:h2:mem:diffFirst", [
+                "create table person (id int primary key, name varchar(50) not null, email varchar(100))",
+                "create index idx_person_name on person(name)",
+                "create table address (id int primary key, person_id int, street varchar(100), constraint fk_address_person foreign key (person_id) references person(id))",
+                "create view person_names as select name from person",
+                "create sequence seq_person"
+        ])
+        second = h2Database("jdbc:h2:mem:diffSecond", [
+                "create table person (id int primary key, name varchar(100), phone varchar(20), constraint uq_person_phone unique (phone))",
+                "create table orders (id int primary key, total decimal(10, 2))",
+                "create view person_names as select name, phone from person",
+                "create sequence seq_orders"
+        ])
+        firstSnapshot = snapshot(first)
+        secondSnapshot = snapshot(second)
+    }
+
+    def cleanupSpec() {
+        first?.close()
+        second?.close()
+    }
+
+    @Unroll
+    def "comparing in parallel finds the same differences in the same order: #direction"() {
+        given:
+        def reference = direction == "forward" ? firstSnapshot : secondSnapshot
+        def comparison = direction == "forward" ? secondSnapshot : firstSnapshot
+
+        when:
+        def sequential = compare(reference, comparison, 0)
+        def parallel = compare(reference, comparison, 4)
+
+        then:
+        !missing(sequential).isEmpty()
+        !unexpected(sequential).isEmpty()
+        !changed(sequential).isEmpty()
+        missing(parallel) == missing(sequential)
+        unexpected(parallel) == unexpected(sequential)
+        changed(parallel) == changed(sequential)
+
+        where:
+        direction << ["forward", "backward"]
+    }
+
+    private static DiffResult compare(DatabaseSnapshot reference, DatabaseSnapshot comparison, int parallelism) {
+        return Scope.child([(GlobalConfiguration.DIFF_PARALLELISM.key): parallelism], {
+            new StandardDiffGenerator().compare(reference, comparison, new CompareControl())
+        } as Scope.ScopedRunnerWithReturn<DiffResult>)
+    }
+
+    private static List<String> missing(DiffResult diffResult) {
+        return diffResult.getMissingObjects().collect { it.class.simpleName + " " + it }
+    }
+
+    private static List<String> unexpected(DiffResult diffResult) {
+        return diffResult.getUnexpectedObjects().collect { it.class.simpleName + " " + it }
+    }
+
+    private static List<String> changed(DiffResult diffResult) {
+        return diffResult.getChangedObjects().collect { object, differences ->
+            object.class.simpleName + " " + object + ": " + differences.getDifferences().collect { it.field + "=" + it.referenceValue + "/" + it.comparedValue }
+        }
+    }
+
+    private static Database h2Database(String url, List<String> sql) {
+        def connection = DriverManager.getConnection(url + ";DB_CLOSE_DELAY=-1")
+        def statement = connection.createStatement()
+        sql.each { statement.execute(it) }
+        statement.close()
+        def database = new H2Database()
+        database.setConnection(new JdbcConnection(connection))
+        return database
+    }
+
+    private static DatabaseSnapshot snapshot(Database database) {
+        return SnapshotGeneratorFactory.getInstance().createSnapshot(CatalogAndSchema.DEFAULT, database, new SnapshotControl(database))
+    }
+}
@@ -0,0 +1,68 @@
+package liquibase.executor.jvm
+
+import liquibase.changelog.ChangeSet
+import liquibase.changelog.RanChangeSet
+import spock.lang.Specification
+
+import java.sql.ResultSet
+import java.sql.ResultSetMetaData
+import java.sql.Timestamp
+
+class RanChangeSetRowMapperTest extends Specification {
+
+    def "maps rows directly and shares repeated values"() {
+        given:
+        def columns = ["ID", "author", "FILENAME", "DATEEXECUTED", "ORDEREXECUTED", "EXECTYPE", "MD5SUM", "DESCRIPTION",
+                       "COMMENTS", "TAG", "LIQUIBASE", "CONTEXTS", "LABELS", "DEPLOYMENT_ID"]
+        def rows = [
+                ["1", new String("nvoxland"), new String("com/example/changelog.xml"), new Timestamp(1000), 1, "EXECUTED", null,
+                 "createTable", "", null, new String("4.31.0"), null, null, new String("123")],
+                ["2", new String("nvoxland"), new String("com/example/changelog.xml"), new Timestamp(2000), null, "RERAN", null,
+                 "dropTable", "", "v1", new String("4.31.0"), "test", "label", new String("123")],
+        ]
+        def metaData = Mock(ResultSetMetaData) {
+            getColumnCount() >> columns.size()
+            getColumnLabel(_ as Integer) >> { int i -> columns[i - 1] }
+        }
+        def current = 0
+        def lastValue = null
+        def resultSet = Mock(ResultSet) {
+            getMetaData() >> metaData
+            getString(_ as Integer) >> { int i -> lastValue = rows[current][i - 1]; lastValue?.toString() }
+            getObject(_ as Integer) >> { int i -> lastValue = rows[current][i - 1]; lastValue }
+            getInt(_ as Integer) >> { int i -> lastValue = rows[current][i - 1]; lastValue == null ? 0 : lastValue }
+            wasNull() >> { lastValue == null }
+        }
+        def mapper = new RanChangeSetRowMapper()
+
+        when:
+        RanChangeSet first = mapper.mapRow(resultSet, 0)
+        current = 1
+        RanChangeSet second = mapper.mapRow(resultSet, 1)
+
+        then:
+        first.id == "1"
+        first.author == "nvoxland"
+        first.changeLog == "com/example/changelog.xml"
+        first.storedChangeLog == "com/example/changelog.xml"
+        first.dateExecuted == new Timestamp(1000)
+        first.orderExecuted == 1
+        first.execType == ChangeSet.ExecType.EXECUTED
+        first.lastCheckSum == null
+        first.description == "createTable"
+        first.liquibaseVersion == "4.31.0"
+        first.deploymentId == "123"
+
+        second.orderExecuted == null
+        second.execType == ChangeSet.ExecType.RERAN
+        second.tag == "v1"
+        second.contextExpression.toString() == "test"
+        second.labels.toString() == "label"
+
+        and: "repeated values are shared"
+        first.author.is(second.author)
+        first.changeLog.is(second.changeLog)
+        first.liquibaseVersion.is(second.liquibaseVersion)
+        first.deploymentId.is(second.deploymentId)
+    }
+}
@@ -0,0 +1,76 @@
+package liquibase.integration.spring
+
+import liquibase.Scope
+import liquibase.exception.LiquibaseException
+import liquibase.logging.core.BufferedLogService
+import org.h2.jdbcx.JdbcDataSource
+import org.springframework.core.io.DefaultResourceLoader
+import spock.lang.Specification
+
+import java.nio.file.Files
+import java.nio.file.Path
+import java.sql.Connection
+import java.util.logging.Level
+
+class MultiTenantSpringLiquibaseTest extends Specification {
+
+    Path changeLogDirectory
+    JdbcDataSource dataSource
+    Connection connection
+
+    def setup() {
+        changeLogDirectory = Files.createTempDirectory("multi-tenant-changelog-")
+        Files.write(changeLogDirectory.resolve("changelog.xml"), '''<databaseChangeLog xmlns="http://www.liquibase.org/xml/ns/dbchangelog"
+        xmlns:xsi="http://www.w3.org/2001/XMLSchema-instance"
+        xsi:schemaLocation="http://www.liquibase.org/xml/ns/dbchangelog http://www.liquibase.org/xml/ns/dbchangelog/dbchangelog-latest.xsd">
+    <changeSet id="1" author="test">
+        <createTable tableName="person">
+            <column name="id" type="int"/>
+        </createTable>
+    </changeSet>
+</databaseChangeLog>'''.bytes)
+
+        dataSource = new JdbcDataSource()
+        dataSource.setURL("jdbc:h2:mem:multi_tenant_${UUID.randomUUID()};DB_CLOSE_DELAY=-1")
+        connection = dataSource.getConnection()
+        connection.createStatement().execute("CREATE SCHEMA TENANT_A")
+    }
+
+    def cleanup() {
+        connection.createStatement().execute("DROP ALL OBJECTS")
+        connection.close()
+        changeLogDirectory.toFile().deleteDir()
+    }
+
+    def "a failing tenant does not stop the other tenants and is reported"() {
+        given:
+        def liquibase = new MultiTenantSpringLiquibase()
+        liquibase.setDataSource(dataSource)
+        liquibase.setSchemas(["MISSING", "TENANT_A"])
+        liquibase.setChangeLog("classpath:changelog.xml")
+        liquibase.setResourceLoader(new DefaultResourceLoader(new URLClassLoader([changeLogDirectory.toUri().toURL()] as URL[])))
+        liquibase.setParallelism(2)
+        def logService = new BufferedLogService()
+
+        when:
+        Scope.child([(Scope.Attr.logService.name()): logService], { liquibase.afterPropertiesSet() } as Scope.ScopedRunner)
+
+        then:
+        def e = thrown(LiquibaseException)
+        e.message.contains("Liquibase failed for 1 of 2 tenants: schema MISSING")
+        logService.getLogAsString(Level.SEVERE).contains("Liquibase failed for schema MISSING")
+        logService.getLogAsString(Level.INFO).contains("Liquibase ran for schema TENANT_A")
+
+        query("SELECT ID FROM TENANT_A.DATABASECHANGELOG") == ["1"]
+        query("SELECT COUNT(*) FROM TENANT_A.PERSON") == ["0"]
+    }
+
+    private List<String> query(String sql) {
+        def resultSet = connection.createStatement().executeQuery(sql)
+        def values = []
+        while (resultSet.next()) {
+            values << resultSet.getString(1)
+        }
+        return values
+    }
+}
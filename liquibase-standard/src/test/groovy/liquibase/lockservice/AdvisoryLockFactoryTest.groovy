@@ -0,0 +1,49 @@
+package liquibase.lockservice
+
+import liquibase.Scope
+import liquibase.database.core.*
+import liquibase.lockservice.core.MSSQLAdvisoryLock
+import liquibase.lockservice.core.MySQLAdvisoryLock
+import liquibase.lockservice.core.OracleAdvisoryLock
+import liquibase.lockservice.core.PostgresAdvisoryLock
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class AdvisoryLockFactoryTest extends Specification {
+
+    @Unroll
+    def "advisory lock for #database.shortName"() {
+        expect:
+        Scope.currentScope.getSingleton(AdvisoryLockFactory).getAdvisoryLock(database)?.class == expected
+
+        where:
+        database                | expected
+        new PostgresDatabase()  | PostgresAdvisoryLock
+        new CockroachDatabase() | null
+        new MySQLDatabase()     | MySQLAdvisoryLock
+        new MariaDBDatabase()   | MySQLAdvisoryLock
+        new MSSQLDatabase()     | MSSQLAdvisoryLock
+        new OracleDatabase()    | OracleAdvisoryLock
+        new H2Database()        | null
+    }
+
+    def "long MySQL lock names are shortened"() {
+        expect:
+        MySQLAdvisoryLock.getLockName("liquibase:.public.DATABASECHANGELOGLOCK") == "liquibase:.public.DATABASECHANGELOGLOCK"
+
+        def longName = "liquibase:" + ("x" * 100)
+        MySQLAdvisoryLock.getLockName(longName).length() == 64
+        MySQLAdvisoryLock.getLockName(longName) == MySQLAdvisoryLock.getLockName(longName)
+        MySQLAdvisoryLock.getLockName(longName) != MySQLAdvisoryLock.getLockName(longName + "y")
+    }
+
+    def "Oracle lock ids are in the range DBMS_LOCK accepts"() {
+        expect:
+        def id = OracleAdvisoryLock.getLockId(name)
+        id >= 0
+        id <= 1073741823
+
+        where:
+        name << ["liquibase:.public.DATABASECHANGELOGLOCK", "liquibase:..", "polygenelubricants"]
+    }
+}
@@ -0,0 +1,112 @@
+package liquibase.lockservice.core
+
+import liquibase.database.core.PostgresDatabase
+import liquibase.database.jvm.JdbcConnection
+import liquibase.exception.DatabaseException
+import spock.lang.Specification
+
+import java.sql.Connection
+import java.sql.PreparedStatement
+import java.sql.ResultSet
+import java.sql.SQLException
+
+class PostgresAdvisoryLockTest extends Specification {
+
+    def connection = Mock(Connection)
+    def lockTimeouts = []
+    def database = Mock(PostgresDatabase) {
+        getConnection() >> new JdbcConnection(connection)
+    }
+
+    def "acquire takes the lock and restores the lock timeout"() {
+        given:
+        def lockStatement = Mock(PreparedStatement)
+
+        when:
+        def acquired = new PostgresAdvisoryLock().acquire(database, "liquibase:lock", 5000)
+
+        then:
+        acquired
+        1 * connection.prepareStatement("SELECT pg_advisory_lock(?, ?)") >> lockStatement
+        1 * lockStatement.setInt(2, "liquibase:lock".hashCode())
+        1 * lockStatement.execute()
+        2 * connection.prepareStatement({ it.contains("set_config('lock_timeout'") }) >> { lockTimeoutStatement() }
+        lockTimeouts == ["5000ms", "10s"]
+    }
+
+    def "acquire returns false and restores the lock timeout when the lock is not available"() {
+        given:
+        def lockStatement = Mock(PreparedStatement) {
+            execute() >> { throw new SQLException("canceling statement due to lock timeout", "55P03") }
+        }
+        connection.getAutoCommit() >> false
+
+        when:
+        def acquired = new PostgresAdvisoryLock().acquire(database, "liquibase:lock", 0)
+
+        then:
+        !acquired
+        1 * connection.prepareStatement("SELECT pg_advisory_lock(?, ?)") >> lockStatement
+        1 * connection.rollback()
+        2 * connection.prepareStatement({ it.contains("set_config('lock_timeout'") }) >> { lockTimeoutStatement() }
+        lockTimeouts == ["1ms", "10s"]
+    }
+
+    def "acquire reports the original error when restoring the lock timeout fails too"() {
+        given:
+        def failure = new SQLException("current transaction is aborted", "25P02")
+        def lockStatement = Mock(PreparedStatement) {
+            execute() >> { throw new SQLException("connection reset", "08006") }
+        }
+        def timeoutStatements = 0
+        connection.prepareStatement("SELECT pg_advisory_lock(?, ?)") >> lockStatement
+        connection.prepareStatement({ it.contains("set_config('lock_timeout'") }) >> {
+            if (timeoutStatements++ > 0) {
+                throw failure
+            }
+            lockTimeoutStatement()
+        }
+
+        when:
+        new PostgresAdvisoryLock().acquire(database, "liquibase:lock", 5000)
+
+        then:
+        def e = thrown(DatabaseException)
+        e.cause.SQLState == "08006"
+        e.cause.suppressed == [failure] as Throwable[]
+    }
+
+    def "release unlocks the lock"() {
+        given:
+        def unlockStatement = Mock(PreparedStatement)
+
+        when:
+        new PostgresAdvisoryLock().release(database, "liquibase:lock")
+
+        then:
+        1 * connection.prepareStatement("SELECT pg_advisory_unlock(?, ?)") >> unlockStatement
+        1 * unlockStatement.setInt(2, "liquibase:lock".hashCode())
+        1 * unlockStatement.execute()
+    }
+
+    def "release wraps errors"() {
+        given:
+        connection.prepareStatement("SELECT pg_advisory_unlock(?, ?)") >> { throw new SQLException("connection closed") }
+
+        when:
+        new PostgresAdvisoryLock().release(database, "liquibase:lock")
+
+        then:
+        def e = thrown(DatabaseException)
+        e.message.startsWith("Cannot release advisory lock liquibase:lock")
+    }
+
+    private PreparedStatement lockTimeoutStatement() {
+        def statement = Mock(PreparedStatement)
+        statement.setString(1, _ as String) >> { args -> lockTimeouts << args[1] }
+        statement.executeQuery() >> Mock(ResultSet) {
+            getString(1) >> "10s"
+        }
+        return statement
+    }
+}
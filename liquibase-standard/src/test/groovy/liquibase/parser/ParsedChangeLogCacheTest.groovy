@@ -0,0 +1,226 @@
+package liquibase.parser
+
+import liquibase.parser.core.ParsedNode
+import liquibase.parser.core.xml.XMLChangeLogSAXParser
+import liquibase.resource.PathResource
+import liquibase.resource.ResourceAccessor
+import liquibase.sdk.resource.MockResourceAccessor
+import spock.lang.Specification
+
+import java.nio.file.Files
+import java.nio.file.Path
+import java.nio.file.attribute.FileTime
+import java.util.concurrent.TimeUnit
+
+class ParsedChangeLogCacheTest extends Specification {
+
+    Path cacheDirectory
+
+    def setup() {
+        cacheDirectory = Files.createTempDirectory("parsed-changelog-cache-")
+    }
+
+    def cleanup() {
+        cacheDirectory.toFile().deleteDir()
+    }
+
+    def "parsed tree is cached until the file content changes"() {
+        given:
+        def cache = new ParsedChangeLogCache(cacheDirectory)
+        def resourceAccessor = new MockResourceAccessor(["com/example/test.xml": "<databaseChangeLog/>"])
+        def node = new ParsedNode(null, "databaseChangeLog")
+                .addChildren([changeSet: [id: "1", author: "nvoxland", sql: "select 'ü'"]])
+        node.setParsedNamespace("lb")
+        def parseCount = 0
+        def parser = {
+            parseCount++
+            return node
+        } as ParsedChangeLogCache.NodeParser
+
+        when:
+        def first = cache.parseToNode("com/example/test.xml", resourceAccessor, XMLChangeLogSAXParser, parser)
+        def second = cache.parseToNode("com/example/test.xml", resourceAccessor, XMLChangeLogSAXParser, parser)
+
+        then:
+        parseCount == 1
+        first.is(node)
+        !second.is(node)
+        second.toString() == node.toString()
+        second.parsedNamespace == "lb"
+        second.getChild(null, "changeSet").getChildValue(null, "sql") == "select 'ü'"
+
+        when:
+        resourceAccessor = new MockResourceAccessor(["com/example/test.xml": "<databaseChangeLog></databaseChangeLog>"])
+        cache.parseToNode("com/example/test.xml", resourceAccessor, XMLChangeLogSAXParser, parser)
+
+        then:
+        parseCount == 2
+    }
+
+    def "trees with non-string values are not cached"() {
+        given:
+        def cache = new ParsedChangeLogCache(cacheDirectory)
+        def resourceAccessor = new MockResourceAccessor(["com/example/test.yaml": "databaseChangeLog: []"])
+        def parser = {
+            return new ParsedNode(null, "databaseChangeLog").addChildren([changeSet: [id: 1]])
+        } as ParsedChangeLogCache.NodeParser
+
+        when:
+        cache.parseToNode("com/example/test.yaml", resourceAccessor, XMLChangeLogSAXParser, parser)
+
+        then:
+        Files.list(cacheDirectory).count() == 0
+    }
+
+    def "corrupt cache entries are ignored"() {
+        given:
+        def cache = new ParsedChangeLogCache(cacheDirectory)
+        def resourceAccessor = new MockResourceAccessor(["com/example/test.xml": "<databaseChangeLog/>"])
+        def parser = { new ParsedNode(null, "databaseChangeLog") } as ParsedChangeLogCache.NodeParser
+        cache.parseToNode("com/example/test.xml", resourceAccessor, XMLChangeLogSAXParser, parser)
+        Files.list(cacheDirectory).each { Files.write(it, [1, 2, 3] as byte[]) }
+
+        when:
+        def node = cache.parseToNode("com/example/test.xml", resourceAccessor, XMLChangeLogSAXParser, parser)
+
+        then:
+        node.name == "databaseChangeLog"
+    }
+
+    def "in-memory cache parses once and hands out copies"() {
+        given:
+        def cache = ParsedChangeLogCache.inMemory()
+        def resourceAccessor = new MockResourceAccessor(["com/example/test.xml": "<databaseChangeLog/>"])
+        def parseCount = 0
+        def parser = {
+            parseCount++
+            return new ParsedNode(null, "databaseChangeLog").addChildren([changeSet: [id: "1", author: "nvoxland"]])
+        } as ParsedChangeLogCache.NodeParser
+
+        when:
+        def first = cache.parseToNode("com/example/test.xml", resourceAccessor, XMLChangeLogSAXParser, parser)
+        def second = cache.parseToNode("com/example/test.xml", resourceAccessor, XMLChangeLogSAXParser, parser)
+        def third = cache.parseToNode("com/example/test.xml", resourceAccessor, XMLChangeLogSAXParser, parser)
+
+        then:
+        parseCount == 1
+        cache.directory == null
+        second.toString() == first.toString()
+        !second.is(third)
+        !second.getChild(null, "changeSet").is(third.getChild(null, "changeSet"))
+    }
+
+    def "trees parsed with different parser settings are cached apart"() {
+        given:
+        def cache = new ParsedChangeLogCache(cacheDirectory)
+        def resourceAccessor = new MockResourceAccessor(["com/example/test.xml": "<databaseChangeLog/>"])
+        def parseCount = 0
+        def parser = {
+            parseCount++
+            return new ParsedNode(null, "databaseChangeLog")
+        } as ParsedChangeLogCache.NodeParser
+
+        when:
+        cache.parseToNode("com/example/test.xml", resourceAccessor, XMLChangeLogSAXParser, "validating=false", parser)
+        cache.parseToNode("com/example/test.xml", resourceAccessor, XMLChangeLogSAXParser, "validating=true", parser)
+        cache.parseToNode("com/example/test.xml", resourceAccessor, XMLChangeLogSAXParser, "validating=false", parser)
+
+        then:
+        parseCount == 2
+    }
+
+    def "a miss reads the file once and parses the bytes read"() {
+        given:
+        def cache = new ParsedChangeLogCache(cacheDirectory)
+        def resource = changeLogFile("<databaseChangeLog/>", false)
+        def parsedContent = null
+        def parser = { InputStream content ->
+            parsedContent = content.text
+            return new ParsedNode(null, "databaseChangeLog")
+        } as ParsedChangeLogCache.NodeParser
+
+        when:
+        cache.parseToNode("test.xml", accessor(resource), XMLChangeLogSAXParser, parser)
+
+        then:
+        resource.opens == 1
+        parsedContent == "<databaseChangeLog/>"
+    }
+
+    def "a hit on an unchanged local file does not read it"() {
+        given:
+        def resource = changeLogFile("<databaseChangeLog/>", true)
+        def parseCount = 0
+        def parser = {
+            parseCount++
+            return new ParsedNode(null, "databaseChangeLog")
+        } as ParsedChangeLogCache.NodeParser
+
+        when: "a later run uses the same cache directory"
+        new ParsedChangeLogCache(cacheDirectory).parseToNode("test.xml", accessor(resource), XMLChangeLogSAXParser, parser)
+        def node = new ParsedChangeLogCache(cacheDirectory).parseToNode("test.xml", accessor(resource), XMLChangeLogSAXParser, parser)
+
+        then:
+        node.name == "databaseChangeLog"
+        resource.opens == 1
+        parseCount == 1
+
+        when: "the file is changed without changing its size"
+        Files.write(resource.file, "<databaseChangeLog\t/>".bytes)
+        Files.setLastModifiedTime(resource.file, FileTime.fromMillis(System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(30)))
+        new ParsedChangeLogCache(cacheDirectory).parseToNode("test.xml", accessor(resource), XMLChangeLogSAXParser, parser)
+
+        then:
+        resource.opens == 2
+        parseCount == 2
+    }
+
+    def "a file modified moments ago is read on every hit"() {
+        given:
+        def cache = ParsedChangeLogCache.inMemory()
+        def resource = changeLogFile("<databaseChangeLog/>", false)
+        def parseCount = 0
+        def parser = {
+            parseCount++
+            return new ParsedNode(null, "databaseChangeLog")
+        } as ParsedChangeLogCache.NodeParser
+
+        when:
+        cache.parseToNode("test.xml", accessor(resource), XMLChangeLogSAXParser, parser)
+        cache.parseToNode("test.xml", accessor(resource), XMLChangeLogSAXParser, parser)
+
+        then:
+        resource.opens == 2
+        parseCount == 1
+    }
+
+    private CountingResource changeLogFile(String content, boolean modifiedLongAgo) {
+        def file = Files.createTempFile(cacheDirectory.parent, "changelog-", ".xml")
+        file.toFile().deleteOnExit()
+        Files.write(file, content.bytes)
+        if (modifiedLongAgo) {
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis() - TimeUnit.HOURS.toMillis(1)))
+        }
+        return new CountingResource("test.xml", file)
+    }
+
+    private static ResourceAccessor accessor(CountingResource resource) {
+        return [get: { String path -> resource }] as ResourceAccessor
+    }
+
+    private static class CountingResource extends PathResource {
+        final Path file
+        int opens
+
+        CountingResource(String logicalPath, Path file) {
+            super(logicalPath, file)
+            this.file = file
+        }
+
+        @Override
+        InputStream openInputStream() throws IOException {
+            opens++
+            return super.openInputStream()
+        }
+    }
+}
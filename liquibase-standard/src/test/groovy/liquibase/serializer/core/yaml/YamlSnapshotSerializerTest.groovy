@@ -0,0 +1,109 @@
+package liquibase.serializer.core.yaml
+
+import liquibase.GlobalConfiguration
+import liquibase.Scope
+import liquibase.parser.core.json.JsonSnapshotParser
+import liquibase.parser.core.yaml.YamlSnapshotParser
+import liquibase.resource.DirectoryResourceAccessor
+import liquibase.serializer.core.json.JsonSnapshotSerializer
+import liquibase.snapshot.DatabaseSnapshot
+import liquibase.structure.DatabaseObjectCollection
+import liquibase.structure.core.Index
+import liquibase.structure.core.Schema
+import liquibase.structure.core.Sequence
+import liquibase.structure.core.Table
+import spock.lang.Specification
+import spock.lang.TempDir
+import spock.lang.Unroll
+
+import java.nio.file.Files
+import java.nio.file.Path
+
+class YamlSnapshotSerializerTest extends Specification {
+
+    @TempDir
+    Path tempDir
+
+    @Unroll
+    def "write streams the same #extension as serialize and it can be parsed back"() {
+        given:
+        def accessor = Scope.getCurrentScope().getResourceAccessor()
+        DatabaseSnapshot snapshot = new YamlSnapshotParser().parse("snapshot-with-index-views.json", accessor)
+
+        when:
+        def out = new ByteArrayOutputStream()
+        serializer.write(snapshot, out)
+        def written = out.toString("UTF-8")
+        Files.writeString(tempDir.resolve("snapshot." + extension), written)
+        DatabaseSnapshot parsed = parser.parse("snapshot." + extension, new DirectoryResourceAccessor(tempDir))
+
+        then:
+        withoutCreated(written) == withoutCreated(serializer.serialize(snapshot, true))
+        parsed.get(Table.class).size() == snapshot.get(Table.class).size()
+        parsed.get(Index.class).size() == snapshot.get(Index.class).size()
+
+        where:
+        extension | serializer                   | parser
+        "yaml"    | new YamlSnapshotSerializer() | new YamlSnapshotParser()
+        "json"    | new JsonSnapshotSerializer() | new JsonSnapshotParser()
+    }
+
+    @Unroll
+    def "write streams the same #extension as serialize for objects referencing objects without a snapshot id"() {
+        given:
+        DatabaseSnapshot writtenSnapshot = snapshotReferencingNewSchemas()
+        DatabaseSnapshot serializedSnapshot = snapshotReferencingNewSchemas()
+
+        when:
+        def out = new ByteArrayOutputStream()
+        withSnapshotScope(writtenSnapshot) { serializer.write(writtenSnapshot, out) }
+        def written = withSchemaIds(out.toString("UTF-8"), writtenSnapshot)
+        def serialized = withSchemaIds(withSnapshotScope(serializedSnapshot) { serializer.serialize(serializedSnapshot, true) }, serializedSnapshot)
+
+        then:
+        writtenSnapshot.getReferencedObjects().get(Schema.class)*.name as Set == ["NEW_SCHEMA_A", "NEW_SCHEMA_C"] as Set
+        writtenSnapshot.getReferencedObjects().get(Sequence.class)*.name as Set == ["SEQ_A", "SEQ_C"] as Set
+        withoutCreated(written) == withoutCreated(serialized)
+
+        where:
+        extension | serializer
+        "yaml"    | new YamlSnapshotSerializer()
+        "json"    | new JsonSnapshotSerializer()
+    }
+
+    /**
+     * Returns the test snapshot with sequences in two new schemas which have no snapshot id yet, so serializing the first
+     * sequence of each schema moves it to the referenced objects. SEQ_A is sorted before any other sequence and SEQ_C after.
+     */
+    private static DatabaseSnapshot snapshotReferencingNewSchemas() {
+        DatabaseSnapshot snapshot = new YamlSnapshotParser().parse("snapshot-with-index-views.json", Scope.getCurrentScope().getResourceAccessor())
+        def first = new Sequence(null, "NEW_SCHEMA_A", "SEQ_A")
+        def second = new Sequence(null, "NEW_SCHEMA_A", "SEQ_B")
+        def third = new Sequence(null, "NEW_SCHEMA_C", "SEQ_C")
+        def objects = (DatabaseObjectCollection) snapshot.getSerializableFieldValue("objects")
+        [first, second, third].each {
+            it.setSnapshotId(it.getName())
+            objects.add(it)
+        }
+        return snapshot
+    }
+
+    private static String withSnapshotScope(DatabaseSnapshot snapshot, Closure<String> closure) {
+        return Scope.child([(DatabaseSnapshot.SNAPSHOT_SCOPE_KEY): snapshot, (GlobalConfiguration.FAIL_ON_NULL_SNAPSHOT_ID.key): false],
+                closure as Scope.ScopedRunnerWithReturn<String>)
+    }
+
+    /**
+     * Replaces the snapshot ids generated while serializing for the referenced schemas, which differ between snapshots.
+     */
+    private static String withSchemaIds(String serialized, DatabaseSnapshot snapshot) {
+        snapshot.getReferencedObjects().get(Schema.class).each {
+            serialized = serialized.replace(it.getSnapshotId(), it.getName())
+        }
+        return serialized
+    }
+
+    private static String withoutCreated(String serialized) {
+        return serialized.replaceAll("\"?created\"?: .*", "")
+    }
+}
@@ -1,5 +1,6 @@
 package liquibase.servicelocator
 
+import liquibase.Scope
 import liquibase.change.Change
 import liquibase.changelog.ChangeLogHistoryService
 import liquibase.command.CommandStep
@@ -14,6 +15,7 @@ import liquibase.lockservice.LockService
 import liquibase.parser.ChangeLogParser
 import liquibase.parser.NamespaceDetails
 import liquibase.parser.SnapshotParser
+import liquibase.parser.core.xml.XMLChangeLogSAXParser
 import liquibase.precondition.Precondition
 import liquibase.serializer.ChangeLogSerializer
 import liquibase.serializer.SnapshotSerializer
@@ -23,10 +25,17 @@ import liquibase.structure.DatabaseObject
 import liquibase.util.TestUtil
 import org.junit.Assume
 import spock.lang.Specification
+import spock.lang.TempDir
 import spock.lang.Unroll
 
+import java.nio.file.Files
+import java.nio.file.Path
+
 class StandardServiceLocatorTest extends Specification {
 
+    @TempDir
+    Path tempDir
+
     @Unroll("#featureName: #type.name")
     def "all classes are listed in service loader files"() {
         when:
@@ -68,4 +77,52 @@ class StandardServiceLocatorTest extends Specification {
                 DatabaseConnection.class,
         ]
     }
+
+    def "findInstances returns new instances of the cached providers"() {
+        when:
+        def locator = new StandardServiceLocator()
+        def first = locator.findInstances(ChangeLogParser)
+        def second = locator.findInstances(ChangeLogParser)
+
+        then:
+        first.size() > 0
+        first*.class == second*.class
+        !first[0].is(second[0])
+    }
+
+    def "providers which fail to load are skipped"() {
+        given:
+        def services = tempDir.resolve("META-INF/services")
+        Files.createDirectories(services)
+        Files.writeString(services.resolve(ChangeLogParser.name), "com.example.MissingParser\ncom.example.OtherMissingParser\n" + XMLChangeLogSAXParser.name + "\n")
+        def classLoader = new URLClassLoader([tempDir.toUri().toURL()] as URL[], (ClassLoader) null) {
+            @Override
+            protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+                return name.startsWith("liquibase.") ? getClass().getClassLoader().loadClass(name) : super.loadClass(name, resolve)
+            }
+        }
+
+        when:
+        def instances = Scope.child([(Scope.Attr.classLoader.name()): classLoader], {
+            new StandardServiceLocator().findInstances(ChangeLogParser)
+        } as Scope.ScopedRunnerWithReturn)
+
+        then:
+        instances*.class == [XMLChangeLogSAXParser]
+    }
+
+    def "a service iterator which keeps failing is given up on"() {
+        given:
+        def classLoader = new ClassLoader(null) {
+            @Override
+            Enumeration<URL> getResources(String name) throws IOException {
+                throw new IOException("cannot read " + name)
+            }
+        }
+
+        expect:
+        Scope.child([(Scope.Attr.classLoader.name()): classLoader], {
+            new StandardServiceLocator().findInstances(ChangeLogParser)
+        } as Scope.ScopedRunnerWithReturn).isEmpty()
+    }
 }
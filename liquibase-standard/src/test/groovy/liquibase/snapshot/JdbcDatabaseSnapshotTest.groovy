@@ -0,0 +1,142 @@
+package liquibase.snapshot
+
+import liquibase.CatalogAndSchema
+import liquibase.GlobalConfiguration
+import liquibase.Scope
+import liquibase.database.Database
+import liquibase.database.DatabaseConnection
+import liquibase.database.core.H2Database
+import liquibase.database.jvm.JdbcConnection
+import liquibase.diff.DiffGeneratorFactory
+import liquibase.diff.compare.CompareControl
+import liquibase.exception.DatabaseException
+import liquibase.structure.DatabaseObject
+import liquibase.structure.core.*
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import java.sql.DriverManager
+
+class JdbcDatabaseSnapshotTest extends Specification {
+
+    private static final List<Class> TYPES = [Table, View, Column, PrimaryKey, UniqueConstraint, ForeignKey, Index, Sequence]
+
+    @Unroll
+    def "a snapshot read ahead with #settings is the same as one read without"() {
+        given:
+        def url = "jdbc:h2:mem:prefetch" + settings.values().join("_") + ";DB_CLOSE_DELAY=-1"
+        def opened = []
+        def database = h2Database(url, opened)
+        createSchema(database)
+        database.setAutoCommit(true)
+
+        when:
+        def expected = snapshot(database, [:])
+        def actual = snapshot(database, settings)
+
+        then:
+        DiffGeneratorFactory.getInstance().compare(expected, actual, new CompareControl()).areEqual()
+        TYPES.each { type ->
+            assert actual.get(type)*.toString() == expected.get(type)*.toString()
+        }
+        actual.get(Table).size() == 2
+        opened.size() == expectedConnections
+
+        cleanup:
+        database.close()
+
+        where:
+        settings                                                                                              | expectedConnections
+        [(GlobalConfiguration.SNAPSHOT_PARALLELISM.key): 2]                                                    | 2
+        [(GlobalConfiguration.SNAPSHOT_PREFETCH.key): true]                                                   | 0
+        [(GlobalConfiguration.SNAPSHOT_PARALLELISM.key): 3, (GlobalConfiguration.SNAPSHOT_PREFETCH.key): true] | 3
+    }
+
+    def "no additional connections are opened when auto-commit is off"() {
+        given:
+        def opened = []
+        def database = h2Database("jdbc:h2:mem:prefetchTransaction;DB_CLOSE_DELAY=-1", opened)
+        createSchema(database)
+        database.setAutoCommit(false)
+
+        when:
+        def actual = snapshot(database, [(GlobalConfiguration.SNAPSHOT_PARALLELISM.key): 2])
+
+        then:
+        opened.isEmpty()
+        actual.get(Table)*.name.sort() == ["ADDRESS", "PERSON"]
+
+        cleanup:
+        database.close()
+    }
+
+    @Unroll
+    def "sequences and unique constraint columns are read per schema only when a snapshot of the whole schema is prefetched: #prefetch"() {
+        given:
+        def database = h2Database("jdbc:h2:mem:prefetchSchemaOnly" + prefetch + ";DB_CLOSE_DELAY=-1", [])
+        createSchema(database)
+        def settings = [(GlobalConfiguration.SNAPSHOT_PREFETCH.key): prefetch]
+
+        when:
+        def schemaSnapshot = snapshot(database, settings)
+        def schema = schemaSnapshot.get(Table).first().schema
+        def schemaKey = schema.toCatalogAndSchema().customize(database).toString()
+        DatabaseSnapshot objectSnapshot = Scope.child(settings, {
+            SnapshotGeneratorFactory.getInstance().createSnapshot([
+                    new Sequence(schema.catalogName, schema.name, "SEQ_PERSON"),
+                    new UniqueConstraint("UQ_PERSON_EMAIL", schema.catalogName, schema.name, "PERSON")
+            ] as DatabaseObject[], database, new SnapshotControl(database))
+        } as Scope.ScopedRunnerWithReturn<DatabaseSnapshot>)
+
+        then:
+        schemaSnapshot.get(Sequence)*.name == ["SEQ_PERSON"]
+        schemaSnapshot.get(UniqueConstraint)*.name == ["UQ_PERSON_EMAIL"]
+        (schemaSnapshot.getResultSetCache("getSequences").getInfo(schemaKey, List) != null) == prefetch
+        (schemaSnapshot.getScratchData("uniqueConstraints-UniqueConstraint-" + schemaKey) != null) == prefetch
+
+        objectSnapshot.get(Sequence)*.name == ["SEQ_PERSON"]
+        objectSnapshot.get(UniqueConstraint)*.name == ["UQ_PERSON_EMAIL"]
+        !objectSnapshot.isPrefetching(schema.toCatalogAndSchema())
+        objectSnapshot.getResultSetCache("getSequences").getInfo(schemaKey, List) == null
+        objectSnapshot.getScratchData("uniqueConstraints-UniqueConstraint-" + schemaKey) == null
+
+        cleanup:
+        database.close()
+
+        where:
+        prefetch << [true, false]
+    }
+
+    /**
+     * Returns an H2 database whose connection can be opened again, adding every additional connection to the given list.
+     */
+    private static Database h2Database(String url, List opened) {
+        def connection = new JdbcConnection(DriverManager.getConnection(url)) {
+            @Override
+            DatabaseConnection openNewConnection() throws DatabaseException {
+                def newConnection = new JdbcConnection(DriverManager.getConnection(url))
+                opened << newConnection
+                return newConnection
+            }
+        }
+        def database = new H2Database()
+        database.setConnection(connection)
+        return database
+    }
+
+    private static void createSchema(Database database) {
+        def statement = ((JdbcConnection) database.getConnection()).getUnderlyingConnection().createStatement()
+        statement.execute("create table person (id int primary key, name varchar(50) not null, email varchar(100), constraint uq_person_email unique (email))")
+        statement.execute("create table address (id int primary key, person_id int, street varchar(100), constraint fk_address_person foreign key (person_id) references person(id))")
+        statement.execute("create index idx_address_street on address(street)")
+        statement.execute("create view person_names as select name from person")
+        statement.execute("create sequence seq_person")
+        statement.close()
+    }
+
+    private static DatabaseSnapshot snapshot(Database database, Map settings) {
+        return Scope.child(settings, {
+            SnapshotGeneratorFactory.getInstance().createSnapshot(CatalogAndSchema.DEFAULT, database, new SnapshotControl(database))
+        } as Scope.ScopedRunnerWithReturn<DatabaseSnapshot>)
+    }
+}
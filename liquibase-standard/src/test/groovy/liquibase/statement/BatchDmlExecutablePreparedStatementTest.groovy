@@ -0,0 +1,29 @@
+package liquibase.statement
+
+import liquibase.Scope
+import liquibase.database.core.H2Database
+import liquibase.logging.core.BufferedLogService
+import spock.lang.Specification
+
+import java.sql.PreparedStatement
+import java.sql.Statement
+import java.util.logging.Level
+
+class BatchDmlExecutablePreparedStatementTest extends Specification {
+
+    def "executing a batch logs the sum of the reported update counts"() {
+        given:
+        def logService = new BufferedLogService()
+        def statement = Scope.child([(Scope.Attr.logService.name()): logService], {
+            new BatchDmlExecutablePreparedStatement(new H2Database(), null, null, "table", [], null, null, [])
+        } as Scope.ScopedRunnerWithReturn<BatchDmlExecutablePreparedStatement>)
+        def preparedStatement = Mock(PreparedStatement)
+        preparedStatement.executeBatch() >> ([2, Statement.SUCCESS_NO_INFO, 1, 3] as int[])
+
+        when:
+        statement.executePreparedStatement(preparedStatement)
+
+        then:
+        logService.getLogAsString(Level.INFO).contains("4 operations were executed, 6 individual UPDATE events were confirmed by the database.")
+    }
+}
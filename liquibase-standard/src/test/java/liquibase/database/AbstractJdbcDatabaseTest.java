@@ -106,6 +106,13 @@ public abstract class AbstractJdbcDatabaseTest {
         }
     }
 
+    @Test
+    public void removeCreateViewAs() {
+        assertEquals("select * from tableName", AbstractJdbcDatabase.removeCreateViewAs("CREATE OR REPLACE VIEW viewName AS select * from tableName"));
+        assertEquals("select * from tableName", AbstractJdbcDatabase.removeCreateViewAs("select * from tableName"));
+        assertNull(AbstractJdbcDatabase.removeCreateViewAs(null));
+    }
+
     @Test
     public void executeRollbackStatements_WithStatementsOverload_ShouldNotIncludeAppendTextFromApplyToRollbackFalseVisitor() throws Exception {
         Database database = getDatabase();
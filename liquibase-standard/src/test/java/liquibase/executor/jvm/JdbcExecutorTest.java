@@ -2,18 +2,45 @@ package liquibase.executor.jvm;
 
 import liquibase.Scope;
 import liquibase.database.Database;
+import liquibase.database.core.H2Database;
+import liquibase.database.core.MSSQLDatabase;
 import liquibase.database.core.MySQLDatabase;
 import liquibase.database.core.OracleDatabase;
+import liquibase.database.jvm.JdbcConnection;
+import liquibase.exception.DatabaseException;
 import liquibase.executor.ExecutorService;
+import liquibase.sql.SqlConfiguration;
+import liquibase.sql.visitor.SqlVisitor;
+import liquibase.statement.SqlStatement;
+import liquibase.statement.core.RawParameterizedSqlStatement;
+import liquibase.statement.core.RawSqlStatement;
+import liquibase.ui.ConsoleUIService;
 import org.junit.Test;
 
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.lang.reflect.Proxy;
+import java.sql.BatchUpdateException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.SQLWarning;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 public class JdbcExecutorTest {
 
@@ -58,4 +85,176 @@ public class JdbcExecutorTest {
         assertEquals("(0) ", new JdbcExecutor().getErrorCode(new SQLException()));
     }
 
+    @Test
+    public void testGetFailedBatchSql() {
+        List<String> sql = Arrays.asList("insert 1", "insert 2", "insert 3");
+        assertEquals("insert 2", JdbcExecutor.getFailedBatchSql(new BatchUpdateException(new int[]{1}), sql));
+        assertEquals("insert 3", JdbcExecutor.getFailedBatchSql(new BatchUpdateException(new int[]{1, 1, Statement.EXECUTE_FAILED}), sql));
+        assertEquals("insert 1; insert 2; insert 3", JdbcExecutor.getFailedBatchSql(new BatchUpdateException(), sql));
+    }
+
+    @Test
+    public void testGetBatchableSql() throws DatabaseException {
+        JdbcExecutor executor = new JdbcExecutor();
+        executor.setDatabase(new H2Database());
+        assertEquals(Collections.singletonList("create table a (id int)"), executor.getBatchableSql(new RawSqlStatement("create table a (id int)"), null));
+        assertEquals(Collections.singletonList("insert into a values (1)"), executor.getBatchableSql(new RawSqlStatement("insert into a values (1)"), null));
+        assertNull(executor.getBatchableSql(new RawSqlStatement("select * from a"), null));
+        assertNull(executor.getBatchableSql(new RawSqlStatement("insert into a values ('?')"), null));
+        assertNull(executor.getBatchableSql(new RawParameterizedSqlStatement("insert into a values (?)", 1), null));
+        assertNull(executor.getBatchableSql(new RawSqlStatement("insert into a values (1) returning id"), null));
+        assertNull(executor.getBatchableSql(new RawSqlStatement("merge into a using b on a.id = b.id when matched then delete output deleted.id"), null));
+        assertNull(executor.getBatchableSql(new RawSqlStatement("insert into a values (1); insert into a values (2)"), null));
+        assertEquals(Collections.singletonList("insert into a values (1);"), executor.getBatchableSql(new RawSqlStatement("insert into a values (1);"), null));
+    }
+
+    @Test
+    public void testGetBatchableSqlLeavesFirstInBatchStatementsAloneOnMssql() throws DatabaseException {
+        JdbcExecutor executor = new JdbcExecutor();
+        executor.setDatabase(new MSSQLDatabase());
+        assertEquals(Collections.singletonList("create table a (id int)"), executor.getBatchableSql(new RawSqlStatement("create table a (id int)"), null));
+        assertEquals(Collections.singletonList("create index i on a (id)"), executor.getBatchableSql(new RawSqlStatement("create index i on a (id)"), null));
+        assertNull(executor.getBatchableSql(new RawSqlStatement("create view v as select id from a"), null));
+        assertNull(executor.getBatchableSql(new RawSqlStatement("CREATE OR ALTER PROCEDURE p AS SELECT 1"), null));
+        assertNull(executor.getBatchableSql(new RawSqlStatement("create proc p as select 1"), null));
+        assertNull(executor.getBatchableSql(new RawSqlStatement("create function f() returns int as begin return 1 end"), null));
+        assertNull(executor.getBatchableSql(new RawSqlStatement("create trigger t on a after insert as select 1"), null));
+        assertNull(executor.getBatchableSql(new RawSqlStatement("alter view v as select id from a"), null));
+
+        executor.setDatabase(new H2Database());
+        assertEquals(Collections.singletonList("create view v as select id from a"), executor.getBatchableSql(new RawSqlStatement("create view v as select id from a"), null));
+    }
+
+    @Test
+    public void testExecuteBatchedStatements() throws Exception {
+        try (Connection connection = DriverManager.getConnection("jdbc:h2:mem:executeBatchedStatements")) {
+            JdbcExecutor executor = new JdbcExecutor();
+            executor.setDatabase(h2Database(connection));
+            Scope.child(SqlConfiguration.BATCH_STATEMENTS.getKey(), true, () -> executor.execute(null, new SqlStatement[]{
+                    new RawSqlStatement("create table batched (id int)"),
+                    new RawSqlStatement("insert into batched values (1)"),
+                    new RawSqlStatement("insert into batched values (2)")
+            }, null));
+
+            assertEquals(2, count(connection, "batched"));
+        }
+    }
+
+    @Test
+    public void testExecuteBatchedStatementsReportsFailedStatement() throws Exception {
+        try (Connection connection = DriverManager.getConnection("jdbc:h2:mem:executeFailingBatch")) {
+            JdbcExecutor executor = new JdbcExecutor();
+            executor.setDatabase(h2Database(connection));
+            try {
+                Scope.child(SqlConfiguration.BATCH_STATEMENTS.getKey(), true, () -> executor.execute(null, new SqlStatement[]{
+                        new RawSqlStatement("create table batched (id int)"),
+                        new RawSqlStatement("insert into missing_table values (1)"),
+                        new RawSqlStatement("insert into batched values (2)")
+                }, null));
+                fail("Expected the batch to fail");
+            } catch (DatabaseException e) {
+                assertTrue(e.getMessage(), e.getMessage().contains("[Failed SQL: "));
+                assertTrue(e.getMessage(), e.getMessage().contains("insert into missing_table values (1)]"));
+            }
+        }
+    }
+
+    @Test
+    public void testExecuteDoesNotBatchWhenStatementExecutionIsOverridden() throws Exception {
+        try (Connection connection = DriverManager.getConnection("jdbc:h2:mem:executeOverridden")) {
+            List<SqlStatement> executed = new ArrayList<>();
+            JdbcExecutor executor = new JdbcExecutor() {
+                @Override
+                public void execute(SqlStatement sql, List<SqlVisitor> sqlVisitors) throws DatabaseException {
+                    executed.add(sql);
+                    super.execute(sql, sqlVisitors);
+                }
+            };
+            executor.setDatabase(h2Database(connection));
+            SqlStatement[] statements = {
+                    new RawSqlStatement("create table overridden (id int)"),
+                    new RawSqlStatement("insert into overridden values (1)")
+            };
+            Scope.child(SqlConfiguration.BATCH_STATEMENTS.getKey(), true, () -> executor.execute(null, statements, null));
+
+            assertEquals(Arrays.asList(statements), executed);
+            assertEquals(1, count(connection, "overridden"));
+        }
+    }
+
+    @Test
+    public void testExecuteBatchedStatementsShowsSqlWarnings() throws Exception {
+        try (Connection connection = DriverManager.getConnection("jdbc:h2:mem:executeBatchWithWarnings")) {
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            ConsoleUIService ui = new ConsoleUIService();
+            ui.setOutputStream(new PrintStream(output, true));
+            Map<String, Object> scopeValues = new HashMap<>();
+            scopeValues.put(Scope.Attr.ui.name(), ui);
+            scopeValues.put(SqlConfiguration.SHOW_SQL_WARNING_MESSAGES.getKey(), true);
+
+            for (boolean batch : new boolean[]{true, false}) {
+                output.reset();
+                JdbcExecutor executor = new JdbcExecutor();
+                H2Database database = new H2Database() {
+                    @Override
+                    public boolean supportsBatchUpdates() {
+                        return batch;
+                    }
+                };
+                database.setConnection(new JdbcConnection(warningConnection(connection)));
+                executor.setDatabase(database);
+                Scope.child(scopeValues, () -> executor.executeBatch(Arrays.asList("create table warned_" + batch + " (id int)",
+                        "insert into warned_" + batch + " values (1)")));
+
+                List<String> expected = batch ? Collections.singletonList("warning after batch")
+                        : Arrays.asList("warning after create table warned_false (id int)", "warning after insert into warned_false values (1)");
+                assertEquals(expected, Arrays.asList(output.toString().trim().split("\\R")));
+            }
+        }
+    }
+
+    /**
+     * Wraps the given connection so each statement reports a warning naming what it ran last.
+     */
+    private static Connection warningConnection(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(JdbcExecutorTest.class.getClassLoader(), new Class[]{Connection.class}, (proxy, method, args) -> {
+            Object result = method.invoke(connection, args);
+            if (!(result instanceof Statement)) {
+                return result;
+            }
+            Statement statement = (Statement) result;
+            String[] lastRun = {null};
+            return Proxy.newProxyInstance(JdbcExecutorTest.class.getClassLoader(), new Class[]{Statement.class}, (statementProxy, statementMethod, statementArgs) -> {
+                switch (statementMethod.getName()) {
+                    case "execute":
+                        lastRun[0] = (String) statementArgs[0];
+                        break;
+                    case "executeBatch":
+                        lastRun[0] = "batch";
+                        break;
+                    case "getWarnings":
+                        return lastRun[0] == null ? null : new SQLWarning("warning after " + lastRun[0]);
+                    case "clearWarnings":
+                        lastRun[0] = null;
+                        break;
+                    default:
+                }
+                return statementMethod.invoke(statement, statementArgs);
+            });
+        });
+    }
+
+    private static H2Database h2Database(Connection connection) {
+        H2Database database = new H2Database();
+        database.setConnection(new JdbcConnection(connection));
+        return database;
+    }
+
+    private static int count(Connection connection, String table) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("select count(*) from " + table)) {
+            resultSet.next();
+            return resultSet.getInt(1);
+        }
+    }
 }
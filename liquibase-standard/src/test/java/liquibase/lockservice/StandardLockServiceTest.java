@@ -18,12 +18,15 @@ import org.mockito.MockedStatic;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
 
+import static org.junit.Assert.*;
+
 public class StandardLockServiceTest {
 
     public static final LocalDateTime LOCKGRANTED_DATETIME = LocalDateTime.of(2021, 6, 1, 20, 34);
@@ -77,6 +80,98 @@ public class StandardLockServiceTest {
         }
     }
 
+    @Test
+    public void waitForTableLockDoublesTheBackoffUpToTheRecheckTime() throws LockException {
+        LockedService service = new LockedService(5);
+        service.setChangeLogLockRecheckTime(1);
+
+        assertTrue(service.waitForTableLock(System.currentTimeMillis() + 60000));
+
+        assertEquals(Arrays.asList(250L, 500L, 1000L, 1000L), service.backoffs);
+        List<Long> waits = service.waitsBetweenChecks();
+        for (int i = 0; i < waits.size(); i++) {
+            assertTrue("waits " + waits, waits.get(i) >= service.backoffs.get(i));
+        }
+    }
+
+    @Test
+    public void lockRecheckWaitIsRandomBetweenHalfAndAllOfTheBackoff() {
+        StandardLockService service = new StandardLockService();
+        long min = Long.MAX_VALUE;
+        long max = Long.MIN_VALUE;
+        for (int i = 0; i < 1000; i++) {
+            long wait = service.getLockRecheckWaitMillis(1000);
+            min = Math.min(min, wait);
+            max = Math.max(max, wait);
+        }
+        assertTrue("min " + min, min >= 500);
+        assertTrue("max " + max, max <= 1000);
+        assertTrue("min " + min + ", max " + max, max - min > 100);
+    }
+
+    @Test
+    public void waitForTableLockGivesUpWhenTheWaitTimeRunsOut() throws LockException {
+        LockedService service = new LockedService(Integer.MAX_VALUE);
+        service.setChangeLogLockRecheckTime(10);
+
+        long start = System.currentTimeMillis();
+        assertFalse(service.waitForTableLock(start + 600));
+        long waited = System.currentTimeMillis() - start;
+
+        // the second wait is cut short at the deadline, otherwise the checks after 250 and 500 ms would take 750 ms
+        assertTrue("waited " + waited, waited >= 600 && waited < 700);
+        assertEquals(Arrays.asList(250L, 500L), service.backoffs);
+    }
+
+    @Test
+    public void waitForLockReportsTheLockHolderWhenTheWaitTimeRunsOut() {
+        LockedService service = new LockedService(Integer.MAX_VALUE);
+        service.setChangeLogLockWaitTime(0);
+
+        LockException e = assertThrows(LockException.class, service::waitForLock);
+        assertTrue(e.getMessage(), e.getMessage().startsWith("Could not acquire change log lock.  Currently locked by " + LOCKEDBY + " since "));
+        assertFalse(service.hasChangeLogLock());
+    }
+
+    /**
+     * Lock service whose lock table is held by someone else until the given check. It always waits the whole backoff.
+     */
+    private static class LockedService extends StandardLockService {
+        private final int unlockedAtCheck;
+        private final List<Long> checks = new ArrayList<>();
+        private final List<Long> backoffs = new ArrayList<>();
+
+        private LockedService(int unlockedAtCheck) {
+            this.unlockedAtCheck = unlockedAtCheck;
+            setDatabase(new MockDatabase());
+        }
+
+        @Override
+        public boolean acquireLock() {
+            checks.add(System.nanoTime());
+            return checks.size() >= unlockedAtCheck;
+        }
+
+        @Override
+        protected long getLockRecheckWaitMillis(long backoffMillis) {
+            backoffs.add(backoffMillis);
+            return backoffMillis;
+        }
+
+        @Override
+        public DatabaseChangeLogLock[] listLocks() {
+            return new DatabaseChangeLogLock[]{new DatabaseChangeLogLock(ID0, LOCKGRANTED_DATE, LOCKEDBY)};
+        }
+
+        private List<Long> waitsBetweenChecks() {
+            List<Long> waits = new ArrayList<>();
+            for (int i = 1; i < checks.size(); i++) {
+                waits.add((checks.get(i) - checks.get(i - 1)) / 1000000);
+            }
+            return waits;
+        }
+    }
+
     private static List<Map<String, ?>> sampleLockData() {
         Map<String, Object> columnMapRow0 = new TreeMap<>();
 
@@ -1,5 +1,19 @@
 package liquibase.snapshot;
 
+import liquibase.GlobalConfiguration;
+import liquibase.Scope;
+import liquibase.database.Database;
+import liquibase.database.core.H2Database;
+import liquibase.exception.DatabaseException;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
 public class ResultSetCacheTest {
 
 //    @Test
@@ -29,4 +43,90 @@ public class ResultSetCacheTest {
 //                new String[]{null, null, null}
 //        ));
 //    }
+
+    @Test
+    public void prefetchReadsTheSchemaOnce() throws Exception {
+        ResultSetCache cache = new ResultSetCache();
+        Database database = new H2Database();
+        Scope.child(GlobalConfiguration.SNAPSHOT_PREFETCH.getKey(), true, () -> {
+            TableExtractor prefetch = new TableExtractor(database, null);
+            cache.prefetch(prefetch);
+            assertEquals(1, prefetch.bulkFetches);
+
+            TableExtractor lookup = new TableExtractor(database, "B");
+            assertEquals(1, cache.get(lookup).size());
+            assertEquals(0, cache.get(new TableExtractor(database, "MISSING")).size());
+            assertEquals(0, lookup.fastFetches + lookup.bulkFetches);
+            assertTrue(cache.isPrefetched(prefetch.wantedKeyParameters().createSchemaKey(database)));
+        });
+    }
+
+    @Test
+    public void snapshotPrefetchDoesNotBulkSelectSchemasWhichWereNotPrefetched() throws Exception {
+        ResultSetCache cache = new ResultSetCache();
+        Database database = new H2Database();
+        Scope.child(GlobalConfiguration.SNAPSHOT_PREFETCH.getKey(), true, () -> {
+            TableExtractor lookup = new TableExtractor(database, "A");
+            assertEquals(1, cache.get(lookup).size());
+            assertEquals(1, lookup.fastFetches);
+            assertEquals(0, lookup.bulkFetches);
+        });
+    }
+
+    @Test
+    public void prefetchDoesNothingWithoutSnapshotPrefetch() throws Exception {
+        ResultSetCache cache = new ResultSetCache();
+        TableExtractor prefetch = new TableExtractor(new H2Database(), null);
+        cache.prefetch(prefetch);
+        assertEquals(0, prefetch.bulkFetches);
+    }
+
+    private static class TableExtractor extends ResultSetCache.SingleResultSetExtractor {
+
+        private final Database database;
+        private final String tableName;
+        private int fastFetches;
+        private int bulkFetches;
+
+        private TableExtractor(Database database, String tableName) {
+            super(database);
+            this.database = database;
+            this.tableName = tableName;
+        }
+
+        @Override
+        public boolean bulkContainsSchema(String schemaKey) {
+            return false;
+        }
+
+        @Override
+        public ResultSetCache.RowData rowKeyParameters(CachedRow row) {
+            return new ResultSetCache.RowData("CAT", "PUBLIC", database, row.getString("TABLE_NAME"));
+        }
+
+        @Override
+        public ResultSetCache.RowData wantedKeyParameters() {
+            return new ResultSetCache.RowData("CAT", "PUBLIC", database, tableName);
+        }
+
+        @Override
+        public List<CachedRow> fastFetchQuery() {
+            fastFetches++;
+            return rows(tableName);
+        }
+
+        @Override
+        public List<CachedRow> bulkFetchQuery() throws DatabaseException {
+            bulkFetches++;
+            return rows("A", "B");
+        }
+
+        private static List<CachedRow> rows(String... tableNames) {
+            List<CachedRow> rows = new ArrayList<>();
+            for (String tableName : tableNames) {
+                rows.add(new CachedRow(Collections.singletonMap("TABLE_NAME", tableName)));
+            }
+            return rows;
+        }
+    }
 }
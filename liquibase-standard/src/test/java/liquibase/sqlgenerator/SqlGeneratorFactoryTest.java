@@ -104,33 +104,54 @@ public class SqlGeneratorFactoryTest {
         assertEquals(3, factory.getGenerators().size());
     }
 
-//    @Test
-//    public void registerWithCache() {
-//        factory.getGenerators().clear();
-//
-//        assertEquals(0, factory.getGenerators(statement, database).size());
-//
-//        factory.register(new AddAutoIncrementGeneratorHsqlH2());
-//
-//        assertEquals(1, factory.getGenerators(statement, database).size());
-//    }
-
-//    @Test
-//    public void unregisterInstanceWithCache() {
-//        factory.getGenerators().clear();
-//
-//        assertEquals(0, factory.getGenerators(statement, database).size());
-//
-//        AddAutoIncrementGeneratorHsqlH2 sqlGenerator = new AddAutoIncrementGeneratorHsqlH2();
-//
-//        factory.register(new CustomAddAutoIncrementGeneratorHsqlH2());
-//        factory.register(sqlGenerator);
-//
-//        assertEquals(2, factory.getGenerators(statement, database).size());
-//
-//        factory.unregister(sqlGenerator);
-//        assertEquals(1, factory.getGenerators(statement, database).size());
-//    }
+    @Test
+    public void registerWithCache() {
+        factory.getGenerators().clear();
+
+        assertEquals(0, factory.getGenerators(statement, database).size());
+
+        factory.register(new AddAutoIncrementGeneratorHsqlH2());
+
+        assertEquals(1, factory.getGenerators(statement, database).size());
+    }
+
+    @Test
+    public void unregisterInstanceWithCache() {
+        factory.getGenerators().clear();
+
+        assertEquals(0, factory.getGenerators(statement, database).size());
+
+        AddAutoIncrementGeneratorHsqlH2 sqlGenerator = new AddAutoIncrementGeneratorHsqlH2();
+
+        factory.register(new CustomAddAutoIncrementGeneratorHsqlH2());
+        factory.register(sqlGenerator);
+
+        assertEquals(2, factory.getGenerators(statement, database).size());
+
+        factory.unregister(sqlGenerator);
+        assertEquals(1, factory.getGenerators(statement, database).size());
+    }
+
+    @Test
+    public void changingGeneratorsCollectionClearsCache() {
+        assertEquals(1, factory.getGenerators(statement, database).size());
+
+        factory.getGenerators().clear();
+        assertEquals(0, factory.getGenerators(statement, database).size());
+
+        factory.getGenerators().add(new AddAutoIncrementGeneratorHsqlH2());
+        assertEquals(1, factory.getGenerators(statement, database).size());
+
+        factory.getGenerators().removeIf(generator -> generator instanceof AddAutoIncrementGeneratorHsqlH2);
+        assertEquals(0, factory.getGenerators(statement, database).size());
+    }
+
+    @Test
+    public void getGeneratorsReturnsCopyOfCache() {
+        factory.getGenerators(statement, database).clear();
+
+        assertEquals(1, factory.getGenerators(statement, database).size());
+    }
 
     @Test
     public void unregisterClassWithCache() {
@@ -1,7 +1,14 @@
 package liquibase.sqlgenerator.core;
 
+import liquibase.change.ColumnConfig;
+import liquibase.database.core.PostgresDatabase;
+import liquibase.sql.Sql;
 import liquibase.sqlgenerator.AbstractSqlGeneratorTest;
+import liquibase.sqlgenerator.MockSqlGeneratorChain;
 import liquibase.statement.core.SelectFromDatabaseChangeLogStatement;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
 
 public class SelectFromDatabaseChangeLogGeneratorTest extends AbstractSqlGeneratorTest<SelectFromDatabaseChangeLogStatement> {
     public SelectFromDatabaseChangeLogGeneratorTest() throws Exception {
@@ -12,4 +19,15 @@ public class SelectFromDatabaseChangeLogGeneratorTest extends AbstractSqlGenerat
     protected SelectFromDatabaseChangeLogStatement createSampleSqlStatement() {
         return new SelectFromDatabaseChangeLogStatement("ID");
     }
+
+    @Test
+    public void generateSqlByOrderExecutedAfter() {
+        SelectFromDatabaseChangeLogStatement statement = new SelectFromDatabaseChangeLogStatement(
+                new SelectFromDatabaseChangeLogStatement.ByOrderExecutedAfter(42),
+                new ColumnConfig().setName("*").setComputed(true)).setOrderBy("DATEEXECUTED ASC", "ORDEREXECUTED ASC");
+
+        Sql[] sql = generatorUnderTest.generateSql(statement, new PostgresDatabase(), new MockSqlGeneratorChain());
+
+        assertEquals("SELECT * FROM databasechangelog WHERE ORDEREXECUTED > 42 ORDER BY DATEEXECUTED ASC, ORDEREXECUTED ASC", sql[0].toSql());
+    }
 }